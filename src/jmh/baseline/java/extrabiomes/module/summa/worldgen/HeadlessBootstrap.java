@@ -0,0 +1,48 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.io.File;
+
+import net.minecraft.init.Bootstrap;
+import extrabiomes.Extrabiomes;
+import extrabiomes.handlers.BiomeHandler;
+import extrabiomes.handlers.BlockHandler;
+import extrabiomes.handlers.ConfigurationHandler;
+import extrabiomes.proxy.CommonProxy;
+
+/**
+ * The harness's HeadlessBootstrap for the baseline commit, which places
+ * every tree as it is generated and has no block classification table to
+ * build.
+ */
+public final class HeadlessBootstrap
+{
+    private static boolean started = false;
+
+    private HeadlessBootstrap()
+    {}
+
+    public static synchronized void start() throws Exception
+    {
+        if (started)
+            return;
+
+        Bootstrap.func_151354_b();
+        Extrabiomes.proxy = new CommonProxy();
+
+        final File config = File.createTempFile("extrabiomes", ".cfg");
+        config.delete();
+        config.deleteOnExit();
+        ConfigurationHandler.init(config, false);
+
+        BiomeHandler.init();
+        BlockHandler.createBlocks();
+
+        started = true;
+    }
+}
@@ -0,0 +1,279 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.Random;
+
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.gen.feature.WorldGenerator;
+import cpw.mods.fml.common.IWorldGenerator;
+import extrabiomes.lib.BiomeSettings;
+import extrabiomes.module.summa.worldgen.WorldGenAutumnTree.AutumnTreeType;
+
+/**
+ * The cases of the harness's WorldGenCase, built against the generators of
+ * the baseline commit so recordBaselineShapes can record what they placed.
+ * The baseline decorations are FML world generators, so each is run for
+ * chunk (0, 0) the way FML ran it. Keep the cases in step with the harness.
+ */
+public enum WorldGenCase
+{
+    ACACIA
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenAcacia(false);
+        }
+    },
+    AUTUMN_BROWN
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenAutumnTree(false, AutumnTreeType.BROWN);
+        }
+    },
+    AUTUMN_ORANGE
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenAutumnTree(false, AutumnTreeType.ORANGE);
+        }
+    },
+    AUTUMN_PURPLE
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenAutumnTree(false, AutumnTreeType.PURPLE);
+        }
+    },
+    AUTUMN_YELLOW
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenAutumnTree(false, AutumnTreeType.YELLOW);
+        }
+    },
+    BIG_AUTUMN_BROWN
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenBigAutumnTree(false, AutumnTreeType.BROWN);
+        }
+    },
+    BIG_AUTUMN_ORANGE
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenBigAutumnTree(false, AutumnTreeType.ORANGE);
+        }
+    },
+    BIG_AUTUMN_PURPLE
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenBigAutumnTree(false, AutumnTreeType.PURPLE);
+        }
+    },
+    BIG_AUTUMN_YELLOW
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenBigAutumnTree(false, AutumnTreeType.YELLOW);
+        }
+    },
+    BALD_CYPRESS
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenBaldCypressTree(false);
+        }
+    },
+    CUSTOM_SWAMP
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenCustomSwamp();
+        }
+    },
+    CYPRESS
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenCypressTree(false);
+        }
+    },
+    FIR
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenFirTree(false);
+        }
+    },
+    FIR_HUGE
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenFirTreeHuge(false);
+        }
+    },
+    JAPANESE_MAPLE
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenJapaneseMapleTree(false);
+        }
+    },
+    JAPANESE_MAPLE_SHRUB
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenJapaneseMapleShrub(false);
+        }
+    },
+    LEGEND_OAK
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenLegendOak(false);
+        }
+    },
+    RAINBOW_EUCALYPTUS
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenRainbowEucalyptusTree(false);
+        }
+    },
+    REDWOOD
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenNewRedwood(false);
+        }
+    },
+    REDWOOD_LEGACY
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenRedwood(false);
+        }
+    },
+    SAKURA_BLOSSOM
+    {
+        @Override
+        WorldGenerator createTree()
+        {
+            return new WorldGenSakuraBlossomTree(false);
+        }
+    },
+    FLOWERS(HeadlessTerrain.FLAT, BiomeSettings.AUTUMNWOODS)
+    {
+        @Override
+        IWorldGenerator createDecoration()
+        {
+            return FlowerGenerator.getInstance();
+        }
+    },
+    MARSH(HeadlessTerrain.MARSH, BiomeSettings.MARSH)
+    {
+        @Override
+        IWorldGenerator createDecoration()
+        {
+            return new MarshGenerator();
+        }
+    },
+    MOUNTAIN_RIDGE(HeadlessTerrain.RIDGE, BiomeSettings.MOUNTAINRIDGE)
+    {
+        @Override
+        IWorldGenerator createDecoration()
+        {
+            return new MountainRidgeGenerator();
+        }
+    };
+
+    private final HeadlessTerrain terrain;
+    private final BiomeSettings   biome;
+
+    private WorldGenerator        tree;
+    private IWorldGenerator       decoration;
+
+    WorldGenCase()
+    {
+        this(HeadlessTerrain.FLAT, null);
+    }
+
+    WorldGenCase(HeadlessTerrain terrain, BiomeSettings biome)
+    {
+        this.terrain = terrain;
+        this.biome = biome;
+    }
+
+    WorldGenerator createTree()
+    {
+        return null;
+    }
+
+    IWorldGenerator createDecoration()
+    {
+        return null;
+    }
+
+    /**
+     * The biome the case is run in, or plains if its biome is not enabled.
+     */
+    public BiomeGenBase getBiome()
+    {
+        return biome != null && biome.getBiome().isPresent() ? biome.getBiome().get() : BiomeGenBase.plains;
+    }
+
+    public HeadlessWorld createWorld(long seed)
+    {
+        return new HeadlessWorld(seed, terrain, getBiome());
+    }
+
+    /**
+     * Runs the tree or decoration once on chunk (0, 0) of the world.
+     *
+     * @return whether anything was generated, as far as the generator says
+     */
+    public boolean generate(HeadlessWorld world, Random rand)
+    {
+        if (tree == null && decoration == null)
+        {
+            tree = createTree();
+            decoration = createDecoration();
+        }
+
+        if (decoration != null)
+        {
+            decoration.generate(rand, 0, 0, world, world.getChunkProvider(), world.getChunkProvider());
+            return true;
+        }
+
+        return tree.generate(world, rand, 8, world.getTopSolidOrLiquidBlock(8, 8), 8);
+    }
+}
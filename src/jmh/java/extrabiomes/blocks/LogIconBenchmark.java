@@ -0,0 +1,196 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.blocks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.client.renderer.texture.IIconRegister;
+import net.minecraft.util.IIcon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import extrabiomes.lib.BlockSettings;
+import extrabiomes.module.summa.worldgen.HeadlessBootstrap;
+
+/**
+ * Looks up the icon of every side of a chunk section full of quarter logs,
+ * new quarter logs and knee logs in random orientations, the lookups a chunk
+ * rebuild makes for them. "switch" resolves each icon the long way, as
+ * getIcon did before the icon tables; "table" goes through getIcon.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LogIconBenchmark
+{
+    private static final int   SECTION = 16 * 16 * 16;
+
+    @Param({ "switch", "table" })
+    public String              lookup;
+
+    private BlockQuarterLog[]  quarterLogs;
+    private BlockNewQuarterLog newQuarterLog;
+    private BlockKneeLog       kneeLog;
+
+    private int[]              kinds;
+    private int[]              metadata;
+
+    private static class StubIcon implements IIcon
+    {
+        private final String name;
+
+        StubIcon(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public int getIconWidth()
+        {
+            return 16;
+        }
+
+        @Override
+        public int getIconHeight()
+        {
+            return 16;
+        }
+
+        @Override
+        public float getMinU()
+        {
+            return 0;
+        }
+
+        @Override
+        public float getMaxU()
+        {
+            return 1;
+        }
+
+        @Override
+        public float getInterpolatedU(double u)
+        {
+            return (float) u / 16;
+        }
+
+        @Override
+        public float getMinV()
+        {
+            return 0;
+        }
+
+        @Override
+        public float getMaxV()
+        {
+            return 1;
+        }
+
+        @Override
+        public float getInterpolatedV(double v)
+        {
+            return (float) v / 16;
+        }
+
+        @Override
+        public String getIconName()
+        {
+            return name;
+        }
+    }
+
+    private static class StubIconRegister implements IIconRegister
+    {
+        @Override
+        public IIcon registerIcon(String name)
+        {
+            return new StubIcon(name);
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        HeadlessBootstrap.start();
+
+        final IIconRegister register = new StubIconRegister();
+        quarterLogs = new BlockQuarterLog[BlockQuarterLog.BarkOn.values().length];
+        for (final BlockQuarterLog.BarkOn barkOn : BlockQuarterLog.BarkOn.values())
+        {
+            quarterLogs[barkOn.ordinal()] = new BlockQuarterLog(BlockSettings.QUARTERLOG0, 144, barkOn);
+            quarterLogs[barkOn.ordinal()].registerBlockIcons(register);
+        }
+        newQuarterLog = new BlockNewQuarterLog(BlockSettings.REDWOODQUARTERLOG, "redwood");
+        newQuarterLog.registerBlockIcons(register);
+        kneeLog = new BlockKneeLog(BlockSettings.KNEELOG, "baldcypress");
+        kneeLog.registerBlockIcons(register);
+
+        // Kinds 0 to 3 are the quarter logs by bark, 4 the new quarter log and 5 the knee log
+        final Random rand = new Random(1L);
+        kinds = new int[SECTION];
+        metadata = new int[SECTION];
+        for (int i = 0; i < SECTION; ++i)
+        {
+            kinds[i] = rand.nextInt(6);
+            metadata[i] = kinds[i] < 4 ? rand.nextInt(3) | rand.nextInt(3) << 2 : rand.nextInt(12);
+        }
+    }
+
+    @Benchmark
+    public void mesh(Blackhole blackhole)
+    {
+        final boolean table = lookup.equals("table");
+        for (int i = 0; i < SECTION; ++i)
+        {
+            for (int side = 0; side < 6; ++side)
+            {
+                blackhole.consume(table ? getIcon(kinds[i], side, metadata[i]) : resolveIcon(kinds[i], side, metadata[i]));
+            }
+        }
+    }
+
+    private IIcon getIcon(int kind, int side, int metadata)
+    {
+        switch (kind)
+        {
+            case 4:
+                return newQuarterLog.getIcon(side, metadata);
+            case 5:
+                return kneeLog.getIcon(side, metadata);
+            default:
+                return quarterLogs[kind].getIcon(side, metadata);
+        }
+    }
+
+    private IIcon resolveIcon(int kind, int side, int metadata)
+    {
+        switch (kind)
+        {
+            case 4:
+                return newQuarterLog.resolveIcon(side, metadata);
+            case 5:
+                return kneeLog.resolveIcon(side, metadata);
+            default:
+                return quarterLogs[kind].resolveIcon(side, metadata);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.biome;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Picks a weighted world generator the way a biome picks its trees and
+ * grass. "linear" walks the list with WeightedRandomChooser, summing the
+ * weights first as its callers did; "alias" asks the frozen
+ * WeightedAliasTable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WeightedChoiceBenchmark
+{
+    private static final int                           CHOICES = 1024;
+
+    @Param({ "linear", "alias" })
+    public String                                      chooser;
+
+    /** Biomes have from a couple of tree types to a few dozen grasses */
+    @Param({ "3", "12", "48" })
+    public int                                         size;
+
+    private List<WeightedWorldGenerator>               generators;
+    private WeightedAliasTable<WeightedWorldGenerator> table;
+    private Random                                     rand;
+
+    @Setup
+    public void setUp()
+    {
+        final Random weights = new Random(1L);
+        generators = Lists.newArrayList();
+        final int[] weight = new int[size];
+        for (int i = 0; i < size; ++i)
+        {
+            weight[i] = 1 + weights.nextInt(100);
+            generators.add(new WeightedWorldGenerator(null, weight[i]));
+        }
+        table = WeightedAliasTable.create(generators, weight);
+        rand = new Random(2L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHOICES)
+    public void choose(Blackhole blackhole)
+    {
+        if (chooser.equals("alias"))
+        {
+            for (int i = 0; i < CHOICES; ++i)
+            {
+                blackhole.consume(table.choose(rand));
+            }
+        }
+        else
+        {
+            for (int i = 0; i < CHOICES; ++i)
+            {
+                blackhole.consume(WeightedRandomChooser.getRandomItem(rand, generators));
+            }
+        }
+    }
+}
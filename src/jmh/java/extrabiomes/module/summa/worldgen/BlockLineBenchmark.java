@@ -0,0 +1,141 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Walks branch-sized lines block by block. "loop" is the floating point
+ * traversal the tree generators used before BlockLine, with a division and
+ * a multiplication per block; "dda" is BlockLine. Both visit the same
+ * blocks, summed into a checksum so neither walk can be optimised away.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BlockLineBenchmark
+{
+    private static final int LINES     = 1024;
+
+    @Param({ "loop", "dda" })
+    public String            walker;
+
+    /** Longest change along any axis, about what the big trees' branches span */
+    @Param({ "4", "20" })
+    public int               maxLength;
+
+    private int[][]          starts;
+    private int[][]          ends;
+    private final BlockLine  line      = new BlockLine();
+
+    @Setup
+    public void setUp()
+    {
+        final Random rand = new Random(1L);
+        starts = new int[LINES][];
+        ends = new int[LINES][];
+        for (int i = 0; i < LINES; ++i)
+        {
+            final int[] start = { rand.nextInt(64), 64 + rand.nextInt(64), rand.nextInt(64) };
+            int[] end;
+            do
+            {
+                end = new int[] { start[0] + rand.nextInt(maxLength * 2 + 1) - maxLength, start[1] + rand.nextInt(maxLength * 2 + 1) - maxLength,
+                        start[2] + rand.nextInt(maxLength * 2 + 1) - maxLength };
+            }
+            while (end[0] == start[0] && end[1] == start[1] && end[2] == start[2]);
+
+            starts[i] = start;
+            ends[i] = end;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public int walk()
+    {
+        int checksum = 0;
+        if (walker.equals("dda"))
+        {
+            for (int i = 0; i < LINES; ++i)
+            {
+                line.begin(starts[i], ends[i]);
+                while (line.next())
+                {
+                    checksum += (line.getX() * 31 + line.getY()) * 31 + line.getZ();
+                }
+            }
+        }
+        else
+        {
+            for (int i = 0; i < LINES; ++i)
+            {
+                checksum += loop(starts[i], ends[i]);
+            }
+        }
+        return checksum;
+    }
+
+    // The traversal checkBlockLine, placeBlockLine and placeThinBlockLine each had a copy of
+    private static int loop(int[] start, int[] end)
+    {
+        final int[] direction = { start[0] - end[0], start[1] - end[1], start[2] - end[2] };
+        int checksum = 0;
+
+        if (Math.abs(direction[2]) > Math.abs(direction[1]) && Math.abs(direction[2]) > Math.abs(direction[0]))
+        {
+            final int step = direction[2] >= 0 ? -1 : 1;
+            for (int z = start[2]; step < 0 ? z >= end[2] : z <= end[2]; z += step)
+            {
+                final double m = (z - start[2]) / (double) direction[2];
+                final int x = (int) (start[0] + direction[0] * m);
+                final int y = (int) (start[1] + direction[1] * m);
+                checksum += (x * 31 + y) * 31 + z;
+            }
+        }
+        else if (Math.abs(direction[0]) > Math.abs(direction[1]))
+        {
+            final int step = direction[0] >= 0 ? -1 : 1;
+            for (int x = start[0]; step < 0 ? x >= end[0] : x <= end[0]; x += step)
+            {
+                final double m = (x - start[0]) / (double) direction[0];
+                final int z = (int) (start[2] + direction[2] * m);
+                final int y = (int) (start[1] + direction[1] * m);
+                checksum += (x * 31 + y) * 31 + z;
+            }
+        }
+        else
+        {
+            final int step = direction[1] >= 0 ? -1 : 1;
+            for (int y = start[1]; step < 0 ? y >= end[1] : y <= end[1]; y += step)
+            {
+                final double m = (y - start[1]) / (double) direction[1];
+                final int x = (int) (start[0] + direction[0] * m);
+                final int z = (int) (start[2] + direction[2] * m);
+                checksum += (x * 31 + y) * 31 + z;
+            }
+        }
+        return checksum;
+    }
+}
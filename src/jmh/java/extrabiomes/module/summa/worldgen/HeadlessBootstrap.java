@@ -0,0 +1,54 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.io.File;
+
+import net.minecraft.init.Bootstrap;
+import extrabiomes.Extrabiomes;
+import extrabiomes.api.BlockClassification;
+import extrabiomes.handlers.BiomeHandler;
+import extrabiomes.handlers.BlockHandler;
+import extrabiomes.handlers.ConfigurationHandler;
+import extrabiomes.proxy.CommonProxy;
+
+/**
+ * Brings up just enough of Minecraft and ExtrabiomesXL to run world
+ * generators without a server: the vanilla registries, a default
+ * configuration, the biomes and the blocks. It follows the order of the mod's
+ * pre init.
+ */
+public final class HeadlessBootstrap
+{
+    private static boolean started = false;
+
+    private HeadlessBootstrap()
+    {}
+
+    public static synchronized void start() throws Exception
+    {
+        if (started)
+            return;
+
+        Bootstrap.func_151354_b();
+        Extrabiomes.proxy = new CommonProxy();
+
+        final File config = File.createTempFile("extrabiomes", ".cfg");
+        config.delete();
+        config.deleteOnExit();
+        ConfigurationHandler.init(config, false);
+
+        // Lay every large tree out as it is placed, so a run is over when generate returns
+        TreeShapeScheduler.setThreads(0);
+
+        BiomeHandler.init();
+        BlockHandler.createBlocks();
+        BlockClassification.rebuild();
+
+        started = true;
+    }
+}
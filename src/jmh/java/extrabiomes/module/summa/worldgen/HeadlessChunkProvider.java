@@ -0,0 +1,125 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.Collections;
+import java.util.List;
+
+import net.minecraft.entity.EnumCreatureType;
+import net.minecraft.util.IProgressUpdate;
+import net.minecraft.util.LongHashMap;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.ChunkPosition;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Keeps every chunk of a {@link HeadlessWorld} in memory, laying its ground
+ * the first time it is asked for. Nothing is ever unloaded or saved.
+ */
+final class HeadlessChunkProvider implements IChunkProvider
+{
+    private final HeadlessWorld world;
+    private final LongHashMap   chunks = new LongHashMap();
+    private final List<Chunk>   loaded = Lists.newArrayList();
+
+    HeadlessChunkProvider(HeadlessWorld world)
+    {
+        this.world = world;
+    }
+
+    List<Chunk> getLoadedChunks()
+    {
+        return loaded;
+    }
+
+    @Override
+    public boolean chunkExists(int chunkX, int chunkZ)
+    {
+        // Any chunk can be made on demand, so generators never stop at an edge
+        return true;
+    }
+
+    @Override
+    public Chunk provideChunk(int chunkX, int chunkZ)
+    {
+        final long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+        Chunk chunk = (Chunk) chunks.getValueByKey(key);
+        if (chunk == null)
+        {
+            chunk = new Chunk(world, chunkX, chunkZ);
+            world.layGround(chunk);
+            chunks.add(key, chunk);
+            loaded.add(chunk);
+        }
+        return chunk;
+    }
+
+    @Override
+    public Chunk loadChunk(int chunkX, int chunkZ)
+    {
+        return provideChunk(chunkX, chunkZ);
+    }
+
+    @Override
+    public void populate(IChunkProvider provider, int chunkX, int chunkZ)
+    {}
+
+    @Override
+    public boolean saveChunks(boolean all, IProgressUpdate progress)
+    {
+        return true;
+    }
+
+    @Override
+    public boolean unloadQueuedChunks()
+    {
+        return false;
+    }
+
+    @Override
+    public boolean canSave()
+    {
+        return false;
+    }
+
+    @Override
+    public String makeString()
+    {
+        return "HeadlessChunkCache: " + loaded.size();
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public List getPossibleCreatures(EnumCreatureType type, int x, int y, int z)
+    {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public ChunkPosition func_147416_a(World world, String structure, int x, int y, int z)
+    {
+        return null;
+    }
+
+    @Override
+    public int getLoadedChunkCount()
+    {
+        return loaded.size();
+    }
+
+    @Override
+    public void recreateStructures(int chunkX, int chunkZ)
+    {}
+
+    @Override
+    public void saveExtraData()
+    {}
+}
@@ -0,0 +1,101 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+
+/**
+ * The ground a {@link HeadlessWorld} starts out with. Every block is a
+ * function of its position, so the ground can be laid again after a run and
+ * anything a generator changed can be told apart from it.
+ */
+public enum HeadlessTerrain
+{
+    /** Grass at y 63 over dirt and stone */
+    FLAT
+    {
+        @Override
+        int getSurface(int x, int z)
+        {
+            return 63;
+        }
+    },
+
+    /** Grass at the marsh surface, broken by pools one block deep */
+    MARSH
+    {
+        @Override
+        int getSurface(int x, int z)
+        {
+            return isPool(x, z) ? 61 : 62;
+        }
+
+        @Override
+        int getWaterLevel(int x, int z)
+        {
+            return isPool(x, z) ? 62 : -1;
+        }
+
+        private boolean isPool(int x, int z)
+        {
+            return ((x >> 2) + (z >> 2) * 3 & 3) == 0;
+        }
+    },
+
+    /** Stepped high ground with the odd pond, as on a mountain ridge */
+    RIDGE
+    {
+        @Override
+        int getSurface(int x, int z)
+        {
+            final int ground = 70 + ((x >> 3) * 5 + (z >> 3) * 3 & 3);
+            return isPond(x, z) ? ground - 2 : ground;
+        }
+
+        @Override
+        int getWaterLevel(int x, int z)
+        {
+            return isPond(x, z) ? getSurface(x, z) + 1 : -1;
+        }
+
+        private boolean isPond(int x, int z)
+        {
+            return ((x >> 3) + (z >> 3) & 3) == 0 && (x & 7) > 1 && (z & 7) > 1;
+        }
+    };
+
+    /** The height of the top solid block in the column */
+    abstract int getSurface(int x, int z);
+
+    /** The height of the top water block in the column, or -1 if it is dry */
+    int getWaterLevel(int x, int z)
+    {
+        return -1;
+    }
+
+    /** The highest block in the column that is not air */
+    int getTop(int x, int z)
+    {
+        return Math.max(getSurface(x, z), getWaterLevel(x, z));
+    }
+
+    Block getBlock(int x, int y, int z)
+    {
+        if (y == 0)
+            return Blocks.bedrock;
+
+        final int surface = getSurface(x, z);
+        if (y < surface - 3)
+            return Blocks.stone;
+        if (y < surface)
+            return Blocks.dirt;
+        if (y == surface)
+            return getWaterLevel(x, z) > surface ? Blocks.dirt : Blocks.grass;
+        return y <= getWaterLevel(x, z) ? Blocks.water : Blocks.air;
+    }
+}
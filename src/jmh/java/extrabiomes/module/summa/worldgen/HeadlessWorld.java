@@ -0,0 +1,213 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import net.minecraft.block.Block;
+import net.minecraft.entity.Entity;
+import net.minecraft.init.Blocks;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProvider;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.biome.WorldChunkManagerHell;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.storage.SaveHandlerMP;
+
+import com.google.common.collect.Lists;
+
+/**
+ * A world that lives only in memory, for running world generators outside a
+ * server.
+ * <p>
+ * Its chunks are ordinary chunks, so blocks sit in the flat arrays of their
+ * {@link ExtendedBlockStorage} sections and generators that write those
+ * directly behave as they would in game. The ground is laid from a
+ * {@link HeadlessTerrain} and the whole world is one biome. Nothing is
+ * saved, ticked or sent anywhere.
+ */
+public class HeadlessWorld extends World
+{
+    private HeadlessTerrain       terrain;
+    private HeadlessChunkProvider chunks;
+
+    /**
+     * What a generator changed: how many blocks differ from the ground and a
+     * hash of where they are and what they became.
+     */
+    public static final class Changes
+    {
+        public final int  blocks;
+        public final long hash;
+
+        Changes(int blocks, long hash)
+        {
+            this.blocks = blocks;
+            this.hash = hash;
+        }
+    }
+
+    private static final class Provider extends WorldProvider
+    {
+        private final BiomeGenBase biome;
+
+        Provider(BiomeGenBase biome)
+        {
+            this.biome = biome;
+        }
+
+        @Override
+        protected void registerWorldChunkManager()
+        {
+            worldChunkMgr = new WorldChunkManagerHell(biome, 0.5F);
+        }
+
+        @Override
+        public String getDimensionName()
+        {
+            return "Headless";
+        }
+    }
+
+    public HeadlessWorld(long seed, HeadlessTerrain terrain, BiomeGenBase biome)
+    {
+        super(new SaveHandlerMP(), "Headless", new WorldSettings(seed, WorldSettings.GameType.SURVIVAL, false, false, WorldType.DEFAULT),
+                new Provider(biome), new Profiler());
+        this.terrain = terrain;
+    }
+
+    @Override
+    protected IChunkProvider createChunkProvider()
+    {
+        // Called from the World constructor, before the fields above are set
+        chunks = new HeadlessChunkProvider(this);
+        return chunks;
+    }
+
+    @Override
+    protected int func_152379_p()
+    {
+        return 8;
+    }
+
+    @Override
+    public Entity getEntityByID(int id)
+    {
+        return null;
+    }
+
+    /**
+     * Lays the ground of every chunk made so far again, undoing whatever was
+     * generated on it.
+     */
+    public void reset()
+    {
+        for (final Chunk chunk : chunks.getLoadedChunks())
+        {
+            layGround(chunk);
+        }
+        loadedTileEntityList.clear();
+    }
+
+    void layGround(Chunk chunk)
+    {
+        final boolean hasSky = !provider.hasNoSky;
+        final ExtendedBlockStorage[] sections = new ExtendedBlockStorage[16];
+        for (int dx = 0; dx < 16; ++dx)
+        {
+            for (int dz = 0; dz < 16; ++dz)
+            {
+                final int x = chunk.xPosition << 4 | dx;
+                final int z = chunk.zPosition << 4 | dz;
+                final int top = terrain.getTop(x, z);
+                for (int y = 0; y <= top; ++y)
+                {
+                    final Block block = terrain.getBlock(x, y, z);
+                    if (sections[y >> 4] == null)
+                        sections[y >> 4] = new ExtendedBlockStorage(y >> 4 << 4, hasSky);
+                    sections[y >> 4].func_150818_a(dx, y & 15, dz, block);
+                }
+            }
+        }
+
+        chunk.setStorageArrays(sections);
+        chunk.chunkTileEntityMap.clear();
+        final byte[] biomes = chunk.getBiomeArray();
+        Arrays.fill(biomes, (byte) (provider.worldChunkMgr.getBiomeGenAt(chunk.xPosition << 4, chunk.zPosition << 4).biomeID & 255));
+        chunk.setBiomeArray(biomes);
+        chunk.generateSkylightMap();
+        chunk.isTerrainPopulated = true;
+        chunk.isLightPopulated = true;
+    }
+
+    /**
+     * Compares every chunk made so far against its ground.
+     */
+    public Changes findChanges()
+    {
+        final List<Chunk> sorted = Lists.newArrayList(chunks.getLoadedChunks());
+        Collections.sort(sorted, new Comparator<Chunk>()
+        {
+            @Override
+            public int compare(Chunk a, Chunk b)
+            {
+                return a.xPosition != b.xPosition ? a.xPosition < b.xPosition ? -1 : 1 : a.zPosition < b.zPosition ? -1
+                        : a.zPosition > b.zPosition ? 1 : 0;
+            }
+        });
+
+        int blocks = 0;
+        long hash = 0xCBF29CE484222325L;
+        for (final Chunk chunk : sorted)
+        {
+            final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+            for (int y = 0; y < 256; ++y)
+            {
+                final ExtendedBlockStorage section = sections[y >> 4];
+                for (int dx = 0; dx < 16; ++dx)
+                {
+                    for (int dz = 0; dz < 16; ++dz)
+                    {
+                        final int x = chunk.xPosition << 4 | dx;
+                        final int z = chunk.zPosition << 4 | dz;
+                        final Block block = section == null ? Blocks.air : section.getBlockByExtId(dx, y & 15, dz);
+                        final int metadata = section == null ? 0 : section.getExtBlockMetadata(dx, y & 15, dz);
+                        if (block == terrain.getBlock(x, y, z) && metadata == 0)
+                            continue;
+
+                        ++blocks;
+                        hash = mix(hash, x);
+                        hash = mix(hash, y);
+                        hash = mix(hash, z);
+                        hash = mix(hash, Block.blockRegistry.getNameForObject(block).hashCode());
+                        hash = mix(hash, metadata);
+                    }
+                }
+            }
+        }
+        return new Changes(blocks, hash);
+    }
+
+    // One round of 64 bit FNV-1a per int
+    private static long mix(long hash, int value)
+    {
+        for (int shift = 0; shift < 32; shift += 8)
+        {
+            hash ^= value >>> shift & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decorates a chunk with flowers with the {@link ChunkSurface} ground
+ * checks on and off. The time is per decorated chunk; the world probes per
+ * plant placed are printed at the end of each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ScatterProbeBenchmark
+{
+    private static final long SEED = 1L;
+
+    @Param({ "on", "off" })
+    public String             groundChecks;
+
+    private HeadlessWorld     world;
+    private Random            rand;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception
+    {
+        HeadlessBootstrap.start();
+        world = WorldGenCase.FLOWERS.createWorld(SEED);
+        rand = new Random(SEED);
+        ChunkSurface.setFiltering(groundChecks.equals("on"));
+        ChunkSurface.resetCounters();
+    }
+
+    @Setup(Level.Invocation)
+    public void layGround()
+    {
+        world.reset();
+    }
+
+    @Benchmark
+    public boolean decorate()
+    {
+        return WorldGenCase.FLOWERS.generate(world, rand);
+    }
+
+    @TearDown(Level.Trial)
+    public void report()
+    {
+        System.out.printf("ground checks %s: %.1f probes per plant over %d plants%n", groundChecks, ChunkSurface.getProbesPerPlacement(),
+                ChunkSurface.getPlacements());
+        ChunkSurface.setFiltering(true);
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Grows every {@link WorldGenCase} for a few fixed seeds and compares what
+ * each placed with the shapes recorded earlier, so that a change meant only
+ * to make a generator faster cannot quietly change what it generates.
+ * <p>
+ * Usage: TreeShapeCheck &lt;file&gt; [record [case...]]. The shapes are
+ * recorded to the file instead only when asked to; a missing file fails the
+ * check. Naming cases records only theirs, keeping the rest of the file.
+ */
+public final class TreeShapeCheck
+{
+    private static final int SEEDS = 8;
+
+    private TreeShapeCheck()
+    {}
+
+    public static void main(String[] args) throws Exception
+    {
+        final File file = new File(args[0]);
+        final boolean record = args.length > 1 && args[1].equals("record");
+        if (!record && !file.exists())
+        {
+            System.out.println("No shapes recorded in " + file + "; record them from the baseline generators with recordBaselineShapes");
+            System.exit(1);
+        }
+
+        HeadlessBootstrap.start();
+        final List<String> shapes = Lists.newArrayList();
+        for (final WorldGenCase genCase : WorldGenCase.values())
+        {
+            for (long seed = 0; seed < SEEDS; ++seed)
+            {
+                final HeadlessWorld world = genCase.createWorld(seed);
+                final boolean generated = genCase.generate(world, new Random(seed));
+                final HeadlessWorld.Changes changes = world.findChanges();
+                shapes.add(String.format("%s %d %b %d %016x", genCase, seed, generated, changes.blocks, changes.hash));
+            }
+        }
+
+        if (record)
+        {
+            if (args.length > 2 && file.exists())
+                keepOthers(shapes, read(file), Sets.newHashSet(Arrays.asList(args).subList(2, args.length)));
+            write(file, shapes);
+            System.out.println("Recorded " + shapes.size() + " shapes to " + file);
+            return;
+        }
+
+        final List<String> recorded = read(file);
+        int mismatches = 0;
+        for (int i = 0; i < Math.max(shapes.size(), recorded.size()); ++i)
+        {
+            final String expected = i < recorded.size() ? recorded.get(i) : "(nothing)";
+            final String actual = i < shapes.size() ? shapes.get(i) : "(nothing)";
+            if (!expected.equals(actual))
+            {
+                System.out.println("Expected " + expected + " but got " + actual);
+                ++mismatches;
+            }
+        }
+
+        if (mismatches > 0)
+        {
+            System.out.println(mismatches + " of " + shapes.size() + " shapes changed");
+            System.exit(1);
+        }
+        System.out.println("All " + shapes.size() + " shapes match");
+    }
+
+    // Puts back the recorded line of every case that is not being recorded again
+    private static void keepOthers(List<String> shapes, List<String> recorded, Set<String> cases)
+    {
+        final Map<String, String> byRun = Maps.newHashMap();
+        for (final String line : recorded)
+        {
+            byRun.put(run(line), line);
+        }
+
+        for (int i = 0; i < shapes.size(); ++i)
+        {
+            final String line = shapes.get(i);
+            final String kept = byRun.get(run(line));
+            if (kept != null && !cases.contains(line.substring(0, line.indexOf(' '))))
+                shapes.set(i, kept);
+        }
+    }
+
+    // The case and seed a line was recorded for
+    private static String run(String line)
+    {
+        return line.substring(0, line.indexOf(' ', line.indexOf(' ') + 1));
+    }
+
+    private static List<String> read(File file) throws IOException
+    {
+        final List<String> lines = Lists.newArrayList();
+        final BufferedReader in = new BufferedReader(new FileReader(file));
+        try
+        {
+            for (String line = in.readLine(); line != null; line = in.readLine())
+            {
+                if (line.length() > 0)
+                    lines.add(line);
+            }
+        }
+        finally
+        {
+            in.close();
+        }
+        return lines;
+    }
+
+    private static void write(File file, List<String> lines) throws IOException
+    {
+        file.getParentFile().mkdirs();
+        final PrintWriter out = new PrintWriter(new FileWriter(file));
+        try
+        {
+            for (final String line : lines)
+            {
+                out.println(line);
+            }
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+}
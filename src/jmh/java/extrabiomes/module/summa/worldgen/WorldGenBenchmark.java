@@ -0,0 +1,89 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times one run of each {@link WorldGenCase} on fresh ground, in
+ * nanoseconds per tree or per decorated chunk. Run with the gc profiler for
+ * the bytes allocated per run; the blocks placed per run are printed at the
+ * end of each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WorldGenBenchmark
+{
+    private static final long SEED = 1L;
+
+    @Param({ "ACACIA", "AUTUMN_BROWN", "AUTUMN_ORANGE", "AUTUMN_PURPLE", "AUTUMN_YELLOW", "BIG_AUTUMN_BROWN", "BIG_AUTUMN_ORANGE",
+            "BIG_AUTUMN_PURPLE", "BIG_AUTUMN_YELLOW", "BALD_CYPRESS", "CUSTOM_SWAMP", "CYPRESS", "FIR", "FIR_HUGE", "JAPANESE_MAPLE",
+            "JAPANESE_MAPLE_SHRUB", "LEGEND_OAK", "RAINBOW_EUCALYPTUS", "REDWOOD", "REDWOOD_LEGACY", "SAKURA_BLOSSOM", "FLOWERS", "MARSH",
+            "MOUNTAIN_RIDGE" })
+    public String                 feature;
+
+    private WorldGenCase          genCase;
+    private HeadlessWorld         world;
+    private Random                rand;
+    private long                  runs;
+    private long                  blocks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception
+    {
+        HeadlessBootstrap.start();
+        genCase = WorldGenCase.valueOf(feature);
+        world = genCase.createWorld(SEED);
+        rand = new Random(SEED);
+        runs = 0;
+        blocks = 0;
+    }
+
+    @Setup(Level.Invocation)
+    public void layGround()
+    {
+        world.reset();
+    }
+
+    @Benchmark
+    public boolean generate()
+    {
+        return genCase.generate(world, rand);
+    }
+
+    @TearDown(Level.Invocation)
+    public void countBlocks()
+    {
+        ++runs;
+        blocks += world.findChanges().blocks;
+    }
+
+    @TearDown(Level.Trial)
+    public void report()
+    {
+        System.out.printf("%s: %.1f blocks per run over %d runs%n", feature, (double) blocks / Math.max(runs, 1), runs);
+    }
+}
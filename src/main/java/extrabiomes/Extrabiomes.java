@@ -26,7 +26,12 @@ import cpw.mods.fml.common.event.FMLInitializationEvent;
 import cpw.mods.fml.common.event.FMLPostInitializationEvent;
 import cpw.mods.fml.common.event.FMLPreInitializationEvent;
 import cpw.mods.fml.common.event.FMLServerStartingEvent;
+import extrabiomes.api.BlockClassification;
 import extrabiomes.biomes.BiomeManagerImpl;
+import extrabiomes.biomes.BiomesImpl;
+import extrabiomes.blocks.LeafDecayEngine;
+import extrabiomes.blocks.LeafDecayScheduler;
+import extrabiomes.blocks.SaplingGrowthScheduler;
 import extrabiomes.events.ModuleEvent.ModuleInitEvent;
 import extrabiomes.events.ModulePreInitEvent;
 import extrabiomes.handlers.BiomeHandler;
@@ -37,12 +42,16 @@ import extrabiomes.handlers.CropHandler;
 import extrabiomes.handlers.EBXLCommandHandler;
 import extrabiomes.handlers.GenesisBiomeOverrideHandler;
 import extrabiomes.handlers.ItemHandler;
+import extrabiomes.handlers.KillTreeScheduler;
 import extrabiomes.handlers.RecipeHandler;
 import extrabiomes.helpers.LogHelper;
 import extrabiomes.lib.GeneralSettings;
+import extrabiomes.lib.GenesisRegenerator;
 import extrabiomes.lib.Reference;
 import extrabiomes.module.amica.treecapitator.TreecapitatorPlugin;
 import extrabiomes.module.fabrica.recipe.RecipeManager;
+import extrabiomes.module.summa.worldgen.PopulateDispatcher;
+import extrabiomes.module.summa.worldgen.TreeShapeScheduler;
 import extrabiomes.plugins.ForestryPlugin;
 import extrabiomes.plugins.PluginThaumcraft4;
 import extrabiomes.proxy.CommonProxy;
@@ -66,6 +75,18 @@ public class Extrabiomes {
   @Mod.EventHandler
   public static void init(FMLInitializationEvent event) throws InstantiationException, IllegalAccessException {
     proxy.registerRenderInformation();
+    proxy.registerEventHandler(LeafDecayEngine.INSTANCE);
+    proxy.registerTickHandler(LeafDecayScheduler.INSTANCE);
+    proxy.registerTickHandler(SaplingGrowthScheduler.INSTANCE);
+    proxy.registerEventHandler(SaplingGrowthScheduler.INSTANCE);
+    proxy.registerTickHandler(TreeShapeScheduler.INSTANCE);
+    proxy.registerEventHandler(TreeShapeScheduler.INSTANCE);
+    proxy.registerTerrainEventHandler(TreeShapeScheduler.INSTANCE);
+    proxy.registerTickHandler(GenesisRegenerator.INSTANCE);
+    proxy.registerEventHandler(GenesisRegenerator.INSTANCE);
+    proxy.registerTickHandler(KillTreeScheduler.INSTANCE);
+    proxy.registerEventHandler(KillTreeScheduler.INSTANCE);
+    proxy.registerEventHandler(BlockClassification.INSTANCE);
     TreecapitatorPlugin.init();
     ForestryPlugin.init();
 
@@ -75,6 +96,8 @@ public class Extrabiomes {
   public static void postInit(FMLPostInitializationEvent event) {
     PluginManager.activatePlugins();
     RecipeHandler.init();
+    PopulateDispatcher.INSTANCE.buildIndex();
+    BlockClassification.rebuild();
     initBus = Optional.absent();
     Module.releaseStaticResources();
 
@@ -124,6 +147,7 @@ public class Extrabiomes {
     // remove after 3.6.0 release
     BiomeManagerImpl.populateAPIBiomes();
     new BiomeManagerImpl();
+    new BiomesImpl();
 
     Extrabiomes.registerInitEventHandler(new RecipeManager());
 
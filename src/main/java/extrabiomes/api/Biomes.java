@@ -21,6 +21,8 @@ import extrabiomes.api.events.GetBiomeIDEvent;
 public abstract class Biomes
 {
     
+    protected static Optional<? extends Biomes> instance = Optional.absent();
+    
     /**
      * Retrieves a custom biome
      * 
@@ -36,4 +38,20 @@ public abstract class Biomes
         return Optional.of(BiomeGenBase.getBiomeGenArray()[event.biomeID]);
     }
     
+    /**
+     * Finds the custom biome with an ID. This reads an index kept by ExtrabiomesXL, so it is cheap enough to call for every chunk.
+     * 
+     * @param biomeID The ID of a biome.
+     * @return The name of the custom biome with that ID, as accepted by {@link #getBiome(String)}. If the ID is not that of a custom
+     *         biome, or ExtrabiomesXL is not installed, the <code>Optional</code> value will not be present.
+     */
+    public static Optional<String> getBiomeName(int biomeID)
+    {
+        if (!instance.isPresent())
+            return Optional.absent();
+        return Optional.fromNullable(instance.get().findBiomeName(biomeID));
+    }
+    
+    protected abstract String findBiomeName(int biomeID);
+    
 }
@@ -0,0 +1,145 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.api;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockLeavesBase;
+import net.minecraft.block.BlockLog;
+import net.minecraft.block.BlockSapling;
+import net.minecraft.block.material.Material;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+import net.minecraftforge.oredict.OreDictionary.OreRegisterEvent;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * What every block and metadata pair is as far as trees are concerned.
+ * <p>
+ * The answers are bit flags kept in one table indexed by block ID * 16 +
+ * metadata. The table is worked out from the block classes and the ore
+ * dictionary the first time it is asked after post init or after an ore has
+ * been registered, so looking a block up is one array read.
+ */
+public enum BlockClassification
+{
+    INSTANCE;
+
+    /** A log, or anything registered as logWood */
+    public static final int LOG                 = 1;
+
+    /** Leaves, or anything registered as treeLeaves */
+    public static final int LEAVES              = 2;
+
+    /** A sapling, or anything registered as treeSapling */
+    public static final int SAPLING             = 4;
+
+    /** Grass or dirt a sapling could grow from */
+    public static final int SOIL                = 8;
+
+    /** Air, leaves, saplings and plants a growing tree may overwrite */
+    public static final int REPLACEABLE_BY_TREE = 16;
+
+    private static final int MAX_BLOCK_ID       = 4096;
+
+    private static byte[]    table              = null;
+
+    /**
+     * Returns the flags of a block and metadata pair.
+     */
+    public static int getFlags(Block block, int metadata)
+    {
+        return getFlags(Block.getIdFromBlock(block), metadata);
+    }
+
+    public static int getFlags(int blockID, int metadata)
+    {
+        byte[] flags = table;
+        if (flags == null)
+            flags = rebuild();
+
+        final int index = blockID << 4 | metadata & 15;
+        return index >= 0 && index < flags.length ? flags[index] : 0;
+    }
+
+    /**
+     * Returns true if the block and metadata pair has any of the flags.
+     */
+    public static boolean is(Block block, int metadata, int flags)
+    {
+        return (getFlags(block, metadata) & flags) != 0;
+    }
+
+    /**
+     * Works the table out again from the blocks registered so far.
+     */
+    public static byte[] rebuild()
+    {
+        final int logOre = OreDictionary.getOreID("logWood");
+        final int leafOre = OreDictionary.getOreID("treeLeaves");
+        final int saplingOre = OreDictionary.getOreID("treeSapling");
+
+        final byte[] flags = new byte[MAX_BLOCK_ID * 16];
+        for (final Object entry : Block.blockRegistry)
+        {
+            final Block block = (Block) entry;
+            final int id = Block.getIdFromBlock(block);
+            if (id < 0 || id >= MAX_BLOCK_ID)
+                continue;
+
+            final int common = classifyBlock(block);
+            final boolean hasItem = Item.getItemFromBlock(block) != null;
+            for (int metadata = 0; metadata < 16; ++metadata)
+            {
+                int value = common;
+                if (hasItem)
+                {
+                    for (final int ore : OreDictionary.getOreIDs(new ItemStack(block, 1, metadata)))
+                    {
+                        if (ore == logOre)
+                            value |= LOG;
+                        else if (ore == leafOre)
+                            value |= LEAVES;
+                        else if (ore == saplingOre)
+                            value |= SAPLING;
+                    }
+                }
+                if ((value & (LEAVES | SAPLING)) != 0)
+                    value |= REPLACEABLE_BY_TREE;
+                flags[id << 4 | metadata] = (byte) value;
+            }
+        }
+
+        table = flags;
+        return flags;
+    }
+
+    private static int classifyBlock(Block block)
+    {
+        int value = 0;
+        final Material material = block.getMaterial();
+
+        if (block instanceof BlockLog)
+            value |= LOG;
+        if (block instanceof BlockLeavesBase || material == Material.leaves)
+            value |= LEAVES;
+        if (block instanceof BlockSapling)
+            value |= SAPLING;
+        if (block == Blocks.grass || block == Blocks.dirt || material == Material.grass)
+            value |= SOIL;
+        if (material == Material.air || material.isReplaceable())
+            value |= REPLACEABLE_BY_TREE;
+        return value;
+    }
+
+    @SubscribeEvent
+    public void onOreRegister(OreRegisterEvent event)
+    {
+        table = null;
+    }
+}
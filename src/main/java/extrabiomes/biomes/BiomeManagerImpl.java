@@ -6,19 +6,14 @@
 
 package extrabiomes.biomes;
 
-import static extrabiomes.module.summa.worldgen.WorldGenAutumnTree.AutumnTreeType.BROWN;
-import static extrabiomes.module.summa.worldgen.WorldGenAutumnTree.AutumnTreeType.ORANGE;
-import static extrabiomes.module.summa.worldgen.WorldGenAutumnTree.AutumnTreeType.PURPLE;
-import static extrabiomes.module.summa.worldgen.WorldGenAutumnTree.AutumnTreeType.YELLOW;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
 import extrabiomes.lib.GeneralSettings;
-import net.minecraft.block.Block;
 import net.minecraft.init.Blocks;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
@@ -37,17 +32,17 @@ import net.minecraft.world.gen.feature.WorldGenerator;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 
 import extrabiomes.api.BiomeManager;
 import extrabiomes.helpers.BiomeHelper;
 import extrabiomes.lib.BiomeSettings;
-import extrabiomes.lib.Element;
+import extrabiomes.module.summa.biome.WeightedAliasTable;
 import extrabiomes.module.summa.biome.WeightedRandomChooser;
 import extrabiomes.module.summa.biome.WeightedWorldGenerator;
 import extrabiomes.module.summa.worldgen.WorldGenAcacia;
 import extrabiomes.module.summa.worldgen.WorldGenAutumnTree;
+import extrabiomes.module.summa.worldgen.WorldGenAutumnTree.AutumnTreeType;
 import extrabiomes.module.summa.worldgen.WorldGenBaldCypressTree;
 import extrabiomes.module.summa.worldgen.WorldGenBigAutumnTree;
 import extrabiomes.module.summa.worldgen.WorldGenCustomSwamp;
@@ -58,6 +53,7 @@ import extrabiomes.module.summa.worldgen.WorldGenJapaneseMapleShrub;
 import extrabiomes.module.summa.worldgen.WorldGenJapaneseMapleTree;
 import extrabiomes.module.summa.worldgen.WorldGenRainbowEucalyptusTree;
 import extrabiomes.module.summa.worldgen.WorldGenNewRedwood;
+import extrabiomes.module.summa.worldgen.WorldGenProfiler;
 import extrabiomes.module.summa.worldgen.WorldGenRedwood;
 import extrabiomes.module.summa.worldgen.WorldGenSakuraBlossomTree;
 
@@ -92,6 +88,12 @@ public class BiomeManagerImpl extends BiomeManager
     
     private final static Map<GenType, Multimap<BiomeGenBase, WeightedWorldGenerator>> weightedChoices           = new EnumMap<GenType, Multimap<BiomeGenBase, WeightedWorldGenerator>>(GenType.class);
     
+    // Frozen copies of weightedChoices indexed by gen type ordinal and biome id, null until buildWeightedFloraLists has run
+    private static WeightedAliasTable<WorldGenerator>[][]                             aliasTables               = null;
+    
+    // Built on first use because the autumn blocks do not exist when this class is loaded
+    private static WorldGenAutumnTree[]                                               autumnTreeGens            = null;
+    
     private static void addAlpineTrees(Optional<? extends BiomeGenBase> biome)
     {
         if (!biome.isPresent())
@@ -104,91 +106,21 @@ public class BiomeManagerImpl extends BiomeManager
         if (!biome.isPresent())
             return;
         
-        /*
-         * tree = new WorldGenBigAutumnTree(true, AutumnTreeType.PURPLE);
-         * ((WorldGenBigAutumnTree)tree).setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-         */
-        
-        addWeightedTreeGenForBiome(biome.get(), new WorldGenAbstractTree(false)
-        {
-            @Override
-            public boolean generate(World world, Random rand, int x, int y, int z)
-            {
-                final WorldGenAutumnTree worldGen = new WorldGenAutumnTree(false, BROWN);
-                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-                return worldGen.generate(world, rand, x, y, z);
-            }
-        }, 10);
-        addWeightedTreeGenForBiome(biome.get(), new WorldGenAbstractTree(false)
-        {
-            @Override
-            public boolean generate(World world, Random rand, int x, int y, int z)
-            {
-                final WorldGenBigAutumnTree worldGen = new WorldGenBigAutumnTree(false, BROWN);
-                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-                return worldGen.generate(world, rand, x, y, z);
-            }
-        }, 90);
-        addWeightedTreeGenForBiome(biome.get(), new WorldGenAbstractTree(false)
-        {
-            @Override
-            public boolean generate(World world, Random rand, int x, int y, int z)
-            {
-                final WorldGenAutumnTree worldGen = new WorldGenAutumnTree(false, ORANGE);
-                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-                return worldGen.generate(world, rand, x, y, z);
-            }
-        }, 10);
-        addWeightedTreeGenForBiome(biome.get(), new WorldGenAbstractTree(false)
-        {
-            @Override
-            public boolean generate(World world, Random rand, int x, int y, int z)
-            {
-                final WorldGenBigAutumnTree worldGen = new WorldGenBigAutumnTree(false, ORANGE);
-                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-                return worldGen.generate(world, rand, x, y, z);
-            }
-        }, 90);
-        addWeightedTreeGenForBiome(biome.get(), new WorldGenAbstractTree(false)
+        if (autumnTreeGens == null)
         {
-            @Override
-            public boolean generate(World world, Random rand, int x, int y, int z)
+            autumnTreeGens = new WorldGenAutumnTree[AutumnTreeType.values().length * 2];
+            for (final AutumnTreeType type : AutumnTreeType.values())
             {
-                final WorldGenAutumnTree worldGen = new WorldGenAutumnTree(false, PURPLE);
-                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-                return worldGen.generate(world, rand, x, y, z);
+                autumnTreeGens[type.ordinal() * 2] = new WorldGenAutumnTree(false, type);
+                autumnTreeGens[type.ordinal() * 2 + 1] = new WorldGenBigAutumnTree(false, type);
             }
-        }, 10);
-        addWeightedTreeGenForBiome(biome.get(), new WorldGenAbstractTree(false)
-        {
-            @Override
-            public boolean generate(World world, Random rand, int x, int y, int z)
-            {
-                final WorldGenBigAutumnTree worldGen = new WorldGenBigAutumnTree(false, PURPLE);
-                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-                return worldGen.generate(world, rand, x, y, z);
-            }
-        }, 90);
-        addWeightedTreeGenForBiome(biome.get(), new WorldGenAbstractTree(false)
-        {
-            @Override
-            public boolean generate(World world, Random rand, int x, int y, int z)
-            {
-                final WorldGenAutumnTree worldGen = new WorldGenAutumnTree(false, YELLOW);
-                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-                return worldGen.generate(world, rand, x, y, z);
-            }
-        }, 10);
-        addWeightedTreeGenForBiome(biome.get(), new WorldGenAbstractTree(false)
+        }
+        
+        for (final AutumnTreeType type : AutumnTreeType.values())
         {
-            @Override
-            public boolean generate(World world, Random rand, int x, int y, int z)
-            {
-                final WorldGenBigAutumnTree worldGen = new WorldGenBigAutumnTree(false, YELLOW);
-                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-                return worldGen.generate(world, rand, x, y, z);
-            }
-        }, 90);
+            addWeightedTreeGenForBiome(biome.get(), autumnTreeGens[type.ordinal() * 2], 10);
+            addWeightedTreeGenForBiome(biome.get(), autumnTreeGens[type.ordinal() * 2 + 1], 90);
+        }
         addWeightedTreeGenForBiome(biome.get(), OAK_TREE_GEN, 90);
         addWeightedTreeGenForBiome(biome.get(), BIG_OAK_TREE_GEN, 10);
         addWeightedTreeGenForBiome(biome.get(), JAPANESE_MAPLE_GEN, 30);
@@ -518,17 +450,68 @@ public class BiomeManagerImpl extends BiomeManager
     {
         final Multimap<BiomeGenBase, WeightedWorldGenerator> choices = weightedChoices.get(genType);
         choices.put(biome, new WeightedWorldGenerator(treeGen, weight));
+        
+        // Other mods may still add choices through the API after the tables are frozen
+        if (aliasTables != null)
+        {
+            aliasTables[genType.ordinal()][biome.biomeID] = buildAliasTable(choices.get(biome));
+        }
     }
     
     public static void buildWeightedFloraLists()
     {
         buildWeightedBiomeTreeList();
         buildWeightedBiomeGrassList();
+        freezeWeightedChoices();
+    }
+    
+    private static WeightedAliasTable<WorldGenerator> buildAliasTable(Collection<WeightedWorldGenerator> choices)
+    {
+        final List<WorldGenerator> generators = new ArrayList<WorldGenerator>(choices.size());
+        final int[] weights = new int[choices.size()];
+        
+        for (final WeightedWorldGenerator choice : choices)
+        {
+            weights[generators.size()] = choice.itemWeight;
+            generators.add(choice.getWorldGen());
+        }
+        
+        return WeightedAliasTable.create(generators, weights);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void freezeWeightedChoices()
+    {
+        final WeightedAliasTable<WorldGenerator>[][] tables = new WeightedAliasTable[GenType.values().length][BiomeGenBase.getBiomeGenArray().length];
+        
+        for (final Map.Entry<GenType, Multimap<BiomeGenBase, WeightedWorldGenerator>> entry : weightedChoices.entrySet())
+        {
+            for (final BiomeGenBase biome : entry.getValue().keySet())
+            {
+                tables[entry.getKey().ordinal()][biome.biomeID] = buildAliasTable(entry.getValue().get(biome));
+            }
+        }
+        
+        aliasTables = tables;
     }
     
     @Override
     protected Optional<? extends WorldGenerator> chooseBiomeRandomGen(GenType genType, Random rand, BiomeGenBase biome)
     {
+        final Optional<? extends WorldGenerator> choice = chooseUnprofiled(genType, rand, biome);
+        if (!WorldGenProfiler.isEnabled() || !choice.isPresent())
+            return choice;
+        return Optional.of(WorldGenProfiler.wrap(genType.name().toLowerCase(), choice.get(), biome));
+    }
+    
+    private static Optional<? extends WorldGenerator> chooseUnprofiled(GenType genType, Random rand, BiomeGenBase biome)
+    {
+        if (aliasTables != null)
+        {
+            final WeightedAliasTable<WorldGenerator> table = biome == null ? null : aliasTables[genType.ordinal()][biome.biomeID];
+            return table == null ? Optional.<WorldGenerator> absent() : table.choose(rand);
+        }
+        
         final Optional<Multimap<BiomeGenBase, WeightedWorldGenerator>> choicesForGenType = Optional.fromNullable(weightedChoices.get(genType));
         if (choicesForGenType.isPresent())
         {
@@ -543,12 +526,18 @@ public class BiomeManagerImpl extends BiomeManager
     @Override
     protected Collection<BiomeGenBase> getBiomeCollection()
     {
-        return ImmutableSet.copyOf(BiomeHelper.getActiveBiomes());
+        return BiomeHelper.getActiveBiomes();
     }
     
     @Override
     protected int getBiomeTotalWeight(GenType genType, BiomeGenBase biome)
     {
+        if (aliasTables != null)
+        {
+            final WeightedAliasTable<WorldGenerator> table = aliasTables[genType.ordinal()][biome.biomeID];
+            return table == null ? 0 : table.getTotalWeight();
+        }
+        
         return WeightedRandomChooser.getTotalWeight(weightedChoices.get(genType).get(biome));
     }
     
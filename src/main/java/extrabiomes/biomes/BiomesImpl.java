@@ -0,0 +1,28 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.biomes;
+
+import com.google.common.base.Optional;
+
+import extrabiomes.api.Biomes;
+import extrabiomes.lib.BiomeSettings;
+
+public class BiomesImpl extends Biomes
+{
+    
+    public BiomesImpl()
+    {
+        instance = Optional.of(this);
+    }
+    
+    @Override
+    protected String findBiomeName(int biomeID)
+    {
+        return BiomeSettings.findBiomeName(biomeID);
+    }
+    
+}
@@ -32,7 +32,7 @@ import cpw.mods.fml.relauncher.SideOnly;
 import extrabiomes.Extrabiomes;
 import extrabiomes.lib.Element;
 
-public class BlockAutumnLeaves extends BlockLeavesBase implements IShearable
+public class BlockAutumnLeaves extends BlockLeavesBase implements IShearable, IDecayableLeaves
 {
     public enum BlockType
     {
@@ -155,8 +155,6 @@ public class BlockAutumnLeaves extends BlockLeavesBase implements IShearable
         return metadata & METADATA_BITMASK;
     }
     
-    int[] adjacentTreeBlocks;
-    
     public BlockAutumnLeaves(int index, Material material, boolean useFastGraphics)
     {
         super(material, useFastGraphics);
@@ -165,12 +163,16 @@ public class BlockAutumnLeaves extends BlockLeavesBase implements IShearable
     @Override
     public void beginLeavesDecay(World world, int x, int y, int z)
     {
+        LeafDecayEngine.INSTANCE.notifyTreeChanged(world);
         world.setBlockMetadataWithNotify(x, y, z, setDecayOnMetadata(world.getBlockMetadata(x, y, z)), 3);
     }
     
     @Override
     public void breakBlock(World world, int x, int y, int z, Block block,int metadata)
     {
+        if (LeafDecayScheduler.INSTANCE.isRemoving())
+            return;
+        
         final int leafDecayRadius = 1;
         final int chuckCheckRadius = leafDecayRadius + 1;
         
@@ -266,6 +268,21 @@ public class BlockAutumnLeaves extends BlockLeavesBase implements IShearable
         return Item.getItemFromBlock(type.isPresent() ? type.get().getSaplingBlock() : Blocks.sapling);
     }
     
+    @Override
+    protected void dropBlockAsItem(World world, int x, int y, int z, ItemStack stack)
+    {
+        if (!LeafDecayScheduler.INSTANCE.captureDrop(world, x, y, z, stack))
+        {
+            super.dropBlockAsItem(world, x, y, z, stack);
+        }
+    }
+    
+    @Override
+    public int getLeafDecayRange(int metadata)
+    {
+        return isUserPlaced(metadata) ? 0 : 4;
+    }
+    
     @Override
     public boolean isLeaves(IBlockAccess world, int x, int y, int z)
     {
@@ -330,93 +347,18 @@ public class BlockAutumnLeaves extends BlockLeavesBase implements IShearable
             return;
         
         final int rangeWood = 4;
-        final int rangeCheckChunk = rangeWood + 1;
-        final byte var9 = 32;
-        final int var10 = var9 * var9;
-        final int var11 = var9 / 2;
-        
-        if (adjacentTreeBlocks == null)
-            adjacentTreeBlocks = new int[var9 * var9 * var9];
+        final int leafRange = getLeafDecayRange(metadata);
         
-        if (world.checkChunksExist(x - rangeCheckChunk, y - rangeCheckChunk, z - rangeCheckChunk, x + rangeCheckChunk, y + rangeCheckChunk, z + rangeCheckChunk))
-        {
-            for (int var12 = -rangeWood; var12 <= rangeWood; ++var12)
-            {
-                for (int var13 = -rangeWood; var13 <= rangeWood; ++var13)
-                {
-                    for (int var14 = -rangeWood; var14 <= rangeWood; ++var14)
-                    {
-                        final Block block = world.getBlock(x + var12, y + var13, z + var14);
-                        
-                        if (block != null && block.isWood(world, x + var12, y + var13, z + var14))
-                        {
-                            adjacentTreeBlocks[(var12 + var11) * var10 + (var13 + var11) * var9 + var14 + var11] = 0;
-                        }
-                        else if (block != null && block.isLeaves(world, x + var12, y + var13, z + var14))
-                        {
-                            adjacentTreeBlocks[(var12 + var11) * var10 + (var13 + var11) * var9 + var14 + var11] = -2;
-                        }
-                        else
-                        {
-                            adjacentTreeBlocks[(var12 + var11) * var10 + (var13 + var11) * var9 + var14 + var11] = -1;
-                        }
-                    }
-                }
-            }
-            
-            for (int var12 = 1; var12 <= 4; ++var12)
-            {
-                for (int var13 = -rangeWood; var13 <= rangeWood; ++var13)
-                {
-                    for (int var14 = -rangeWood; var14 <= rangeWood; ++var14)
-                    {
-                        for (int var15 = -rangeWood; var15 <= rangeWood; ++var15)
-                        {
-                            if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11] == var12 - 1)
-                            {
-                                if (adjacentTreeBlocks[(var13 + var11 - 1) * var10 + (var14 + var11) * var9 + var15 + var11] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11 - 1) * var10 + (var14 + var11) * var9 + var15 + var11] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11 + 1) * var10 + (var14 + var11) * var9 + var15 + var11] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11 + 1) * var10 + (var14 + var11) * var9 + var15 + var11] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11 - 1) * var9 + var15 + var11] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11 - 1) * var9 + var15 + var11] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11 + 1) * var9 + var15 + var11] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11 + 1) * var9 + var15 + var11] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11 - 1] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11 - 1] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11 + 1] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11 + 1] = var12;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
+        final LeafDecayEngine.Result result = LeafDecayEngine.INSTANCE.check(world, x, y, z, rangeWood, leafRange);
         
-        if (adjacentTreeBlocks[var11 * var10 + var11 * var9 + var11] >= 0)
+        if (result == LeafDecayEngine.Result.SUPPORTED)
         {
             world.setBlockMetadataWithNotify(x, y, z, clearDecayOnMetadata(metadata), 3);
         }
-        else
+        else if (result == LeafDecayEngine.Result.UNSUPPORTED)
         {
             removeLeaves(world, x, y, z);
+            LeafDecayEngine.INSTANCE.recordDecay(world);
         }
     }
 }
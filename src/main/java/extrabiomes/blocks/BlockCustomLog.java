@@ -140,6 +140,22 @@ public class BlockCustomLog extends BlockLog
         }
     }
     
+    @Override
+    public void breakBlock(World world, int x, int y, int z, Block block, int metadata)
+    {
+        if (!LeafDecayScheduler.INSTANCE.enqueue(world, x, y, z))
+        {
+            super.breakBlock(world, x, y, z, block, metadata);
+        }
+    }
+
+    @Override
+    public void onBlockAdded(World world, int x, int y, int z)
+    {
+        super.onBlockAdded(world, x, y, z);
+        LeafDecayEngine.INSTANCE.notifyLogPlaced(world, x, y, z);
+    }
+
     @Override
     public boolean canSustainLeaves(IBlockAccess world, int x, int y, int z)
     {
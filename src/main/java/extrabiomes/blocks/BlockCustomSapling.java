@@ -30,7 +30,6 @@ import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 import extrabiomes.Extrabiomes;
 import extrabiomes.helpers.ToolTipStringFormatter;
-import extrabiomes.lib.Element;
 import extrabiomes.lib.GeneralSettings;
 import extrabiomes.lib.SaplingSettings;
 import extrabiomes.module.summa.TreeSoilRegistry;
@@ -44,7 +43,7 @@ import extrabiomes.module.summa.worldgen.WorldGenFirTreeHuge;
 import extrabiomes.module.summa.worldgen.WorldGenNewRedwood;
 import extrabiomes.module.summa.worldgen.WorldGenRedwood;
 
-public class BlockCustomSapling extends BlockFlower
+public class BlockCustomSapling extends BlockFlower implements IScheduledSapling
 {
     
     public enum BlockType
@@ -69,7 +68,38 @@ public class BlockCustomSapling extends BlockFlower
         	return toolTipData;
         }
     }
-    
+
+    /**
+     * The generators grown from saplings. They are shared by every sapling and
+     * only created the first time one grows, after the tree blocks exist.
+     */
+    private static class SaplingTrees
+    {
+        static final WorldGenerator       ACACIA         = new WorldGenAcacia(true);
+        static final WorldGenerator       CYPRESS        = new WorldGenCypressTree(true);
+        static final WorldGenerator       FIR            = new WorldGenFirTree(true);
+        static final WorldGenerator       HUGE_FIR       = new WorldGenFirTreeHuge(true);
+        static final WorldGenerator       REDWOOD        = new WorldGenNewRedwood(true);
+        static final WorldGenerator       LEGACY_REDWOOD = new WorldGenRedwood(true);
+
+        private static final WorldGenAutumnTree[] AUTUMN     = new WorldGenAutumnTree[AutumnTreeType.values().length];
+        private static final WorldGenAutumnTree[] BIG_AUTUMN = new WorldGenAutumnTree[AutumnTreeType.values().length];
+
+        static
+        {
+            for (final AutumnTreeType type : AutumnTreeType.values())
+            {
+                AUTUMN[type.ordinal()] = new WorldGenAutumnTree(true, type);
+                BIG_AUTUMN[type.ordinal()] = new WorldGenBigAutumnTree(true, type);
+            }
+        }
+
+        static WorldGenerator autumn(AutumnTreeType type, boolean isBig)
+        {
+            return isBig ? BIG_AUTUMN[type.ordinal()] : AUTUMN[type.ordinal()];
+        }
+    }
+
     Block sapling;
     static int               saplingLifespan  = 5000;
     
@@ -141,7 +171,7 @@ public class BlockCustomSapling extends BlockFlower
             }
             else
             {
-                growTree(world, x, y, z, rand);
+                SaplingGrowthScheduler.INSTANCE.request(world, x, y, z);
             }
         }
     }
@@ -178,7 +208,7 @@ public class BlockCustomSapling extends BlockFlower
         }
         else
         {
-            this.growTree(world, x, y, z, rand);
+            SaplingGrowthScheduler.INSTANCE.request(world, x, y, z);
         }
     }
     
@@ -191,7 +221,8 @@ public class BlockCustomSapling extends BlockFlower
             itemList.add(new ItemStack(this, 1, blockType.metadata()));
     }
     
-    public void growTree(World world, int x, int y, int z, Random rand)
+    @Override
+    public int growTree(World world, int x, int y, int z, Random rand)
     {
         final int metadata = unmarkedMetadata(world.getBlockMetadata(x, y, z));
         WorldGenerator tree = null;
@@ -204,71 +235,27 @@ public class BlockCustomSapling extends BlockFlower
         
         if (metadata == BlockType.UMBER.metadata())
         {
-            if (rand.nextInt(3) != 0)
-            {
-                tree = new WorldGenBigAutumnTree(true, AutumnTreeType.BROWN);
-                
-                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-            }
-            else
-            {
-                tree = new WorldGenAutumnTree(true, AutumnTreeType.BROWN);
-                
-                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-            }
+            tree = SaplingTrees.autumn(AutumnTreeType.BROWN, rand.nextInt(3) != 0);
         }
         else if (metadata == BlockType.GOLDENROD.metadata())
         {
-            if (rand.nextInt(3) != 0)
-            {
-                tree = new WorldGenBigAutumnTree(true, AutumnTreeType.ORANGE);
-                
-                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-            }
-            else
-            {
-                tree = new WorldGenAutumnTree(true, AutumnTreeType.ORANGE);
-                
-                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-            }
+            tree = SaplingTrees.autumn(AutumnTreeType.ORANGE, rand.nextInt(3) != 0);
         }
         else if (metadata == BlockType.VERMILLION.metadata())
         {
-            if (rand.nextInt(3) != 0)
-            {
-                tree = new WorldGenBigAutumnTree(true, AutumnTreeType.PURPLE);
-                
-                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-            }
-            else
-            {
-                tree = new WorldGenAutumnTree(true, AutumnTreeType.PURPLE);
-                
-                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-            }
+            tree = SaplingTrees.autumn(AutumnTreeType.PURPLE, rand.nextInt(3) != 0);
         }
         else if (metadata == BlockType.CITRINE.metadata())
         {
-            if (rand.nextInt(3) != 0)
-            {
-                tree = new WorldGenBigAutumnTree(true, AutumnTreeType.YELLOW);
-                
-                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-            }
-            else
-            {
-                tree = new WorldGenAutumnTree(true, AutumnTreeType.YELLOW);
-                
-                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
-            }
+            tree = SaplingTrees.autumn(AutumnTreeType.YELLOW, rand.nextInt(3) != 0);
         }
         else if (metadata == BlockType.ACACIA.metadata())
         {
-            tree = new WorldGenAcacia(true);
+            tree = SaplingTrees.ACACIA;
         }
         else if (metadata == BlockType.CYPRESS.metadata())
         {
-            tree = new WorldGenCypressTree(true);
+            tree = SaplingTrees.CYPRESS;
         }
         else
         {
@@ -280,12 +267,12 @@ public class BlockCustomSapling extends BlockFlower
                     {
                         if (metadata == BlockType.FIR.metadata())
                         {
-                            tree = new WorldGenFirTreeHuge(true);
+                            tree = SaplingTrees.HUGE_FIR;
                             offset = 1;
                         }
                         else
                         {
-                            tree = GeneralSettings.useLegacyRedwoods ? new WorldGenRedwood(true) : new WorldGenNewRedwood(true);
+                            tree = GeneralSettings.useLegacyRedwoods ? SaplingTrees.LEGACY_REDWOOD : SaplingTrees.REDWOOD;
                             offset = 0;
                         }
                         isHuge = true;
@@ -299,45 +286,27 @@ public class BlockCustomSapling extends BlockFlower
                 // Single fir sapling generates 1x1 tree
                 z1 = 0;
                 x1 = 0;
-                tree = new WorldGenFirTree(true);
+                tree = SaplingTrees.FIR;
             }
         }
         
-        if (tree != null)
-        {
+        if (tree == null)
+            return 0;
+        
+        final int size = isHuge ? 2 : 1;
+        final int blocks = SaplingGrowthScheduler.grow(world, tree, rand, x + x1 + offset, y, z + z1 + offset, x + x1, z + z1, size, this, metadata);
+        
+        if (blocks > 0 && isForestryFarmed)
             if (isHuge)
             {
-                world.setBlock(x + x1, y, z + z1, Blocks.air);
-                world.setBlock(x + x1 + 1, y, z + z1, Blocks.air);
-                world.setBlock(x + x1, y, z + z1 + 1, Blocks.air);
-                world.setBlock(x + x1 + 1, y, z + z1 + 1, Blocks.air);
+                world.setBlock(x + x1, y - 1, z + z1, Blocks.sand);
+                world.setBlock(x + x1 + 1, y - 1, z + z1, Blocks.sand);
+                world.setBlock(x + x1, y - 1, z + z1 + 1, Blocks.sand);
+                world.setBlock(x + x1 + 1, y - 1, z + z1 + 1, Blocks.sand);
             }
             else
-                world.setBlock(x, y, z, Blocks.air);
-            
-            if (!tree.generate(world, rand, x + x1 + offset, y, z + z1 + offset))
-            {
-                if (isHuge)
-                {
-                    world.setBlock(x + x1, y, z + z1, this, metadata, 3);
-                    world.setBlock(x + x1 + 1, y, z + z1, this, metadata, 3);
-                    world.setBlock(x + x1, y, z + z1 + 1, this, metadata, 3);
-                    world.setBlock(x + x1 + 1, y, z + z1 + 1, this, metadata, 3);
-                }
-                else
-                    world.setBlock(x, y, z, this, metadata, 3);
-            }
-            else if (isForestryFarmed)
-                if (isHuge)
-                {
-                    world.setBlock(x + x1, y - 1, z + z1, Blocks.sand);
-                    world.setBlock(x + x1 + 1, y - 1, z + z1, Blocks.sand);
-                    world.setBlock(x + x1, y - 1, z + z1 + 1, Blocks.sand);
-                    world.setBlock(x + x1 + 1, y - 1, z + z1 + 1, Blocks.sand);
-                }
-                else
-                    world.setBlock(x, y - 1, z, Blocks.sand);
-        }
+                world.setBlock(x, y - 1, z, Blocks.sand);
+        return blocks;
     }
     
     public boolean isSameSapling(World world, int x, int y, int z, int metadata)
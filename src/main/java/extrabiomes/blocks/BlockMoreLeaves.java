@@ -33,7 +33,7 @@ import cpw.mods.fml.relauncher.SideOnly;
 import extrabiomes.Extrabiomes;
 import extrabiomes.lib.Element;
 
-public class BlockMoreLeaves extends BlockLeavesBase implements IShearable
+public class BlockMoreLeaves extends BlockLeavesBase implements IShearable, IDecayableLeaves
 {
     
     public enum BlockType
@@ -104,26 +104,6 @@ public class BlockMoreLeaves extends BlockLeavesBase implements IShearable
     private static final int METADATA_DECAYBIT      = 0x8;
     private static final int METADATA_CLEARDECAYBIT = -METADATA_DECAYBIT - 1;
     
-    private static int calcSmoothedBiomeFoliageColor(IBlockAccess iBlockAccess, int x, int z)
-    {
-        int red = 0;
-        int green = 0;
-        int blue = 0;
-        
-        for (int z1 = -1; z1 <= 1; ++z1)
-        {
-            for (int x1 = -1; x1 <= 1; ++x1)
-            {
-                final int foliageColor = iBlockAccess.getBiomeGenForCoords(x + x1, z + z1).getBiomeFoliageColor(x + x1, 96, z + z1);
-                red += (foliageColor & 16711680) >> 16;
-                green += (foliageColor & 65280) >> 8;
-                blue += foliageColor & 255;
-            }
-        }
-        
-        return (red / 9 & 255) << 16 | (green / 9 & 255) << 8 | blue / 9 & 255;
-    }
-    
     static private int clearDecayOnMetadata(int metadata)
     {
         return metadata & METADATA_CLEARDECAYBIT;
@@ -149,8 +129,6 @@ public class BlockMoreLeaves extends BlockLeavesBase implements IShearable
         return metadata & METADATA_BITMASK;
     }
     
-    int[]          adjacentTreeBlocks;
-    
     private IIcon[] textures = { null, null, null, null, null, null, null, null, null, null, null, null };
     
     public BlockMoreLeaves(Material material, boolean useFastGraphics)
@@ -170,12 +148,16 @@ public class BlockMoreLeaves extends BlockLeavesBase implements IShearable
     @Override
     public void beginLeavesDecay(World world, int x, int y, int z)
     {
+        LeafDecayEngine.INSTANCE.notifyTreeChanged(world);
         world.setBlockMetadataWithNotify(x, y, z, setDecayOnMetadata(world.getBlockMetadata(x, y, z)), 3);
     }
     
     @Override
     public void breakBlock(World world, int x, int y, int z, Block _block, int metadata)
     {
+        if (LeafDecayScheduler.INSTANCE.isRemoving())
+            return;
+        
         final int leafDecayRadius = 1;
         
         final int chuckCheckRadius = leafDecayRadius + 1;
@@ -207,7 +189,7 @@ public class BlockMoreLeaves extends BlockLeavesBase implements IShearable
         //if(metadata == BlockType.JAPANESE_MAPLE.metadata()) {
         return getRenderColor(metadata);
         //} else { 
-        //	return calcSmoothedBiomeFoliageColor(iBlockAccess, x, z);
+        //	return FoliageColorCache.INSTANCE.getSmoothedColor(iBlockAccess, x, z);
         //}
     }
     
@@ -326,6 +308,21 @@ public class BlockMoreLeaves extends BlockLeavesBase implements IShearable
         return type.isPresent() ? type.get().getSaplingItem() : Item.getItemFromBlock(Blocks.sapling);
     }
     
+    @Override
+    protected void dropBlockAsItem(World world, int x, int y, int z, ItemStack stack)
+    {
+        if (!LeafDecayScheduler.INSTANCE.captureDrop(world, x, y, z, stack))
+        {
+            super.dropBlockAsItem(world, x, y, z, stack);
+        }
+    }
+    
+    @Override
+    public int getLeafDecayRange(int metadata)
+    {
+        return isUserPlaced(metadata) ? 0 : 10;
+    }
+    
     @Override
     public boolean isLeaves(IBlockAccess world, int x, int y, int z)
     {
@@ -390,97 +387,18 @@ public class BlockMoreLeaves extends BlockLeavesBase implements IShearable
             return;
         
         final int rangeWood = 8;
-        final int rangeCheckChunk = rangeWood + 1;
-        final byte var9 = 32;
-        final int var10 = var9 * var9;
-        final int var11 = var9 / 2;
-        final int leafRange = 10;
+        final int leafRange = getLeafDecayRange(metadata);
         
-        if (adjacentTreeBlocks == null)
-        {
-            adjacentTreeBlocks = new int[var9 * var9 * var9];
-        }
-        
-        if (world.checkChunksExist(x - rangeCheckChunk, y - rangeCheckChunk, z - rangeCheckChunk, x + rangeCheckChunk, y + rangeCheckChunk, z + rangeCheckChunk))
-        {
-            
-            for (int var12 = -rangeWood; var12 <= rangeWood; ++var12)
-            {
-                for (int var13 = -rangeWood; var13 <= rangeWood; ++var13)
-                {
-                    for (int var14 = -rangeWood; var14 <= rangeWood; ++var14)
-                    {
-                        final Block block = world.getBlock(x + var12, y + var13, z + var14);
-                        
-                        if (block != null && block.canSustainLeaves(world, x + var12, y + var13, z + var14))
-                        {
-                            adjacentTreeBlocks[(var12 + var11) * var10 + (var13 + var11) * var9 + var14 + var11] = 0;
-                        }
-                        else if (block != null && block.isLeaves(world, x + var12, y + var13, z + var14))
-                        {
-                            adjacentTreeBlocks[(var12 + var11) * var10 + (var13 + var11) * var9 + var14 + var11] = -2;
-                        }
-                        else
-                        {
-                            adjacentTreeBlocks[(var12 + var11) * var10 + (var13 + var11) * var9 + var14 + var11] = -1;
-                        }
-                    }
-                }
-            }
-            
-            for (int var12 = 1; var12 <= leafRange; ++var12)
-            {
-                for (int var13 = -rangeWood; var13 <= rangeWood; ++var13)
-                {
-                    for (int var14 = -rangeWood; var14 <= rangeWood; ++var14)
-                    {
-                        for (int var15 = -rangeWood; var15 <= rangeWood; ++var15)
-                        {
-                            if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11] == var12 - 1)
-                            {
-                                if (adjacentTreeBlocks[(var13 + var11 - 1) * var10 + (var14 + var11) * var9 + var15 + var11] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11 - 1) * var10 + (var14 + var11) * var9 + var15 + var11] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11 + 1) * var10 + (var14 + var11) * var9 + var15 + var11] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11 + 1) * var10 + (var14 + var11) * var9 + var15 + var11] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11 - 1) * var9 + var15 + var11] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11 - 1) * var9 + var15 + var11] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11 + 1) * var9 + var15 + var11] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11 + 1) * var9 + var15 + var11] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11 - 1] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11 - 1] = var12;
-                                }
-                                
-                                if (adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11 + 1] == -2)
-                                {
-                                    adjacentTreeBlocks[(var13 + var11) * var10 + (var14 + var11) * var9 + var15 + var11 + 1] = var12;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
+        final LeafDecayEngine.Result result = LeafDecayEngine.INSTANCE.check(world, x, y, z, rangeWood, leafRange);
         
-        if (adjacentTreeBlocks[var11 * var10 + var11 * var9 + var11] >= 0)
+        if (result == LeafDecayEngine.Result.SUPPORTED)
         {
             world.setBlockMetadataWithNotify(x, y, z, clearDecayOnMetadata(metadata), 3);
         }
-        else
+        else if (result == LeafDecayEngine.Result.UNSUPPORTED)
         {
             removeLeaves(world, x, y, z);
+            LeafDecayEngine.INSTANCE.recordDecay(world);
         }
     }
     
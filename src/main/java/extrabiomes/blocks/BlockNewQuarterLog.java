@@ -29,6 +29,7 @@ public class BlockNewQuarterLog extends BlockLog
 {
     private BlockSettings settings;
     private final IIcon[]     textures = { null, null, null, null, null, null, null, null, null };
+    private IIcon[][]   icons;
     private static int renderId = 32;
     private String     treeType = "quarter";
     private ItemStack droppedItem;
@@ -57,10 +58,21 @@ public class BlockNewQuarterLog extends BlockLog
         
         //textures[8] = iconRegister.registerIcon(Extrabiomes.TEXTURE_PATH + "todo");
         
+        icons = new IIcon[16][6];
+        for (int metadata = 0; metadata < 16; ++metadata)
+            for (int side = 0; side < 6; ++side)
+                icons[metadata][side] = resolveIcon(side, metadata);
     }
     
     @Override
     public IIcon getIcon(int side, int metadata)
+    {
+        if (icons == null || side < 0 || side > 5)
+            return resolveIcon(side, metadata);
+        return icons[metadata & 15][side];
+    }
+    
+    IIcon resolveIcon(int side, int metadata)
     {
         final int orientation = metadata;
         
@@ -651,6 +663,22 @@ public class BlockNewQuarterLog extends BlockLog
         }
     }
 
+    @Override
+    public void breakBlock(World world, int x, int y, int z, Block block, int metadata)
+    {
+        if (!LeafDecayScheduler.INSTANCE.enqueue(world, x, y, z))
+        {
+            super.breakBlock(world, x, y, z, block, metadata);
+        }
+    }
+
+    @Override
+    public void onBlockAdded(World world, int x, int y, int z)
+    {
+        super.onBlockAdded(world, x, y, z);
+        LeafDecayEngine.INSTANCE.notifyLogPlaced(world, x, y, z);
+    }
+
     @Override
     public boolean canSustainLeaves(IBlockAccess world, int x, int y, int z)
     {
@@ -40,7 +40,7 @@ import extrabiomes.module.summa.worldgen.WorldGenJapaneseMapleTree;
 import extrabiomes.module.summa.worldgen.WorldGenRainbowEucalyptusTree;
 import extrabiomes.module.summa.worldgen.WorldGenSakuraBlossomTree;
 
-public class BlockNewSapling extends BlockFlower
+public class BlockNewSapling extends BlockFlower implements IScheduledSapling
 {
     
     public enum BlockType
@@ -132,7 +132,7 @@ public class BlockNewSapling extends BlockFlower
             }
             else
             {
-                growTree(world, x, y, z, rand);
+                SaplingGrowthScheduler.INSTANCE.request(world, x, y, z);
             }
         }
     }
@@ -170,7 +170,7 @@ public class BlockNewSapling extends BlockFlower
         }
         else
         {
-            this.growTree(world, x, y, z, rand);
+            SaplingGrowthScheduler.INSTANCE.request(world, x, y, z);
         }
     }
     
@@ -185,7 +185,8 @@ public class BlockNewSapling extends BlockFlower
         }
     }
     
-    public void growTree(World world, int x, int y, int z, Random rand)
+    @Override
+    public int growTree(World world, int x, int y, int z, Random rand)
     {
         final int metadata = unmarkedMetadata(world.getBlockMetadata(x, y, z));
         WorldGenerator tree = null;
@@ -230,45 +231,23 @@ public class BlockNewSapling extends BlockFlower
             tree = new WorldGenJapaneseMapleShrub(true);
         }
         
-        if (tree != null)
-        {
+        if (tree == null)
+            return 0;
+        
+        final int size = isHuge ? 2 : 1;
+        final int blocks = SaplingGrowthScheduler.grow(world, tree, rand, x + x1, y, z + z1, x + x1, z + z1, size, this, metadata);
+        
+        if (blocks > 0 && isForestryFarmed)
             if (isHuge)
             {
-                world.setBlock(x + x1, y, z + z1, Blocks.air);
-                world.setBlock(x + x1 + 1, y, z + z1, Blocks.air);
-                world.setBlock(x + x1, y, z + z1 + 1, Blocks.air);
-                world.setBlock(x + x1 + 1, y, z + z1 + 1, Blocks.air);
+                world.setBlock(x + x1, y - 1, z + z1, Blocks.sand);
+                world.setBlock(x + x1 + 1, y - 1, z + z1, Blocks.sand);
+                world.setBlock(x + x1, y - 1, z + z1 + 1, Blocks.sand);
+                world.setBlock(x + x1 + 1, y - 1, z + z1 + 1, Blocks.sand);
             }
             else
-            {
-                world.setBlock(x, y, z, Blocks.air);
-            }
-            
-            if (!tree.generate(world, rand, x + x1, y, z + z1))
-            {
-                if (isHuge)
-                {
-                    world.setBlock(x + x1, y, z + z1, this, metadata, 3);
-                    world.setBlock(x + x1 + 1, y, z + z1, this, metadata, 3);
-                    world.setBlock(x + x1, y, z + z1 + 1, this, metadata, 3);
-                    world.setBlock(x + x1 + 1, y, z + z1 + 1, this, metadata, 3);
-                }
-                else
-                    world.setBlock(x, y, z, this, metadata, 3);
-            }
-            else if (isForestryFarmed)
-                if (isHuge)
-                {
-                    world.setBlock(x + x1, y - 1, z + z1, Blocks.sand);
-                    world.setBlock(x + x1 + 1, y - 1, z + z1, Blocks.sand);
-                    world.setBlock(x + x1, y - 1, z + z1 + 1, Blocks.sand);
-                    world.setBlock(x + x1 + 1, y - 1, z + z1 + 1, Blocks.sand);
-                }
-                else
-                {
-                    world.setBlock(x, y - 1, z, Blocks.sand);
-                }
-        }//*/
+                world.setBlock(x, y - 1, z, Blocks.sand);
+        return blocks;
     }
     
     public boolean isSameSapling(World world, int x, int y, int z, int metadata)
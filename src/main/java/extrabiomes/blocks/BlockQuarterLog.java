@@ -98,6 +98,8 @@ public class BlockQuarterLog extends BlockLog
     private HashMap<Integer, IIcon> textures;
     private IIcon[]                 textureArray = { null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null };
     private int                    index;
+    /** Each side's icon for every metadata, worked out once the icons are registered */
+    private IIcon[][]              icons;
     
     public BlockQuarterLog(BlockSettings settings, int index, BarkOn barkOnSides)
     {
@@ -142,6 +144,11 @@ public class BlockQuarterLog extends BlockLog
         textureArray[23] = iconRegister.registerIcon(Extrabiomes.TEXTURE_PATH + "oaksideright");
         
         setupTextures(index);
+        
+        icons = new IIcon[16][6];
+        for (int metadata = 0; metadata < 16; ++metadata)
+            for (int side = 0; side < 6; ++side)
+                icons[metadata][side] = resolveIcon(side, metadata);
     }
     
     public void setupTextures(int index)
@@ -184,6 +191,13 @@ public class BlockQuarterLog extends BlockLog
     
     @Override
     public IIcon getIcon(int side, int metadata)
+    {
+        if (icons == null || side < 0 || side > 5)
+            return resolveIcon(side, metadata);
+        return icons[metadata & 15][side];
+    }
+    
+    IIcon resolveIcon(int side, int metadata)
     {
         final int orientation = metadata & 12;
         int type = metadata & 3;
@@ -802,6 +816,22 @@ public class BlockQuarterLog extends BlockLog
         }
     }
 
+    @Override
+    public void breakBlock(World world, int x, int y, int z, Block block, int metadata)
+    {
+        if (!LeafDecayScheduler.INSTANCE.enqueue(world, x, y, z))
+        {
+            super.breakBlock(world, x, y, z, block, metadata);
+        }
+    }
+
+    @Override
+    public void onBlockAdded(World world, int x, int y, int z)
+    {
+        super.onBlockAdded(world, x, y, z);
+        LeafDecayEngine.INSTANCE.notifyLogPlaced(world, x, y, z);
+    }
+
     @Override
     public boolean canSustainLeaves(IBlockAccess world, int x, int y, int z)
     {
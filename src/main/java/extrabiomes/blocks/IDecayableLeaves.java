@@ -0,0 +1,19 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.blocks;
+
+/**
+ * Leaves that can be removed in bulk by the {@link LeafDecayScheduler}.
+ */
+public interface IDecayableLeaves
+{
+    /**
+     * Returns the largest number of steps a leaf with this metadata may be
+     * from wood before it decays, or 0 if it never decays.
+     */
+    int getLeafDecayRange(int metadata);
+}
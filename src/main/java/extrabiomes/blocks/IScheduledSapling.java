@@ -0,0 +1,25 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.blocks;
+
+import java.util.Random;
+
+import net.minecraft.world.World;
+
+/**
+ * A sapling whose trees are grown by the {@link SaplingGrowthScheduler}
+ * rather than from its own tick.
+ */
+public interface IScheduledSapling
+{
+    /**
+     * Grows the tree the sapling at the position belongs to.
+     *
+     * @return about how many blocks the tree took, or 0 if it could not grow
+     */
+    int growTree(World world, int x, int y, int z, Random rand);
+}
@@ -0,0 +1,464 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.blocks;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.BlockEvent;
+
+import com.google.common.collect.Maps;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import extrabiomes.api.BlockClassification;
+
+/**
+ * Shared leaf connectivity checks for the ExtrabiomesXL leaf blocks.
+ * <p>
+ * Rather than classifying every block of a 32x32x32 cube around a decaying
+ * leaf, a bounded breadth first search walks only the leaves that are
+ * connected to it until a block that can sustain leaves is reached. Verdicts
+ * are remembered per chunk section and search range so the rest of a canopy
+ * does not repeat the search. All state is owned by the server thread.
+ */
+public enum LeafDecayEngine
+{
+    INSTANCE;
+
+    public enum Result
+    {
+        /** The leaf is connected to wood and should stop decaying */
+        SUPPORTED,
+        /** The leaf is orphaned and should be removed */
+        UNSUPPORTED,
+        /** Nothing was decided this tick; ask again on a later tick */
+        DEFERRED
+    }
+
+    /** Largest scan radius any leaf may ask for, same limit as the vanilla 32 block array */
+    public static final int  MAX_RANGE         = 15;
+
+    /** Number of ticks an orphaned verdict is trusted for */
+    private static final int CACHE_TICKS       = 20;
+
+    private static final int SIZE              = MAX_RANGE * 2 + 1;
+    private static final int CENTER            = (MAX_RANGE * SIZE + MAX_RANGE) * SIZE + MAX_RANGE;
+
+    private static final int[] OFFSET_X        = { -1, 1, 0, 0, 0, 0 };
+    private static final int[] OFFSET_Y        = { 0, 0, -1, 1, 0, 0 };
+    private static final int[] OFFSET_Z        = { 0, 0, 0, 0, -1, 1 };
+
+    /** Maximum number of blocks probed per world per tick */
+    private static int       maxProbesPerTick  = 8192;
+
+    private final Map<World, WorldState> worlds = new WeakHashMap<World, WorldState>();
+
+    // Scratch space for the search, reused between calls
+    private final int[]      visited           = new int[SIZE * SIZE * SIZE];
+    private final int[]      queue             = new int[SIZE * SIZE * SIZE];
+    private final byte[]     queueDepth        = new byte[SIZE * SIZE * SIZE];
+    private int              stamp             = 0;
+
+    private long             totalChecked      = 0;
+    private long             totalDecayed      = 0;
+    private long             totalProbes       = 0;
+    private long             totalCacheHits    = 0;
+
+    public static int getMaxProbesPerTick()
+    {
+        return maxProbesPerTick;
+    }
+
+    public static void setMaxProbesPerTick(int probes)
+    {
+        maxProbesPerTick = Math.max(probes, 1);
+    }
+
+    /**
+     * Decides whether the leaf at the given position is still connected to
+     * wood.
+     *
+     * @param rangeWood - how far from the leaf, on any axis, the search may
+     *            travel
+     * @param leafRange - the largest number of steps allowed between the leaf
+     *            and the wood that supports it
+     */
+    public Result check(World world, int x, int y, int z, int rangeWood, int leafRange)
+    {
+        rangeWood = Math.min(rangeWood, MAX_RANGE);
+
+        final WorldState state = getState(world);
+        state.rollTick(world.getTotalWorldTime());
+
+        final long range = rangeKey(rangeWood, leafRange);
+        final Result cached = state.lookup(x, y, z, range);
+        if (cached != null)
+        {
+            state.checkedThisTick++;
+            totalChecked++;
+            totalCacheHits++;
+            return cached;
+        }
+
+        if (state.probesThisTick >= maxProbesPerTick)
+            return Result.DEFERRED;
+
+        final int rangeCheckChunk = rangeWood + 1;
+        if (!world.checkChunksExist(x - rangeCheckChunk, y - rangeCheckChunk, z - rangeCheckChunk, x + rangeCheckChunk, y + rangeCheckChunk, z + rangeCheckChunk))
+            return Result.DEFERRED;
+
+        state.checkedThisTick++;
+        totalChecked++;
+
+        if (++stamp == 0)
+        {
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+
+        int head = 0;
+        int tail = 0;
+        queue[tail] = CENTER;
+        queueDepth[tail++] = 0;
+        visited[CENTER] = stamp;
+
+        int probes = 0;
+        int supportDistance = -1;
+        boolean truncated = false;
+
+        search:
+        while (head < tail)
+        {
+            final int index = queue[head];
+            final int depth = queueDepth[head++];
+            final int dx = index / (SIZE * SIZE) - MAX_RANGE;
+            final int dy = index / SIZE % SIZE - MAX_RANGE;
+            final int dz = index % SIZE - MAX_RANGE;
+
+            for (int side = 0; side < 6; ++side)
+            {
+                final int nx = dx + OFFSET_X[side];
+                final int ny = dy + OFFSET_Y[side];
+                final int nz = dz + OFFSET_Z[side];
+
+                if (Math.abs(nx) > rangeWood || Math.abs(ny) > rangeWood || Math.abs(nz) > rangeWood)
+                {
+                    truncated = true;
+                    continue;
+                }
+
+                final int neighbour = ((nx + MAX_RANGE) * SIZE + ny + MAX_RANGE) * SIZE + nz + MAX_RANGE;
+                if (visited[neighbour] == stamp)
+                    continue;
+                visited[neighbour] = stamp;
+
+                probes++;
+                final int flags = BlockClassification.getFlags(world.getBlock(x + nx, y + ny, z + nz), world.getBlockMetadata(x + nx, y + ny, z + nz));
+
+                if ((flags & BlockClassification.LOG) != 0)
+                {
+                    supportDistance = depth + 1;
+                    break search;
+                }
+
+                if ((flags & BlockClassification.LEAVES) != 0)
+                {
+                    if (depth + 1 < leafRange)
+                    {
+                        queue[tail] = neighbour;
+                        queueDepth[tail++] = (byte) (depth + 1);
+                    }
+                    else
+                    {
+                        truncated = true;
+                    }
+                }
+            }
+        }
+
+        state.probesThisTick += probes;
+        totalProbes += probes;
+
+        if (supportDistance >= 0)
+        {
+            // Every leaf reached early enough is supported through this leaf
+            for (int i = 0; i < tail && queueDepth[i] + supportDistance <= leafRange; ++i)
+            {
+                final int index = queue[i];
+                state.store(x + index / (SIZE * SIZE) - MAX_RANGE, y + index / SIZE % SIZE - MAX_RANGE, z + index % SIZE - MAX_RANGE, range, true);
+            }
+            return Result.SUPPORTED;
+        }
+
+        if (truncated)
+        {
+            state.store(x, y, z, range, false);
+        }
+        else
+        {
+            // The whole leaf cluster was walked without touching wood, so none of it can survive
+            for (int i = 0; i < tail; ++i)
+            {
+                final int index = queue[i];
+                state.store(x + index / (SIZE * SIZE) - MAX_RANGE, y + index / SIZE % SIZE - MAX_RANGE, z + index % SIZE - MAX_RANGE, range, false);
+            }
+        }
+        return Result.UNSUPPORTED;
+    }
+
+    /**
+     * Forgets every supported verdict for the world. Called whenever a block
+     * that leaves may depend on goes away.
+     */
+    public void notifyTreeChanged(World world)
+    {
+        if (world.isRemote)
+            return;
+
+        final WorldState state = worlds.get(world);
+        if (state != null)
+        {
+            state.generation++;
+        }
+    }
+
+    /**
+     * Forgets every verdict near a log that was just placed, since leaves
+     * found orphaned there may now be supported, and has the decay scheduler
+     * do the same with the leaves it has planned to remove.
+     */
+    public void notifyLogPlaced(World world, int x, int y, int z)
+    {
+        if (world.isRemote)
+            return;
+
+        LeafDecayScheduler.INSTANCE.notifyLogPlaced(world, x, y, z);
+
+        final WorldState state = worlds.get(world);
+        if (state != null)
+        {
+            state.forgetAround(x, y, z);
+        }
+    }
+
+    @SubscribeEvent
+    public void onBlockPlace(BlockEvent.PlaceEvent event)
+    {
+        // ExtrabiomesXL logs report themselves when added; this catches everyone else's
+        if (BlockClassification.is(event.placedBlock, event.blockMetadata, BlockClassification.LOG))
+        {
+            notifyLogPlaced(event.world, event.x, event.y, event.z);
+        }
+    }
+
+    /**
+     * Records that a leaf was removed because the engine found it orphaned.
+     */
+    public void recordDecay(World world)
+    {
+        getState(world).decayedThisTick++;
+        totalDecayed++;
+    }
+
+    public int getCheckedLastTick(World world)
+    {
+        final WorldState state = worlds.get(world);
+        return state == null ? 0 : state.checkedLastTick;
+    }
+
+    public int getDecayedLastTick(World world)
+    {
+        final WorldState state = worlds.get(world);
+        return state == null ? 0 : state.decayedLastTick;
+    }
+
+    public int getProbesLastTick(World world)
+    {
+        final WorldState state = worlds.get(world);
+        return state == null ? 0 : state.probesLastTick;
+    }
+
+    public long getTotalChecked()
+    {
+        return totalChecked;
+    }
+
+    public long getTotalDecayed()
+    {
+        return totalDecayed;
+    }
+
+    public long getTotalProbes()
+    {
+        return totalProbes;
+    }
+
+    public long getTotalCacheHits()
+    {
+        return totalCacheHits;
+    }
+
+    public void resetCounters()
+    {
+        totalChecked = 0;
+        totalDecayed = 0;
+        totalProbes = 0;
+        totalCacheHits = 0;
+    }
+
+    private WorldState getState(World world)
+    {
+        WorldState state = worlds.get(world);
+        if (state == null)
+        {
+            state = new WorldState();
+            worlds.put(world, state);
+        }
+        return state;
+    }
+
+    private static long sectionKey(int x, int y, int z)
+    {
+        return (x >> 4 & 0x3FFFFFL) | (z >> 4 & 0x3FFFFFL) << 22 | (long) (y >> 4 & 0xF) << 44;
+    }
+
+    // Leaves that search different ranges can reach different verdicts, so each range keeps its own
+    private static long rangeKey(int rangeWood, int leafRange)
+    {
+        return (long) rangeWood << 48 | ((long) Math.min(leafRange, 0xFF) & 0xFF) << 52;
+    }
+
+    private static boolean isNear(long key, int x, int y, int z)
+    {
+        final int sectionX = (int) (key << 42 >> 42) << 4;
+        final int sectionZ = (int) (key << 20 >> 42) << 4;
+        final int sectionY = (int) (key >> 44 & 0xF) << 4;
+        return x >= sectionX - MAX_RANGE && x <= sectionX + 15 + MAX_RANGE && y >= sectionY - MAX_RANGE && y <= sectionY + 15 + MAX_RANGE
+                && z >= sectionZ - MAX_RANGE && z <= sectionZ + 15 + MAX_RANGE;
+    }
+
+    private static int sectionIndex(int x, int y, int z)
+    {
+        return (y & 15) << 8 | (z & 15) << 4 | x & 15;
+    }
+
+    private static class SectionVerdicts
+    {
+        final long[] known     = new long[64];
+        final long[] supported = new long[64];
+        long         created;
+        long         generation;
+    }
+
+    private static class WorldState
+    {
+        final Map<Long, SectionVerdicts> sections = Maps.newHashMap();
+        long                             tick     = Long.MIN_VALUE;
+        long                             generation;
+
+        int                              checkedThisTick;
+        int                              decayedThisTick;
+        int                              probesThisTick;
+        int                              checkedLastTick;
+        int                              decayedLastTick;
+        int                              probesLastTick;
+
+        void rollTick(long now)
+        {
+            if (now == tick)
+                return;
+
+            checkedLastTick = checkedThisTick;
+            decayedLastTick = decayedThisTick;
+            probesLastTick = probesThisTick;
+            checkedThisTick = 0;
+            decayedThisTick = 0;
+            probesThisTick = 0;
+            tick = now;
+
+            final Iterator<SectionVerdicts> iterator = sections.values().iterator();
+            while (iterator.hasNext())
+            {
+                if (now - iterator.next().created >= CACHE_TICKS)
+                {
+                    iterator.remove();
+                }
+            }
+        }
+
+        Result lookup(int x, int y, int z, long range)
+        {
+            if (sections.isEmpty())
+                return null;
+
+            final SectionVerdicts section = sections.get(sectionKey(x, y, z) | range);
+            if (section == null)
+                return null;
+
+            final int index = sectionIndex(x, y, z);
+            final long bit = 1L << index;
+            if ((section.known[index >> 6] & bit) == 0)
+                return null;
+
+            if ((section.supported[index >> 6] & bit) == 0)
+                return Result.UNSUPPORTED;
+
+            // Supported verdicts only hold until something is removed from a tree
+            return section.generation == generation ? Result.SUPPORTED : null;
+        }
+
+        void forgetAround(int x, int y, int z)
+        {
+            final Iterator<Long> iterator = sections.keySet().iterator();
+            while (iterator.hasNext())
+            {
+                if (isNear(iterator.next(), x, y, z))
+                {
+                    iterator.remove();
+                }
+            }
+        }
+
+        void store(int x, int y, int z, long range, boolean isSupported)
+        {
+            final Long key = sectionKey(x, y, z) | range;
+            SectionVerdicts section = sections.get(key);
+            if (section == null)
+            {
+                section = new SectionVerdicts();
+                section.created = tick;
+                section.generation = generation;
+                sections.put(key, section);
+            }
+            else if (section.generation != generation)
+            {
+                // Drop the supported verdicts from before the last change
+                for (int i = 0; i < 64; ++i)
+                {
+                    section.known[i] &= ~section.supported[i];
+                    section.supported[i] = 0;
+                }
+                section.generation = generation;
+            }
+
+            final int index = sectionIndex(x, y, z);
+            final long bit = 1L << index;
+            section.known[index >> 6] |= bit;
+            if (isSupported)
+            {
+                section.supported[index >> 6] |= bit;
+            }
+            else
+            {
+                section.supported[index >> 6] &= ~bit;
+            }
+        }
+    }
+}
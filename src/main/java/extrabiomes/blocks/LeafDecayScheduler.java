@@ -0,0 +1,587 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.blocks;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.block.Block;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+
+import com.google.common.collect.Lists;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.relauncher.Side;
+import extrabiomes.helpers.TreeWalker;
+
+/**
+ * Removes the leaves orphaned by a broken log as a single job.
+ * <p>
+ * When an ExtrabiomesXL log is broken it enqueues its position instead of
+ * marking every leaf in a 9x9x9 cube as decaying. At the end of the world
+ * tick all positions enqueued that tick are planned together: the connected
+ * canopy is walked once, distances to the remaining wood are computed with a
+ * breadth first search outward from the logs, and the orphaned leaves are
+ * then removed in bounded batches on the following ticks with their drops
+ * merged. A log placed near a job before it finishes hands the leaves it
+ * could support back to their own decay checks.
+ */
+public enum LeafDecayScheduler
+{
+    INSTANCE;
+
+    /** Largest leaf range of any ExtrabiomesXL leaf */
+    private static final int  MAX_LEAF_RANGE     = 10;
+
+    /** Leaves further than this from the broken log can not affect the result */
+    private static final int  FLOOD_DEPTH        = MAX_LEAF_RANGE * 2;
+
+    /** Radius that vanilla logs mark as decaying when broken */
+    private static final int  LOG_DECAY_RADIUS   = 4;
+
+    /** Largest canopy a single job will plan before falling back to marking leaves */
+    private static final int  MAX_VOLUME         = 32768;
+
+    private static final int  UNSUPPORTED        = Integer.MAX_VALUE;
+
+    private static boolean    enabled            = true;
+    private static int        maxLeavesPerTick   = 256;
+
+    private final Map<World, WorldState> worlds  = new WeakHashMap<World, WorldState>();
+
+    private boolean           removing           = false;
+    private final List<ItemStack> capturedDrops  = Lists.newArrayList();
+    private final List<long[]>    dropPositions  = Lists.newArrayList();
+
+    private long              totalJobs          = 0;
+    private long              totalRemoved       = 0;
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean isEnabled)
+    {
+        enabled = isEnabled;
+    }
+
+    public static int getMaxLeavesPerTick()
+    {
+        return maxLeavesPerTick;
+    }
+
+    public static void setMaxLeavesPerTick(int leaves)
+    {
+        maxLeavesPerTick = Math.max(leaves, 1);
+    }
+
+    /**
+     * Queues a decay job for a log that was just removed.
+     *
+     * @return false if the caller should fall back to marking leaves itself
+     */
+    public boolean enqueue(World world, int x, int y, int z)
+    {
+        if (!enabled || world.isRemote)
+            return false;
+
+        getState(world).origins.add(pack(x, y, z));
+        return true;
+    }
+
+    /**
+     * True while a job is removing leaves. Leaves use this to skip marking
+     * their neighbours, since the job already knows which of them are
+     * orphaned.
+     */
+    public boolean isRemoving()
+    {
+        return removing;
+    }
+
+    /**
+     * Collects a drop made while a job is removing leaves so it can be
+     * spawned together with identical drops from the same batch.
+     *
+     * @return false if the drop was not captured and should be spawned as
+     *         usual
+     */
+    public boolean captureDrop(World world, int x, int y, int z, ItemStack stack)
+    {
+        if (!removing || stack == null)
+            return false;
+
+        if (!world.getGameRules().getGameRuleBooleanValue("doTileDrops"))
+            return true;
+
+        for (final ItemStack captured : capturedDrops)
+        {
+            if (captured.isItemEqual(stack) && ItemStack.areItemStackTagsEqual(captured, stack) && captured.stackSize + stack.stackSize <= captured.getMaxStackSize())
+            {
+                captured.stackSize += stack.stackSize;
+                return true;
+            }
+        }
+
+        capturedDrops.add(stack.copy());
+        dropPositions.add(new long[] { x, y, z });
+        return true;
+    }
+
+    /**
+     * Takes the leaves a newly placed log could support out of the pending
+     * jobs and marks them as decaying instead, so each one checks again for
+     * itself rather than being removed on the strength of an old plan.
+     */
+    public void notifyLogPlaced(World world, int x, int y, int z)
+    {
+        final WorldState state = worlds.get(world);
+        if (state == null)
+            return;
+
+        for (final Job job : state.jobs)
+        {
+            job.release(world, x, y, z);
+        }
+    }
+
+    public int getPendingJobs(World world)
+    {
+        final WorldState state = worlds.get(world);
+        return state == null ? 0 : state.jobs.size();
+    }
+
+    public long getTotalJobs()
+    {
+        return totalJobs;
+    }
+
+    public long getTotalRemoved()
+    {
+        return totalRemoved;
+    }
+
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if (event.phase != TickEvent.Phase.END || event.side != Side.SERVER)
+            return;
+
+        final WorldState state = worlds.get(event.world);
+        if (state == null)
+            return;
+
+        if (!state.origins.isEmpty())
+        {
+            final long[] origins = new long[state.origins.size()];
+            for (int i = 0; i < origins.length; ++i)
+            {
+                origins[i] = state.origins.get(i);
+            }
+            state.origins.clear();
+
+            final Job job = plan(event.world, origins);
+            if (job != null)
+            {
+                state.jobs.add(job);
+                totalJobs++;
+            }
+        }
+
+        int budget = maxLeavesPerTick;
+        while (budget > 0 && !state.jobs.isEmpty())
+        {
+            final Job job = state.jobs.peek();
+            budget -= removeBatch(event.world, job, budget);
+
+            if (job.cursor >= job.length)
+            {
+                state.jobs.poll();
+                markLeaves(event.world, job.frontier);
+            }
+        }
+    }
+
+    private Job plan(World world, long[] origins)
+    {
+        final TreeWalker canopy = new TreeWalker(world, TreeWalker.LEAVES, MAX_VOLUME, FLOOD_DEPTH);
+
+        // Seed with the leaves touching each removed log
+        for (final long origin : origins)
+        {
+            final int ox = unpackX(origin);
+            final int oy = unpackY(origin);
+            final int oz = unpackZ(origin);
+
+            for (int dx = -1; dx <= 1; ++dx)
+            {
+                for (int dy = -1; dy <= 1; ++dy)
+                {
+                    for (int dz = -1; dz <= 1; ++dz)
+                    {
+                        canopy.add(ox + dx, oy + dy, oz + dz);
+                    }
+                }
+            }
+        }
+
+        if (canopy.getCount() == 0)
+            return null;
+
+        // Walk the canopy, noting which leaves touch wood as we go
+        canopy.walk(Integer.MAX_VALUE);
+        if (canopy.isTruncated())
+        {
+            // Too big or too close to unloaded chunks to reason about, let the leaves check themselves
+            for (final long origin : origins)
+            {
+                markAround(world, unpackX(origin), unpackY(origin), unpackZ(origin));
+            }
+            return null;
+        }
+
+        final long[] positions = new long[canopy.getCount()];
+        final int[] depth = new int[positions.length];
+        final int[] support = new int[positions.length];
+        for (int i = 0; i < positions.length; ++i)
+        {
+            positions[i] = canopy.getPosition(i);
+            depth[i] = canopy.getDepth(i);
+            support[i] = canopy.isNearLog(i) ? 1 : UNSUPPORTED;
+        }
+
+        // Distances from the remaining wood, breadth first from every leaf touching a log
+        final int[] queue = new int[positions.length];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < positions.length; ++i)
+        {
+            if (support[i] == 1)
+            {
+                queue[tail++] = i;
+            }
+        }
+        while (head < tail)
+        {
+            final int i = queue[head++];
+            if (support[i] >= MAX_LEAF_RANGE)
+                continue;
+
+            for (int side = 0; side < 6; ++side)
+            {
+                final int neighbour = neighbourOf(canopy, positions[i], side);
+                if (neighbour >= 0 && support[neighbour] == UNSUPPORTED)
+                {
+                    support[neighbour] = support[i] + 1;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+
+        // Cascade from the leaves a vanilla log would have marked, through orphaned leaves only
+        final boolean[] visited = new boolean[positions.length];
+        final long[] orphans = new long[positions.length];
+        final long[] frontier = new long[positions.length];
+        int orphanCount = 0;
+        int frontierCount = 0;
+        head = 0;
+        tail = 0;
+
+        for (int i = 0; i < positions.length; ++i)
+        {
+            if (isOrphan(world, positions[i], support[i]) && isNearOrigin(positions[i], origins))
+            {
+                visited[i] = true;
+                queue[tail++] = i;
+            }
+        }
+        while (head < tail)
+        {
+            final int i = queue[head++];
+            orphans[orphanCount++] = positions[i];
+
+            for (int side = 0; side < 6; ++side)
+            {
+                final int neighbour = neighbourOf(canopy, positions[i], side);
+                if (neighbour < 0 || visited[neighbour])
+                    continue;
+
+                visited[neighbour] = true;
+                if (depth[neighbour] > MAX_LEAF_RANGE)
+                {
+                    // Distances this far out are not reliable, let the leaf decide for itself
+                    frontier[frontierCount++] = positions[neighbour];
+                }
+                else if (isOrphan(world, positions[neighbour], support[neighbour]))
+                {
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+
+        if (orphanCount == 0 && frontierCount == 0)
+            return null;
+
+        return new Job(Arrays.copyOf(orphans, orphanCount), Arrays.copyOf(frontier, frontierCount));
+    }
+
+    private int removeBatch(World world, Job job, int budget)
+    {
+        int removed = 0;
+        removing = true;
+        try
+        {
+            while (removed < budget && job.cursor < job.length)
+            {
+                final long position = job.orphans[job.cursor++];
+                final int x = unpackX(position);
+                final int y = unpackY(position);
+                final int z = unpackZ(position);
+
+                if (!world.blockExists(x, y, z))
+                    continue;
+
+                final Block block = world.getBlock(x, y, z);
+                final int metadata = world.getBlockMetadata(x, y, z);
+
+                if (block instanceof IDecayableLeaves)
+                {
+                    if (((IDecayableLeaves) block).getLeafDecayRange(metadata) > 0)
+                    {
+                        block.dropBlockAsItem(world, x, y, z, metadata, 0);
+                        world.setBlockToAir(x, y, z);
+                        LeafDecayEngine.INSTANCE.recordDecay(world);
+                        removed++;
+                    }
+                }
+                else if (block.isLeaves(world, x, y, z))
+                {
+                    block.beginLeavesDecay(world, x, y, z);
+                    removed++;
+                }
+            }
+        }
+        finally
+        {
+            removing = false;
+            spawnCapturedDrops(world);
+        }
+
+        if (removed > 0)
+        {
+            LeafDecayEngine.INSTANCE.notifyTreeChanged(world);
+            totalRemoved += removed;
+        }
+
+        // Always make progress, even if nothing in this stretch was still there
+        return Math.max(removed, 1);
+    }
+
+    private void spawnCapturedDrops(World world)
+    {
+        for (int i = 0; i < capturedDrops.size(); ++i)
+        {
+            final long[] position = dropPositions.get(i);
+            final float spread = 0.7F;
+            final double dx = world.rand.nextFloat() * spread + (1.0F - spread) * 0.5D;
+            final double dy = world.rand.nextFloat() * spread + (1.0F - spread) * 0.5D;
+            final double dz = world.rand.nextFloat() * spread + (1.0F - spread) * 0.5D;
+            final EntityItem entity = new EntityItem(world, position[0] + dx, position[1] + dy, position[2] + dz, capturedDrops.get(i));
+            entity.delayBeforeCanPickup = 10;
+            world.spawnEntityInWorld(entity);
+        }
+        capturedDrops.clear();
+        dropPositions.clear();
+    }
+
+    private static boolean isOrphan(World world, long position, int distance)
+    {
+        final int x = unpackX(position);
+        final int y = unpackY(position);
+        final int z = unpackZ(position);
+        final Block block = world.getBlock(x, y, z);
+
+        if (block instanceof IDecayableLeaves)
+        {
+            final int range = ((IDecayableLeaves) block).getLeafDecayRange(world.getBlockMetadata(x, y, z));
+            return range > 0 && distance > range;
+        }
+
+        // Vanilla and other mods' leaves use the vanilla range
+        return distance > LOG_DECAY_RADIUS;
+    }
+
+    private static boolean isNearOrigin(long position, long[] origins)
+    {
+        final int x = unpackX(position);
+        final int y = unpackY(position);
+        final int z = unpackZ(position);
+
+        for (final long origin : origins)
+        {
+            if (Math.abs(x - unpackX(origin)) <= LOG_DECAY_RADIUS && Math.abs(y - unpackY(origin)) <= LOG_DECAY_RADIUS && Math.abs(z - unpackZ(origin)) <= LOG_DECAY_RADIUS)
+                return true;
+        }
+        return false;
+    }
+
+    private static void markLeaves(World world, long[] positions)
+    {
+        for (final long position : positions)
+        {
+            markLeaf(world, position);
+        }
+    }
+
+    private static void markLeaf(World world, long position)
+    {
+        final int x = unpackX(position);
+        final int y = unpackY(position);
+        final int z = unpackZ(position);
+
+        if (world.blockExists(x, y, z))
+        {
+            final Block block = world.getBlock(x, y, z);
+            if (block.isLeaves(world, x, y, z))
+            {
+                block.beginLeavesDecay(world, x, y, z);
+            }
+        }
+    }
+
+    /**
+     * Same as the vanilla log, marks every leaf around the position as
+     * decaying.
+     */
+    private static void markAround(World world, int x, int y, int z)
+    {
+        final int rangeCheckChunk = LOG_DECAY_RADIUS + 1;
+        if (!world.checkChunksExist(x - rangeCheckChunk, y - rangeCheckChunk, z - rangeCheckChunk, x + rangeCheckChunk, y + rangeCheckChunk, z + rangeCheckChunk))
+            return;
+
+        for (int x1 = -LOG_DECAY_RADIUS; x1 <= LOG_DECAY_RADIUS; ++x1)
+        {
+            for (int y1 = -LOG_DECAY_RADIUS; y1 <= LOG_DECAY_RADIUS; ++y1)
+            {
+                for (int z1 = -LOG_DECAY_RADIUS; z1 <= LOG_DECAY_RADIUS; ++z1)
+                {
+                    final Block block = world.getBlock(x + x1, y + y1, z + z1);
+                    if (block.isLeaves(world, x + x1, y + y1, z + z1))
+                    {
+                        block.beginLeavesDecay(world, x + x1, y + y1, z + z1);
+                    }
+                }
+            }
+        }
+    }
+
+    private WorldState getState(World world)
+    {
+        WorldState state = worlds.get(world);
+        if (state == null)
+        {
+            state = new WorldState();
+            worlds.put(world, state);
+        }
+        return state;
+    }
+
+    private static int neighbourOf(TreeWalker canopy, long position, int side)
+    {
+        return canopy.indexOf(TreeWalker.neighbourX(unpackX(position), side), TreeWalker.neighbourY(unpackY(position), side),
+                TreeWalker.neighbourZ(unpackZ(position), side));
+    }
+
+    private static long pack(int x, int y, int z)
+    {
+        return TreeWalker.pack(x, y, z);
+    }
+
+    private static int unpackX(long position)
+    {
+        return TreeWalker.unpackX(position);
+    }
+
+    private static int unpackY(long position)
+    {
+        return TreeWalker.unpackY(position);
+    }
+
+    private static int unpackZ(long position)
+    {
+        return TreeWalker.unpackZ(position);
+    }
+
+    private static class Job
+    {
+        final long[] orphans;
+        final long[] frontier;
+        int          cursor;
+        int          length;
+
+        // Bounds of the orphans, widened by the furthest a log can support a leaf from
+        int          minX         = Integer.MAX_VALUE;
+        int          minY         = Integer.MAX_VALUE;
+        int          minZ         = Integer.MAX_VALUE;
+        int          maxX         = Integer.MIN_VALUE;
+        int          maxY         = Integer.MIN_VALUE;
+        int          maxZ         = Integer.MIN_VALUE;
+
+        Job(long[] orphans, long[] frontier)
+        {
+            this.orphans = orphans;
+            this.frontier = frontier;
+            length = orphans.length;
+
+            for (final long position : orphans)
+            {
+                minX = Math.min(minX, unpackX(position) - MAX_LEAF_RANGE);
+                minY = Math.min(minY, unpackY(position) - MAX_LEAF_RANGE);
+                minZ = Math.min(minZ, unpackZ(position) - MAX_LEAF_RANGE);
+                maxX = Math.max(maxX, unpackX(position) + MAX_LEAF_RANGE);
+                maxY = Math.max(maxY, unpackY(position) + MAX_LEAF_RANGE);
+                maxZ = Math.max(maxZ, unpackZ(position) + MAX_LEAF_RANGE);
+            }
+        }
+
+        void release(World world, int x, int y, int z)
+        {
+            if (cursor >= length || x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ)
+                return;
+
+            int kept = cursor;
+            for (int i = cursor; i < length; ++i)
+            {
+                final long position = orphans[i];
+                if (Math.abs(unpackX(position) - x) <= MAX_LEAF_RANGE && Math.abs(unpackY(position) - y) <= MAX_LEAF_RANGE
+                        && Math.abs(unpackZ(position) - z) <= MAX_LEAF_RANGE)
+                {
+                    markLeaf(world, position);
+                }
+                else
+                {
+                    orphans[kept++] = position;
+                }
+            }
+            length = kept;
+        }
+    }
+
+    private static class WorldState
+    {
+        final List<Long> origins = Lists.newArrayList();
+        final Deque<Job> jobs    = new ArrayDeque<Job>();
+    }
+}
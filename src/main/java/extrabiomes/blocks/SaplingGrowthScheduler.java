@@ -0,0 +1,269 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.blocks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.gen.feature.WorldGenerator;
+
+import com.google.common.collect.Sets;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.relauncher.Side;
+import extrabiomes.helpers.TreeWalker;
+import extrabiomes.module.summa.worldgen.TreePlan;
+import extrabiomes.module.summa.worldgen.WorldGenNewTreeBase;
+
+/**
+ * Grows the trees of ExtrabiomesXL saplings at the end of the world tick, a
+ * bounded number of blocks' worth per tick.
+ * <p>
+ * A sapling that is ready to grow, from its own tick or from bone meal,
+ * queues its position instead of growing there and then. Queued saplings
+ * grow in the order they asked until the tick's budget is spent; at least
+ * one grows each tick however large its tree. Trees that can be planned are
+ * checked against the world without touching it and only written if they
+ * fit. Other trees still need the sapling out of the way while they look
+ * for space, so it is swapped for air straight in the chunk and swapped
+ * back if the tree fails, which costs no lighting or block updates.
+ */
+public enum SaplingGrowthScheduler
+{
+    INSTANCE;
+
+    /** What a tree that can not be planned is charged against the budget */
+    private static final int          SMALL_TREE_BLOCKS = 100;
+    private static final int          LARGE_TREE_BLOCKS = 1000;
+
+    private static int                blocksPerTick     = 2000;
+
+    private final Map<World, Queue>   worlds            = new WeakHashMap<World, Queue>();
+
+    private long                      totalGrown        = 0;
+    private long                      totalFailed       = 0;
+    private long                      totalWaited       = 0;
+    private long                      maxWaited         = 0;
+
+    private static class Request
+    {
+        final int  x;
+        final int  y;
+        final int  z;
+        final long time;
+
+        Request(int x, int y, int z, long time)
+        {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.time = time;
+        }
+    }
+
+    private static class Queue
+    {
+        final Deque<Request> requests  = new ArrayDeque<Request>();
+        final Set<Long>      positions = Sets.newHashSet();
+    }
+
+    public static int getBlocksPerTick()
+    {
+        return blocksPerTick;
+    }
+
+    /**
+     * Sets about how many blocks of trees may grow per world each tick.
+     */
+    public static void setBlocksPerTick(int blocks)
+    {
+        blocksPerTick = Math.max(blocks, 1);
+    }
+
+    /**
+     * Queues the sapling at the position to grow. Asking again before it has
+     * grown does nothing.
+     */
+    public void request(World world, int x, int y, int z)
+    {
+        Queue queue = worlds.get(world);
+        if (queue == null)
+        {
+            queue = new Queue();
+            worlds.put(world, queue);
+        }
+
+        if (queue.positions.add(TreeWalker.pack(x, y, z)))
+            queue.requests.add(new Request(x, y, z, world.getTotalWorldTime()));
+    }
+
+    /**
+     * Grows a tree over the square of saplings with the given lowest corner
+     * and width.
+     *
+     * @return about how many blocks the tree took, or 0 if it did not fit
+     */
+    public static int grow(World world, WorldGenerator tree, Random rand, int x, int y, int z, int saplingX, int saplingZ, int size,
+            Block sapling, int metadata)
+    {
+        if (tree instanceof WorldGenNewTreeBase)
+        {
+            final TreePlan plan = ((WorldGenNewTreeBase) tree).plan(world, rand.nextLong(), x, y, z);
+            if (plan == null)
+                return 0;
+
+            plan.commit(world);
+            for (int dx = 0; dx < size; ++dx)
+            {
+                for (int dz = 0; dz < size; ++dz)
+                {
+                    if (world.getBlock(saplingX + dx, y, saplingZ + dz) == sapling)
+                        world.setBlockToAir(saplingX + dx, y, saplingZ + dz);
+                }
+            }
+            return Math.max(plan.getBlockCount(), 1);
+        }
+
+        swapSaplings(world, saplingX, y, saplingZ, size, sapling, Blocks.air, 0);
+        final boolean grown = tree.generate(world, rand, x, y, z);
+
+        for (int dx = 0; dx < size; ++dx)
+        {
+            for (int dz = 0; dz < size; ++dz)
+            {
+                if (world.getBlock(saplingX + dx, y, saplingZ + dz) != Blocks.air)
+                    continue;
+
+                // Only what is left of the swap needs to be told about
+                if (grown)
+                    world.notifyBlockChange(saplingX + dx, y, saplingZ + dz, Blocks.air);
+                else
+                    setQuietly(world, saplingX + dx, y, saplingZ + dz, sapling, metadata);
+                world.markBlockForUpdate(saplingX + dx, y, saplingZ + dz);
+            }
+        }
+
+        if (!grown)
+            return 0;
+        return size > 1 ? LARGE_TREE_BLOCKS : SMALL_TREE_BLOCKS;
+    }
+
+    private static void swapSaplings(World world, int x, int y, int z, int size, Block from, Block to, int metadata)
+    {
+        for (int dx = 0; dx < size; ++dx)
+        {
+            for (int dz = 0; dz < size; ++dz)
+            {
+                if (world.getBlock(x + dx, y, z + dz) == from)
+                    setQuietly(world, x + dx, y, z + dz, to, metadata);
+            }
+        }
+    }
+
+    // Saplings and air neither block nor give off light, so swapping them needs no relighting
+    private static void setQuietly(World world, int x, int y, int z, Block block, int metadata)
+    {
+        final ExtendedBlockStorage storage = world.getChunkFromBlockCoords(x, z).getBlockStorageArray()[y >> 4];
+        if (storage == null)
+            return;
+
+        storage.func_150818_a(x & 15, y & 15, z & 15, block);
+        storage.setExtBlockMetadata(x & 15, y & 15, z & 15, metadata);
+    }
+
+    public int getPendingRequests()
+    {
+        int pending = 0;
+        for (final Queue queue : worlds.values())
+        {
+            pending += queue.requests.size();
+        }
+        return pending;
+    }
+
+    public long getTotalGrown()
+    {
+        return totalGrown;
+    }
+
+    public long getTotalFailed()
+    {
+        return totalFailed;
+    }
+
+    /**
+     * The mean number of ticks a sapling waited in the queue.
+     */
+    public double getMeanWait()
+    {
+        final long total = totalGrown + totalFailed;
+        return total == 0 ? 0 : (double) totalWaited / total;
+    }
+
+    /**
+     * The longest a sapling has waited in the queue, in ticks.
+     */
+    public long getMaxWait()
+    {
+        return maxWaited;
+    }
+
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if (event.phase != TickEvent.Phase.END || event.side != Side.SERVER)
+            return;
+
+        final Queue queue = worlds.get(event.world);
+        if (queue == null)
+            return;
+
+        final World world = event.world;
+        int budget = blocksPerTick;
+        while (budget > 0 && !queue.requests.isEmpty())
+        {
+            final Request request = queue.requests.poll();
+            queue.positions.remove(TreeWalker.pack(request.x, request.y, request.z));
+
+            // The sapling may have been broken, or taken by a tree grown earlier
+            if (!world.blockExists(request.x, request.y, request.z))
+                continue;
+            final Block block = world.getBlock(request.x, request.y, request.z);
+            if (!(block instanceof IScheduledSapling))
+                continue;
+
+            final long waited = world.getTotalWorldTime() - request.time;
+            totalWaited += waited;
+            maxWaited = Math.max(maxWaited, waited);
+
+            final int blocks = ((IScheduledSapling) block).growTree(world, request.x, request.y, request.z, world.rand);
+            if (blocks > 0)
+                ++totalGrown;
+            else
+                ++totalFailed;
+            budget -= Math.max(blocks, 1);
+        }
+
+        if (queue.requests.isEmpty())
+            worlds.remove(world);
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(net.minecraftforge.event.world.WorldEvent.Unload event)
+    {
+        worlds.remove(event.world);
+    }
+}
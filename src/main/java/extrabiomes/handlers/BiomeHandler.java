@@ -26,6 +26,7 @@ import extrabiomes.module.summa.worldgen.LegendOakGenerator;
 import extrabiomes.module.summa.worldgen.MarshGenerator;
 import extrabiomes.module.summa.worldgen.MountainDesertGenerator;
 import extrabiomes.module.summa.worldgen.MountainRidgeGenerator;
+import extrabiomes.module.summa.worldgen.PopulateDispatcher;
 import extrabiomes.module.summa.worldgen.VanillaFloraGenerator;
 
 public enum BiomeHandler
@@ -84,21 +85,24 @@ public enum BiomeHandler
     {
         if (BiomeSettings.MARSH.isEnabled() && BiomeSettings.MARSH.getBiome().isPresent())
         {
-            Extrabiomes.proxy.registerWorldGenerator(new MarshGenerator());
+            PopulateDispatcher.INSTANCE.register(new MarshGenerator());
         }
         
         if (BiomeSettings.MOUNTAINDESERT.isEnabled() && BiomeSettings.MOUNTAINDESERT.getBiome().isPresent())
         {
-            Extrabiomes.proxy.registerWorldGenerator(new MountainDesertGenerator());
+            PopulateDispatcher.INSTANCE.register(new MountainDesertGenerator());
         }
         
         if (BiomeSettings.MOUNTAINRIDGE.isEnabled() && BiomeSettings.MOUNTAINRIDGE.getBiome().isPresent())
         {
-            Extrabiomes.proxy.registerWorldGenerator(new MountainRidgeGenerator());
+            PopulateDispatcher.INSTANCE.register(new MountainRidgeGenerator());
         }
         
-        Extrabiomes.proxy.registerWorldGenerator(new VanillaFloraGenerator());
-        Extrabiomes.proxy.registerWorldGenerator(new LegendOakGenerator());
+        PopulateDispatcher.INSTANCE.register(new VanillaFloraGenerator());
+        PopulateDispatcher.INSTANCE.register(new LegendOakGenerator());
+        
+        // Every biome decoration goes through this one generator
+        Extrabiomes.proxy.registerWorldGenerator(PopulateDispatcher.INSTANCE);
     }
     
     @SubscribeEvent
@@ -53,6 +53,7 @@ import extrabiomes.module.summa.worldgen.CatTailGenerator;
 import extrabiomes.module.summa.worldgen.EelGrassGenerator;
 import extrabiomes.module.summa.worldgen.FlowerGenerator;
 import extrabiomes.module.summa.worldgen.LeafPileGenerator;
+import extrabiomes.module.summa.worldgen.PopulateDispatcher;
 import extrabiomes.module.summa.worldgen.VineGenerator;
 import extrabiomes.module.summa.worldgen.WorldGenCustomVine;
 import extrabiomes.proxy.CommonProxy;
@@ -200,7 +201,7 @@ public abstract class BlockHandler {
       ForestryModHelper.addToForesterBackpack(new ItemStack(block, 1, Short.MAX_VALUE));
     }
 
-    proxy.registerWorldGenerator(generator);
+    PopulateDispatcher.INSTANCE.register(generator);
   }
 
   private static void createVines() {
@@ -253,7 +254,7 @@ public abstract class BlockHandler {
       } else {
         generator = new VineGenerator(block);
       }
-      proxy.registerWorldGenerator(generator);
+      PopulateDispatcher.INSTANCE.register(generator);
     }
   }
 
@@ -363,7 +364,7 @@ public abstract class BlockHandler {
 
     Element.LEAFPILE.set(new ItemStack(block));
 
-    proxy.registerWorldGenerator(new LeafPileGenerator(block));
+    PopulateDispatcher.INSTANCE.register(new LeafPileGenerator(block));
   }
 
   private static void createLogs() {
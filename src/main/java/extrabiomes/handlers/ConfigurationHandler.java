@@ -7,23 +7,32 @@
 package extrabiomes.handlers;
 
 import java.io.File;
-import java.util.logging.Level;
 
+import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraftforge.common.config.Configuration;
 import net.minecraftforge.common.config.Property;
 
+import org.apache.logging.log4j.Level;
+
 import com.google.common.base.Optional;
 
+import extrabiomes.blocks.LeafDecayEngine;
+import extrabiomes.blocks.LeafDecayScheduler;
+import extrabiomes.blocks.SaplingGrowthScheduler;
 import extrabiomes.helpers.LogHelper;
 import extrabiomes.lib.BiomeSettings;
 import extrabiomes.lib.BlockSettings;
 import extrabiomes.lib.DecorationSettings;
 import extrabiomes.lib.GeneralSettings;
+import extrabiomes.lib.GenesisRegenerator;
 import extrabiomes.lib.ItemSettings;
 import extrabiomes.lib.ModuleControlSettings;
 import extrabiomes.lib.Reference;
 import extrabiomes.lib.SaplingSettings;
 import extrabiomes.module.amica.newdawn.NewDawnSettings;
+import extrabiomes.module.summa.biome.ExtrabiomeGenBase;
+import extrabiomes.module.summa.worldgen.TreeShapeScheduler;
+import extrabiomes.module.summa.worldgen.WorldGenProfiler;
 import extrabiomes.utility.EnhancedConfiguration;
 
 /**
@@ -32,6 +41,8 @@ import extrabiomes.utility.EnhancedConfiguration;
  */
 public abstract class ConfigurationHandler
 {
+	private static File loadedFile;
+	
 	public static void init(File configFile)
 	{
 		init(configFile, false);
@@ -39,6 +50,7 @@ public abstract class ConfigurationHandler
 
 	public static void init(File configFile, boolean upgradeOverride)
     {
+		loadedFile = configFile;
 		if (upgradeOverride) {
 			LogHelper.info("Overriding upgrade preference");
 		}
@@ -123,6 +135,34 @@ public abstract class ConfigurationHandler
             useMC18Doors.comment = "Allow EbXL doors to stack like in MC 1.8 and be crafted in stacks of 3.";
             GeneralSettings.useMC18Doors = useMC18Doors.getBoolean(true);
             
+            Property leafDecayProbes = configuration.get(Configuration.CATEGORY_GENERAL, "LeafDecayProbesPerTick", LeafDecayEngine.getMaxProbesPerTick());
+            leafDecayProbes.comment = "Maximum number of blocks the leaf decay check may look at per world each tick. Leaves over budget wait for a later tick.";
+            LeafDecayEngine.setMaxProbesPerTick(leafDecayProbes.getInt(LeafDecayEngine.getMaxProbesPerTick()));
+            
+            Property batchedLeafDecay = configuration.get(Configuration.CATEGORY_GENERAL, "BatchedLeafDecay", LeafDecayScheduler.isEnabled());
+            batchedLeafDecay.comment = "Set to false to have broken logs mark nearby leaves as decaying like vanilla logs instead of removing orphaned leaves in batches.";
+            LeafDecayScheduler.setEnabled(batchedLeafDecay.getBoolean(true));
+            
+            Property leafDecayBatch = configuration.get(Configuration.CATEGORY_GENERAL, "LeafDecayBatchSize", LeafDecayScheduler.getMaxLeavesPerTick());
+            leafDecayBatch.comment = "Maximum number of orphaned leaves removed per world each tick after a tree is cut down.";
+            LeafDecayScheduler.setMaxLeavesPerTick(leafDecayBatch.getInt(LeafDecayScheduler.getMaxLeavesPerTick()));
+            
+            Property treeShapeThreads = configuration.get(Configuration.CATEGORY_GENERAL, "TreeShapeThreads", TreeShapeScheduler.getThreads());
+            treeShapeThreads.comment = "Number of worker threads that lay out large trees while chunks are generated. Set to 0 to lay them out on the server thread as they are placed.";
+            TreeShapeScheduler.setThreads(treeShapeThreads.getInt(TreeShapeScheduler.getThreads()));
+            
+            Property genesisChunks = configuration.get(Configuration.CATEGORY_GENERAL, "GenesisChunksPerTick", GenesisRegenerator.getChunksPerTick());
+            genesisChunks.comment = "Maximum number of chunks genesis swaps in or populates each tick while it regenerates an area.";
+            GenesisRegenerator.setChunksPerTick(genesisChunks.getInt(GenesisRegenerator.getChunksPerTick()));
+            
+            Property saplingBlocks = configuration.get(Configuration.CATEGORY_GENERAL, "SaplingGrowthBlocksPerTick", SaplingGrowthScheduler.getBlocksPerTick());
+            saplingBlocks.comment = "About how many blocks of trees saplings may grow per world each tick. Saplings past that wait for the next tick.";
+            SaplingGrowthScheduler.setBlocksPerTick(saplingBlocks.getInt(SaplingGrowthScheduler.getBlocksPerTick()));
+            
+            Property worldGenProfiling = configuration.get(Configuration.CATEGORY_GENERAL, "WorldGenProfiling", WorldGenProfiler.isEnabled());
+            worldGenProfiling.comment = "Set to true to count and time every world generator by biome. Read the totals with /ebxl stats.";
+            WorldGenProfiler.setEnabled(worldGenProfiling.getBoolean(false));
+            
             //GeneralSettings.consoleCommandsDisabled = consoleCommandsDisabled.getBoolean(true);
             
         }
@@ -136,4 +176,38 @@ public abstract class ConfigurationHandler
                 optionalConfig.get().save();
         }
     }
+    
+    /**
+     * Reads the decoration densities from the config file again and puts them
+     * into the decorators of the loaded ExtrabiomesXL biomes. Must be called
+     * on the server thread.
+     * 
+     * @return false if the file could not be read
+     */
+    public static boolean reloadDecorationSettings()
+    {
+        if (loadedFile == null)
+            return false;
+        
+        try
+        {
+            final EnhancedConfiguration configuration = new EnhancedConfiguration(loadedFile);
+            for (final DecorationSettings setting : DecorationSettings.values())
+            {
+                setting.load(configuration);
+            }
+        }
+        catch (final Exception e)
+        {
+            LogHelper.log(Level.ERROR, e, "%s had a problem reloading its configuration", Reference.MOD_NAME);
+            return false;
+        }
+        
+        for (final BiomeGenBase biome : BiomeGenBase.getBiomeGenArray())
+        {
+            if (biome instanceof ExtrabiomeGenBase)
+                ((ExtrabiomeGenBase) biome).reloadDecorationSettings();
+        }
+        return true;
+    }
 }
@@ -1,19 +1,27 @@
 package extrabiomes.handlers;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
-import net.minecraft.block.Block;
 import net.minecraft.command.CommandBase;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.item.ItemStack;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.ChatComponentText;
-import net.minecraftforge.oredict.OreDictionary;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.biome.BiomeGenBase;
 import extrabiomes.blocks.BlockCustomSapling;
 import extrabiomes.blocks.BlockNewSapling;
-import extrabiomes.lib.Element;
-import extrabiomes.lib.Vector3;
+import extrabiomes.blocks.SaplingGrowthScheduler;
+import extrabiomes.helpers.LogHelper;
+import extrabiomes.lib.BiomeSettings;
+import extrabiomes.lib.GenesisRegenerator;
+import extrabiomes.module.summa.worldgen.ChunkSurface;
+import extrabiomes.module.summa.worldgen.TreePlan;
 import extrabiomes.module.summa.worldgen.WorldGenAcacia;
 import extrabiomes.module.summa.worldgen.WorldGenAutumnTree;
 import extrabiomes.module.summa.worldgen.WorldGenAutumnTree.AutumnTreeType;
@@ -27,10 +35,14 @@ import extrabiomes.module.summa.worldgen.WorldGenJapaneseMapleTree;
 import extrabiomes.module.summa.worldgen.WorldGenLegendOak;
 import extrabiomes.module.summa.worldgen.WorldGenRainbowEucalyptusTree;
 import extrabiomes.module.summa.worldgen.WorldGenNewRedwood;
+import extrabiomes.module.summa.worldgen.WorldGenNewTreeBase;
+import extrabiomes.module.summa.worldgen.WorldGenProfiler;
+import extrabiomes.module.summa.worldgen.WorldGenProfiler.Stats;
 import extrabiomes.module.summa.worldgen.WorldGenSakuraBlossomTree;
 
 public class EBXLCommandHandler extends CommandBase
 {
+    private static final String STATS_FILE = "extrabiomes-worldgen.csv";
 
     @Override
     public String getCommandName()
@@ -117,6 +129,33 @@ public class EBXLCommandHandler extends CommandBase
                             sendChatMessage(player, "\u00A7o/ebxl killtree <x> <y> <z>\u00A7r");
                             sendChatMessage(player, "Kills the tree at the specified coords.");
                         }
+                        else if (cmds[1].equals("genesis"))
+                        {
+                            sendChatMessage(player, "\u00A72-ExtrabiomesXl genesis Command-\u00A7r");
+                            sendChatMessage(player, "\u00A7o/ebxl genesis <biome> [range]\u00A7r");
+                            sendChatMessage(player, "Regenerates the chunks within [range] of the one you are");
+                            sendChatMessage(player, "standing in as <biome>, or as a random biome if <biome> is");
+                            sendChatMessage(player, "\"random\". [range] defaults to 3. The new terrain is");
+                            sendChatMessage(player, "swapped in over the following ticks.");
+                        }
+                        else if (cmds[1].equals("reloadconfig"))
+                        {
+                            sendChatMessage(player, "\u00A72-ExtrabiomesXl reloadconfig Command-\u00A7r");
+                            sendChatMessage(player, "\u00A7o/ebxl reloadconfig\u00A7r");
+                            sendChatMessage(player, "Reads the decoration densities from the config file again");
+                            sendChatMessage(player, "and uses them for every chunk generated from now on.");
+                            sendChatMessage(player, "Other settings still need a restart.");
+                        }
+                        else if (cmds[1].equals("stats"))
+                        {
+                            sendChatMessage(player, "\u00A72-ExtrabiomesXl stats Command-\u00A7r");
+                            sendChatMessage(player, "\u00A7o/ebxl stats [reset|dump]\u00A7r");
+                            sendChatMessage(player, "Shows how saplings are keeping up, how many probes each");
+                            sendChatMessage(player, "scattered plant took, and the world generators that took");
+                            sendChatMessage(player, "the longest, by biome.");
+                            sendChatMessage(player, "\"reset\" clears the totals and \"dump\" writes all of them");
+                            sendChatMessage(player, "to " + STATS_FILE + ". Needs WorldGenProfiling in the config.");
+                        }
                         else
                         {
                             helpList(player);
@@ -270,7 +309,7 @@ public class EBXLCommandHandler extends CommandBase
                         }
                         else if (cmds[1].equals("legend"))
                         {
-                            sendChatMessage(player, "The Legend Oak does not currently support seeding.");
+                            sendChatMessage(player, "The last seed used was: " + Long.toString(WorldGenLegendOak.getLastSeed()));
                         }
                         else
                         {
@@ -327,49 +366,41 @@ public class EBXLCommandHandler extends CommandBase
                             else if (cmds[1].equals("brown"))
                             {
                                 WorldGenAutumnTree tree = new WorldGenAutumnTree(true, AutumnTreeType.BROWN);
-                                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, player.worldObj.rand, x, y, z);
                             }
                             else if (cmds[1].equals("orange"))
                             {
                                 WorldGenAutumnTree tree = new WorldGenAutumnTree(true, AutumnTreeType.ORANGE);
-                                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, player.worldObj.rand, x, y, z);
                             }
                             else if (cmds[1].equals("red"))
                             {
                                 WorldGenAutumnTree tree = new WorldGenAutumnTree(true, AutumnTreeType.PURPLE);
-                                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, player.worldObj.rand, x, y, z);
                             }
                             else if (cmds[1].equals("yellow"))
                             {
                                 WorldGenAutumnTree tree = new WorldGenAutumnTree(true, AutumnTreeType.YELLOW);
-                                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, player.worldObj.rand, x, y, z);
                             }
                             else if (cmds[1].equals("largebrown"))
                             {
                                 WorldGenBigAutumnTree tree = new WorldGenBigAutumnTree(true, AutumnTreeType.BROWN);
-                                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, player.worldObj.rand, x, y, z);
                             }
                             else if (cmds[1].equals("largeorange"))
                             {
                                 WorldGenBigAutumnTree tree = new WorldGenBigAutumnTree(true, AutumnTreeType.ORANGE);
-                                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, player.worldObj.rand, x, y, z);
                             }
                             else if (cmds[1].equals("largered"))
                             {
                                 WorldGenBigAutumnTree tree = new WorldGenBigAutumnTree(true, AutumnTreeType.PURPLE);
-                                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, player.worldObj.rand, x, y, z);
                             }
                             else if (cmds[1].equals("largeyellow"))
                             {
                                 WorldGenBigAutumnTree tree = new WorldGenBigAutumnTree(true, AutumnTreeType.YELLOW);
-                                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, player.worldObj.rand, x, y, z);
                             }
                             else if (cmds[1].equals("sakura"))
@@ -398,30 +429,24 @@ public class EBXLCommandHandler extends CommandBase
                             int y = Integer.parseInt(cmds[3]);
                             int z = Integer.parseInt(cmds[4]);
                             long seed = Long.parseLong(cmds[5]);
+                            WorldGenNewTreeBase plannedTree = getPlannedTree(cmds[1]);
 
-                            if (cmds[1].equals("acacia"))
-                            {
-                                (new WorldGenAcacia(true)).generate(player.worldObj, seed, x, y, z);
-                            }
-                            else if (cmds[1].equals("cypress"))
-                            {
-                                (new WorldGenCypressTree(true)).generate(player.worldObj, seed, x, y, z);
-                            }
-                            else if (cmds[1].equals("baldcypress"))
+                            if (plannedTree != null)
                             {
-                                (new WorldGenBaldCypressTree(true)).generate(player.worldObj, seed, x, y, z);
+                                TreePlan plan = plannedTree.plan(player.worldObj, seed, x, y, z);
+                                if (plan == null)
+                                {
+                                    sendChatMessage(player, "That tree does not fit there.");
+                                }
+                                else
+                                {
+                                    plan.commit(player.worldObj);
+                                    sendChatMessage(player, "Placed " + plan.getBlockCount() + " blocks.");
+                                }
                             }
-                            else if (cmds[1].equals("rainbow"))
-                            {
-                                (new WorldGenRainbowEucalyptusTree(true)).generate(player.worldObj, seed, x, y, z);
-                            }
-                            else if (cmds[1].equals("japanesemaple"))
-                            {
-                                (new WorldGenJapaneseMapleTree(true)).generate(player.worldObj, seed, x, y, z);
-                            }
-                            else if (cmds[1].equals("japanesemapleshrub"))
+                            else if (cmds[1].equals("acacia"))
                             {
-                                (new WorldGenJapaneseMapleShrub(true)).generate(player.worldObj, seed, x, y, z);
+                                (new WorldGenAcacia(true)).generate(player.worldObj, seed, x, y, z);
                             }
                             else if (cmds[1].equals("fir"))
                             {
@@ -438,59 +463,46 @@ public class EBXLCommandHandler extends CommandBase
                             else if (cmds[1].equals("brown"))
                             {
                                 WorldGenAutumnTree tree = new WorldGenAutumnTree(true, AutumnTreeType.BROWN);
-                                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, seed, x, y, z);
                             }
                             else if (cmds[1].equals("orange"))
                             {
                                 WorldGenAutumnTree tree = new WorldGenAutumnTree(true, AutumnTreeType.ORANGE);
-                                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, seed, x, y, z);
                             }
                             else if (cmds[1].equals("red"))
                             {
                                 WorldGenAutumnTree tree = new WorldGenAutumnTree(true, AutumnTreeType.PURPLE);
-                                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, seed, x, y, z);
                             }
                             else if (cmds[1].equals("yellow"))
                             {
                                 WorldGenAutumnTree tree = new WorldGenAutumnTree(true, AutumnTreeType.YELLOW);
-                                WorldGenAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, seed, x, y, z);
                             }
                             else if (cmds[1].equals("largeBrown"))
                             {
                                 WorldGenBigAutumnTree tree = new WorldGenBigAutumnTree(true, AutumnTreeType.BROWN);
-                                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, seed, x, y, z);
                             }
                             else if (cmds[1].equals("largeorange"))
                             {
                                 WorldGenBigAutumnTree tree = new WorldGenBigAutumnTree(true, AutumnTreeType.ORANGE);
-                                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, seed, x, y, z);
                             }
                             else if (cmds[1].equals("largered"))
                             {
                                 WorldGenBigAutumnTree tree = new WorldGenBigAutumnTree(true, AutumnTreeType.PURPLE);
-                                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, seed, x, y, z);
                             }
                             else if (cmds[1].equals("largeyellow"))
                             {
                                 WorldGenBigAutumnTree tree = new WorldGenBigAutumnTree(true, AutumnTreeType.YELLOW);
-                                WorldGenBigAutumnTree.setTrunkBlock(Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem()), Element.LOG_AUTUMN.get().getItemDamage());
                                 tree.generate(player.worldObj, seed, x, y, z);
                             }
-                            else if (cmds[1].equals("sakura"))
-                            {
-                                (new WorldGenSakuraBlossomTree(true)).generate(player.worldObj, seed, x, y, z);
-                            }
                             else if (cmds[1].equals("legend"))
                             {
-                                (new WorldGenLegendOak(true)).generate(player.worldObj, player.worldObj.rand, x, y, z);
-                                sendChatMessage(player, "The Legend Oak does not currently support seeding.");
+                                (new WorldGenLegendOak(true)).generate(player.worldObj, seed, x, y, z);
                             }
                             else
                             {
@@ -507,6 +519,39 @@ public class EBXLCommandHandler extends CommandBase
                         sendChatMessage(player, "Incorrect format. /ebxl spawntree <treetype> <x> <y> <z> [seed]");
                     }
                 }
+                else if (cmds[0].equals("genesis"))
+                {
+                    if (cmds.length == 2 || cmds.length == 3)
+                    {
+                        genesis(player, cmds);
+                    }
+                    else
+                    {
+                        sendChatMessage(player, "Incorrect format. /ebxl genesis <biome> [range]");
+                    }
+                }
+                else if (cmds[0].equals("reloadconfig"))
+                {
+                    if (ConfigurationHandler.reloadDecorationSettings())
+                    {
+                        sendChatMessage(player, "Decoration settings reloaded.");
+                    }
+                    else
+                    {
+                        sendChatMessage(player, "The config file could not be read, see the log.");
+                    }
+                }
+                else if (cmds[0].equals("stats"))
+                {
+                    if (cmds.length == 1 || cmds.length == 2 && (cmds[1].equals("reset") || cmds[1].equals("dump")))
+                    {
+                        stats(player, cmds);
+                    }
+                    else
+                    {
+                        sendChatMessage(player, "Incorrect format. /ebxl stats [reset|dump]");
+                    }
+                }
                 else
                 {
                     sendChatMessage(player, "\"/ebxl " + cmds[0] + "\" is not a valid command.");
@@ -517,50 +562,154 @@ public class EBXLCommandHandler extends CommandBase
 
     }
 
-    private void treeNames(EntityPlayer player)
+    // The trees that can be laid out before they are placed
+    private WorldGenNewTreeBase getPlannedTree(String name)
     {
-        sendChatMessage(player, "Only the following tree names are supported:");
-        sendChatMessage(player, "acacia, cypress, fir, redwood, largeFir,");
-        sendChatMessage(player, "brown, orange, red, yellow, largebrown,");
-        sendChatMessage(player, "largeorange, largered, largeyellow, baldcypress,");
-        sendChatMessage(player, "rainbow, japanesemaple, japanesemaple, japanesemapleshrub,");
-        sendChatMessage(player, "sakura, legend");
+        if (name.equals("cypress"))
+            return new WorldGenCypressTree(true);
+        if (name.equals("baldcypress"))
+            return new WorldGenBaldCypressTree(true);
+        if (name.equals("rainbow"))
+            return new WorldGenRainbowEucalyptusTree(true);
+        if (name.equals("japanesemaple"))
+            return new WorldGenJapaneseMapleTree(true);
+        if (name.equals("japanesemapleshrub"))
+            return new WorldGenJapaneseMapleShrub(true);
+        if (name.equals("sakura"))
+            return new WorldGenSakuraBlossomTree(true);
+        return null;
     }
 
-    private boolean killTree(EntityPlayer player, int x, int y, int z)
+    private void stats(EntityPlayer player, String[] cmds)
     {
-        Queue<Vector3> killList = new LinkedList<Vector3>();
+        final SaplingGrowthScheduler saplings = SaplingGrowthScheduler.INSTANCE;
+        sendChatMessage(player, String.format("Saplings: %d waiting, %d grown, %d failed, waited %.1f ticks on average and %d at most",
+                saplings.getPendingRequests(), saplings.getTotalGrown(), saplings.getTotalFailed(), saplings.getMeanWait(), saplings.getMaxWait()));
 
-        killList.add(new Vector3(x, y, z));
-        Vector3 currentBlock;
+        if (cmds.length == 2 && cmds[1].equals("reset"))
+        {
+            ChunkSurface.resetCounters();
+            WorldGenProfiler.reset();
+            sendChatMessage(player, "World generation totals cleared.");
+            return;
+        }
 
-        while (killList.size() > 0)
+        sendChatMessage(player, String.format("Scattered plants: %d placed, %.1f probes each, %.1f without the ground checks", ChunkSurface.getPlacements(),
+                ChunkSurface.getProbesPerPlacement(), ChunkSurface.getUnfilteredProbesPerPlacement()));
+
+        if (!WorldGenProfiler.isEnabled())
         {
-            currentBlock = killList.remove();
-            Block block = player.worldObj.getBlock(currentBlock.x(), currentBlock.y(), currentBlock.z());
-            int damage = player.worldObj.getBlockMetadata(currentBlock.x(), currentBlock.y(), currentBlock.z());
-            String blockType = OreDictionary.getOreName(OreDictionary.getOreID(new ItemStack(block, 1, damage)));
+            sendChatMessage(player, "World generation profiling is off. Set WorldGenProfiling to true in the config and restart.");
+            return;
+        }
 
-            // shorten the coords
-            int x1 = currentBlock.x();
-            int y1 = currentBlock.y();
-            int z1 = currentBlock.z();
+        if (cmds.length == 2 && cmds[1].equals("dump"))
+        {
+            final File file = MinecraftServer.getServer().getFile(STATS_FILE);
+            try
+            {
+                WorldGenProfiler.dump(file);
+                sendChatMessage(player, "World generation totals written to " + file.getPath());
+            }
+            catch (final IOException e)
+            {
+                LogHelper.warning("Could not write %s: %s", file, e);
+                sendChatMessage(player, "Could not write " + file.getPath());
+            }
+            return;
+        }
 
-            if (blockType.equals("logWood") || blockType.equals("treeLeaves"))
+        final List<Stats> stats = WorldGenProfiler.getStats();
+        Collections.sort(stats, new Comparator<Stats>()
+        {
+            @Override
+            public int compare(Stats a, Stats b)
             {
-                // Add extra blocks to the list
-                killList.add(new Vector3(x1, y1 + 1, z1));
-                killList.add(new Vector3(x1, y1 - 1, z1));
-                killList.add(new Vector3(x1 + 1, y1, z1));
-                killList.add(new Vector3(x1 - 1, y1, z1));
-                killList.add(new Vector3(x1, y1, z1 + 1));
-                killList.add(new Vector3(x1, y1, z1 - 1));
+                return a.nanos < b.nanos ? 1 : a.nanos > b.nanos ? -1 : 0;
+            }
+        });
+
+        sendChatMessage(player, "\u00A72-World generation, slowest first-\u00A7r");
+        for (final Stats entry : stats.subList(0, Math.min(stats.size(), 8)))
+        {
+            sendChatMessage(player, String.format("%s %s in %s: %d runs (%d failed), %.1f ms, p99 %d us, %d blocks", entry.kind, entry.name, entry.biome,
+                    entry.calls, entry.failures, entry.nanos / 1e6, entry.percentile(0.99) / 1000, entry.writes));
+        }
+        if (stats.isEmpty())
+            sendChatMessage(player, "Nothing has been generated yet.");
+    }
+
+    private void genesis(EntityPlayer player, String[] cmds)
+    {
+        int range = 3;
+        if (cmds.length == 3)
+        {
+            try
+            {
+                range = Integer.parseInt(cmds[2]);
+            }
+            catch (NumberFormatException e)
+            {
+                sendChatMessage(player, "Range must be a valid number.");
+                return;
+            }
+        }
+
+        if (range < 0 || range > GenesisRegenerator.MAX_RANGE)
+        {
+            sendChatMessage(player, "Range must be between 0 and " + GenesisRegenerator.MAX_RANGE + ".");
+            return;
+        }
 
-                // Remove the block
-                player.worldObj.setBlockToAir(x1, y1, z1);
+        final int chunkX = MathHelper.floor_double(player.posX) >> 4;
+        final int chunkZ = MathHelper.floor_double(player.posZ) >> 4;
+        final BiomeGenBase current = player.worldObj.getBiomeGenForCoords(MathHelper.floor_double(player.posX), MathHelper.floor_double(player.posZ));
+
+        BiomeGenBase biome = null;
+        if (cmds[1].equals("random"))
+        {
+            biome = GenesisRegenerator.pickBiome(player.worldObj.rand, current);
+        }
+        else
+        {
+            for (final BiomeSettings setting : BiomeSettings.values())
+            {
+                if (setting.toString().equals(cmds[1]) && setting.getBiome().isPresent())
+                    biome = setting.getBiome().get();
             }
         }
 
+        if (biome == null)
+        {
+            sendChatMessage(player, "\"" + cmds[1] + "\" is not an enabled biome.");
+        }
+        else if (!(player.worldObj instanceof WorldServer) || !GenesisRegenerator.INSTANCE.start((WorldServer) player.worldObj, chunkX, chunkZ, range, biome))
+        {
+            sendChatMessage(player, "Genesis only works in the overworld away from spawn, and not where it is already running.");
+        }
+        else
+        {
+            sendChatMessage(player, "Regenerating " + (range * 2 + 1) * (range * 2 + 1) + " chunks as " + biome.biomeName + ".");
+        }
+    }
+
+    private void treeNames(EntityPlayer player)
+    {
+        sendChatMessage(player, "Only the following tree names are supported:");
+        sendChatMessage(player, "acacia, cypress, fir, redwood, largeFir,");
+        sendChatMessage(player, "brown, orange, red, yellow, largebrown,");
+        sendChatMessage(player, "largeorange, largered, largeyellow, baldcypress,");
+        sendChatMessage(player, "rainbow, japanesemaple, japanesemaple, japanesemapleshrub,");
+        sendChatMessage(player, "sakura, legend");
+    }
+
+    private boolean killTree(EntityPlayer player, int x, int y, int z)
+    {
+        if (!KillTreeScheduler.INSTANCE.schedule(player, x, y, z))
+        {
+            sendChatMessage(player, "There is no tree at " + x + ", " + y + ", " + z + ".");
+            return false;
+        }
         return true;
     }
 
@@ -569,10 +718,13 @@ public class EBXLCommandHandler extends CommandBase
         // List the available commands
         sendChatMessage(player, "\u00A72-ExtrabiomesXl Commands-\u00A7r");
         sendChatMessage(player, "/ebxl help [command]");
+        sendChatMessage(player, "/ebxl genesis <biome> [range]");
         sendChatMessage(player, "/ebxl lastseed <treetype>");
+        sendChatMessage(player, "/ebxl reloadconfig");
         sendChatMessage(player, "/ebxl killtree <x> <y> <z>");
         sendChatMessage(player, "/ebxl saplingdespawntime [ticks]");
         sendChatMessage(player, "/ebxl spawntree <treetype> <x> <y> <z> [seed]");
+        sendChatMessage(player, "/ebxl stats [reset|dump]");
         sendChatMessage(player, "/ebxl version");
     }
 
@@ -0,0 +1,144 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.handlers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.relauncher.Side;
+import extrabiomes.helpers.TreeWalker;
+
+/**
+ * Removes the trees picked with /ebxl killtree a slice at a time.
+ * <p>
+ * A tree is first walked to its end, a bounded number of blocks per tick,
+ * and only then cleared, again a bounded number of blocks per tick. Walking
+ * first keeps the cleared blocks from cutting the walk short.
+ */
+public enum KillTreeScheduler
+{
+    INSTANCE;
+
+    /** Most logs and leaves a single tree may have */
+    private static final int            MAX_VOLUME       = 65536;
+
+    private static final int            WALKED_PER_TICK  = 4096;
+    private static final int            REMOVED_PER_TICK = 1024;
+
+    private final Map<World, Deque<Job>> worlds          = new WeakHashMap<World, Deque<Job>>();
+
+    private static class Job
+    {
+        final EntityPlayer player;
+        final TreeWalker   tree;
+        boolean            walked = false;
+        int                cursor = 0;
+        int                removed = 0;
+
+        Job(EntityPlayer player, TreeWalker tree)
+        {
+            this.player = player;
+            this.tree = tree;
+        }
+    }
+
+    /**
+     * Queues the tree the position belongs to for removal.
+     *
+     * @return false if there is no log or leaves at the position
+     */
+    public boolean schedule(EntityPlayer player, int x, int y, int z)
+    {
+        final World world = player.worldObj;
+        final TreeWalker tree = new TreeWalker(world, TreeWalker.LOG | TreeWalker.LEAVES, MAX_VOLUME, Integer.MAX_VALUE);
+        tree.add(x, y, z);
+        if (tree.getCount() == 0)
+            return false;
+
+        Deque<Job> queue = worlds.get(world);
+        if (queue == null)
+        {
+            queue = new ArrayDeque<Job>();
+            worlds.put(world, queue);
+        }
+        queue.add(new Job(player, tree));
+        return true;
+    }
+
+    private static int removeBatch(World world, Job job, int budget)
+    {
+        int removed = 0;
+        while (removed < budget && job.cursor < job.tree.getCount())
+        {
+            final long position = job.tree.getPosition(job.cursor++);
+            final int x = TreeWalker.unpackX(position);
+            final int y = TreeWalker.unpackY(position);
+            final int z = TreeWalker.unpackZ(position);
+
+            // Something else may have changed the tree since it was walked
+            if (world.blockExists(x, y, z) && TreeWalker.classify(world, x, y, z) != TreeWalker.NONE)
+            {
+                world.setBlockToAir(x, y, z);
+                removed++;
+            }
+        }
+        job.removed += removed;
+        return Math.max(removed, 1);
+    }
+
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if (event.phase != TickEvent.Phase.END || event.side != Side.SERVER)
+            return;
+
+        final Deque<Job> queue = worlds.get(event.world);
+        if (queue == null)
+            return;
+
+        int walkBudget = WALKED_PER_TICK;
+        int removeBudget = REMOVED_PER_TICK;
+        while (!queue.isEmpty())
+        {
+            final Job job = queue.peek();
+            if (!job.walked)
+            {
+                if (walkBudget <= 0)
+                    return;
+
+                final int before = job.tree.getWalked();
+                job.walked = job.tree.walk(walkBudget);
+                walkBudget -= Math.max(job.tree.getWalked() - before, 1);
+                continue;
+            }
+
+            if (removeBudget <= 0)
+                return;
+
+            removeBudget -= removeBatch(event.world, job, removeBudget);
+            if (job.cursor >= job.tree.getCount())
+            {
+                queue.poll();
+                job.player.addChatMessage(new ChatComponentText("Removed " + job.removed + " blocks" + (job.tree.isTruncated() ? ", the rest of the tree was too large or not loaded." : ".")));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        worlds.remove(event.world);
+    }
+}
@@ -6,7 +6,6 @@
 
 package extrabiomes.helpers;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -30,7 +29,7 @@ public abstract class BiomeHelper
     
     private static final Set<WorldType>                        worldTypes   = new HashSet<WorldType>();
     
-    private static Optional<? extends ArrayList<BiomeGenBase>> activeBiomes = Optional.absent();
+    private static Optional<ImmutableSet<BiomeGenBase>>        activeBiomes = Optional.absent();
     
     public static void addTerrainBlockstoBiome(BiomeSettings biome, Block topBlock, Block fillerBlock)
     {
@@ -59,6 +58,7 @@ public abstract class BiomeHelper
         }
         
         setting.createBiome();
+        activeBiomes = Optional.absent();
     }
     
     /**
@@ -101,21 +101,25 @@ public abstract class BiomeHelper
         BiomeManager.addStrongholdBiome(biome);
     }
     
+    /**
+     * @return An immutable set of the custom biomes created so far. The same
+     *         set is returned until another biome is created.
+     */
     public static Collection<BiomeGenBase> getActiveBiomes()
     {
         if (!activeBiomes.isPresent())
         {
-            activeBiomes = Optional.of(new ArrayList<BiomeGenBase>(BiomeSettings.values().length));
+            final ImmutableSet.Builder<BiomeGenBase> builder = ImmutableSet.builder();
             for (final BiomeSettings setting : BiomeSettings.values())
             {
                 if (setting.getBiome().isPresent() && !setting.isVanilla())
                 {
-                    activeBiomes.get().add(setting.getBiome().get());
+                    builder.add(setting.getBiome().get());
                 }
             }
-            activeBiomes.get().trimToSize();
+            activeBiomes = Optional.of(builder.build());
         }
-        return ImmutableSet.copyOf(activeBiomes.get());
+        return activeBiomes.get();
     }
     
     public static BiomeGenBase settingToBiomeGenBase(BiomeSettings setting)
@@ -0,0 +1,122 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.helpers;
+
+import java.util.Arrays;
+
+/**
+ * Maps packed block positions to non-negative ints without boxing either.
+ * <p>
+ * An open addressing table with linear probing. A slot is empty while its
+ * value is -1, so any long may be a key.
+ */
+public final class PositionIndex
+{
+    private static final int MIN_BITS = 4;
+
+    private long[]           keys;
+    private int[]            values;
+    private int              bits;
+    private int              size     = 0;
+
+    public PositionIndex()
+    {
+        this(256);
+    }
+
+    public PositionIndex(int expected)
+    {
+        bits = MIN_BITS;
+        while (1 << bits < expected * 2)
+            ++bits;
+        keys = new long[1 << bits];
+        values = new int[1 << bits];
+        Arrays.fill(values, -1);
+    }
+
+    /**
+     * Returns the value stored for the position, or -1 if there is none.
+     */
+    public int get(long key)
+    {
+        final int mask = keys.length - 1;
+        for (int slot = slot(key);; slot = slot + 1 & mask)
+        {
+            if (values[slot] < 0)
+                return -1;
+            if (keys[slot] == key)
+                return values[slot];
+        }
+    }
+
+    public boolean contains(long key)
+    {
+        return get(key) >= 0;
+    }
+
+    /**
+     * Stores a value for the position, replacing any value already there.
+     */
+    public void put(long key, int value)
+    {
+        if (value < 0)
+            throw new IllegalArgumentException("Values must not be negative");
+
+        if ((size + 1) * 2 > keys.length)
+            grow();
+
+        final int mask = keys.length - 1;
+        for (int slot = slot(key);; slot = slot + 1 & mask)
+        {
+            if (values[slot] < 0)
+            {
+                keys[slot] = key;
+                values[slot] = value;
+                ++size;
+                return;
+            }
+            if (keys[slot] == key)
+            {
+                values[slot] = value;
+                return;
+            }
+        }
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public void clear()
+    {
+        Arrays.fill(values, -1);
+        size = 0;
+    }
+
+    private int slot(long key)
+    {
+        return (int) (key * 0x9E3779B97F4A7C15L >>> 64 - bits);
+    }
+
+    private void grow()
+    {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        ++bits;
+        keys = new long[1 << bits];
+        values = new int[1 << bits];
+        Arrays.fill(values, -1);
+        size = 0;
+
+        for (int slot = 0; slot < oldKeys.length; ++slot)
+        {
+            if (oldValues[slot] >= 0)
+                put(oldKeys[slot], oldValues[slot]);
+        }
+    }
+}
@@ -1,160 +1,255 @@
 package extrabiomes.helpers;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Wraps tooltip descriptions into lines and turns their \ formatting codes
+ * into Minecraft's. Each wrapped description is kept, so a tooltip that is
+ * hovered over frame after frame is only laid out once; the layouts are
+ * dropped when the language or resource packs are reloaded.
+ */
 public class ToolTipStringFormatter {
-  
-  private static String defaultColorVal = "7";
-  private static String colorVal = "7";
-  private static boolean obfuscated = false;
-  private static boolean bold = false;
-  private static boolean strikethrough = false;
-  private static boolean underline = false;
-  private static boolean italic = false;
-  
-  private static String unicodeControlCode = "\u00A7";
-  private static Pattern controlCode = Pattern.compile("\\\\");
-  private static Pattern codes = Pattern.compile("\\\\.");
-  private static Pattern resetCode = Pattern.compile("\\\\r");
-  private static Pattern codesGood = Pattern.compile("\\\\[0123456789abcdefklmnor]");
-  private static Pattern codesBad = Pattern.compile("\\\\[^0123456789abcdefklmnor]");
-  
-  private static Pattern codeObf = Pattern.compile("\\\\k");
-  private static Pattern codeBold = Pattern.compile("\\\\l");
-  private static Pattern codeStrike = Pattern.compile("\\\\m");
-  private static Pattern codeUnder = Pattern.compile("\\\\n");
-  private static Pattern codeItilic = Pattern.compile("\\\\o");
-  private static Pattern codeReset = Pattern.compile("\\\\r");
-  
+
+  private static final char CONTROL_CODE = '\\';
+  private static final String unicodeControlCode = "\u00A7";
+  private static final String GOOD_CODES = "0123456789abcdefklmnor";
+
+  private static final ConcurrentMap<LayoutKey, List<String>> layouts = new ConcurrentHashMap<LayoutKey, List<String>>();
+
+  private static final class LayoutKey {
+    private final String text;
+    private final int targetLength;
+    private final String color;
+
+    LayoutKey(String text, int targetLength, String color) {
+      this.text = text;
+      this.targetLength = targetLength;
+      this.color = color;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if(!(obj instanceof LayoutKey)) return false;
+      final LayoutKey other = (LayoutKey) obj;
+      return targetLength == other.targetLength && text.equals(other.text) && color.equals(other.color);
+    }
+
+    @Override
+    public int hashCode() {
+      return (text.hashCode() * 31 + targetLength) * 31 + color.hashCode();
+    }
+  }
+
+  // The formatting in effect while one description is laid out
+  private static final class Style {
+    private final String defaultColorVal;
+    private String colorVal;
+    private boolean obfuscated = false;
+    private boolean bold = false;
+    private boolean strikethrough = false;
+    private boolean underline = false;
+    private boolean italic = false;
+
+    Style(String color) {
+      defaultColorVal = colorVal = color;
+    }
+  }
+
   public static List Format(String text) {
     List tmp = new ArrayList<String>();
     Format(text, tmp);
-    
+
     return tmp;
   }
-  
+
   public static void Format(String text, List lines) {
     Format(text, lines, 20);
   }
-  
+
   public static void Format(String text, List lines, int targetLength) {
     String format = "7";
-    
-    if(text.length() > 0 && text.charAt(0) == 92){
+
+    if(text.length() > 1 && text.charAt(0) == CONTROL_CODE){
       format = String.valueOf(text.charAt(1));
       text = text.substring(2);
     }
-    
+
     Format(text, lines, targetLength, format);
   }
-  
+
   public static void Format(String text, List lines, String color) {
     Format(text, lines, 20, color);
   }
-  
+
+  @SuppressWarnings("unchecked")
   public static void Format(String text, List lines, int targetLength, String color) {
-    String[] wordArray = text.split(" ");
-    int words = wordArray.length;
-    
+    final LayoutKey key = new LayoutKey(text, targetLength, color);
+    List<String> layout = layouts.get(key);
+
+    if(layout == null) {
+      layout = Layout(text, targetLength, color);
+      layouts.putIfAbsent(key, layout);
+    }
+
+    lines.addAll(layout);
+  }
+
+  /**
+   * Forgets every layout, for when the descriptions may have changed.
+   */
+  public static void clearCache() {
+    layouts.clear();
+  }
+
+  private static List<String> Layout(String text, int targetLength, String color) {
+    final ImmutableList.Builder<String> lines = ImmutableList.builder();
+    final Style style = new Style(color);
+    final List<String> wordArray = SplitWords(text);
+
     int curLineLength = 0;
     int wordLength = 0;
     int maxLength = targetLength + 5;
-    String curLine = ""; 
-    
-    // Set the colors
-    defaultColorVal = colorVal = color;
-    
-    for(int word = 0; word < words; word++) {
-      wordLength = WordLength(wordArray[word]);
-      
+    StringBuilder curLine = new StringBuilder();
+
+    for(final String word : wordArray) {
+      wordLength = WordLength(word);
+
       // Always place the first word on the line
       if(curLineLength == 0) {
         // Add the formatting codes
-        curLine = LineFormatHeader() + ParseTags(wordArray[word]);
-        
+        curLine.setLength(0);
+        LineFormatHeader(style, curLine);
+        ParseTags(word, style, curLine);
+
         curLineLength = wordLength;
       } else if(curLineLength >= targetLength || (curLineLength + wordLength) >= maxLength) {
         // Add the old line
-        lines.add(curLine);
-        
+        lines.add(curLine.toString());
+
         // Start a new line with the formatting codes
-        curLine = LineFormatHeader() + ParseTags(wordArray[word]);
+        curLine.setLength(0);
+        LineFormatHeader(style, curLine);
+        ParseTags(word, style, curLine);
         curLineLength = wordLength;
       } else {
-        curLine += " " + ParseTags(wordArray[word]);
+        curLine.append(' ');
+        ParseTags(word, style, curLine);
         curLineLength += 1 + wordLength;
       }
     }
-    
+
     if(curLineLength > 0) {
-      lines.add(curLine + unicodeControlCode + "r");
+      lines.add(curLine.append(unicodeControlCode).append('r').toString());
+    }
+
+    return lines.build();
+  }
+
+  // Splits on single spaces the way String.split(" ") does, dropping empty words at the end
+  private static List<String> SplitWords(String text) {
+    final List<String> words = new ArrayList<String>();
+    int start = 0;
+
+    for(int i = 0; i < text.length(); i++) {
+      if(text.charAt(i) == ' ') {
+        words.add(text.substring(start, i));
+        start = i + 1;
+      }
+    }
+
+    if(words.isEmpty()) {
+      words.add(text);
+      return words;
     }
+
+    words.add(text.substring(start));
+    while(!words.isEmpty() && words.get(words.size() - 1).length() == 0) {
+      words.remove(words.size() - 1);
+    }
+    return words;
   }
-  
+
+  // The visible length of a word, not counting any code
   private static int WordLength(String word) {
-    return codes.matcher(word).replaceAll("").length(); 
+    int length = 0;
+
+    for(int i = 0; i < word.length(); i++) {
+      if(word.charAt(i) == CONTROL_CODE && i + 1 < word.length()) {
+        i++;
+      } else {
+        length++;
+      }
+    }
+    return length;
   }
-  
-  private static String LineFormatHeader() {
-    String tmp = unicodeControlCode + colorVal;
-    
-    // Add t
-    if(obfuscated) tmp += unicodeControlCode + "k";
-    if(bold) tmp += unicodeControlCode + "l";
-    if(strikethrough) tmp += unicodeControlCode + "m";
-    if(underline) tmp += unicodeControlCode + "n";
-    if(italic) tmp += unicodeControlCode + "o";
-    
-    return tmp;
+
+  private static void LineFormatHeader(Style style, StringBuilder line) {
+    line.append(unicodeControlCode).append(style.colorVal);
+
+    // Carry the styles over from the line before
+    if(style.obfuscated) line.append(unicodeControlCode).append('k');
+    if(style.bold) line.append(unicodeControlCode).append('l');
+    if(style.strikethrough) line.append(unicodeControlCode).append('m');
+    if(style.underline) line.append(unicodeControlCode).append('n');
+    if(style.italic) line.append(unicodeControlCode).append('o');
   }
-  
-  private static String ParseTags(String word) {
-    // Remove all bad codes
-    word = codesBad.matcher(word).replaceAll("");
-    
-    // Log the change of good codes
-    Matcher matcher = codesGood.matcher(word); 
-    while (matcher.find()) {
-      char code = word.charAt(matcher.end() - 1);
-      if(code > 106) {
-        switch(code) {
-          case 107:
-            obfuscated = true;
-            break;
-          case 108:
-            bold = true;
-            break;
-          case 109:
-            strikethrough = true;
-            break;
-          case 110:
-            underline = true;
-            break;
-          case 111:
-            italic = true;
-            break;
-          default:
-            colorVal = defaultColorVal;
-            obfuscated = false;
-            bold = false;
-            strikethrough = false;
-            underline = false;
-            italic = false;
-            break;
-        }
-      } else {
-        colorVal = String.valueOf(code);
+
+  private static void ParseTags(String word, Style style, StringBuilder line) {
+    for(int i = 0; i < word.length(); i++) {
+      final char c = word.charAt(i);
+
+      if(c != CONTROL_CODE) {
+        line.append(c);
+        continue;
+      }
+
+      if(i + 1 == word.length()) {
+        line.append(unicodeControlCode);
+        continue;
       }
+
+      // Drop bad codes
+      final char code = word.charAt(++i);
+      if(GOOD_CODES.indexOf(code) < 0) continue;
+
+      // Log the change of good codes
+      switch(code) {
+        case 'k':
+          style.obfuscated = true;
+          break;
+        case 'l':
+          style.bold = true;
+          break;
+        case 'm':
+          style.strikethrough = true;
+          break;
+        case 'n':
+          style.underline = true;
+          break;
+        case 'o':
+          style.italic = true;
+          break;
+        case 'r':
+          style.colorVal = style.defaultColorVal;
+          style.obfuscated = false;
+          style.bold = false;
+          style.strikethrough = false;
+          style.underline = false;
+          style.italic = false;
+          break;
+        default:
+          style.colorVal = String.valueOf(code);
+          break;
+      }
+
+      // Reset needs to reset the color to the default
+      line.append(unicodeControlCode).append(code);
+      if(code == 'r') line.append(unicodeControlCode).append(style.defaultColorVal);
     }
-    
-    // Reset needs to rest the color to the default
-    word = resetCode.matcher(word).replaceAll(unicodeControlCode + "r" + unicodeControlCode + defaultColorVal);
-    
-    // Replace good codes
-    return controlCode.matcher(word).replaceAll(unicodeControlCode);
   }
 }
@@ -0,0 +1,253 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.helpers;
+
+import java.util.Arrays;
+
+import net.minecraft.world.World;
+import extrabiomes.api.BlockClassification;
+
+/**
+ * Walks the blocks of a tree outward from one or more starting positions,
+ * breadth first through the faces of each block.
+ * <p>
+ * Blocks are told apart as logs, leaves or neither through the
+ * {@link BlockClassification} table. The walker follows the kinds it was
+ * asked to follow, remembers
+ * what it has visited by packed position, and stops growing at a volume
+ * bound. It can walk in slices, so a caller may spread a large tree over
+ * several ticks.
+ */
+public final class TreeWalker
+{
+    public static final int               NONE     = 0;
+    public static final int               LOG      = 1;
+    public static final int               LEAVES   = 2;
+
+    private static final int[]            OFFSET_X = { -1, 1, 0, 0, 0, 0 };
+    private static final int[]            OFFSET_Y = { 0, 0, -1, 1, 0, 0 };
+    private static final int[]            OFFSET_Z = { 0, 0, 0, 0, -1, 1 };
+
+    private final World                   world;
+    private final boolean                 followLogs;
+    private final boolean                 followLeaves;
+    private final int                     maxVolume;
+    private final int                     maxDepth;
+
+    private final PositionIndex           visited  = new PositionIndex();
+    private long[]                        positions = new long[256];
+    private int[]                         depths   = new int[256];
+    private boolean[]                     nearLog  = new boolean[256];
+    private int                           count    = 0;
+    private int                           head     = 0;
+    private boolean                       truncated = false;
+
+    /**
+     * @param follow
+     *            the kinds to walk through, any of {@link #LOG} and
+     *            {@link #LEAVES}
+     * @param maxVolume
+     *            the most blocks the walk may collect
+     * @param maxDepth
+     *            blocks this many steps from a start are collected but not
+     *            walked past
+     */
+    public TreeWalker(World world, int follow, int maxVolume, int maxDepth)
+    {
+        this.world = world;
+        followLogs = (follow & LOG) != 0;
+        followLeaves = (follow & LEAVES) != 0;
+        this.maxVolume = maxVolume;
+        this.maxDepth = maxDepth;
+    }
+
+    public static long pack(int x, int y, int z)
+    {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | y & 0xFFFL;
+    }
+
+    public static int unpackX(long position)
+    {
+        return (int) (position >> 38);
+    }
+
+    public static int unpackY(long position)
+    {
+        return (int) (position & 0xFFFL);
+    }
+
+    public static int unpackZ(long position)
+    {
+        return (int) (position << 26 >> 38);
+    }
+
+    /**
+     * Returns whether the block at a position is a log, leaves or neither.
+     */
+    public static int classify(World world, int x, int y, int z)
+    {
+        final int flags = BlockClassification.getFlags(world.getBlock(x, y, z), world.getBlockMetadata(x, y, z));
+        if ((flags & BlockClassification.LEAVES) != 0)
+            return LEAVES;
+        if ((flags & BlockClassification.LOG) != 0)
+            return LOG;
+        return NONE;
+    }
+
+    /**
+     * Starts the walk at a position if it holds a kind being followed.
+     */
+    public void add(int x, int y, int z)
+    {
+        if (y < 0 || y > 255 || !world.blockExists(x, y, z))
+            return;
+
+        final long key = pack(x, y, z);
+        if (!visited.contains(key) && isFollowed(classify(world, x, y, z)))
+            collect(key, 1);
+    }
+
+    /**
+     * Walks past up to the given number of collected blocks.
+     *
+     * @return true once there is nothing left to walk
+     */
+    public boolean walk(int budget)
+    {
+        for (; budget > 0 && head < count && !truncated; --budget)
+        {
+            final int i = head++;
+            final int x = unpackX(positions[i]);
+            final int y = unpackY(positions[i]);
+            final int z = unpackZ(positions[i]);
+
+            for (int side = 0; side < 6; ++side)
+            {
+                final int nx = x + OFFSET_X[side];
+                final int ny = y + OFFSET_Y[side];
+                final int nz = z + OFFSET_Z[side];
+                if (ny < 0 || ny > 255)
+                    continue;
+
+                final long key = pack(nx, ny, nz);
+                if (visited.contains(key))
+                    continue;
+
+                if (!world.blockExists(nx, ny, nz))
+                {
+                    truncated = true;
+                    break;
+                }
+
+                final int kind = classify(world, nx, ny, nz);
+                if (kind == LOG)
+                    nearLog[i] = true;
+
+                if (depths[i] < maxDepth && isFollowed(kind))
+                {
+                    if (count == maxVolume)
+                    {
+                        truncated = true;
+                        break;
+                    }
+                    collect(key, depths[i] + 1);
+                }
+            }
+        }
+        return head >= count || truncated;
+    }
+
+    /**
+     * True if the walk stopped early, either at the volume bound or at the
+     * edge of the loaded chunks.
+     */
+    public boolean isTruncated()
+    {
+        return truncated;
+    }
+
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * The number of collected blocks walked past so far.
+     */
+    public int getWalked()
+    {
+        return head;
+    }
+
+    public long getPosition(int i)
+    {
+        return positions[i];
+    }
+
+    /**
+     * The number of steps from the nearest start, starting at one.
+     */
+    public int getDepth(int i)
+    {
+        return depths[i];
+    }
+
+    /**
+     * True if a log touches the block. Only known once the block has been
+     * walked past.
+     */
+    public boolean isNearLog(int i)
+    {
+        return nearLog[i];
+    }
+
+    /**
+     * Returns the index of a collected position, or -1.
+     */
+    public int indexOf(long position)
+    {
+        return visited.get(position);
+    }
+
+    public int indexOf(int x, int y, int z)
+    {
+        return visited.get(pack(x, y, z));
+    }
+
+    public static int neighbourX(int x, int side)
+    {
+        return x + OFFSET_X[side];
+    }
+
+    public static int neighbourY(int y, int side)
+    {
+        return y + OFFSET_Y[side];
+    }
+
+    public static int neighbourZ(int z, int side)
+    {
+        return z + OFFSET_Z[side];
+    }
+
+    private boolean isFollowed(int kind)
+    {
+        return kind == LOG ? followLogs : kind == LEAVES && followLeaves;
+    }
+
+    private void collect(long key, int depth)
+    {
+        if (count == positions.length)
+        {
+            positions = Arrays.copyOf(positions, count * 2);
+            depths = Arrays.copyOf(depths, count * 2);
+            nearLog = Arrays.copyOf(nearLog, count * 2);
+        }
+        visited.put(key, count);
+        positions[count] = key;
+        depths[count++] = depth;
+    }
+}
@@ -20,8 +20,8 @@ import net.minecraft.item.Item.ToolMaterial;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.ItemTool;
 import net.minecraft.world.World;
-import net.minecraftforge.oredict.OreDictionary;
 import extrabiomes.Extrabiomes;
+import extrabiomes.api.BlockClassification;
 import extrabiomes.api.UseLogTurnerEvent;
 import extrabiomes.helpers.ToolTipStringFormatter;
 
@@ -65,18 +65,8 @@ public class LogTurner extends ItemTool
         final Block block = world.getBlock(x, y, z);
         final int metadata = world.getBlockMetadata(x, y, z);
         
-        final ItemStack is = new ItemStack(block, 1, metadata);
-        final int[] oreId = OreDictionary.getOreIDs(is);
-        final int logOreId = OreDictionary.getOreID("logWood");
-        
-        boolean containsLogOreId = false;
-        for(int id : oreId) {
-        	if(id == logOreId) {
-        		containsLogOreId = true;
-        		break;
-        	}
-        }
-        if(!containsLogOreId) return false;
+        if (!BlockClassification.is(block, metadata, BlockClassification.LOG))
+            return false;
         
         final Block wood = Blocks.log;
         
@@ -16,6 +16,7 @@ import net.minecraftforge.common.config.Property;
 
 import com.google.common.base.Optional;
 
+import extrabiomes.api.Biomes;
 import extrabiomes.module.summa.biome.BiomeAlpine;
 import extrabiomes.module.summa.biome.BiomeAutumnWoods;
 import extrabiomes.module.summa.biome.BiomeBirchForest;
@@ -81,9 +82,14 @@ public enum BiomeSettings {
 	WOODLANDS			(59, BiomeWoodlands.class,				Weights.HEAVY);
 /* @formatter:on */
 
+	// Settings by the ID of their created biome, and their names for the API
+	private static final BiomeSettings[] byBiomeID = new BiomeSettings[256];
+	private static final String[] namesByBiomeID = new String[256];
+
 	private final int defaultID;
 
 	private int biomeID = 0;
+	private int indexedID = -1;
 	private int weight = Weights.NORMAL.value;
 	private boolean enabled = true;
 	private boolean allowVillages = true;
@@ -134,12 +140,25 @@ public enum BiomeSettings {
 		}
 	}
 
+	/**
+	 * Returns the settings of the created biome with the given ID, or null if
+	 * none of our biomes has that ID.
+	 */
 	public static BiomeSettings findBiomeSettings(int id) {
-		for (BiomeSettings settings : BiomeSettings.values()) {
-			if (settings.biomeID == id)
-				return settings;
-		}
-		return null;
+		if (id < 0 || id >= byBiomeID.length)
+			return null;
+		return byBiomeID[id];
+	}
+
+	/**
+	 * Returns the name of the created biome with the given ID, as
+	 * {@link Biomes#getBiome(String)} accepts it, or null if none of our
+	 * biomes has that ID.
+	 */
+	public static String findBiomeName(int id) {
+		if (id < 0 || id >= namesByBiomeID.length)
+			return null;
+		return namesByBiomeID[id];
 	}
 
 	public boolean allowVillages() {
@@ -150,6 +169,25 @@ public enum BiomeSettings {
 		if (biomeClass.isPresent() && !biome.isPresent()) {
 			biome = Optional.of(biomeClass.get().newInstance());
 		}
+		updateIndex();
+	}
+
+	private void updateIndex() {
+		if (indexedID >= 0 && byBiomeID[indexedID] == this) {
+			byBiomeID[indexedID] = null;
+			namesByBiomeID[indexedID] = null;
+		}
+		indexedID = -1;
+
+		if (isVanilla() || !biome.isPresent())
+			return;
+
+		final int id = biome.get().biomeID;
+		if (id >= 0 && id < byBiomeID.length) {
+			byBiomeID[id] = this;
+			namesByBiomeID[id] = toString();
+			indexedID = id;
+		}
 	}
 
 	public void postLoad() {
@@ -221,6 +259,7 @@ public enum BiomeSettings {
 		if (!isVanilla()) {
 			property = configuration.getBiome(keyID(), biomeID);
 			biomeID = property.getInt(0);
+			updateIndex();
 		}
 
 		property = configuration.get(EnhancedConfiguration.CATEGORY_BIOME, keyEnabled(), enabled);
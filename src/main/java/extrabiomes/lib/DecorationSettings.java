@@ -8,10 +8,12 @@ package extrabiomes.lib;
 
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import net.minecraftforge.common.config.Property;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import extrabiomes.utility.EnhancedConfiguration;
 
@@ -82,6 +84,10 @@ public enum DecorationSettings
     };
     
     private final Map<Decoration, Integer> settings = Maps.newHashMap();
+    private final Set<Decoration>          configured;
+    
+    // Every decoration's value by ordinal; replaced whole, never changed in place
+    private volatile int[]                 profile;
     
     private DecorationSettings()
     {
@@ -108,6 +114,9 @@ public enum DecorationSettings
         initSetting(Decoration.CLAY, clay);
         initSetting(Decoration.BIGMUSHROOMS, bigMushrooms);
 		initSetting(Decoration.NEW_FLOWERS, newFlowers);
+		
+		configured = Sets.immutableEnumSet(settings.keySet());
+		profile = freeze();
     }
     
     private void initSetting(Decoration key, Integer val)
@@ -134,33 +143,53 @@ public enum DecorationSettings
         parseProperty(configuration, Decoration.CLAY);
         parseProperty(configuration, Decoration.BIGMUSHROOMS);
 		parseProperty(configuration, Decoration.NEW_FLOWERS);
+		
+		profile = freeze();
     }
     
     private void parseProperty(EnhancedConfiguration configuration, Decoration decoration)
     {
         // only handle non-defaults
-        if (!settings.containsKey(decoration))
+        if (!configured.contains(decoration))
             return;
         
         Property property = configuration.get(EnhancedConfiguration.CATEGORY_DECORATION, toString() + decoration.key, settings.get(decoration));
         settings.put(decoration, property.getInt());
     }
     
-	public int getSetting(Decoration decoration)
+    private int[] freeze()
     {
-		if (settings.containsKey(decoration))
-        {
-            return settings.get(decoration).intValue();
-        }
-        else
+        final int[] values = new int[Decoration.values().length];
+        for (final Decoration decoration : Decoration.values())
         {
-            return decoration.def;
+            final Integer value = settings.get(decoration);
+            values[decoration.ordinal()] = value == null ? decoration.def : value.intValue();
         }
+        return values;
+    }
+    
+	public int getSetting(Decoration decoration)
+    {
+		return profile[decoration.ordinal()];
+    }
+    
+    /**
+     * The value of every decoration, indexed by ordinal, as last loaded.
+     * Loading again publishes a new array, so one read gives a consistent
+     * set of values. The array must not be changed.
+     */
+    public int[] getProfile()
+    {
+        return profile;
     }
     
-    public Map<Decoration, Integer> getSettings()
+    /**
+     * Whether the biome sets the decoration itself rather than leaving it to
+     * the decorator's default.
+     */
+    public boolean isConfigured(Decoration decoration)
     {
-        return settings;
+        return configured.contains(decoration);
     }
     
     @Override
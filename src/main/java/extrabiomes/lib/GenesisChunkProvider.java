@@ -1,38 +1,89 @@
 package extrabiomes.lib;
 
+import static net.minecraftforge.event.terraingen.InitMapGenEvent.EventType.CAVE;
+import static net.minecraftforge.event.terraingen.InitMapGenEvent.EventType.RAVINE;
 import static net.minecraftforge.event.terraingen.PopulateChunkEvent.Populate.EventType.DUNGEON;
 import static net.minecraftforge.event.terraingen.PopulateChunkEvent.Populate.EventType.ICE;
 import static net.minecraftforge.event.terraingen.PopulateChunkEvent.Populate.EventType.LAKE;
 import static net.minecraftforge.event.terraingen.PopulateChunkEvent.Populate.EventType.LAVA;
 
-import java.util.Arrays;
 import java.util.Random;
 
 import net.minecraft.block.Block;
-import net.minecraft.block.BlockSand;
+import net.minecraft.block.BlockFalling;
 import net.minecraft.init.Blocks;
+import net.minecraft.util.MathHelper;
 import net.minecraft.world.SpawnerAnimals;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.gen.ChunkProviderGenerate;
 import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraft.world.gen.MapGenBase;
+import net.minecraft.world.gen.MapGenCaves;
+import net.minecraft.world.gen.MapGenRavine;
+import net.minecraft.world.gen.NoiseGeneratorOctaves;
+import net.minecraft.world.gen.NoiseGeneratorPerlin;
 import net.minecraft.world.gen.feature.WorldGenDungeons;
 import net.minecraft.world.gen.feature.WorldGenLakes;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.terraingen.PopulateChunkEvent;
 import net.minecraftforge.event.terraingen.TerrainGen;
 
+/**
+ * Generates overworld terrain as if every column belonged to one biome.
+ * <p>
+ * The vanilla generator reads the biomes around a chunk through the world's
+ * layer stack, which shares its int cache with the server thread. With the
+ * biome fixed that lookup is not needed, so {@link #generateTerrain} keeps
+ * its own noise and touches nothing but the arrays it is given. That part
+ * may run on a worker thread; carving and populating use the world and
+ * stay on the server thread.
+ */
 public class GenesisChunkProvider extends ChunkProviderGenerate {
+	private static final int	SEA_LEVEL	= 63;
+
 	private final BiomeGenBase	_biome;
 	private final World			_world;
+	private final boolean		_amplified;
+
+	private final NoiseGeneratorOctaves	_minLimitNoise;
+	private final NoiseGeneratorOctaves	_maxLimitNoise;
+	private final NoiseGeneratorOctaves	_mainNoise;
+	private final NoiseGeneratorPerlin	_stoneNoise;
+	private final NoiseGeneratorOctaves	_depthNoise;
+
+	private final MapGenBase	_caves	= TerrainGen.getModdedMapGen(new MapGenCaves(), CAVE);
+	private final MapGenBase	_ravines	= TerrainGen.getModdedMapGen(new MapGenRavine(), RAVINE);
+
+	// Only used by whichever thread is generating terrain
+	private double[]			_density		= new double[825];
+	private double[]			_minLimit;
+	private double[]			_maxLimit;
+	private double[]			_main;
+	private double[]			_depth;
+	private double[]			_stone		= new double[256];
 
 	public GenesisChunkProvider(World world, BiomeGenBase biome) {
 		super(world, world.getSeed(), false);
 		_world = world;
 		_biome = biome;
+		_amplified = world.getWorldInfo().getTerrainType() == WorldType.AMPLIFIED;
+
+		// Drawn in the same order as the vanilla generator so the land matches its noise
+		final Random rand = new Random(world.getSeed());
+		_minLimitNoise = new NoiseGeneratorOctaves(rand, 16);
+		_maxLimitNoise = new NoiseGeneratorOctaves(rand, 16);
+		_mainNoise = new NoiseGeneratorOctaves(rand, 8);
+		_stoneNoise = new NoiseGeneratorPerlin(rand, 4);
+		new NoiseGeneratorOctaves(rand, 10);
+		_depthNoise = new NoiseGeneratorOctaves(rand, 16);
+	}
+
+	public BiomeGenBase getBiome() {
+		return _biome;
 	}
 
 	public IChunkLoader getCurrentChunkLoader() {
@@ -49,39 +100,142 @@ public class GenesisChunkProvider extends ChunkProviderGenerate {
 		final ChunkProviderServer parent = (ChunkProviderServer) _world.getChunkProvider();
 		parent.unloadChunksIfNotNearSpawn(chunkX, chunkZ);
 	}
-/*
-	@Override
-	public Chunk provideChunk(int i, int j) {
-		//LogHelper.info("Genesis - provide chunk @ " + i + "," + j + ", biomeId = " + _biome.biomeID);
 
-		//Chunk chunk = super.provideChunk(i, j); // this sets the random seed among other things...
+	/**
+	 * Fills the 16x256x16 block and metadata arrays of a chunk, indexed
+	 * x << 12 | z << 8 | y, with stone, water and the biome's surface.
+	 * Not safe to call from more than one thread at a time.
+	 */
+	public void generateTerrain(int chunkX, int chunkZ, Block[] blocks, byte[] metadata) {
+		final Random rand = new Random(chunkX * 341873128712L + chunkZ * 132897987541L);
+
+		sampleDensity(chunkX * 4, chunkZ * 4);
+		fillDensity(blocks);
+
+		_stone = _stoneNoise.func_151599_a(_stone, chunkX * 16, chunkZ * 16, 16, 16, 0.0625D, 0.0625D, 1.0D);
+		for (int x = 0; x < 16; ++x) {
+			for (int z = 0; z < 16; ++z) {
+				_biome.genTerrainBlocks(_world, rand, blocks, metadata, chunkX * 16 + x, chunkZ * 16 + z, _stone[z + x * 16]);
+			}
+		}
+	}
+
+	/**
+	 * Cuts caves and ravines into generated terrain. Must be called on the
+	 * server thread, since both look at the biomes of the world.
+	 */
+	public void carve(int chunkX, int chunkZ, Block[] blocks) {
+		_caves.func_151539_a(this, _world, chunkX, chunkZ, blocks);
+		_ravines.func_151539_a(this, _world, chunkX, chunkZ, blocks);
+	}
+
+	/**
+	 * The vanilla density samples for a 5x33x5 grid, with the biome
+	 * weighting reduced to the one biome.
+	 */
+	private void sampleDensity(int x, int z) {
+		_depth = _depthNoise.generateNoiseOctaves(_depth, x, z, 5, 5, 200.0D, 200.0D, 0.5D);
+		_main = _mainNoise.generateNoiseOctaves(_main, x, 0, z, 5, 33, 5, 8.555150000000001D, 4.277575000000001D, 8.555150000000001D);
+		_minLimit = _minLimitNoise.generateNoiseOctaves(_minLimit, x, 0, z, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+		_maxLimit = _maxLimitNoise.generateNoiseOctaves(_maxLimit, x, 0, z, 5, 33, 5, 684.412D, 684.412D, 684.412D);
+
+		float rootHeight = _biome.rootHeight;
+		float heightVariation = _biome.heightVariation;
+		if (_amplified && rootHeight > 0.0F) {
+			rootHeight = 1.0F + rootHeight * 2.0F;
+			heightVariation = 1.0F + heightVariation * 4.0F;
+		}
+		final double variation = heightVariation * 0.9F + 0.1F;
+		final double base = (rootHeight * 4.0F - 1.0F) / 8.0F;
 
-		//chunk.getBlockStorageArray()
-		byte[] terrain = new byte[32768];
-		this.generateTerrain(i, j, terrain);
+		int sample = 0;
+		for (int column = 0; column < 25; ++column) {
+			double depth = _depth[column] / 8000.0D;
+			if (depth < 0.0D) depth = -depth * 0.3D;
+			depth = depth * 3.0D - 2.0D;
+			if (depth < 0.0D) {
+				depth = Math.max(depth / 2.0D, -1.0D) / 1.4D / 2.0D;
+			} else {
+				depth = Math.min(depth, 1.0D) / 8.0D;
+			}
 
-		BiomeGenBase[] biomeArray = new BiomeGenBase[256];
-		Arrays.fill(biomeArray, _biome);
-		this.replaceBlocksForBiome(i, j, terrain, biomeArray);
+			final double middle = 8.5D + (base + depth * 0.2D) * 8.5D / 8.0D * 4.0D;
+			for (int y = 0; y < 33; ++y) {
+				double falloff = (y - middle) * 12.0D * 128.0D / 256.0D / variation;
+				if (falloff < 0.0D) falloff *= 4.0D;
 
-		Chunk chunk = new Chunk(this._world, terrain, i, j);
-		byte[] biomes = chunk.getBiomeArray();
+				final double blend = (_main[sample] / 10.0D + 1.0D) / 2.0D;
+				double density = MathHelper.denormalizeClamp(_minLimit[sample] / 512.0D, _maxLimit[sample] / 512.0D, blend) - falloff;
+				if (y > 29) {
+					final double top = (y - 29) / 3.0F;
+					density = density * (1.0D - top) + -10.0D * top;
+				}
+				_density[sample++] = density;
+			}
+		}
+	}
 
-		//for (int k = 0; k < biomes.length; ++k) {
-		//	biomes[k] = (byte) _biome.biomeID;
-		//}
-		//chunk.setBiomeArray(biomes);
+	/**
+	 * Interpolates the density samples across the chunk: stone where it is
+	 * positive, water below sea level and air above.
+	 */
+	private void fillDensity(Block[] blocks) {
+		for (int cellX = 0; cellX < 4; ++cellX) {
+			for (int cellZ = 0; cellZ < 4; ++cellZ) {
+				final int c00 = ((cellX) * 5 + cellZ) * 33;
+				final int c01 = ((cellX) * 5 + cellZ + 1) * 33;
+				final int c10 = ((cellX + 1) * 5 + cellZ) * 33;
+				final int c11 = ((cellX + 1) * 5 + cellZ + 1) * 33;
 
-		//chunk.generateSkylightMap();
-		
-		return chunk;
+				for (int cellY = 0; cellY < 32; ++cellY) {
+					double d00 = _density[c00 + cellY];
+					double d01 = _density[c01 + cellY];
+					double d10 = _density[c10 + cellY];
+					double d11 = _density[c11 + cellY];
+					final double step00 = (_density[c00 + cellY + 1] - d00) * 0.125D;
+					final double step01 = (_density[c01 + cellY + 1] - d01) * 0.125D;
+					final double step10 = (_density[c10 + cellY + 1] - d10) * 0.125D;
+					final double step11 = (_density[c11 + cellY + 1] - d11) * 0.125D;
+
+					for (int dy = 0; dy < 8; ++dy) {
+						final int y = cellY * 8 + dy;
+						double row0 = d00;
+						double row1 = d01;
+						final double rowStep0 = (d10 - d00) * 0.25D;
+						final double rowStep1 = (d11 - d01) * 0.25D;
+
+						for (int dx = 0; dx < 4; ++dx) {
+							final int x = cellX * 4 + dx;
+							final double step = (row1 - row0) * 0.25D;
+							double density = row0;
+							for (int dz = 0; dz < 4; ++dz) {
+								final int index = x << 12 | cellZ * 4 + dz << 8 | y;
+								if (density > 0.0D) {
+									blocks[index] = Blocks.stone;
+								} else if (y < SEA_LEVEL) {
+									blocks[index] = Blocks.water;
+								} else {
+									blocks[index] = null;
+								}
+								density += step;
+							}
+							row0 += rowStep0;
+							row1 += rowStep1;
+						}
+
+						d00 += step00;
+						d01 += step01;
+						d10 += step10;
+						d11 += step11;
+					}
+				}
+			}
+		}
 	}
 
 	@Override
 	public void populate(IChunkProvider par1IChunkProvider, int i, int j) {
-		//System.out.println("Genesis - populate " + i + "," + j);
-
-		BlockSand.fallInstantly = true;
+		BlockFalling.fallInstantly = true;
 		int k = i * 16;
 		int l = j * 16;
 
@@ -99,14 +253,14 @@ public class GenesisChunkProvider extends ChunkProviderGenerate {
 
 		if (_biome != BiomeGenBase.desert && _biome != BiomeGenBase.desertHills && !flag && rand.nextInt(4) == 0 && TerrainGen.populate(this, _world, rand, i, j, flag, LAKE)) {
 			k1 = k + rand.nextInt(16) + 8;
-			l1 = rand.nextInt(128);
+			l1 = rand.nextInt(256);
 			i2 = l + rand.nextInt(16) + 8;
 			(new WorldGenLakes(Blocks.water)).generate(this._world, rand, k1, l1, i2);
 		}
 
 		if (TerrainGen.populate(this, _world, rand, i, j, flag, LAVA) && !flag && rand.nextInt(8) == 0) {
 			k1 = k + rand.nextInt(16) + 8;
-			l1 = rand.nextInt(rand.nextInt(120) + 8);
+			l1 = rand.nextInt(rand.nextInt(248) + 8);
 			i2 = l + rand.nextInt(16) + 8;
 
 			if (l1 < 63 || rand.nextInt(10) == 0) {
@@ -117,7 +271,7 @@ public class GenesisChunkProvider extends ChunkProviderGenerate {
 		boolean doGen = TerrainGen.populate(this, _world, rand, i, j, flag, DUNGEON);
 		for (k1 = 0; doGen && k1 < 8; ++k1) {
 			l1 = k + rand.nextInt(16) + 8;
-			i2 = rand.nextInt(128);
+			i2 = rand.nextInt(256);
 			int j2 = l + rand.nextInt(16) + 8;
 			(new WorldGenDungeons()).generate(this._world, rand, l1, i2, j2);
 		}
@@ -136,15 +290,14 @@ public class GenesisChunkProvider extends ChunkProviderGenerate {
 					this._world.setBlock(k1 + k, i2 - 1, l1 + l, Blocks.ice, 0, 2);
 				}
 
-				if (this._world.canSnowAt(k1 + k, i2, l1 + l)) {
-					this._world.setBlock(k1 + k, i2, l1 + l, Blocks.snow, 0, 2);
+				if (this._world.func_147478_e(k1 + k, i2, l1 + l, true)) {
+					this._world.setBlock(k1 + k, i2, l1 + l, Blocks.snow_layer, 0, 2);
 				}
 			}
 		}
 
-		//MinecraftForge.EVENT_BUS.post(new PopulateChunkEvent.Post(this, _world, rand, i, j, flag));
+		MinecraftForge.EVENT_BUS.post(new PopulateChunkEvent.Post(this, _world, rand, i, j, flag));
 
-		BlockSand.fallInstantly = false;
+		BlockFalling.fallInstantly = false;
 	}
-*/
 }
@@ -0,0 +1,351 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.lib;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import net.minecraft.block.Block;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.play.server.S21PacketChunkData;
+import net.minecraft.server.management.PlayerManager;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.ChunkCoordinates;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.WorldEvent;
+
+import com.google.common.collect.Lists;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.common.registry.GameRegistry;
+import extrabiomes.helpers.LogHelper;
+
+/**
+ * Regenerates a square of chunks as a different biome without stopping the
+ * server.
+ * <p>
+ * Starting a job only records the chunks it covers and hands their terrain
+ * to a worker thread, which fills fresh block arrays through a
+ * {@link GenesisChunkProvider}. At the end of each server tick the finished
+ * chunks are swapped into the loaded ones in order, a few at a time, and
+ * sent to the players watching them. Once every chunk has new terrain they
+ * are populated the same way. Players standing in a swapped chunk are moved
+ * up to its new surface rather than away from the area.
+ */
+public enum GenesisRegenerator
+{
+    INSTANCE;
+
+    /** Largest distance in chunks from the centre a job may reach */
+    public static final int   MAX_RANGE     = 7;
+
+    /** Chunks around the spawn point that are never regenerated */
+    private static final int  SPAWN_RADIUS  = 128;
+
+    private static int        chunksPerTick = 4;
+
+    private final List<Job>   jobs          = Lists.newLinkedList();
+    private ExecutorService   executor      = null;
+
+    private static class GeneratedChunk
+    {
+        final Block[] blocks   = new Block[65536];
+        final byte[]  metadata = new byte[65536];
+    }
+
+    private static class Job
+    {
+        final WorldServer                  world;
+        final GenesisChunkProvider         provider;
+        final int                          minX;
+        final int                          minZ;
+        final int                          size;
+        final List<Future<GeneratedChunk>> terrain;
+        int                                swapped   = 0;
+        int                                populated = 0;
+
+        Job(WorldServer world, GenesisChunkProvider provider, int minX, int minZ, int size)
+        {
+            this.world = world;
+            this.provider = provider;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.size = size;
+            terrain = Lists.newArrayListWithCapacity(size * size);
+        }
+
+        int chunkX(int chunk)
+        {
+            return minX + chunk / size;
+        }
+
+        int chunkZ(int chunk)
+        {
+            return minZ + chunk % size;
+        }
+
+        boolean overlaps(WorldServer otherWorld, int otherMinX, int otherMinZ, int otherSize)
+        {
+            return world == otherWorld && otherMinX < minX + size && minX < otherMinX + otherSize && otherMinZ < minZ + size
+                    && minZ < otherMinZ + otherSize;
+        }
+    }
+
+    public static int getChunksPerTick()
+    {
+        return chunksPerTick;
+    }
+
+    /**
+     * Sets how many chunks are swapped or populated each server tick.
+     */
+    public static void setChunksPerTick(int chunks)
+    {
+        chunksPerTick = Math.max(chunks, 1);
+    }
+
+    /**
+     * Picks a random enabled biome other than the given one, or returns null
+     * if there is none.
+     */
+    public static BiomeGenBase pickBiome(Random rand, BiomeGenBase current)
+    {
+        final List<BiomeGenBase> biomes = Lists.newArrayList();
+        for (final BiomeSettings setting : BiomeSettings.values())
+        {
+            if (setting.getBiome().isPresent() && setting.getBiome().get() != current)
+                biomes.add(setting.getBiome().get());
+        }
+        return biomes.isEmpty() ? null : biomes.get(rand.nextInt(biomes.size()));
+    }
+
+    /**
+     * Returns false if the chunks within range of the centre may not be
+     * regenerated: they are outside the overworld or near its spawn point.
+     */
+    public static boolean canRegenerate(WorldServer world, int chunkX, int chunkZ, int range)
+    {
+        if (world.provider.dimensionId != 0 || range < 0 || range > MAX_RANGE)
+            return false;
+
+        final ChunkCoordinates spawn = world.getSpawnPoint();
+        final int spawnX = spawn.posX - 8;
+        final int spawnZ = spawn.posZ - 8;
+        return (chunkX + range) * 16 < spawnX - SPAWN_RADIUS || (chunkX - range) * 16 > spawnX + SPAWN_RADIUS
+                || (chunkZ + range) * 16 < spawnZ - SPAWN_RADIUS || (chunkZ - range) * 16 > spawnZ + SPAWN_RADIUS;
+    }
+
+    /**
+     * Queues the chunks within range of the centre to be regenerated as the
+     * given biome.
+     *
+     * @return false if the area may not be regenerated or overlaps one that
+     *         is still being regenerated
+     */
+    public boolean start(WorldServer world, int chunkX, int chunkZ, int range, BiomeGenBase biome)
+    {
+        if (world.isRemote || biome == null || !canRegenerate(world, chunkX, chunkZ, range))
+            return false;
+
+        final int size = range * 2 + 1;
+        for (final Job job : jobs)
+        {
+            if (job.overlaps(world, chunkX - range, chunkZ - range, size))
+                return false;
+        }
+
+        final Job job = new Job(world, new GenesisChunkProvider(world, biome), chunkX - range, chunkZ - range, size);
+        for (int chunk = 0; chunk < size * size; ++chunk)
+        {
+            final int x = job.chunkX(chunk);
+            final int z = job.chunkZ(chunk);
+            job.terrain.add(getExecutor().submit(new Callable<GeneratedChunk>()
+            {
+                @Override
+                public GeneratedChunk call()
+                {
+                    final GeneratedChunk generated = new GeneratedChunk();
+                    job.provider.generateTerrain(x, z, generated.blocks, generated.metadata);
+                    return generated;
+                }
+            }));
+        }
+        jobs.add(job);
+
+        LogHelper.info("Genesis queued %d chunks around (%d, %d) as %s", size * size, chunkX, chunkZ, biome.biomeName);
+        return true;
+    }
+
+    public int getPendingJobs()
+    {
+        return jobs.size();
+    }
+
+    private void swap(Job job, int index)
+    {
+        final GeneratedChunk generated = getTerrain(job.terrain.get(index));
+        job.terrain.set(index, null);
+        if (generated == null)
+            return;
+
+        final int x = job.chunkX(index);
+        final int z = job.chunkZ(index);
+        final Chunk chunk = job.world.getChunkFromChunkCoords(x, z);
+
+        // Caves and ravines line themselves with the top and filler blocks of the world's biome
+        final byte[] biomes = chunk.getBiomeArray();
+        Arrays.fill(biomes, (byte) (job.provider.getBiome().biomeID & 255));
+        chunk.setBiomeArray(biomes);
+
+        job.provider.carve(x, z, generated.blocks);
+        final Chunk fresh = new Chunk(job.world, generated.blocks, generated.metadata, x, z);
+
+        for (final Object tile : Lists.newArrayList(chunk.chunkTileEntityMap.values()))
+        {
+            final TileEntity tileEntity = (TileEntity) tile;
+            job.world.removeTileEntity(tileEntity.xCoord, tileEntity.yCoord, tileEntity.zCoord);
+        }
+
+        chunk.setStorageArrays(fresh.getBlockStorageArray());
+        Arrays.fill(chunk.precipitationHeightMap, -999);
+
+        // Populated by the job itself; keeps the chunk provider from doing it again
+        chunk.isTerrainPopulated = true;
+        chunk.generateSkylightMap();
+        // Block light and the sky light from the neighbours are worked out on the chunk's next update
+        chunk.isLightPopulated = false;
+        chunk.setChunkModified();
+
+        final PlayerManager watchers = job.world.getPlayerManager();
+        for (final Object entity : job.world.playerEntities)
+        {
+            final EntityPlayerMP player = (EntityPlayerMP) entity;
+            if (watchers.isPlayerWatchingChunk(player, x, z))
+                player.playerNetServerHandler.sendPacket(new S21PacketChunkData(chunk, true, 65535));
+
+            final int playerX = MathHelper.floor_double(player.posX);
+            final int playerZ = MathHelper.floor_double(player.posZ);
+            if (playerX >> 4 == x && playerZ >> 4 == z)
+            {
+                final int top = job.world.getTopSolidOrLiquidBlock(playerX, playerZ);
+                if (top > 0 && player.posY < top)
+                    player.setPositionAndUpdate(player.posX, top, player.posZ);
+            }
+        }
+    }
+
+    private void populate(Job job, int index)
+    {
+        final int x = job.chunkX(index);
+        final int z = job.chunkZ(index);
+        job.provider.populate(job.provider, x, z);
+        GameRegistry.generateWorld(x, z, job.world, job.provider, job.world.getChunkProvider());
+        job.world.getChunkFromChunkCoords(x, z).setChunkModified();
+    }
+
+    private static GeneratedChunk getTerrain(Future<GeneratedChunk> terrain)
+    {
+        try
+        {
+            return terrain.get();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (final ExecutionException e)
+        {
+            LogHelper.warning("Genesis failed to generate a chunk, leaving it as it was: %s", e.getCause());
+        }
+        return null;
+    }
+
+    private ExecutorService getExecutor()
+    {
+        if (executor == null)
+        {
+            // One thread, since each job's provider reuses its noise arrays
+            executor = Executors.newSingleThreadExecutor(new ThreadFactory()
+            {
+                @Override
+                public Thread newThread(Runnable runnable)
+                {
+                    final Thread thread = new Thread(runnable, "ExtrabiomesXL genesis");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event)
+    {
+        if (event.phase != TickEvent.Phase.END)
+            return;
+
+        int budget = chunksPerTick;
+        while (budget > 0 && !jobs.isEmpty())
+        {
+            final Job job = jobs.get(0);
+            final int count = job.size * job.size;
+            if (job.swapped < count)
+            {
+                // Swap in order, and only what the worker has finished
+                final Future<GeneratedChunk> terrain = job.terrain.get(job.swapped);
+                if (!terrain.isDone())
+                    return;
+
+                swap(job, job.swapped++);
+            }
+            else if (job.populated < count)
+            {
+                populate(job, job.populated++);
+            }
+            else
+            {
+                jobs.remove(0);
+                LogHelper.info("Genesis finished %d chunks as %s", count, job.provider.getBiome().biomeName);
+                continue;
+            }
+            --budget;
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        final Iterator<Job> iterator = jobs.iterator();
+        while (iterator.hasNext())
+        {
+            final Job job = iterator.next();
+            if (job.world != event.world)
+                continue;
+
+            for (final Future<GeneratedChunk> terrain : job.terrain)
+            {
+                if (terrain != null)
+                    terrain.cancel(false);
+            }
+            iterator.remove();
+        }
+    }
+}
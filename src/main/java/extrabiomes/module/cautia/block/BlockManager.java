@@ -16,6 +16,7 @@ import extrabiomes.lib.BlockSettings;
 import extrabiomes.lib.Reference;
 import extrabiomes.module.amica.buildcraft.FacadeHelper;
 import extrabiomes.module.cautia.worldgen.QuicksandGenerator;
+import extrabiomes.module.summa.worldgen.PopulateDispatcher;
 import extrabiomes.proxy.CommonProxy;
 
 public enum BlockManager
@@ -40,7 +41,7 @@ public enum BlockManager
             
             //FacadeHelper.addBuildcraftFacade(thisBlock);
             
-            proxy.registerWorldGenerator(new QuicksandGenerator(thisBlock));
+            PopulateDispatcher.INSTANCE.register(new QuicksandGenerator(thisBlock));
         }
 
 		@Override
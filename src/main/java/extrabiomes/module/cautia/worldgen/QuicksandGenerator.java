@@ -6,16 +6,17 @@
 
 package extrabiomes.module.cautia.worldgen;
 
+import java.util.Collection;
 import java.util.Random;
 
 import net.minecraft.block.Block;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.IChunkProvider;
-import cpw.mods.fml.common.IWorldGenerator;
 import extrabiomes.lib.BiomeSettings;
+import extrabiomes.module.summa.worldgen.IBiomeWorldGenerator;
+import extrabiomes.module.summa.worldgen.PopulateDispatcher;
 
-public class QuicksandGenerator implements IWorldGenerator
+public class QuicksandGenerator implements IBiomeWorldGenerator
 {
     
     private final WorldGenQuicksand genPit;
@@ -26,17 +27,14 @@ public class QuicksandGenerator implements IWorldGenerator
     }
     
     @Override
-    public void generate(Random random, int chunkX, int chunkZ,
-            World world, IChunkProvider chunkGenerator,
-            IChunkProvider chunkProvider)
+    public Collection<BiomeGenBase> getBiomes()
+    {
+        return PopulateDispatcher.biomesOf(BiomeSettings.MINIJUNGLE);
+    }
+    
+    @Override
+    public void generate(Random random, BiomeGenBase biome, int chunkX, int chunkZ, World world)
     {
-        chunkX = chunkX << 4;
-        chunkZ = chunkZ << 4;
-        final BiomeGenBase biome = world.getBiomeGenForCoords(chunkX,
-                chunkZ);
-        if (!BiomeSettings.MINIJUNGLE.getBiome().isPresent() || biome != BiomeSettings.MINIJUNGLE.getBiome().get())
-            return;
-        
         // 1 to 3 attempts with with a bias toward 2
         final int attempts = random.nextInt(1) + random.nextInt(1) + 1;
         for (int i = 0; i < attempts; i++)
@@ -32,6 +32,7 @@ import extrabiomes.module.fabrica.block.BlockManager;
 import extrabiomes.module.fabrica.block.ItemPaste;
 import extrabiomes.module.fabrica.scarecrow.EntityScarecrow;
 import extrabiomes.module.fabrica.scarecrow.ItemScarecrow;
+import extrabiomes.module.fabrica.scarecrow.ScarecrowRegistry;
 
 public class Fabrica
 {
@@ -51,6 +52,8 @@ public class Fabrica
             //Extrabiomes.proxy.registerEntity(EntityScarecrow.class, ItemScarecrow.NAME, Extrabiomes.instance, scarecrowEntityID, 300, 2, true);
             Extrabiomes.proxy.registerEntity(EntityScarecrow.class, "scarecrow", Extrabiomes.instance, 0, 300, 2, true);
             ItemScarecrow.ID = (String) EntityList.classToStringMapping.get(EntityScarecrow.class);
+            Extrabiomes.proxy.registerEventHandler(ScarecrowRegistry.INSTANCE);
+            Extrabiomes.proxy.registerTickHandler(ScarecrowRegistry.INSTANCE);
             
             final IRecipe recipe = new ShapedOreRecipe(Stuff.scarecrow.get(), new String[] { " p ", "sms", " s " }, 'p', Blocks.pumpkin, 'm', Blocks.melon_block, 's', Items.stick);
             Extrabiomes.proxy.addRecipe(recipe);
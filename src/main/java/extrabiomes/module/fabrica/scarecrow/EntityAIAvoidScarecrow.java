@@ -0,0 +1,84 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.fabrica.scarecrow;
+
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.ai.EntityAIBase;
+import net.minecraft.entity.ai.RandomPositionGenerator;
+import net.minecraft.pathfinding.PathEntity;
+import net.minecraft.pathfinding.PathNavigate;
+import net.minecraft.util.Vec3;
+
+/**
+ * Makes a creature run from nearby scarecrows. Works like
+ * {@link net.minecraft.entity.ai.EntityAIAvoidEntity}, but finds the
+ * scarecrow through the {@link ScarecrowRegistry} instead of searching the
+ * entities around the creature.
+ */
+public class EntityAIAvoidScarecrow extends EntityAIBase
+{
+    private final EntityCreature creature;
+    private final PathNavigate   navigator;
+    private final double         farSpeed;
+    private final double         nearSpeed;
+
+    private EntityScarecrow      scarecrow;
+    private PathEntity           path;
+
+    public EntityAIAvoidScarecrow(EntityCreature creature, double farSpeed, double nearSpeed)
+    {
+        this.creature = creature;
+        navigator = creature.getNavigator();
+        this.farSpeed = farSpeed;
+        this.nearSpeed = nearSpeed;
+        setMutexBits(1);
+    }
+
+    @Override
+    public boolean shouldExecute()
+    {
+        scarecrow = ScarecrowRegistry.INSTANCE.findScarecrow(creature);
+        if (scarecrow == null)
+            return false;
+
+        final Vec3 away = RandomPositionGenerator.findRandomTargetBlockAwayFrom(creature, 16, 7, Vec3.createVectorHelper(scarecrow.posX, scarecrow.posY, scarecrow.posZ));
+        if (away == null || scarecrow.getDistanceSq(away.xCoord, away.yCoord, away.zCoord) < scarecrow.getDistanceSqToEntity(creature))
+            return false;
+
+        path = navigator.getPathToXYZ(away.xCoord, away.yCoord, away.zCoord);
+        return path != null && path.isDestinationSame(away);
+    }
+
+    @Override
+    public boolean continueExecuting()
+    {
+        return !navigator.noPath();
+    }
+
+    @Override
+    public void startExecuting()
+    {
+        navigator.setPath(path, farSpeed);
+        ScarecrowRegistry.INSTANCE.onScared();
+    }
+
+    @Override
+    public void resetTask()
+    {
+        scarecrow = null;
+        path = null;
+    }
+
+    @Override
+    public void updateTask()
+    {
+        if (scarecrow != null && creature.getDistanceSqToEntity(scarecrow) < 49.0D)
+            navigator.setSpeed(nearSpeed);
+        else
+            navigator.setSpeed(farSpeed);
+    }
+}
@@ -7,29 +7,29 @@
 package extrabiomes.module.fabrica.scarecrow;
 
 import net.minecraft.block.Block;
-import net.minecraft.entity.EntityCreature;
-import net.minecraft.entity.EntityLiving;
-import net.minecraft.entity.ai.EntityAIAvoidEntity;
 import net.minecraft.entity.ai.EntityAILookIdle;
 import net.minecraft.entity.ai.EntityAIWatchClosest;
 import net.minecraft.entity.monster.EntityGolem;
-import net.minecraft.entity.monster.EntityMob;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.item.Item;
+import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
 
 public class EntityScarecrow extends EntityGolem
 {
     
+    private boolean registered = false;
+    private int     chunkX;
+    private int     chunkZ;
+    
     public EntityScarecrow(World world)
     {
         super(world);
         preventEntitySpawning = true;
         
-        tasks.addTask(1, new EntityAIScareClosest(this, EntityMob.class, 50.0F));
-        tasks.addTask(2, new EntityAIScareClosest(this, EntityCreature.class, 50.0F));
+        // Creatures find scarecrows through the ScarecrowRegistry
         tasks.addTask(3, new EntityAIWatchClosest(this, EntityPlayer.class, 50.0F));
         tasks.addTask(7, new EntityAILookIdle(this));
     }
@@ -40,22 +40,46 @@ public class EntityScarecrow extends EntityGolem
         return false;
     }
     
-    private class EntityAIScareClosest extends EntityAIWatchClosest
+    @Override
+    public void onUpdate()
     {
+        super.onUpdate();
         
-        public EntityAIScareClosest(EntityLiving par1EntityLiving, Class<?> par2Class, float par3)
+        if (worldObj.isRemote || isDead)
+            return;
+        
+        final int x = MathHelper.floor_double(posX) >> 4;
+        final int z = MathHelper.floor_double(posZ) >> 4;
+        if (!registered || x != chunkX || z != chunkZ)
         {
-            super(par1EntityLiving, par2Class, par3);
+            unregister();
+            chunkX = x;
+            chunkZ = z;
+            ScarecrowRegistry.INSTANCE.add(this, chunkX, chunkZ);
+            registered = true;
         }
-        
-        @Override
-        public void startExecuting()
+    }
+    
+    @Override
+    public void setDead()
+    {
+        super.setDead();
+        unregister();
+    }
+    
+    @Override
+    public void onChunkUnload()
+    {
+        super.onChunkUnload();
+        unregister();
+    }
+    
+    private void unregister()
+    {
+        if (registered)
         {
-            super.startExecuting();
-            if (closestEntity instanceof EntityCreature && !(closestEntity instanceof EntityGolem))
-            {
-                ((EntityCreature) closestEntity).tasks.addTask(1, new EntityAIAvoidEntity((EntityCreature) closestEntity, EntityScarecrow.class, 10.0F, 0.3F, 0.4F));
-            }
+            ScarecrowRegistry.INSTANCE.remove(this, chunkX, chunkZ);
+            registered = false;
         }
     }
     
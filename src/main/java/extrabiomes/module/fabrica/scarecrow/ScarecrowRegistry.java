@@ -0,0 +1,208 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.fabrica.scarecrow;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.ai.EntityAITasks.EntityAITaskEntry;
+import net.minecraft.entity.monster.EntityGolem;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.world.WorldEvent;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+
+/**
+ * Keeps track of where the scarecrows of each world stand.
+ * <p>
+ * Every scarecrow is listed under its own chunk and the eight around it,
+ * which together cover everything within its scare distance. A creature
+ * asking whether it should run therefore looks at the one list for the
+ * chunk it is in. Creatures get a single {@link EntityAIAvoidScarecrow} when
+ * they join the world in place of the avoidance tasks scarecrows used to
+ * hand out each time they spotted one.
+ */
+public enum ScarecrowRegistry
+{
+    INSTANCE;
+
+    /** How close a creature may come to a scarecrow before it runs */
+    public static final double                              SCARE_DISTANCE = 10.0D;
+
+    /** How far above or below a scarecrow a creature is still scared */
+    public static final double                              SCARE_HEIGHT   = 3.0D;
+
+    private final Map<World, Map<Long, List<EntityScarecrow>>> worlds      = new WeakHashMap<World, Map<Long, List<EntityScarecrow>>>();
+
+    private int                                             queries        = 0;
+    private int                                             scared         = 0;
+    private int                                             lastQueries    = 0;
+    private int                                             lastScared     = 0;
+
+    private static long chunkKey(int chunkX, int chunkZ)
+    {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    void add(EntityScarecrow scarecrow, int chunkX, int chunkZ)
+    {
+        Map<Long, List<EntityScarecrow>> field = worlds.get(scarecrow.worldObj);
+        if (field == null)
+        {
+            field = Maps.newHashMap();
+            worlds.put(scarecrow.worldObj, field);
+        }
+
+        for (int x = chunkX - 1; x <= chunkX + 1; ++x)
+        {
+            for (int z = chunkZ - 1; z <= chunkZ + 1; ++z)
+            {
+                final Long key = chunkKey(x, z);
+                List<EntityScarecrow> cell = field.get(key);
+                if (cell == null)
+                {
+                    cell = Lists.newArrayListWithCapacity(1);
+                    field.put(key, cell);
+                }
+                cell.add(scarecrow);
+            }
+        }
+    }
+
+    void remove(EntityScarecrow scarecrow, int chunkX, int chunkZ)
+    {
+        final Map<Long, List<EntityScarecrow>> field = worlds.get(scarecrow.worldObj);
+        if (field == null)
+            return;
+
+        for (int x = chunkX - 1; x <= chunkX + 1; ++x)
+        {
+            for (int z = chunkZ - 1; z <= chunkZ + 1; ++z)
+            {
+                final Long key = chunkKey(x, z);
+                final List<EntityScarecrow> cell = field.get(key);
+                if (cell != null && cell.remove(scarecrow) && cell.isEmpty())
+                    field.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the nearest scarecrow the creature can see and is close enough
+     * to be scared of, or null if there is none.
+     */
+    public EntityScarecrow findScarecrow(EntityCreature creature)
+    {
+        final Map<Long, List<EntityScarecrow>> field = worlds.get(creature.worldObj);
+        if (field == null || field.isEmpty())
+            return null;
+
+        ++queries;
+        final int chunkX = MathHelper.floor_double(creature.posX) >> 4;
+        final int chunkZ = MathHelper.floor_double(creature.posZ) >> 4;
+        final List<EntityScarecrow> cell = field.get(chunkKey(chunkX, chunkZ));
+        if (cell == null)
+            return null;
+
+        EntityScarecrow nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (final EntityScarecrow scarecrow : cell)
+        {
+            if (!scarecrow.isEntityAlive() || Math.abs(scarecrow.posX - creature.posX) > SCARE_DISTANCE
+                    || Math.abs(scarecrow.posZ - creature.posZ) > SCARE_DISTANCE
+                    || Math.abs(scarecrow.posY - creature.posY) > SCARE_HEIGHT)
+                continue;
+
+            final double distance = scarecrow.getDistanceSqToEntity(creature);
+            if (distance < nearestDistance && creature.getEntitySenses().canSee(scarecrow))
+            {
+                nearest = scarecrow;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    void onScared()
+    {
+        ++scared;
+    }
+
+    public int getScarecrowCount(World world)
+    {
+        final Map<Long, List<EntityScarecrow>> field = worlds.get(world);
+        if (field == null)
+            return 0;
+
+        // Each scarecrow is listed in nine chunks
+        int listings = 0;
+        for (final List<EntityScarecrow> cell : field.values())
+        {
+            listings += cell.size();
+        }
+        return listings / 9;
+    }
+
+    /**
+     * The number of times creatures looked for a scarecrow during the last
+     * server tick.
+     */
+    public int getQueriesLastTick()
+    {
+        return lastQueries;
+    }
+
+    /**
+     * The number of creatures that started running from a scarecrow during
+     * the last server tick.
+     */
+    public int getScaredLastTick()
+    {
+        return lastScared;
+    }
+
+    @SubscribeEvent
+    public void onEntityJoinWorld(EntityJoinWorldEvent event)
+    {
+        if (event.world.isRemote || !(event.entity instanceof EntityCreature) || event.entity instanceof EntityGolem)
+            return;
+
+        final EntityCreature creature = (EntityCreature) event.entity;
+        for (final Object entry : creature.tasks.taskEntries)
+        {
+            if (((EntityAITaskEntry) entry).action instanceof EntityAIAvoidScarecrow)
+                return;
+        }
+        creature.tasks.addTask(1, new EntityAIAvoidScarecrow(creature, 0.3D, 0.4D));
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event)
+    {
+        if (event.phase != TickEvent.Phase.END)
+            return;
+
+        lastQueries = queries;
+        lastScared = scared;
+        queries = 0;
+        scared = 0;
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        worlds.remove(event.world);
+    }
+}
@@ -6,8 +6,6 @@
 
 package extrabiomes.module.summa.biome;
 
-import java.util.Map;
-
 import net.minecraft.world.biome.BiomeDecorator;
 import net.minecraft.world.biome.BiomeGenBase;
 import extrabiomes.lib.DecorationSettings;
@@ -45,51 +43,52 @@ class CustomBiomeDecorator extends BiomeDecorator
         
         Builder loadSettings(DecorationSettings dec)
         {
-            Map<Decoration, Integer> settings = dec.getSettings();
+            // One read, so a reload part way through can not mix old and new values
+            final int[] profile = dec.getProfile();
             
-            if (settings.containsKey(Decoration.BIGMUSHROOMS))
+            if (dec.isConfigured(Decoration.BIGMUSHROOMS))
             {
-                bigMushroomsPerChunk(settings.get(Decoration.BIGMUSHROOMS));
+                bigMushroomsPerChunk(profile[Decoration.BIGMUSHROOMS.ordinal()]);
             }
-            if (settings.containsKey(Decoration.CACTI))
+            if (dec.isConfigured(Decoration.CACTI))
             {
-                cactiPerChunk(settings.get(Decoration.CACTI));
+                cactiPerChunk(profile[Decoration.CACTI.ordinal()]);
             }
-            if (settings.containsKey(Decoration.CLAY))
+            if (dec.isConfigured(Decoration.CLAY))
             {
-                clayPerChunk(settings.get(Decoration.CLAY));
+                clayPerChunk(profile[Decoration.CLAY.ordinal()]);
             }
-            if (settings.containsKey(Decoration.DEADBUSH))
+            if (dec.isConfigured(Decoration.DEADBUSH))
             {
-                deadBushPerChunk(settings.get(Decoration.DEADBUSH));
+                deadBushPerChunk(profile[Decoration.DEADBUSH.ordinal()]);
             }
-            if (settings.containsKey(Decoration.FLOWERS))
+            if (dec.isConfigured(Decoration.FLOWERS))
             {
-                flowersPerChunk(settings.get(Decoration.FLOWERS));
+                flowersPerChunk(profile[Decoration.FLOWERS.ordinal()]);
             }
-            if (settings.containsKey(Decoration.GRASS))
+            if (dec.isConfigured(Decoration.GRASS))
             {
-                grassPerChunk(settings.get(Decoration.GRASS));
+                grassPerChunk(profile[Decoration.GRASS.ordinal()]);
             }
-            if (settings.containsKey(Decoration.MUSHROOMS))
+            if (dec.isConfigured(Decoration.MUSHROOMS))
             {
-                mushroomsPerChunk(settings.get(Decoration.MUSHROOMS));
+                mushroomsPerChunk(profile[Decoration.MUSHROOMS.ordinal()]);
             }
-            if (settings.containsKey(Decoration.REEDS))
+            if (dec.isConfigured(Decoration.REEDS))
             {
-                reedsPerChunk(settings.get(Decoration.REEDS));
+                reedsPerChunk(profile[Decoration.REEDS.ordinal()]);
             }
-            if (settings.containsKey(Decoration.SAND) && settings.containsKey(Decoration.SAND2))
+            if (dec.isConfigured(Decoration.SAND) && dec.isConfigured(Decoration.SAND2))
             {
-                sandPerChunk(settings.get(Decoration.SAND), settings.get(Decoration.SAND2));
+                sandPerChunk(profile[Decoration.SAND.ordinal()], profile[Decoration.SAND2.ordinal()]);
             }
-            if (settings.containsKey(Decoration.TREES))
+            if (dec.isConfigured(Decoration.TREES))
             {
-                treesPerChunk(settings.get(Decoration.TREES));
+                treesPerChunk(profile[Decoration.TREES.ordinal()]);
             }
-            if (settings.containsKey(Decoration.WATERLILY))
+            if (dec.isConfigured(Decoration.WATERLILY))
             {
-                waterlilyPerChunk(settings.get(Decoration.WATERLILY));
+                waterlilyPerChunk(profile[Decoration.WATERLILY.ordinal()]);
             }
             
             return this;
@@ -178,6 +177,21 @@ class CustomBiomeDecorator extends BiomeDecorator
         //super(builder.biome);
         super();
         
+        apply(builder);
+    }
+    
+    /**
+     * Replaces the decorator's densities with the settings' current values.
+     * Chunks are decorated on the server thread, so calling this there never
+     * lands part way through a chunk.
+     */
+    void reload(BiomeGenBase biome, DecorationSettings dec)
+    {
+        apply(new Builder(biome).loadSettings(dec));
+    }
+    
+    private void apply(Builder builder)
+    {
         waterlilyPerChunk = builder.waterlilyPerChunk;
         treesPerChunk = builder.treesPerChunk;
         flowersPerChunk = builder.flowersPerChunk;
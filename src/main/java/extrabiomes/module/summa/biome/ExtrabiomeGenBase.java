@@ -50,6 +50,15 @@ public abstract class ExtrabiomeGenBase extends BiomeGenBase {
 
   abstract public DecorationSettings getDecorationSettings();
 
+  /**
+   * Puts the biome's current decoration settings into its live decorator.
+   */
+  public void reloadDecorationSettings() {
+    if (theBiomeDecorator instanceof CustomBiomeDecorator) {
+      ((CustomBiomeDecorator) theBiomeDecorator).reload(this, getDecorationSettings());
+    }
+  }
+
   @Override
   public BiomeDecorator createBiomeDecorator() {
     try {
@@ -0,0 +1,134 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.biome;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.base.Optional;
+
+/**
+ * An immutable weighted choice built with Vose's alias method.
+ * <p>
+ * Each of the n columns holds up to the total weight W of the table: the
+ * column's own share and an alias for the rest. A single
+ * <code>rand.nextInt(n * W)</code> picks the column and the offset within it,
+ * so a choice costs one random number, one division and no allocation. The
+ * results are wrapped in {@link Optional} up front for the same reason.
+ */
+public final class WeightedAliasTable<T>
+{
+    private final Optional<T>[] choices;
+    private final int[]         alias;
+    private final int[]         threshold;
+    private final int           totalWeight;
+    private final int           limit;
+
+    @SuppressWarnings("unchecked")
+    private WeightedAliasTable(List<? extends T> values, int[] weights)
+    {
+        final int size = values.size();
+        choices = new Optional[size];
+        alias = new int[size];
+        threshold = new int[size];
+
+        long total = 0;
+        for (int i = 0; i < size; ++i)
+        {
+            checkArgument(weights[i] > 0, "Weight must be greater than zero.");
+            choices[i] = Optional.<T> of(values.get(i));
+            total += weights[i];
+        }
+        checkArgument(total * size <= Integer.MAX_VALUE, "Total weight is too large.");
+        totalWeight = (int) total;
+        limit = totalWeight * size;
+
+        // Scale every weight by n so that each column holds exactly W
+        final long[] scaled = new long[size];
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < size; ++i)
+        {
+            scaled[i] = (long) weights[i] * size;
+            if (scaled[i] < totalWeight)
+            {
+                small[smallCount++] = i;
+            }
+            else
+            {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0)
+        {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+
+            threshold[less] = (int) scaled[less];
+            alias[less] = more;
+
+            scaled[more] -= totalWeight - scaled[less];
+            if (scaled[more] < totalWeight)
+            {
+                small[smallCount++] = more;
+            }
+            else
+            {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left fills its own column
+        while (largeCount > 0)
+        {
+            final int column = large[--largeCount];
+            threshold[column] = totalWeight;
+            alias[column] = column;
+        }
+        while (smallCount > 0)
+        {
+            final int column = small[--smallCount];
+            threshold[column] = totalWeight;
+            alias[column] = column;
+        }
+    }
+
+    /**
+     * Builds a table from parallel lists of values and their weights.
+     * Returns null if there is nothing to choose from.
+     */
+    public static <T> WeightedAliasTable<T> create(List<? extends T> values, int[] weights)
+    {
+        checkArgument(values.size() == weights.length, "Every value needs a weight.");
+        if (values.isEmpty())
+            return null;
+        return new WeightedAliasTable<T>(values, weights);
+    }
+
+    public Optional<T> choose(Random rand)
+    {
+        final int choice = rand.nextInt(limit);
+        final int column = choice / totalWeight;
+        return choice - column * totalWeight < threshold[column] ? choices[column] : choices[alias[column]];
+    }
+
+    public int getTotalWeight()
+    {
+        return totalWeight;
+    }
+
+    public int size()
+    {
+        return choices.length;
+    }
+}
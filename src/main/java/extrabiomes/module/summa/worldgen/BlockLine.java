@@ -0,0 +1,195 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+/**
+ * Walks the blocks of a straight line between two positions using integer
+ * steps only.
+ * <p>
+ * The axis with the greatest change is stepped one block at a time and the
+ * other two axes are advanced by the remainder of their change over the
+ * length of the line, so no division or floating point math happens per
+ * block. The blocks visited are the ones the tree generators have always
+ * used: both ends are included and the minor coordinates are truncated
+ * towards zero. An instance can be reused for any number of lines.
+ */
+public final class BlockLine
+{
+    public static final int AXIS_X = 0;
+    public static final int AXIS_Y = 1;
+    public static final int AXIS_Z = 2;
+
+    private int             axis;
+    private int             length;
+    private int             remaining;
+    private boolean         started;
+
+    private int             major;
+    private int             majorStep;
+
+    // The minor coordinates are kept as a quotient and a remainder over the length
+    private int             minorA;
+    private int             remainderA;
+    private int             deltaA;
+    private int             minorB;
+    private int             remainderB;
+    private int             deltaB;
+
+    private int             x;
+    private int             y;
+    private int             z;
+
+    /**
+     * Starts a new line. The first call to {@link #next()} moves to the start
+     * position.
+     */
+    public void begin(int startX, int startY, int startZ, int endX, int endY, int endZ)
+    {
+        final int dx = endX - startX;
+        final int dy = endY - startY;
+        final int dz = endZ - startZ;
+        final int adx = Math.abs(dx);
+        final int ady = Math.abs(dy);
+        final int adz = Math.abs(dz);
+
+        // Ties go to x over z and to y over both, as they always have
+        if (adz > ady && adz > adx)
+        {
+            axis = AXIS_Z;
+            length = adz;
+            major = startZ;
+            majorStep = dz < 0 ? -1 : 1;
+            minorA = startX;
+            deltaA = dx;
+            minorB = startY;
+            deltaB = dy;
+        }
+        else if (adx > ady)
+        {
+            axis = AXIS_X;
+            length = adx;
+            major = startX;
+            majorStep = dx < 0 ? -1 : 1;
+            minorA = startY;
+            deltaA = dy;
+            minorB = startZ;
+            deltaB = dz;
+        }
+        else
+        {
+            axis = AXIS_Y;
+            length = ady;
+            major = startY;
+            majorStep = dy < 0 ? -1 : 1;
+            minorA = startX;
+            deltaA = dx;
+            minorB = startZ;
+            deltaB = dz;
+        }
+
+        remainderA = 0;
+        remainderB = 0;
+        remaining = length + 1;
+        started = false;
+    }
+
+    public void begin(int[] start, int[] end)
+    {
+        begin(start[0], start[1], start[2], end[0], end[1], end[2]);
+    }
+
+    /**
+     * Moves to the next block of the line. Returns false once the end has
+     * been passed.
+     */
+    public boolean next()
+    {
+        if (remaining == 0)
+            return false;
+
+        if (started)
+        {
+            major += majorStep;
+
+            remainderA += deltaA;
+            if (remainderA >= length)
+            {
+                remainderA -= length;
+                minorA++;
+            }
+            else if (remainderA < 0)
+            {
+                remainderA += length;
+                minorA--;
+            }
+
+            remainderB += deltaB;
+            if (remainderB >= length)
+            {
+                remainderB -= length;
+                minorB++;
+            }
+            else if (remainderB < 0)
+            {
+                remainderB += length;
+                minorB--;
+            }
+        }
+        else
+        {
+            started = true;
+        }
+        remaining--;
+
+        // Truncate towards zero rather than down
+        final int a = minorA < 0 && remainderA != 0 ? minorA + 1 : minorA;
+        final int b = minorB < 0 && remainderB != 0 ? minorB + 1 : minorB;
+
+        switch (axis)
+        {
+            case AXIS_Z:
+                x = a;
+                y = b;
+                z = major;
+                break;
+            case AXIS_X:
+                x = major;
+                y = a;
+                z = b;
+                break;
+            default:
+                x = a;
+                y = major;
+                z = b;
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the axis that is stepped one block at a time.
+     */
+    public int getAxis()
+    {
+        return axis;
+    }
+
+    public int getX()
+    {
+        return x;
+    }
+
+    public int getY()
+    {
+        return y;
+    }
+
+    public int getZ()
+    {
+        return z;
+    }
+}
@@ -0,0 +1,377 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import net.minecraft.block.Block;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Collects the blocks of a tree so they can be written to the world in one
+ * pass.
+ * <p>
+ * Placements are kept in parallel primitive arrays with an open addressed
+ * index on the packed position, so reads made while the tree is still being
+ * laid out see the staged blocks and a later placement replaces an earlier
+ * one at the same position. On commit the placements are sorted by chunk
+ * section and written straight into each {@link ExtendedBlockStorage},
+ * keeping the height map of each column up to date. Changes to a chunk that
+ * may already have been sent to players are passed on to them; only the
+ * chunk being populated and chunks not yet populated are written silently.
+ * Every touched chunk is marked to relight itself on its next update. Its
+ * sky light is rebuilt once, when the chunk has been populated, however many
+ * trees were written to it, or straight away for a tree grown in a live
+ * world.
+ */
+public final class BlockPlacementBuffer
+{
+    /** Most placements a single buffer will hold, limited by the sort key */
+    public static final int  MAX_SIZE      = 1 << 20;
+
+    private static final int INDEX_BITS    = 20;
+    private static final int INDEX_MASK    = MAX_SIZE - 1;
+
+    private int[]            xs            = new int[256];
+    private int[]            ys            = new int[256];
+    private int[]            zs            = new int[256];
+    private Block[]          blocks        = new Block[256];
+    private int[]            metas         = new int[256];
+    private int              size          = 0;
+
+    // Open addressed index from packed position to placement, 0 marks an empty slot
+    private long[]           slotKeys      = new long[512];
+    private int[]            slotValues    = new int[512];
+
+    private long[]           order         = new long[256];
+    private final List<Chunk> touched      = Lists.newArrayList();
+
+    // Chunks written during generation whose sky light is still to be rebuilt, server thread only
+    private static final Set<Chunk> unlit  = Sets.newHashSet();
+    // Chunks being populated, innermost first; population can nest
+    private static final Deque<Chunk> populating = new ArrayDeque<Chunk>();
+
+    private static long pack(int x, int y, int z)
+    {
+        // Offset by one so that no position packs to the empty slot marker
+        return ((long) (x & 0x3FFFFFF) << 38 | (long) (z & 0x3FFFFFF) << 12 | y & 0xFFF) + 1;
+    }
+
+    private static int hash(long key)
+    {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ key >>> 32);
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Stages a block. Returns false if the position is outside the world or
+     * the buffer is full, in which case nothing was recorded.
+     */
+    public boolean set(int x, int y, int z, Block block, int metadata)
+    {
+        if (y < 0 || y >= 256)
+            return false;
+
+        final long key = pack(x, y, z);
+        int slot = hash(key) & slotKeys.length - 1;
+        while (slotKeys[slot] != 0)
+        {
+            if (slotKeys[slot] == key)
+            {
+                final int index = slotValues[slot];
+                blocks[index] = block;
+                metas[index] = metadata;
+                return true;
+            }
+            slot = slot + 1 & slotKeys.length - 1;
+        }
+
+        if (size == MAX_SIZE)
+            return false;
+
+        if (size == xs.length)
+        {
+            final int capacity = Math.min(size * 2, MAX_SIZE);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            blocks = Arrays.copyOf(blocks, capacity);
+            metas = Arrays.copyOf(metas, capacity);
+        }
+
+        xs[size] = x;
+        ys[size] = y;
+        zs[size] = z;
+        blocks[size] = block;
+        metas[size] = metadata;
+        slotKeys[slot] = key;
+        slotValues[slot] = size;
+        size++;
+
+        // Keep the index at most half full
+        if (size * 2 > slotKeys.length)
+        {
+            rehash(slotKeys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the staged block at the given position, or the block in the
+     * world if nothing is staged there.
+     */
+    public Block getBlock(World world, int x, int y, int z)
+    {
+        final int index = find(x, y, z);
+        return index < 0 ? world.getBlock(x, y, z) : blocks[index];
+    }
+
+    public boolean isAirBlock(World world, int x, int y, int z)
+    {
+        final int index = find(x, y, z);
+        return index < 0 ? world.isAirBlock(x, y, z) : blocks[index].isAir(world, x, y, z);
+    }
+
+    /**
+     * Writes every staged block to the world and empties the buffer.
+     *
+     * @param notify - also tell neighbouring blocks about the change, as a
+     *            tree grown from a sapling does
+     */
+    public void commit(World world, boolean notify)
+    {
+        write(world, notify);
+        clear();
+    }
+
+    /**
+     * Writes every staged block to the world, keeping them staged so they can
+     * be written again.
+     */
+    public void write(World world, boolean notify)
+    {
+        if (size == 0)
+            return;
+
+        if (order.length < size)
+        {
+            order = new long[xs.length];
+        }
+        for (int i = 0; i < size; ++i)
+        {
+            order[i] = sectionKey(xs[i], ys[i], zs[i]) << INDEX_BITS | i;
+        }
+        Arrays.sort(order, 0, size);
+
+        final boolean hasSky = !world.provider.hasNoSky;
+        long currentSection = -1;
+        Chunk chunk = null;
+        ExtendedBlockStorage storage = null;
+        int written = 0;
+
+        for (int i = 0; i < size; ++i)
+        {
+            final int index = (int) (order[i] & INDEX_MASK);
+            final int x = xs[index];
+            final int y = ys[index];
+            final int z = zs[index];
+            final Block block = blocks[index];
+            final int metadata = metas[index];
+
+            final long section = order[i] >>> INDEX_BITS;
+            if (section != currentSection)
+            {
+                if (chunk == null || chunk.xPosition != x >> 4 || chunk.zPosition != z >> 4)
+                {
+                    chunk = world.getChunkFromChunkCoords(x >> 4, z >> 4);
+                    if (!touched.contains(chunk))
+                    {
+                        touched.add(chunk);
+                    }
+                }
+                storage = chunk.getBlockStorageArray()[y >> 4];
+                currentSection = section;
+            }
+
+            if (storage == null)
+            {
+                if (block.isAir(world, x, y, z))
+                    continue;
+                storage = new ExtendedBlockStorage(y >> 4 << 4, hasSky);
+                chunk.getBlockStorageArray()[y >> 4] = storage;
+            }
+
+            final Block oldBlock = storage.getBlockByExtId(x & 15, y & 15, z & 15);
+            final int oldMetadata = storage.getExtBlockMetadata(x & 15, y & 15, z & 15);
+            if (oldBlock == block && oldMetadata == metadata)
+                continue;
+
+            if (oldBlock.hasTileEntity(oldMetadata) || block.hasTileEntity(metadata))
+            {
+                // Tile entities need the full world path
+                world.setBlock(x, y, z, block, metadata, notify ? 3 : 2);
+                written++;
+                continue;
+            }
+
+            storage.func_150818_a(x & 15, y & 15, z & 15, block);
+            storage.setExtBlockMetadata(x & 15, y & 15, z & 15, metadata);
+            updateHeight(world, chunk, x, y, z, block);
+            if (notify || !isSilent(chunk))
+                world.markBlockForUpdate(x, y, z);
+            written++;
+        }
+
+        WorldGenProfiler.countWrites(written);
+
+        for (final Chunk touchedChunk : touched)
+        {
+            touchedChunk.isLightPopulated = false;
+            touchedChunk.setChunkModified();
+            if (notify)
+                touchedChunk.generateSkylightMap();
+            else
+                unlit.add(touchedChunk);
+        }
+
+        touched.clear();
+
+        if (notify)
+        {
+            for (int i = 0; i < size; ++i)
+            {
+                world.notifyBlockChange(xs[i], ys[i], zs[i], blocks[i]);
+            }
+        }
+    }
+
+    /**
+     * Notes that a chunk is being populated, so that blocks generated into it
+     * need not be sent to players. Must be paired with
+     * {@link #endPopulating()}.
+     */
+    public static void beginPopulating(World world, int chunkX, int chunkZ)
+    {
+        populating.push(world.getChunkFromChunkCoords(chunkX, chunkZ));
+    }
+
+    public static void endPopulating()
+    {
+        populating.poll();
+    }
+
+    // No player has been sent a chunk that is not populated yet
+    private static boolean isSilent(Chunk chunk)
+    {
+        return !chunk.isTerrainPopulated || chunk == populating.peek();
+    }
+
+    // Keeps getHeightValue right for the decorations that follow, as Chunk.func_150807_a does
+    private static void updateHeight(World world, Chunk chunk, int x, int y, int z, Block block)
+    {
+        final int column = (z & 15) << 4 | x & 15;
+        final int height = chunk.heightMap[column];
+        if (block.getLightOpacity(world, x, y, z) > 0)
+        {
+            if (y >= height)
+                chunk.heightMap[column] = y + 1;
+        }
+        else if (y == height - 1)
+        {
+            int top = y;
+            while (top > 0 && chunk.getBlock(x & 15, top - 1, z & 15).getLightOpacity(world, x, top - 1, z) == 0)
+            {
+                --top;
+            }
+            chunk.heightMap[column] = top;
+        }
+    }
+
+    /**
+     * Rebuilds the sky light of every chunk written to during generation
+     * since the last call. Called once a chunk has been populated, so a
+     * chunk that many trees were written to is only rebuilt once.
+     */
+    public static void relightPending()
+    {
+        if (unlit.isEmpty())
+            return;
+
+        for (final Chunk chunk : unlit)
+        {
+            chunk.generateSkylightMap();
+        }
+        unlit.clear();
+    }
+
+    /**
+     * Forgets every staged block without writing it.
+     */
+    public void clear()
+    {
+        Arrays.fill(blocks, 0, size, null);
+        Arrays.fill(slotKeys, 0);
+        size = 0;
+    }
+
+    private int find(int x, int y, int z)
+    {
+        if (size == 0)
+            return -1;
+
+        final long key = pack(x, y, z);
+        int slot = hash(key) & slotKeys.length - 1;
+        while (slotKeys[slot] != 0)
+        {
+            if (slotKeys[slot] == key)
+                return slotValues[slot];
+            slot = slot + 1 & slotKeys.length - 1;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity)
+    {
+        slotKeys = new long[capacity];
+        slotValues = new int[capacity];
+        for (int i = 0; i < size; ++i)
+        {
+            final long key = pack(xs[i], ys[i], zs[i]);
+            int slot = hash(key) & capacity - 1;
+            while (slotKeys[slot] != 0)
+            {
+                slot = slot + 1 & capacity - 1;
+            }
+            slotKeys[slot] = key;
+            slotValues[slot] = i;
+        }
+    }
+
+    private static long sectionKey(int x, int y, int z)
+    {
+        return (long) (x >> 4 & 0xFFFFF) << 24 | (long) (z >> 4 & 0xFFFFF) << 4 | y >> 4;
+    }
+}
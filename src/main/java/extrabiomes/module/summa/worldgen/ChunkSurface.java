@@ -0,0 +1,263 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.Arrays;
+
+import net.minecraft.block.Block;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * Remembers where the ground is in the area being decorated.
+ * <p>
+ * While the {@link PopulateDispatcher} runs, this covers the 32x32 columns
+ * of the four chunks that decoration can reach. Each column is worked out
+ * the first time it is asked about, starting from the chunk height map and
+ * going down through air, leaves, wood and replaceable plants to the top
+ * solid block. The scatter generators keep drawing their positions as
+ * before but only probe the world at those that sit right on the ground of
+ * a dry column, which are the only places their plants can stay.
+ */
+public final class ChunkSurface
+{
+    private static final int          SIZE       = 32;
+
+    private static final ChunkSurface INSTANCE   = new ChunkSurface();
+
+    private World                     world      = null;
+    private int                       depth      = 0;
+    private int                       originX;
+    private int                       originZ;
+    private final Chunk[]             chunks     = new Chunk[4];
+
+    private final boolean[]           known      = new boolean[SIZE * SIZE];
+    private final int[]               ground     = new int[SIZE * SIZE];
+    private final boolean[]           liquid     = new boolean[SIZE * SIZE];
+    private final Block[]             cover      = new Block[SIZE * SIZE];
+
+    private static boolean            filtering  = true;
+
+    private static long               candidates = 0;
+    private static long               rejected   = 0;
+    private static long               placements = 0;
+
+    private ChunkSurface()
+    {}
+
+    /**
+     * Starts covering the area decorated for the chunk whose lowest corner
+     * is at the given block coordinates.
+     */
+    static void begin(World world, int x, int z)
+    {
+        // Decorating one chunk can populate another; keep covering the first
+        if (INSTANCE.depth++ > 0)
+            return;
+
+        INSTANCE.world = world;
+        INSTANCE.originX = x;
+        INSTANCE.originZ = z;
+        Arrays.fill(INSTANCE.chunks, null);
+        forget();
+    }
+
+    static void end()
+    {
+        if (--INSTANCE.depth > 0)
+        {
+            forget();
+            return;
+        }
+
+        INSTANCE.world = null;
+        Arrays.fill(INSTANCE.chunks, null);
+        Arrays.fill(INSTANCE.cover, null);
+    }
+
+    /**
+     * Drops every column worked out so far, for when the world has been
+     * changed by something other than the scatter generators.
+     */
+    static void forget()
+    {
+        Arrays.fill(INSTANCE.known, false);
+    }
+
+    /**
+     * Returns the surface of the area being decorated in the world, or null
+     * if nothing is being decorated there.
+     */
+    public static ChunkSurface get(World world)
+    {
+        return INSTANCE.world == world ? INSTANCE : null;
+    }
+
+    /**
+     * Returns false if a plant placed at the position could not be on the
+     * ground: the column is under water, or the position is not the one
+     * right above its top solid block. Positions outside the area are
+     * always allowed.
+     */
+    public boolean isOnGround(int x, int y, int z)
+    {
+        ++candidates;
+        if (!filtering)
+            return true;
+
+        final int index = index(x, z);
+        if (index < 0)
+            return true;
+
+        update(index, x, z);
+        if (liquid[index] || y != ground[index] + 1)
+        {
+            ++rejected;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Like {@link #isOnGround(int, int, int)}, but also false if the position
+     * holds anything but air.
+     */
+    public boolean isOpenGround(int x, int y, int z)
+    {
+        if (!isOnGround(x, y, z))
+            return false;
+        if (!filtering)
+            return true;
+
+        final int index = index(x, z);
+        if (index >= 0 && !cover[index].isAir(world, x, y, z))
+        {
+            ++rejected;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the y of the top solid block of a column in the area, or -1
+     * if the column is outside it.
+     */
+    public int getGroundY(int x, int z)
+    {
+        final int index = index(x, z);
+        if (index < 0)
+            return -1;
+
+        update(index, x, z);
+        return ground[index];
+    }
+
+    /**
+     * Turns the ground checks off, so every drawn position is probed in the
+     * world as it was before, for measuring what the checks save.
+     */
+    static void setFiltering(boolean isFiltering)
+    {
+        filtering = isFiltering;
+    }
+
+    public static void countPlacement()
+    {
+        ++placements;
+    }
+
+    /**
+     * The positions scatter generators have drawn while a surface was
+     * known.
+     */
+    public static long getCandidates()
+    {
+        return candidates;
+    }
+
+    /**
+     * The drawn positions turned away without looking at the world.
+     */
+    public static long getRejected()
+    {
+        return rejected;
+    }
+
+    public static long getPlacements()
+    {
+        return placements;
+    }
+
+    /**
+     * The drawn positions that were probed in the world, per block placed.
+     * Without the ground checks every drawn position would be probed.
+     */
+    public static double getProbesPerPlacement()
+    {
+        return placements == 0 ? 0 : (double) (candidates - rejected) / placements;
+    }
+
+    public static double getUnfilteredProbesPerPlacement()
+    {
+        return placements == 0 ? 0 : (double) candidates / placements;
+    }
+
+    public static void resetCounters()
+    {
+        candidates = 0;
+        rejected = 0;
+        placements = 0;
+    }
+
+    private int index(int x, int z)
+    {
+        final int dx = x - originX;
+        final int dz = z - originZ;
+        if (dx < 0 || dx >= SIZE || dz < 0 || dz >= SIZE)
+            return -1;
+        return dx * SIZE + dz;
+    }
+
+    private void update(int index, int x, int z)
+    {
+        if (known[index])
+            return;
+
+        final int slot = (x - originX >> 4) * 2 + (z - originZ >> 4);
+        Chunk chunk = chunks[slot];
+        if (chunk == null)
+        {
+            chunk = world.getChunkFromChunkCoords(x >> 4, z >> 4);
+            chunks[slot] = chunk;
+        }
+
+        final int localX = x & 15;
+        final int localZ = z & 15;
+        int y = chunk.getHeightValue(localX, localZ);
+        Block above = chunk.getBlock(localX, y, localZ);
+        boolean wet = false;
+        while (y > 0)
+        {
+            final Block block = chunk.getBlock(localX, y - 1, localZ);
+            if (block.getMaterial().isLiquid())
+            {
+                wet = true;
+                break;
+            }
+            if (!block.isAir(world, x, y - 1, z) && !block.isLeaves(world, x, y - 1, z) && !block.isWood(world, x, y - 1, z)
+                    && !block.isReplaceable(world, x, y - 1, z))
+                break;
+            above = block;
+            --y;
+        }
+
+        ground[index] = y - 1;
+        liquid[index] = wet;
+        cover[index] = above;
+        known[index] = true;
+    }
+}
@@ -16,13 +16,11 @@ import extrabiomes.proxy.CommonProxy;
 import net.minecraft.block.Block;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.feature.WorldGenerator;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
-import cpw.mods.fml.common.IWorldGenerator;
 import extrabiomes.blocks.BlockCropBasic;
 import extrabiomes.blocks.BlockCustomFlower;
 import extrabiomes.blocks.BlockCustomFlower.BlockType;
@@ -32,7 +30,7 @@ import extrabiomes.lib.DecorationSettings.Decoration;
 import extrabiomes.lib.Element;
 import extrabiomes.module.summa.biome.ExtrabiomeGenBase;
 
-public class FlowerGenerator implements IWorldGenerator
+public class FlowerGenerator implements IBiomeWorldGenerator
 {
 	private final Map<BlockType, WorldGenerator>						flowerGens	= Maps.newHashMap();
 	private final Map<BiomeSettings, List<BlockCustomFlower.BlockType>>	flowerMaps	= Maps.newHashMap();
@@ -296,12 +294,23 @@ public class FlowerGenerator implements IWorldGenerator
 	}
 
     @Override
-    public void generate(Random rand, int chunkX, int chunkZ, World world, IChunkProvider chunkGenerator, IChunkProvider chunkProvider)
+    public Collection<BiomeGenBase> getBiomes()
     {
-        chunkX = chunkX << 4;
-        chunkZ = chunkZ << 4;
-        final BiomeGenBase biome = world.getBiomeGenForCoords(chunkX, chunkZ);
+        final List<BiomeGenBase> biomes = Lists.newArrayList();
+        for (final BiomeSettings settings : flowerMaps.keySet())
+            biomes.addAll(PopulateDispatcher.biomesOf(settings));
         
+        // the nonstandard flowers below
+        biomes.addAll(PopulateDispatcher.biomesOf(BiomeSettings.MOUNTAINDESERT, BiomeSettings.MOUNTAINRIDGE,
+                BiomeSettings.AUTUMNWOODS, BiomeSettings.PINEFOREST, BiomeSettings.TEMPORATERAINFOREST,
+                BiomeSettings.GREENHILLS, BiomeSettings.FORESTEDHILLS, BiomeSettings.FORESTEDISLAND,
+                BiomeSettings.BIRCHFOREST, BiomeSettings.MEADOW, BiomeSettings.WOODLANDS));
+        return biomes;
+    }
+
+    @Override
+    public void generate(Random rand, BiomeGenBase biome, int chunkX, int chunkZ, World world)
+    {
 		final BiomeSettings settings = BiomeSettings.findBiomeSettings(biome.biomeID);
 		if (settings != null && biomeCheck(settings, biome) && flowerMaps.containsKey(settings)) {
 			final ExtrabiomeGenBase eBiome = (ExtrabiomeGenBase)biome; 
@@ -0,0 +1,32 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.Collection;
+import java.util.Random;
+
+import net.minecraft.world.World;
+import net.minecraft.world.biome.BiomeGenBase;
+
+/**
+ * A chunk decoration that only happens in certain biomes. These are run by
+ * the {@link PopulateDispatcher} rather than registered with FML one by one.
+ */
+public interface IBiomeWorldGenerator
+{
+    /**
+     * The biomes this generator decorates. Asked once, after every biome
+     * has been created.
+     */
+    Collection<BiomeGenBase> getBiomes();
+
+    /**
+     * Decorates a chunk whose biome is one of {@link #getBiomes()}. The
+     * coordinates are those of the chunk's lowest corner block.
+     */
+    void generate(Random rand, BiomeGenBase biome, int x, int z, World world);
+}
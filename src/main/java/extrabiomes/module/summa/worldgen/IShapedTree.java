@@ -0,0 +1,30 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import net.minecraft.world.World;
+
+/**
+ * A tree whose shape can be worked out from its seed without looking at the
+ * world, so that the {@link TreeShapeScheduler} can do that work off the
+ * server thread.
+ */
+public interface IShapedTree<S>
+{
+    /**
+     * Works out the shape of the tree grown from the given seed. May be
+     * called from any thread, so it must not touch the world or any other
+     * shared state.
+     */
+    S computeShape(long seed, int x, int y, int z);
+
+    /**
+     * Checks the shape against the world and places it. Only called on the
+     * server thread. Returns false if the tree does not fit.
+     */
+    boolean placeShape(World world, S shape, int x, int y, int z);
+}
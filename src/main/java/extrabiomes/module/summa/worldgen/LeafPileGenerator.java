@@ -6,17 +6,16 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Collection;
 import java.util.Random;
 
 import net.minecraft.block.Block;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.feature.WorldGenerator;
-import cpw.mods.fml.common.IWorldGenerator;
 import extrabiomes.lib.BiomeSettings;
 
-public class LeafPileGenerator implements IWorldGenerator
+public class LeafPileGenerator implements IBiomeWorldGenerator
 {
     
     private final WorldGenerator leafPileGen;
@@ -27,26 +26,21 @@ public class LeafPileGenerator implements IWorldGenerator
     }
     
     @Override
-    public void generate(Random rand, int chunkX, int chunkZ,
-            World world, IChunkProvider chunkGenerator,
-            IChunkProvider chunkProvider)
+    public Collection<BiomeGenBase> getBiomes()
     {
-        chunkX = chunkX << 4;
-        chunkZ = chunkZ << 4;
-        final BiomeGenBase biome = world.getBiomeGenForCoords(chunkX,
-                chunkZ);
-        
-        if (BiomeSettings.GREENSWAMP.getBiome().isPresent() && biome == BiomeSettings.GREENSWAMP.getBiome().get()
-                || BiomeSettings.MOUNTAINRIDGE.getBiome().isPresent() && biome == BiomeSettings.MOUNTAINRIDGE.getBiome().get()
-                || BiomeSettings.REDWOODLUSH.getBiome().isPresent() && biome == BiomeSettings.REDWOODLUSH.getBiome().get()
-                || BiomeSettings.WOODLANDS.getBiome().isPresent() && biome == BiomeSettings.WOODLANDS.getBiome().get())
-            for (int i = 0; i < 2; i++)
-            {
-                final int x = chunkX + rand.nextInt(16) + 8;
-                final int y = rand.nextInt(128);
-                final int z = chunkZ + rand.nextInt(16) + 8;
-                leafPileGen.generate(world, rand, x, y, z);
-            }
+        return PopulateDispatcher.biomesOf(BiomeSettings.GREENSWAMP, BiomeSettings.MOUNTAINRIDGE, BiomeSettings.REDWOODLUSH, BiomeSettings.WOODLANDS);
+    }
+    
+    @Override
+    public void generate(Random rand, BiomeGenBase biome, int chunkX, int chunkZ, World world)
+    {
+        for (int i = 0; i < 2; i++)
+        {
+            final int x = chunkX + rand.nextInt(16) + 8;
+            final int y = rand.nextInt(128);
+            final int z = chunkZ + rand.nextInt(16) + 8;
+            leafPileGen.generate(world, rand, x, y, z);
+        }
     }
     
 }
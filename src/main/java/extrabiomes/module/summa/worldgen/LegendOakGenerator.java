@@ -6,16 +6,16 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Random;
 
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.feature.WorldGenerator;
-import cpw.mods.fml.common.IWorldGenerator;
 import extrabiomes.lib.BiomeSettings;
 
-public class LegendOakGenerator implements IWorldGenerator
+public class LegendOakGenerator implements IBiomeWorldGenerator
 {
     
     private final WorldGenerator treeGen;
@@ -26,28 +26,21 @@ public class LegendOakGenerator implements IWorldGenerator
     }
     
     @Override
-    public void generate(Random rand, int chunkX, int chunkZ, World world, IChunkProvider chunkGenerator, IChunkProvider chunkProvider)
+    public Collection<BiomeGenBase> getBiomes()
     {
-        chunkX = chunkX << 4;
-        chunkZ = chunkZ << 4;
-        int rarity = 0;
-        final BiomeGenBase biome = world.getBiomeGenForCoords(chunkX, chunkX);
-        
-        if (biome == BiomeGenBase.forest || biome == BiomeGenBase.forestHills
-                || BiomeSettings.FORESTEDHILLS.getBiome().isPresent() && biome == BiomeSettings.FORESTEDHILLS.getBiome().get()
-                || BiomeSettings.FORESTEDISLAND.getBiome().isPresent() && biome == BiomeSettings.FORESTEDISLAND.getBiome().get()
-                || BiomeSettings.RAINFOREST.getBiome().isPresent() && biome == BiomeSettings.RAINFOREST.getBiome().get())
-        {
-            rarity = 100;
-        }
-        
-        if (biome == BiomeGenBase.plains || biome == BiomeGenBase.extremeHillsEdge)
-        {
-            rarity = 1000;
-        }
-        
-        if (rarity == 0)
-            return;
+        final List<BiomeGenBase> biomes = PopulateDispatcher.biomesOf(BiomeSettings.FORESTEDHILLS, BiomeSettings.FORESTEDISLAND, BiomeSettings.RAINFOREST);
+        biomes.add(BiomeGenBase.forest);
+        biomes.add(BiomeGenBase.forestHills);
+        biomes.add(BiomeGenBase.plains);
+        biomes.add(BiomeGenBase.extremeHillsEdge);
+        return biomes;
+    }
+    
+    @Override
+    public void generate(Random rand, BiomeGenBase biome, int chunkX, int chunkZ, World world)
+    {
+        // Legend oaks are ten times rarer outside the forests
+        final int rarity = biome == BiomeGenBase.plains || biome == BiomeGenBase.extremeHillsEdge ? 1000 : 100;
         
         if (rand.nextInt(rarity) == 0)
         {
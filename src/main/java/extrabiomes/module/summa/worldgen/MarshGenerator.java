@@ -6,50 +6,152 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Collection;
 import java.util.Random;
 
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.IChunkProvider;
-import net.minecraft.world.gen.feature.WorldGenerator;
-import cpw.mods.fml.common.IWorldGenerator;
+import net.minecraft.world.chunk.Chunk;
 import extrabiomes.lib.BiomeSettings;
 
-public class MarshGenerator implements IWorldGenerator
+/**
+ * Turns the flooded ground of a marsh chunk into grass tufts and a dirt bed.
+ * <p>
+ * Only the band of blocks just below sea level is looked at. It is read once,
+ * with a one column border so every column can see its neighbours, and each
+ * column is then decided from that copy. A column whose surface borders solid
+ * ground, or otherwise one picked at random, is filled with grass from its
+ * floor to the surface. The dirt bed is laid in the same one or two columns
+ * the old dirt walk reached, leaving the rest as open water. All changes are
+ * written to the world together.
+ */
+public class MarshGenerator implements IBiomeWorldGenerator
 {
     
-    private static final WorldGenerator genMarsh   = new WorldGenMarshGrass();
-    private static final WorldGenerator genDirtBed = new WorldGenMarshDirt();
+    private static final int            SURFACE           = 62;
+    private static final int            BAND_DEPTH        = 8;
+    
+    // Out of eight, the chance a surface block away from the shore becomes grass
+    private static final int            TUFT_CHANCE       = 3;
+    
+    // Coarse dirt, which is what the dirt bed has always been made of
+    private static final int            DIRT_BED_METADATA = 1;
+    
+    private static final byte           AIR               = 0;
+    private static final byte           FLOODED           = 1;
+    private static final byte           SOLID             = 2;
+    
+    // 16x16 columns plus a border of one, by band height
+    private static final int            WIDTH             = 18;
+    
+    // The columns the dirt bed starts in, and moves to from the first air it meets
+    private static final int            BED_START         = 0;
+    private static final int            BED_MOVE          = 8;
+    
+    private final byte[]                band              = new byte[WIDTH * WIDTH * BAND_DEPTH];
+    private final boolean[]             tufts             = new boolean[256];
+    private final BlockPlacementBuffer  buffer            = new BlockPlacementBuffer();
     
     @Override
-    public void generate(Random random, int chunkX, int chunkZ,
-            World world, IChunkProvider chunkGenerator,
-            IChunkProvider chunkProvider)
+    public Collection<BiomeGenBase> getBiomes()
     {
-        chunkX = chunkX << 4;
-        chunkZ = chunkZ << 4;
-        final BiomeGenBase biome = world.getBiomeGenForCoords(chunkX,
-                chunkZ);
-        
-        if (BiomeSettings.MARSH.getBiome().isPresent() && biome == BiomeSettings.MARSH.getBiome().get())
-            generateMarsh(random, chunkX, chunkZ, world);
-        
+        return PopulateDispatcher.biomesOf(BiomeSettings.MARSH);
+    }
+    
+    @Override
+    public void generate(Random random, BiomeGenBase biome, int x, int z, World world)
+    {
+        generateMarsh(random, x + 8, z + 8, world);
+    }
+    
+    private static int index(int dx, int dz, int dy)
+    {
+        return ((dx + 1) * WIDTH + dz + 1) * BAND_DEPTH + dy;
     }
     
     private void generateMarsh(Random rand, int x, int z, World world)
     {
-        for (int i = 0; i < 127; i++)
+        readBand(world, x, z);
+        
+        final int bottom = SURFACE - BAND_DEPTH + 1;
+        final int top = BAND_DEPTH - 1;
+        for (int dx = 0; dx < 16; dx++)
         {
-            final int x1 = x + rand.nextInt(16) + 8;
-            final int z1 = z + rand.nextInt(16) + 8;
-            genMarsh.generate(world, rand, x1, 0, z1);
+            for (int dz = 0; dz < 16; dz++)
+            {
+                tufts[dx << 4 | dz] = false;
+                if (band[index(dx, dz, top)] != FLOODED)
+                    continue;
+                
+                final boolean shore = band[index(dx - 1, dz, top)] == SOLID || band[index(dx + 1, dz, top)] == SOLID
+                        || band[index(dx, dz - 1, top)] == SOLID || band[index(dx, dz + 1, top)] == SOLID;
+                if (!shore && rand.nextInt(8) >= TUFT_CHANCE)
+                    continue;
+                
+                // Grass all the way down, as the old walk filled the water it climbed through
+                tufts[dx << 4 | dz] = true;
+                for (int dy = top; dy >= 0 && band[index(dx, dz, dy)] == FLOODED; dy--)
+                {
+                    buffer.set(x + dx, bottom + dy, z + dz, Blocks.grass, 0);
+                }
+            }
         }
         
-        for (int i = 0; i < 256; i++)
+        layDirtBed(x, z);
+        buffer.commit(world, false);
+    }
+    
+    /**
+     * Fills the water below the surface with dirt up one column, moving to a
+     * second column for the rest of the way up from the first air it meets.
+     */
+    private void layDirtBed(int x, int z)
+    {
+        final int bottom = SURFACE - BAND_DEPTH + 1;
+        int column = BED_START;
+        for (int dy = 0; dy < BAND_DEPTH - 1; dy++)
+        {
+            final byte state = band[index(column, column, dy)];
+            if (state == AIR)
+                column = BED_MOVE;
+            else if (state == FLOODED && !tufts[column << 4 | column])
+                buffer.set(x + column, bottom + dy, z + column, Blocks.dirt, DIRT_BED_METADATA);
+        }
+    }
+    
+    /**
+     * Copies the band below sea level for the 16x16 columns from the given
+     * corner and the ring of columns around them.
+     */
+    private void readBand(World world, int x, int z)
+    {
+        final int bottom = SURFACE - BAND_DEPTH + 1;
+        Chunk chunk = null;
+        for (int dx = -1; dx <= 16; dx++)
         {
-            final int x1 = x + rand.nextInt(1) + 8;
-            final int z1 = z + rand.nextInt(1) + 8;
-            genDirtBed.generate(world, rand, x1, 0, z1);
+            for (int dz = -1; dz <= 16; dz++)
+            {
+                final int x1 = x + dx;
+                final int z1 = z + dz;
+                if (chunk == null || chunk.xPosition != x1 >> 4 || chunk.zPosition != z1 >> 4)
+                    chunk = world.getChunkFromChunkCoords(x1 >> 4, z1 >> 4);
+                
+                for (int dy = 0; dy < BAND_DEPTH; dy++)
+                {
+                    final int y1 = bottom + dy;
+                    final Block block = chunk.getBlock(x1 & 15, y1, z1 & 15);
+                    final byte state;
+                    if (block.isAir(world, x1, y1, z1))
+                        state = AIR;
+                    else if (block.getMaterial().isLiquid())
+                        state = FLOODED;
+                    else
+                        state = SOLID;
+                    band[index(dx, dz, dy)] = state;
+                }
+            }
         }
     }
 }
@@ -6,30 +6,27 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Collection;
 import java.util.Random;
 
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.feature.WorldGenDesertWells;
-import cpw.mods.fml.common.IWorldGenerator;
 import extrabiomes.lib.BiomeSettings;
 
-public class MountainDesertGenerator implements IWorldGenerator
+public class MountainDesertGenerator implements IBiomeWorldGenerator
 {
     
     @Override
-    public void generate(Random random, int chunkX, int chunkZ,
-            World world, IChunkProvider chunkGenerator,
-            IChunkProvider chunkProvider)
+    public Collection<BiomeGenBase> getBiomes()
     {
-        chunkX = chunkX << 4;
-        chunkZ = chunkZ << 4;
-        final BiomeGenBase biome = world.getBiomeGenForCoords(chunkX,
-                chunkZ);
-        
-        if (BiomeSettings.MOUNTAINDESERT.getBiome().isPresent() && biome == BiomeSettings.MOUNTAINDESERT.getBiome().get())
-            generateRareDesertWell(random, chunkX, chunkZ, world);
+        return PopulateDispatcher.biomesOf(BiomeSettings.MOUNTAINDESERT);
+    }
+    
+    @Override
+    public void generate(Random random, BiomeGenBase biome, int x, int z, World world)
+    {
+        generateRareDesertWell(random, x, z, world);
     }
     
     private void generateRareDesertWell(Random rand, int x, int z,
@@ -6,39 +6,39 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Collection;
 import java.util.Random;
 
 import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
 import net.minecraft.init.Blocks;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.feature.WorldGenMinable;
 import net.minecraft.world.gen.feature.WorldGenerator;
-import cpw.mods.fml.common.IWorldGenerator;
 import extrabiomes.lib.BiomeSettings;
 
-public class MountainRidgeGenerator implements IWorldGenerator
+public class MountainRidgeGenerator implements IBiomeWorldGenerator
 {
     
-    private static final WorldGenerator oasisGen      = new WorldGenOasis();
+    private static final WorldGenOasis  oasisGen      = new WorldGenOasis();
     private static final WorldGenerator silverfishGen = new WorldGenMinable(Blocks.monster_egg, 8);
     
+    // The pond floor of each column of the chunk being decorated, or -1
+    private final int[]                 pondFloors    = new int[256];
+    private final BlockPlacementBuffer  oasisBuffer   = new BlockPlacementBuffer();
+    
     @Override
-    public void generate(Random random, int chunkX, int chunkZ,
-            World world, IChunkProvider chunkGenerator,
-            IChunkProvider chunkProvider)
+    public Collection<BiomeGenBase> getBiomes()
     {
-        chunkX = chunkX << 4;
-        chunkZ = chunkZ << 4;
-        final BiomeGenBase biome = world.getBiomeGenForCoords(chunkX,
-                chunkZ);
-        
-        if (BiomeSettings.MOUNTAINRIDGE.getBiome().isPresent() && biome == BiomeSettings.MOUNTAINRIDGE.getBiome().get())
-        {
-            trimPondsInGrass(random, chunkX, chunkZ, world);
-            generateEmeraldOre(random, chunkX, chunkZ, world);
-        }
+        return PopulateDispatcher.biomesOf(BiomeSettings.MOUNTAINRIDGE);
+    }
+    
+    @Override
+    public void generate(Random random, BiomeGenBase biome, int x, int z, World world)
+    {
+        trimPondsInGrass(random, x, z, world);
+        generateEmeraldOre(random, x, z, world);
     }
     
     private void generateEmeraldOre(Random rand, int x, int z,
@@ -70,13 +70,44 @@ public class MountainRidgeGenerator implements IWorldGenerator
     
     private void trimPondsInGrass(Random rand, int x, int z, World world)
     {
+        final int ponds = findPondFloors(world, x + 8, z + 8);
+        
+        // The columns are still drawn when there is no pond so the ore that follows lands where it always has
         for (int i = 0; i < 1000; i++)
         {
-            final int x1 = x + rand.nextInt(16) + 8;
-            final int z1 = z + rand.nextInt(16) + 8;
-            final int y1 = world.getTopSolidOrLiquidBlock(x1, z1);
+            final int dx = rand.nextInt(16);
+            final int dz = rand.nextInt(16);
             
-            oasisGen.generate(world, rand, x1, y1, z1);
+            if (ponds > 0 && pondFloors[dx * 16 + dz] >= 0)
+                oasisGen.paint(world, rand, x + dx + 8, pondFloors[dx * 16 + dz], z + dz + 8, oasisBuffer);
+        }
+        
+        oasisBuffer.commit(world, false);
+    }
+    
+    /**
+     * Finds, in one pass over the 16x16 columns from the given corner, those
+     * whose top solid block is covered by water. Returns how many there are.
+     */
+    private int findPondFloors(World world, int x, int z)
+    {
+        int ponds = 0;
+        for (int dx = 0; dx < 16; dx++)
+        {
+            for (int dz = 0; dz < 16; dz++)
+            {
+                final int y = world.getTopSolidOrLiquidBlock(x + dx, z + dz);
+                if (y >= 0 && world.getBlock(x + dx, y, z + dz).getMaterial() == Material.water)
+                {
+                    pondFloors[dx * 16 + dz] = y;
+                    ponds++;
+                }
+                else
+                {
+                    pondFloors[dx * 16 + dz] = -1;
+                }
+            }
         }
+        return ponds;
     }
 }
@@ -0,0 +1,156 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.List;
+import java.util.Random;
+
+import net.minecraft.world.World;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.IChunkProvider;
+
+import com.google.common.collect.Lists;
+
+import cpw.mods.fml.common.IWorldGenerator;
+import extrabiomes.lib.BiomeSettings;
+
+/**
+ * The one world generator ExtrabiomesXL registers with FML for its biome
+ * decorations.
+ * <p>
+ * The biome of a chunk is looked up once and used to index a table, built
+ * at post init, of the {@link IBiomeWorldGenerator}s that decorate it. A
+ * chunk in a biome nothing is registered for costs that one lookup. Each
+ * generator is handed a random seeded just as FML would have seeded it had
+ * the generator been registered on its own, so the decorations placed do
+ * not change.
+ */
+public enum PopulateDispatcher implements IWorldGenerator
+{
+    INSTANCE;
+
+    private final List<IBiomeWorldGenerator> generators = Lists.newArrayList();
+    private IBiomeWorldGenerator[][]         index      = null;
+
+    // FML's per world seed mix, kept for the last world seen
+    private long                             worldSeed;
+    private long                             xSeed;
+    private long                             zSeed;
+    private boolean                          seeded     = false;
+
+    /**
+     * Returns the biomes of those settings whose biome exists.
+     */
+    public static List<BiomeGenBase> biomesOf(BiomeSettings... settings)
+    {
+        final List<BiomeGenBase> biomes = Lists.newArrayList();
+        for (final BiomeSettings setting : settings)
+        {
+            if (setting.getBiome().isPresent())
+                biomes.add(setting.getBiome().get());
+        }
+        return biomes;
+    }
+
+    public void register(IBiomeWorldGenerator generator)
+    {
+        generators.add(generator);
+        index = null;
+    }
+
+    /**
+     * Builds the table of generators by biome ID. Called at post init, once
+     * every biome exists.
+     */
+    public void buildIndex()
+    {
+        final int size = BiomeGenBase.getBiomeGenArray().length;
+        final List<List<IBiomeWorldGenerator>> byBiome = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; ++i)
+        {
+            byBiome.add(null);
+        }
+
+        for (final IBiomeWorldGenerator generator : generators)
+        {
+            for (final BiomeGenBase biome : generator.getBiomes())
+            {
+                if (biome == null)
+                    continue;
+
+                List<IBiomeWorldGenerator> list = byBiome.get(biome.biomeID);
+                if (list == null)
+                {
+                    list = Lists.newArrayList();
+                    byBiome.set(biome.biomeID, list);
+                }
+                if (!list.contains(generator))
+                    list.add(generator);
+            }
+        }
+
+        final IBiomeWorldGenerator[][] table = new IBiomeWorldGenerator[size][];
+        for (int i = 0; i < size; ++i)
+        {
+            final List<IBiomeWorldGenerator> list = byBiome.get(i);
+            if (list != null)
+                table[i] = list.toArray(new IBiomeWorldGenerator[list.size()]);
+        }
+        index = table;
+    }
+
+    @Override
+    public void generate(Random random, int chunkX, int chunkZ, World world, IChunkProvider chunkGenerator, IChunkProvider chunkProvider)
+    {
+        if (index == null)
+            buildIndex();
+
+        final int x = chunkX << 4;
+        final int z = chunkZ << 4;
+        final BiomeGenBase biome = world.getBiomeGenForCoords(x, z);
+        final IBiomeWorldGenerator[] decorators = index[biome.biomeID];
+        if (decorators == null)
+            return;
+
+        final long chunkSeed = chunkSeed(world.getSeed(), chunkX, chunkZ);
+        ChunkSurface.begin(world, x, z);
+        BlockPlacementBuffer.beginPopulating(world, chunkX, chunkZ);
+        try
+        {
+            for (int i = 0; i < decorators.length; ++i)
+            {
+                // The previous generator may have reshaped the ground
+                if (i > 0)
+                    ChunkSurface.forget();
+
+                random.setSeed(chunkSeed);
+                WorldGenProfiler.generate(decorators[i], random, biome, x, z, world);
+                TreeShapeScheduler.INSTANCE.flush(world);
+            }
+        }
+        finally
+        {
+            ChunkSurface.end();
+            BlockPlacementBuffer.relightPending();
+            BlockPlacementBuffer.endPopulating();
+        }
+    }
+
+    private long chunkSeed(long seed, int chunkX, int chunkZ)
+    {
+        if (!seeded || seed != worldSeed)
+        {
+            // The same mix, precedence and all, as GameRegistry.generateWorld
+            final Random fmlRandom = new Random(seed);
+            xSeed = fmlRandom.nextLong() >> 2 + 1L;
+            zSeed = fmlRandom.nextLong() >> 2 + 1L;
+            worldSeed = seed;
+            seeded = true;
+        }
+        return (xSeed * chunkX + zSeed * chunkZ) ^ seed;
+    }
+}
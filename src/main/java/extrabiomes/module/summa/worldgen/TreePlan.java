@@ -0,0 +1,67 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import net.minecraft.world.World;
+
+/**
+ * A tree that has been laid out and checked against the world but not yet
+ * placed. The plan only reflects the world as it was when it was made, so it
+ * should be committed before anything else changes the area.
+ */
+public final class TreePlan
+{
+    private final BlockPlacementBuffer placements;
+    private final boolean              notify;
+    private final long                 seed;
+    private final int                  x;
+    private final int                  y;
+    private final int                  z;
+
+    TreePlan(BlockPlacementBuffer placements, boolean notify, long seed, int x, int y, int z)
+    {
+        this.placements = placements;
+        this.notify = notify;
+        this.seed = seed;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Places the tree. A plan may be committed more than once.
+     */
+    public void commit(World world)
+    {
+        placements.write(world, notify);
+    }
+
+    public int getBlockCount()
+    {
+        return placements.size();
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    public int getX()
+    {
+        return x;
+    }
+
+    public int getY()
+    {
+        return y;
+    }
+
+    public int getZ()
+    {
+        return z;
+    }
+}
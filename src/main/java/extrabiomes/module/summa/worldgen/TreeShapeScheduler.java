@@ -0,0 +1,245 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.terraingen.DecorateBiomeEvent;
+import net.minecraftforge.event.terraingen.PopulateChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.relauncher.Side;
+import extrabiomes.helpers.LogHelper;
+
+/**
+ * Works out the shapes of large trees on a small pool of worker threads
+ * while a chunk is being decorated.
+ * <p>
+ * A tree scheduled during world generation only draws its seed on the
+ * server thread. Its branches and canopy are computed by a worker while the
+ * rest of the trees of the chunk are scheduled, and the finished shapes are
+ * checked and placed on the server thread in the order they were scheduled
+ * as soon as the generator that scheduled them is done with its trees: for
+ * a biome decorator that is right after its tree loop, before its
+ * mushrooms, flowers and grass, and for a {@link PopulateDispatcher}
+ * decoration it is when the decoration returns. Trees scheduled anywhere
+ * else are placed once the chunk has been populated, or at the end of the
+ * world tick. With no worker threads configured every tree is placed as
+ * soon as it is scheduled.
+ */
+public enum TreeShapeScheduler
+{
+    INSTANCE;
+
+    private static int                                threads  = 2;
+
+    private final Map<World, Deque<PendingTree<?>>> worlds   = new WeakHashMap<World, Deque<PendingTree<?>>>();
+    private ExecutorService                           executor = null;
+    private boolean                                   flushing = false;
+
+    private static class PendingTree<S>
+    {
+        private final IShapedTree<S> tree;
+        private final Future<S>      shape;
+        private final long           seed;
+        private final int            x;
+        private final int            y;
+        private final int            z;
+
+        PendingTree(IShapedTree<S> tree, Future<S> shape, long seed, int x, int y, int z)
+        {
+            this.tree = tree;
+            this.shape = shape;
+            this.seed = seed;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        void place(World world)
+        {
+            tree.placeShape(world, getShape(), x, y, z);
+        }
+
+        private S getShape()
+        {
+            try
+            {
+                return shape.get();
+            }
+            catch (final InterruptedException e)
+            {
+                shape.cancel(false);
+                Thread.currentThread().interrupt();
+            }
+            catch (final ExecutionException e)
+            {
+                LogHelper.warning("A tree shape failed to compute off thread, retrying on the server thread.");
+            }
+
+            // Computing it here again surfaces any error where it would have happened before
+            return tree.computeShape(seed, x, y, z);
+        }
+    }
+
+    public static int getThreads()
+    {
+        return threads;
+    }
+
+    /**
+     * Sets the number of worker threads. Zero computes every shape on the
+     * server thread. Only takes effect before the first tree is scheduled.
+     */
+    public static void setThreads(int count)
+    {
+        threads = Math.max(count, 0);
+    }
+
+    /**
+     * Grows a tree from the given seed, leaving the work of laying out its
+     * shape to a worker thread if there is one.
+     *
+     * @return false if the tree was placed at once and did not fit. A
+     *         deferred tree always returns true.
+     */
+    public <S> boolean schedule(World world, final IShapedTree<S> tree, final long seed, final int x, final int y, final int z)
+    {
+        if (threads == 0 || world.isRemote)
+            return tree.placeShape(world, tree.computeShape(seed, x, y, z), x, y, z);
+
+        final Future<S> shape = getExecutor().submit(new Callable<S>()
+        {
+            @Override
+            public S call()
+            {
+                return tree.computeShape(seed, x, y, z);
+            }
+        });
+
+        Deque<PendingTree<?>> queue = worlds.get(world);
+        if (queue == null)
+        {
+            queue = new ArrayDeque<PendingTree<?>>();
+            worlds.put(world, queue);
+        }
+        queue.add(new PendingTree<S>(tree, shape, seed, x, y, z));
+        return true;
+    }
+
+    /**
+     * Places every tree scheduled for the world so far.
+     */
+    public void flush(World world)
+    {
+        final Deque<PendingTree<?>> queue = worlds.get(world);
+        if (queue == null || queue.isEmpty())
+            return;
+
+        // Placing a tree can populate another chunk; the outer loop picks up its trees
+        if (flushing)
+            return;
+
+        flushing = true;
+        try
+        {
+            PendingTree<?> pending;
+            while ((pending = queue.poll()) != null)
+            {
+                pending.place(world);
+            }
+        }
+        finally
+        {
+            flushing = false;
+        }
+    }
+
+    public int getPendingTrees(World world)
+    {
+        final Deque<PendingTree<?>> queue = worlds.get(world);
+        return queue == null ? 0 : queue.size();
+    }
+
+    private ExecutorService getExecutor()
+    {
+        if (executor == null)
+        {
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactory()
+            {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable)
+                {
+                    final Thread thread = new Thread(runnable, "ExtrabiomesXL tree shapes #" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    @SubscribeEvent
+    public void onDecorate(DecorateBiomeEvent.Decorate event)
+    {
+        // Posted right after a biome decorator's tree loop
+        if (event.type == DecorateBiomeEvent.Decorate.EventType.BIG_SHROOM)
+            flush(event.world);
+    }
+
+    @SubscribeEvent
+    public void onPopulateChunkStart(PopulateChunkEvent.Pre event)
+    {
+        BlockPlacementBuffer.beginPopulating(event.world, event.chunkX, event.chunkZ);
+    }
+
+    @SubscribeEvent
+    public void onPopulateChunk(PopulateChunkEvent.Post event)
+    {
+        flush(event.world);
+        BlockPlacementBuffer.relightPending();
+        BlockPlacementBuffer.endPopulating();
+    }
+
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if (event.phase != TickEvent.Phase.END || event.side != Side.SERVER)
+            return;
+
+        flush(event.world);
+        BlockPlacementBuffer.relightPending();
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        final Deque<PendingTree<?>> queue = worlds.remove(event.world);
+        if (queue == null)
+            return;
+
+        for (final PendingTree<?> pending : queue)
+        {
+            pending.shape.cancel(false);
+        }
+    }
+}
@@ -6,46 +6,43 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Random;
 
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.feature.WorldGenVines;
 import net.minecraft.world.gen.feature.WorldGenerator;
-import cpw.mods.fml.common.IWorldGenerator;
 import extrabiomes.lib.BiomeSettings;
 
-public class VanillaFloraGenerator implements IWorldGenerator
+public class VanillaFloraGenerator implements IBiomeWorldGenerator
 {
     
     private static final WorldGenerator vineGen = new WorldGenVines();
     
     @Override
-    public void generate(Random random, int chunkX, int chunkZ, World world, IChunkProvider chunkGenerator, IChunkProvider chunkProvider)
+    public Collection<BiomeGenBase> getBiomes()
     {
-        chunkX = chunkX << 4;
-        chunkZ = chunkZ << 4;
-        final BiomeGenBase biome = world.getBiomeGenForCoords(chunkX, chunkZ);
-        
-        final boolean biomeIsExtremeJungle = BiomeSettings.EXTREMEJUNGLE.getBiome().isPresent() && biome == BiomeSettings.EXTREMEJUNGLE.getBiome().get();
-        
-        if (biomeIsExtremeJungle)
+        final List<BiomeGenBase> biomes = PopulateDispatcher.biomesOf(BiomeSettings.EXTREMEJUNGLE, BiomeSettings.MINIJUNGLE, BiomeSettings.TEMPORATERAINFOREST);
+        biomes.add(BiomeGenBase.jungle);
+        biomes.add(BiomeGenBase.jungleHills);
+        return biomes;
+    }
+    
+    @Override
+    public void generate(Random random, BiomeGenBase biome, int x, int z, World world)
+    {
+        if (BiomeSettings.EXTREMEJUNGLE.getBiome().isPresent() && biome == BiomeSettings.EXTREMEJUNGLE.getBiome().get())
         {
-            generateVines(random, chunkX, chunkZ, world);
+            generateVines(random, x, z, world);
         }
         
-        final boolean biomeIsMiniJungle = BiomeSettings.MINIJUNGLE.getBiome().isPresent() && biome == BiomeSettings.MINIJUNGLE.getBiome().get();
-        final boolean biomeIsTemperateRainforest = BiomeSettings.TEMPORATERAINFOREST.getBiome().isPresent() && biome == BiomeSettings.TEMPORATERAINFOREST.getBiome().get();
-        
-        if (biomeIsExtremeJungle || biomeIsMiniJungle || biomeIsTemperateRainforest || biome == BiomeGenBase.jungle || biome == BiomeGenBase.jungleHills)
+        // Every biome this runs in grows melons
+        if (random.nextInt(48) == 0)
         {
-            if (random.nextInt(48) == 0)
-            {
-                generateMelonPatch(world, random, chunkX, chunkZ);
-            }
+            generateMelonPatch(world, random, x, z);
         }
-        
     }
     
     private void generateMelonPatch(World world, Random rand, int x, int z)
@@ -6,17 +6,16 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Collection;
 import java.util.Random;
 
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
-import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.feature.WorldGenerator;
-import cpw.mods.fml.common.IWorldGenerator;
 import extrabiomes.blocks.BlockCustomVine;
 import extrabiomes.lib.BiomeSettings;
 
-public class VineGenerator implements IWorldGenerator
+public class VineGenerator implements IBiomeWorldGenerator
 {
     private final WorldGenerator vineGen;
     private final BiomeSettings[] biomeList;
@@ -37,28 +36,15 @@ public class VineGenerator implements IWorldGenerator
     	this.biomeList = (biomeList == null ? DEFAULT_BIOME_LIST : biomeList);
     }
     
-    private boolean biomeCheck(BiomeGenBase biome) {
-		final BiomeSettings settings = BiomeSettings.findBiomeSettings(biome.biomeID);    	
-		if( settings != null ) {
-			for( final BiomeSettings goodBiome : biomeList ) {
-				if( settings == goodBiome )
-					return settings.getBiome().isPresent() && biome == settings.getBiome().get();
-			}
-		}
-		return false;
+    @Override
+    public Collection<BiomeGenBase> getBiomes()
+    {
+        return PopulateDispatcher.biomesOf(biomeList);
     }
     
     @Override
-    public void generate(Random rand, int chunkX, int chunkZ,
-            World world, IChunkProvider chunkGenerator,
-            IChunkProvider chunkProvider)
+    public void generate(Random rand, BiomeGenBase biome, int chunkX, int chunkZ, World world)
     {
-        chunkX = chunkX << 4;
-        chunkZ = chunkZ << 4;
-        final BiomeGenBase biome = world.getBiomeGenForCoords(chunkX, chunkZ);
-        
-        if( !biomeCheck(biome) ) return;
-
         //LogHelper.info("Gloriosa starting generation in " + biome.biomeName);
 		
 		for (int i = 0; i < 20; i++)
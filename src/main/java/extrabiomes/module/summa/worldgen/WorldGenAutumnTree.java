@@ -63,8 +63,6 @@ public class WorldGenAutumnTree extends WorldGenAbstractTree
         
     }
     
-    private static Block       trunkBlock                 = Blocks.log;
-    private static int       trunkMetadata              = 1;
     private static final int BASE_HEIGHT                = 4;
     private static final int CANOPY_HEIGHT              = 3;
     private static final int CANOPY_RADIUS_EXTRA_RADIUS = 0;
@@ -111,19 +109,44 @@ public class WorldGenAutumnTree extends WorldGenAbstractTree
         return true;
     }
     
-    public static void setTrunkBlock(Block block, int metadata)
-    {
-        WorldGenAutumnTree.trunkBlock = block;
-        WorldGenAutumnTree.trunkMetadata = metadata;
-    }
-    
     protected final AutumnTreeType type;
+    protected final Block          trunkBlock;
+    protected final int            trunkMetadata;
+    protected final Block          leafBlock;
+    protected final int            leafMetadata;
     
+    /**
+     * Creates a tree with the autumn log as its trunk, falling back to the
+     * vanilla spruce log when the autumn log is disabled.
+     */
     public WorldGenAutumnTree(boolean doBlockNotify, AutumnTreeType type)
+    {
+        this(doBlockNotify, type, getDefaultTrunkBlock(), getDefaultTrunkMetadata());
+    }
+    
+    public WorldGenAutumnTree(boolean doBlockNotify, AutumnTreeType type, Block trunkBlock, int trunkMetadata)
     {
         super(doBlockNotify);
         
         this.type = type;
+        this.trunkBlock = trunkBlock;
+        this.trunkMetadata = trunkMetadata;
+        leafBlock = type.getBlock();
+        leafMetadata = type.getMetadata();
+    }
+    
+    private static Block getDefaultTrunkBlock()
+    {
+        if (Element.LOG_AUTUMN.isPresent())
+            return Block.getBlockFromItem(Element.LOG_AUTUMN.get().getItem());
+        return Blocks.log;
+    }
+    
+    private static int getDefaultTrunkMetadata()
+    {
+        if (Element.LOG_AUTUMN.isPresent())
+            return Element.LOG_AUTUMN.get().getItemDamage();
+        return 1;
     }
     
     // Store the last seed that was used to generate a tree
@@ -160,7 +183,7 @@ public class WorldGenAutumnTree extends WorldGenAbstractTree
             return false;
         
         world.setBlock(x, y - 1, z, Blocks.dirt);
-        growLeaves(world, rand, x, y, z, height, type.getBlock(), type.getMetadata());
+        growLeaves(world, rand, x, y, z, height, leafBlock, leafMetadata);
         growTrunk(world, x, y, z, height, trunkBlock, trunkMetadata);
         
         return true;
@@ -64,24 +64,7 @@ public class WorldGenBaldCypressTree extends WorldGenNewTreeBase
         // Store the seed
         lastSeed = rand.nextLong();
         
-        // Check the water level
-        int waterLevel = 0;
-        for (int yy = y - 1; yy > y - 6; yy--)
-        {
-            Block block = world.getBlock(x, yy, z);
-            if (!block.equals(Blocks.water))
-                break;
-            waterLevel++;
-        }
-        
-        // Adjust the starting position
-        y -= waterLevel;
-        
-        // Make sure that we can generate the tree
-        if (!checkTree(world, new Random(lastSeed), x, y, z, waterLevel))
-            return false;
-        
-        return generateTree(world, new Random(lastSeed), x, y, z, waterLevel);
+        return growTree(world, new Random(lastSeed), x, y, z);
     }
     
     public boolean generate(World world, long seed, int x, int y, int z)
@@ -89,24 +72,7 @@ public class WorldGenBaldCypressTree extends WorldGenNewTreeBase
         // Store the seed
         lastSeed = seed;
         
-        // Check the water level
-        int waterLevel = 0;
-        for (int yy = y - 1; yy > y - 6; yy--)
-        {
-            Block block = world.getBlock(x, yy, z);
-            if (!block.equals(Blocks.water))
-                break;
-            waterLevel++;
-        }
-        
-        // Adjust the starting position
-        y -= waterLevel;
-        
-        // Make sure that we can generate the tree
-        if (!checkTree(world, new Random(lastSeed), x, y, z, waterLevel))
-            return false;
-        
-        return generateTree(world, new Random(seed), x, y, z, waterLevel);
+        return growTree(world, new Random(seed), x, y, z);
     }
     
     //Variables to control the generation
@@ -125,14 +91,28 @@ public class WorldGenBaldCypressTree extends WorldGenNewTreeBase
                                                                    
     static int                  last                      = 0;
     
-    private boolean checkTree(World world, Random rand, int x, int y, int z, int waterLevel)
+    @Override
+    protected boolean planTree(World world, Random rand, int x, int y, int z)
     {
+        // Check the water level
+        int waterLevel = 0;
+        for (int yy = y - 1; yy > y - 6; yy--)
+        {
+            Block block = world.getBlock(x, yy, z);
+            if (!block.equals(Blocks.water))
+                break;
+            waterLevel++;
+        }
+        
+        // Adjust the starting position
+        y -= waterLevel;
+        
         final int height = rand.nextInt(BASE_HEIGHT_VARIANCE) + BASE_HEIGHT;
         int width = CANOPY_WIDTH + rand.nextInt(CANOPY_WIDTH_VARIANCE);
         final int chunkCheck = width + 1;
         
         // Make sure that a tree can grow on the soil
-        if (!TreeSoilRegistry.isValidSoil(world.getBlock(x, y - 1, z)) || !TreeSoilRegistry.isValidSoil(world.getBlock(x + 1, y - 1, z)) || !TreeSoilRegistry.isValidSoil(world.getBlock(x + 1, y - 1, z + 1)))
+        if (!TreeSoilRegistry.isValidSoil(world.getBlock(x, y - 1, z)) || !TreeSoilRegistry.isValidSoil(world.getBlock(x + 1, y - 1, z)) || !TreeSoilRegistry.isValidSoil(world.getBlock(x, y - 1, z + 1)) || !TreeSoilRegistry.isValidSoil(world.getBlock(x + 1, y - 1, z + 1)))
             return false;
         
         // make sure that we have room to grow the tree
@@ -150,132 +130,27 @@ public class WorldGenBaldCypressTree extends WorldGenNewTreeBase
         // Draw the main trunk
         if (!check2x2Trunk(x, y, z, (int) (height * TRUNK_HEIGHT_PERCENT) + waterLevel, TreeBlock.TRUNK.get(), world, true))
             return false;
+        place2x2Trunk(x, y, z, (int) (height * TRUNK_HEIGHT_PERCENT) + waterLevel, TreeBlock.TRUNK.get(), world);
+        
+        // Draw the knees
+        generateKnees(world, rand, x, y, z, waterLevel);
         
         // Generate the branches
-        if (!checkBranches(world, rand, x, y, z, height, width, waterLevel))
+        if (!generateBranches(world, rand, x, y, z, height, width, waterLevel))
             return false;
         
         // Place the topper leaves
-        if (!checkLeafCluster(world, x, (int) (height * TRUNK_HEIGHT_PERCENT) + y, z, 4 + rand.nextInt(CLUSTER_HEIGHT_VARIANCE), 4 + rand.nextInt(CLUSTER_DIAMATER_VARIANCE)))
+        final int topperHeight = 4 + rand.nextInt(CLUSTER_HEIGHT_VARIANCE);
+        final int topperRadius = 4 + rand.nextInt(CLUSTER_DIAMATER_VARIANCE);
+        if (!checkLeafCluster(world, x, (int) (height * TRUNK_HEIGHT_PERCENT) + y, z, topperHeight, topperRadius))
             return false;
+        generateLeafCluster(world, x, (int) (height * TRUNK_HEIGHT_PERCENT) + y, z, topperHeight, topperRadius, TreeBlock.LEAVES.get());
         
+        // We generated a tree
         return true;
     }
     
-    private boolean generateTree(World world, Random rand, int x, int y, int z, int waterLevel)
-    {
-        final int height = rand.nextInt(BASE_HEIGHT_VARIANCE) + BASE_HEIGHT;
-        int width = CANOPY_WIDTH + rand.nextInt(CANOPY_WIDTH_VARIANCE);
-        final int chunkCheck = width + 1;
-        
-        // Make sure that a tree can grow on the soil
-        if (!TreeSoilRegistry.isValidSoil(world.getBlock(x, y - 1, z)) || !TreeSoilRegistry.isValidSoil(world.getBlock(x + 1, y - 1, z)) || !TreeSoilRegistry.isValidSoil(world.getBlock(x, y - 1, z + 1)) || !TreeSoilRegistry.isValidSoil(world.getBlock(x + 1, y - 1, z + 1)))
-            return false;
-        
-        // make sure that we have room to grow the tree
-        if (y >= 256 - height - 4)
-            return false;
-        
-        // Make sure that the tree can fit in the world
-        if (y < 1 || y + height + 4 > 256)
-            return false;
-        
-        // Make sure the cunks are loaded
-        if (!world.checkChunksExist(x - chunkCheck, y - chunkCheck, z - chunkCheck, x + chunkCheck, y + chunkCheck, z + chunkCheck))
-            return false;
-        
-        // Draw the main trunk
-        if (place2x2Trunk(x, y, z, (int) (height * TRUNK_HEIGHT_PERCENT) + waterLevel, TreeBlock.TRUNK.get(), world))
-        {
-            // Draw the knees
-            generateKnees(world, rand, x, y, z, waterLevel);
-            
-            // Generate the branches
-            generateBranches(world, rand, x, y, z, height, width, waterLevel);
-            
-            // Place the topper leaves
-            generateLeafCluster(world, x, (int) (height * TRUNK_HEIGHT_PERCENT) + y, z, 4 + rand.nextInt(CLUSTER_HEIGHT_VARIANCE), 4 + rand.nextInt(CLUSTER_DIAMATER_VARIANCE), TreeBlock.LEAVES.get());
-            
-            // We generated a tree
-            return true;
-        }
-        
-        return false;
-    }
-    
-    public boolean checkBranches(World world, Random rand, int x, int y, int z, int height, int width, int startOffset)
-    {
-        int branchCount = BRANCHES_BASE_NUMBER + rand.nextInt(BRANCHES_EXTRA);
-        
-        // Make sure that the width is even
-        width = (width % 2 == 1) ? width + 1 : width;
-        
-        // Cache the offset
-        int offset = width / 2;
-        
-        // The max distance for branches to generate
-        int branchStart = (int) (height * TRUNK_BRANCHES_START) + startOffset;
-        int maxBranchHeight = height - ((int) (height * TRUNK_BRANCHES_START)) - 3;
-        int[] start = { 0, 0, 0 };
-        int[] end = { 0, 0, 0 };
-        Queue<int[]> branches = new LinkedList<int[]>();
-        
-        // Generate some test branches
-        for (int branch = 0; branch < branchCount; branch++)
-        {
-            // The end position
-            end[0] = rand.nextInt(width + 1) - offset + x;
-            end[1] = rand.nextInt(maxBranchHeight) + branchStart + y;
-            end[2] = rand.nextInt(width + 1) - offset + z;
-            
-            // Max of tree height
-            // Min of branch start
-            start[1] = Math.max(branchStart + y, Math.min(height, rand.nextInt(Math.max(end[1] - branchStart - y, 1)) + y));
-            
-            if (end[0] > x && end[2] > z)
-            {
-                start[0] = x + 1;
-                start[2] = z + 1;
-            }
-            else if (end[0] > x)
-            {
-                start[0] = x + 1;
-                start[2] = z;
-            }
-            else if (end[2] > z)
-            {
-                start[0] = x;
-                start[2] = z + 1;
-            }
-            else
-            {
-                start[0] = x;
-                start[2] = z;
-            }
-            
-            // Place the branch
-            if (!checkBlockLine(start, end, TreeBlock.KNEE_LOG.get(), world))
-                return false;
-            
-            int[] node = new int[] { end[0], end[1], end[2] };
-            
-            // Add the branch end for leaf generation
-            branches.add(node);
-        }
-        
-        // Generate the leaf clusters
-        Iterator<int[]> itt = branches.iterator();
-        while (itt.hasNext())
-        {
-            int[] cluster = itt.next();
-            if (!checkLeafCluster(world, cluster[0], cluster[1], cluster[2], CLUSTER_HEIGHT + rand.nextInt(CLUSTER_HEIGHT_VARIANCE), CLUSTER_DIAMATER + rand.nextInt(CLUSTER_DIAMATER_VARIANCE)))
-                return false;
-        }
-        
-        return true;
-    }
-    
-    public void generateBranches(World world, Random rand, int x, int y, int z, int height, int width, int startOffset)
+    public boolean generateBranches(World world, Random rand, int x, int y, int z, int height, int width, int startOffset)
     {
         int branchCount = BRANCHES_BASE_NUMBER + rand.nextInt(BRANCHES_EXTRA);
         
@@ -332,6 +207,8 @@ public class WorldGenBaldCypressTree extends WorldGenNewTreeBase
             }
             
             // Place the branch
+            if (!checkBlockLine(start, end, TreeBlock.KNEE_LOG.get(), world))
+                return false;
             placeBlockLine(start, end, TreeBlock.KNEE_LOG.get(), world);
             
             int[] node = new int[] { end[0], end[1], end[2] };
@@ -345,8 +222,14 @@ public class WorldGenBaldCypressTree extends WorldGenNewTreeBase
         while (itt.hasNext())
         {
             int[] cluster = itt.next();
-            generateLeafCluster(world, cluster[0], cluster[1], cluster[2], CLUSTER_HEIGHT + rand.nextInt(CLUSTER_HEIGHT_VARIANCE), CLUSTER_DIAMATER + rand.nextInt(CLUSTER_DIAMATER_VARIANCE), TreeBlock.LEAVES.get());
+            final int clusterHeight = CLUSTER_HEIGHT + rand.nextInt(CLUSTER_HEIGHT_VARIANCE);
+            final int clusterRadius = CLUSTER_DIAMATER + rand.nextInt(CLUSTER_DIAMATER_VARIANCE);
+            if (!checkLeafCluster(world, cluster[0], cluster[1], cluster[2], clusterHeight, clusterRadius))
+                return false;
+            generateLeafCluster(world, cluster[0], cluster[1], cluster[2], clusterHeight, clusterRadius, TreeBlock.LEAVES.get());
         }
+        
+        return true;
     }
     
     public void generateKnees(World world, Random rand, int x, int y, int z, int bonusHeight)
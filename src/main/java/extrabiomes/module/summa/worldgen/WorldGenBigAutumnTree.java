@@ -6,6 +6,7 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Arrays;
 import java.util.Random;
 
 import net.minecraft.block.Block;
@@ -13,88 +14,63 @@ import net.minecraft.init.Blocks;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
 
-public class WorldGenBigAutumnTree extends WorldGenAutumnTree
+public class WorldGenBigAutumnTree extends WorldGenAutumnTree implements IShapedTree<WorldGenBigAutumnTree.Shape>
 {
     
-    private static Block          trunkBlock      = Blocks.log;
-    private static int          trunkMetadata   = 0;
+    private static final byte[] otherCoordPairs   = new byte[] { (byte) 2, (byte) 0, (byte) 0, (byte) 1, (byte) 2, (byte) 1 };
     
-    private static final byte[] otherCoordPairs = new byte[] { (byte) 2, (byte) 0, (byte) 0, (byte) 1, (byte) 2, (byte) 1 };
+    private static final double heightAttenuation = 0.618D;
+    private static final double branchSlope       = 0.381D;
+    private static final double scaleWidth        = 1.1D;
+    private static final double leafDensity       = 1.0D;
+    private static final int    heightLimitLimit  = 12;
+    private static final int    leafDistanceLimit = 4;
     
-    public static void setTrunkBlock(Block block, int metadata)
+    /**
+     * The candidate leaf nodes of a tree of a given height. Each is kept as
+     * the position of the node and the height its branch leaves the trunk;
+     * which of them grow is only known once they are checked against the
+     * world.
+     */
+    static final class Shape
     {
-        WorldGenBigAutumnTree.trunkBlock = block;
-        WorldGenBigAutumnTree.trunkMetadata = metadata;
+        final long seed;
+        final int  heightLimit;
+        int[]      nodes = new int[64];
+        int        size  = 0;
+        
+        Shape(long seed, int heightLimit)
+        {
+            this.seed = seed;
+            this.heightLimit = heightLimit;
+        }
+        
+        void addNode(int x, int y, int z, int baseY)
+        {
+            if (size + 4 > nodes.length)
+            {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            }
+            nodes[size++] = x;
+            nodes[size++] = y;
+            nodes[size++] = z;
+            nodes[size++] = baseY;
+        }
     }
     
-    private final Random rand              = new Random();
-    private World        world;
-    private final int[]  basePos           = new int[] { 0, 0, 0 };
-    private int          heightLimit       = 0;
-    private int          height;
-    private final double heightAttenuation = 0.618D;
-    private final double branchSlope       = 0.381D;
-    private double       scaleWidth        = 1.1D;
-    private double       leafDensity       = 1.0D;
-    private int          heightLimitLimit  = 12;
-    private int          leafDistanceLimit = 4;
-    private int[][]      leafNodes;
+    // Trees grown during world generation have their shape worked out off thread
+    private final boolean deferShapes;
     
     public WorldGenBigAutumnTree(boolean notify, AutumnTreeType type)
     {
         super(notify, type);
+        deferShapes = !notify;
     }
     
-    private int checkBlockLine(int[] par1ArrayOfInteger, int[] par2ArrayOfInteger)
+    public WorldGenBigAutumnTree(boolean notify, AutumnTreeType type, Block trunkBlock, int trunkMetadata)
     {
-        final int[] var3 = new int[] { 0, 0, 0 };
-        byte var4 = 0;
-        byte var5;
-        
-        for (var5 = 0; var4 < 3; ++var4)
-        {
-            var3[var4] = par2ArrayOfInteger[var4] - par1ArrayOfInteger[var4];
-            
-            if (Math.abs(var3[var4]) > Math.abs(var3[var5]))
-                var5 = var4;
-        }
-        
-        if (var3[var5] == 0)
-        {
-            return -1;
-        }
-        else
-        {
-            final byte var6 = otherCoordPairs[var5];
-            final byte var7 = otherCoordPairs[var5 + 3];
-            byte var8;
-            
-            if (var3[var5] > 0)
-                var8 = 1;
-            else
-                var8 = -1;
-            
-            final double var9 = (double) var3[var6] / (double) var3[var5];
-            final double var11 = (double) var3[var7] / (double) var3[var5];
-            final int[] coord = new int[] { 0, 0, 0 };
-            int var14 = 0;
-            int var15;
-            
-            for (var15 = var3[var5] + var8; var14 != var15; var14 += var8)
-            {
-                coord[var5] = par1ArrayOfInteger[var5] + var14;
-                coord[var6] = MathHelper.floor_double(par1ArrayOfInteger[var6] + var14 * var9);
-                coord[var7] = MathHelper.floor_double(par1ArrayOfInteger[var7] + var14 * var11);
-                final Block block = world.getBlock(coord[0], coord[1], coord[2]);
-                
-                if (!block.isAir(world, coord[0], coord[1], coord[2]) && !block.isLeaves(world, coord[0], coord[1], coord[2]))
-                {
-                    break;
-                }
-            }
-            
-            return var14 == var15 ? -1 : Math.abs(var14);
-        }
+        super(notify, type, trunkBlock, trunkMetadata);
+        deferShapes = !notify;
     }
     
     // Store the last seed that was used to generate a tree
@@ -106,7 +82,7 @@ public class WorldGenBigAutumnTree extends WorldGenAutumnTree
         // Store the seed
         lastSeed = rand.nextLong();
         
-        return generateTree(world, new Random(lastSeed), x, y, z);
+        return generateTree(world, lastSeed, x, y, z);
     }
     
     public boolean generate(World world, long seed, int x, int y, int z)
@@ -114,88 +90,107 @@ public class WorldGenBigAutumnTree extends WorldGenAutumnTree
         // Store the seed
         lastSeed = seed;
         
-        return generateTree(world, new Random(seed), x, y, z);
+        return generateTree(world, seed, x, y, z);
     }
     
-    private boolean generateTree(World world, Random rand, int x, int y, int z)
+    private boolean generateTree(World world, long seed, int x, int y, int z)
     {
-        this.world = world;
-        final long var6 = rand.nextLong();
-        rand.setSeed(var6);
-        basePos[0] = x;
-        basePos[1] = y;
-        basePos[2] = z;
+        if (deferShapes)
+            return TreeShapeScheduler.INSTANCE.schedule(world, this, seed, x, y, z);
         
-        if (heightLimit == 0)
-            heightLimit = 5 + rand.nextInt(heightLimitLimit);
+        return placeShape(world, computeShape(seed, x, y, z), x, y, z);
+    }
+    
+    private static Random shapeRandom(long seed)
+    {
+        final Random rand = new Random(seed);
+        rand.setSeed(rand.nextLong());
+        return rand;
+    }
+    
+    @Override
+    public Shape computeShape(long seed, int x, int y, int z)
+    {
+        final Random rand = shapeRandom(seed);
+        return layOutNodes(seed, rand, 5 + rand.nextInt(heightLimitLimit), x, y, z);
+    }
+    
+    @Override
+    public boolean placeShape(World world, Shape shape, int x, int y, int z)
+    {
+        final Growth growth = new Growth(world, x, y, z, shape.heightLimit);
         
-        if (!validTreeLocation())
+        if (!growth.validTreeLocation())
             return false;
         
-        generateLeafNodeList();
-        generateLeaves(type.getBlock(), type.getMetadata());
-        generateTrunk(trunkBlock, trunkMetadata);
-        generateLeafNodeBases(trunkBlock, trunkMetadata);
+        // Something is in the way, so the tree is shorter than its shape
+        if (growth.heightLimit != shape.heightLimit)
+        {
+            final Random rand = shapeRandom(shape.seed);
+            rand.nextInt(heightLimitLimit);
+            shape = layOutNodes(shape.seed, rand, growth.heightLimit, x, y, z);
+        }
+        
+        growth.generateLeafNodeList(shape);
+        growth.generateLeaves(leafBlock, leafMetadata);
+        growth.generateTrunk(trunkBlock, trunkMetadata);
+        growth.generateLeafNodeBases(trunkBlock, trunkMetadata);
         
         return true;
     }
     
-    private void generateLeafNode(int x, int y, int z, Block leaf, int leafMeta)
+    private static int trunkHeight(int heightLimit)
     {
-        int y1 = y;
-        
-        for (final int heightLimit = y + leafDistanceLimit; y1 < heightLimit; ++y1)
-        {
-            final float size = leafSize(y1 - y);
-            genTreeLayer(x, y1, z, size, (byte) 1, leaf, leafMeta);
-        }
+        final int height = (int) (heightLimit * heightAttenuation);
+        return height >= heightLimit ? heightLimit - 1 : height;
     }
     
-    private void generateLeafNodeBases(Block wood, int woodMeta)
+    private static float layerSize(int heightLimit, int par1)
     {
-        int var1 = 0;
-        final int var2 = leafNodes.length;
-        
-        for (final int[] var3 = new int[] { basePos[0], basePos[1], basePos[2] }; var1 < var2; ++var1)
+        if (par1 < heightLimit * 0.3D)
         {
-            final int[] var4 = leafNodes[var1];
-            final int[] var5 = new int[] { var4[0], var4[1], var4[2] };
-            var3[1] = var4[3];
-            final int var6 = var3[1] - basePos[1];
-            
-            if (leafNodeNeedsBase(var6))
-                placeBlockLine(var3, var5, wood, woodMeta);
+            return -1.618F;
+        }
+        else
+        {
+            final float var2 = heightLimit / 2.0F;
+            final float var3 = heightLimit / 2.0F - par1;
+            float var4;
+        
+            if (var3 == 0.0F)
+                var4 = var2;
+            else if (Math.abs(var3) >= var2)
+                var4 = 0.0F;
+            else
+                var4 = (float) Math.sqrt(Math.pow(Math.abs(var2), 2.0D)
+                        - Math.pow(Math.abs(var3), 2.0D));
+        
+            var4 *= 0.5F;
+            return var4;
         }
     }
     
-    private void generateLeafNodeList()
+    private static Shape layOutNodes(long seed, Random rand, int heightLimit, int x, int y, int z)
     {
-        height = (int) (heightLimit * heightAttenuation);
-        
-        if (height >= heightLimit)
-            height = heightLimit - 1;
+        final Shape shape = new Shape(seed, heightLimit);
+        final int[] basePos = new int[] { x, y, z };
+        final int height = trunkHeight(heightLimit);
         
         int var1 = (int) (1.382D + Math.pow(leafDensity * heightLimit / 13.0D, 2.0D));
         
         if (var1 < 1)
             var1 = 1;
         
-        final int[][] var2 = new int[var1 * heightLimit][4];
         int var3 = basePos[1] + heightLimit - leafDistanceLimit;
-        int var4 = 1;
         final int var5 = basePos[1] + height;
         int var6 = var3 - basePos[1];
-        var2[0][0] = basePos[0];
-        var2[0][1] = var3;
-        var2[0][2] = basePos[2];
-        var2[0][3] = var5;
         --var3;
         
         while (var6 >= 0)
         {
             int var7 = 0;
-            final float var8 = layerSize(var6);
-            
+            final float var8 = layerSize(heightLimit, var6);
+        
             if (var8 < 0.0F)
             {
                 --var3;
@@ -211,247 +206,332 @@ public class WorldGenBigAutumnTree extends WorldGenAutumnTree
                             + var9);
                     final int var16 = MathHelper.floor_double(var11 * Math.cos(var13) + basePos[2]
                             + var9);
-                    final int[] var17 = new int[] { var15, var3, var16 };
-                    final int[] var18 = new int[] { var15, var3 + leafDistanceLimit, var16 };
+                    final double var20 = Math.sqrt(Math.pow(Math.abs(basePos[0] - var15),
+                            2.0D) + Math.pow(Math.abs(basePos[2] - var16), 2.0D));
+                    final double var22 = var20 * branchSlope;
                     
-                    if (checkBlockLine(var17, var18) == -1)
-                    {
-                        final int[] var19 = new int[] { basePos[0], basePos[1], basePos[2] };
-                        final double var20 = Math.sqrt(Math.pow(Math.abs(basePos[0] - var17[0]),
-                                2.0D) + Math.pow(Math.abs(basePos[2] - var17[2]), 2.0D));
-                        final double var22 = var20 * branchSlope;
-                        
-                        if (var17[1] - var22 > var5)
-                        {
-                            var19[1] = var5;
-                        }
-                        else
-                        {
-                            var19[1] = (int) (var17[1] - var22);
-                        }
-                        
-                        if (checkBlockLine(var19, var17) == -1)
-                        {
-                            var2[var4][0] = var15;
-                            var2[var4][1] = var3;
-                            var2[var4][2] = var16;
-                            var2[var4][3] = var19[1];
-                            ++var4;
-                        }
-                    }
+                    if (var3 - var22 > var5)
+                        shape.addNode(var15, var3, var16, var5);
+                    else
+                        shape.addNode(var15, var3, var16, (int) (var3 - var22));
                 }
-                
+            
                 --var3;
                 --var6;
             }
         }
         
-        leafNodes = new int[var4][4];
-        System.arraycopy(var2, 0, leafNodes, 0, var4);
+        return shape;
     }
     
-    private void generateLeaves(Block leaf, int leafMeta)
+    @Override
+    public void setScale(double par1, double par3, double par5)
     {
-        int node = 0;
-        
-        for (final int length = leafNodes.length; node < length; ++node)
-        {
-            generateLeafNode(leafNodes[node][0], leafNodes[node][1], leafNodes[node][2], leaf, leafMeta);
-        }
+        // The shape is fixed so that one instance can be shared by every caller
     }
     
-    private void generateTrunk(Block wood, int woodMeta)
+    public static long getLastSeed()
     {
-        final int var1 = basePos[0];
-        final int var2 = basePos[1];
-        final int var3 = basePos[1] + height;
-        final int var4 = basePos[2];
-        final int[] var5 = new int[] { var1, var2, var4 };
-        final int[] var6 = new int[] { var1, var3, var4 };
-        placeBlockLine(var5, var6, wood, woodMeta);
+        return lastSeed;
     }
     
-    private void genTreeLayer(int x, int y, int z, float size, byte par5, Block leafBlock, int leafBlockMeta)
+    /**
+     * The state of a single tree while it is being grown. Kept apart from the
+     * generator so that one generator can be shared between callers.
+     */
+    private class Growth
     {
-        final int var7 = (int) (size + 0.618D);
-        final byte var8 = otherCoordPairs[par5];
-        final byte var9 = otherCoordPairs[par5 + 3];
-        final int[] var10 = new int[] { x, y, z };
-        final int[] var11 = new int[] { 0, 0, 0 };
-        int var12 = -var7;
-        int var13 = -var7;
+        private final World  world;
+        private final int[]  basePos;
+        private int          heightLimit;
+        private int          height;
+        private int[][]      leafNodes;
+        
+        Growth(World world, int x, int y, int z, int heightLimit)
+        {
+            this.world = world;
+            basePos = new int[] { x, y, z };
+            this.heightLimit = heightLimit;
+        }
         
-        for (var11[par5] = var10[par5]; var12 <= var7; ++var12)
+        private int checkBlockLine(int[] par1ArrayOfInteger, int[] par2ArrayOfInteger)
         {
-            var11[var8] = var10[var8] + var12;
-            var13 = -var7;
+            final int[] var3 = new int[] { 0, 0, 0 };
+            byte var4 = 0;
+            byte var5;
             
-            while (var13 <= var7)
+            for (var5 = 0; var4 < 3; ++var4)
             {
-                final double var15 = Math.pow(Math.abs(var12) + 0.5D, 2.0D) + Math.pow(Math.abs(var13) + 0.5D, 2.0D);
-                
-                if (var15 > size * size)
-                {
-                    ++var13;
-                }
+                var3[var4] = par2ArrayOfInteger[var4] - par1ArrayOfInteger[var4];
+            
+                if (Math.abs(var3[var4]) > Math.abs(var3[var5]))
+                    var5 = var4;
+            }
+            
+            if (var3[var5] == 0)
+            {
+                return -1;
+            }
+            else
+            {
+                final byte var6 = otherCoordPairs[var5];
+                final byte var7 = otherCoordPairs[var5 + 3];
+                byte var8;
+            
+                if (var3[var5] > 0)
+                    var8 = 1;
                 else
+                    var8 = -1;
+            
+                final double var9 = (double) var3[var6] / (double) var3[var5];
+                final double var11 = (double) var3[var7] / (double) var3[var5];
+                final int[] coord = new int[] { 0, 0, 0 };
+                int var14 = 0;
+                int var15;
+            
+                for (var15 = var3[var5] + var8; var14 != var15; var14 += var8)
                 {
-                    var11[var9] = var10[var9] + var13;
-                    final Block block = world.getBlock(var11[0], var11[1], var11[2]);
-                    
-                    if (block != null && block.isLeaves(world, var11[0], var11[1], var11[2]))
-                    {
-                        ++var13;
-                    }
-                    else
+                    coord[var5] = par1ArrayOfInteger[var5] + var14;
+                    coord[var6] = MathHelper.floor_double(par1ArrayOfInteger[var6] + var14 * var9);
+                    coord[var7] = MathHelper.floor_double(par1ArrayOfInteger[var7] + var14 * var11);
+                    final Block block = world.getBlock(coord[0], coord[1], coord[2]);
+                
+                    if (!block.isAir(world, coord[0], coord[1], coord[2]) && !block.isLeaves(world, coord[0], coord[1], coord[2]))
                     {
-                        if (block == null || block.canBeReplacedByLeaves(world, var11[0], var11[1], var11[2]))
-                        {
-                            setBlockAndNotifyAdequately(world, var11[0], var11[1], var11[2], leafBlock, leafBlockMeta);
-                        }
-                        
-                        ++var13;
+                        break;
                     }
                 }
+            
+                return var14 == var15 ? -1 : Math.abs(var14);
             }
         }
-    }
-    
-    private float layerSize(int par1)
-    {
-        if (par1 < heightLimit * 0.3D)
+        
+        private void generateLeafNode(int x, int y, int z, Block leaf, int leafMeta)
         {
-            return -1.618F;
+            int y1 = y;
+            
+            for (final int heightLimit = y + leafDistanceLimit; y1 < heightLimit; ++y1)
+            {
+                final float size = leafSize(y1 - y);
+                genTreeLayer(x, y1, z, size, (byte) 1, leaf, leafMeta);
+            }
         }
-        else
+        
+        private void generateLeafNodeBases(Block wood, int woodMeta)
         {
-            final float var2 = heightLimit / 2.0F;
-            final float var3 = heightLimit / 2.0F - par1;
-            float var4;
+            int var1 = 0;
+            final int var2 = leafNodes.length;
             
-            if (var3 == 0.0F)
-                var4 = var2;
-            else if (Math.abs(var3) >= var2)
-                var4 = 0.0F;
-            else
-                var4 = (float) Math.sqrt(Math.pow(Math.abs(var2), 2.0D)
-                        - Math.pow(Math.abs(var3), 2.0D));
+            for (final int[] var3 = new int[] { basePos[0], basePos[1], basePos[2] }; var1 < var2; ++var1)
+            {
+                final int[] var4 = leafNodes[var1];
+                final int[] var5 = new int[] { var4[0], var4[1], var4[2] };
+                var3[1] = var4[3];
+                final int var6 = var3[1] - basePos[1];
             
-            var4 *= 0.5F;
-            return var4;
+                if (leafNodeNeedsBase(var6))
+                    placeBlockLine(var3, var5, wood, woodMeta);
+            }
         }
-    }
-    
-    private boolean leafNodeNeedsBase(int par1)
-    {
-        return par1 >= heightLimit * 0.2D;
-    }
-    
-    float leafSize(int par1)
-    {
-        return par1 >= 0 && par1 < leafDistanceLimit ? par1 != 0 && par1 != leafDistanceLimit - 1 ? 3.0F : 2.0F : -1.0F;
-    }
-    
-    private void placeBlockLine(int[] par1ArrayOfInteger, int[] par2ArrayOfInteger, Block wood, int woodMeta)
-    {
-        final int[] var4 = new int[] { 0, 0, 0 };
-        byte var5 = 0;
-        byte var6;
         
-        for (var6 = 0; var5 < 3; ++var5)
+        private void generateLeafNodeList(Shape shape)
         {
-            var4[var5] = par2ArrayOfInteger[var5] - par1ArrayOfInteger[var5];
+            height = trunkHeight(heightLimit);
+            
+            final int[][] var2 = new int[shape.size / 4 + 1][4];
+            final int var3 = basePos[1] + heightLimit - leafDistanceLimit;
+            int var4 = 1;
+            final int var5 = basePos[1] + height;
+            var2[0][0] = basePos[0];
+            var2[0][1] = var3;
+            var2[0][2] = basePos[2];
+            var2[0][3] = var5;
             
-            if (Math.abs(var4[var5]) > Math.abs(var4[var6]))
+            for (int node = 0; node < shape.size; node += 4)
             {
-                var6 = var5;
+                final int[] var17 = new int[] { shape.nodes[node], shape.nodes[node + 1], shape.nodes[node + 2] };
+                final int[] var18 = new int[] { var17[0], var17[1] + leafDistanceLimit, var17[2] };
+                
+                if (checkBlockLine(var17, var18) == -1)
+                {
+                    final int[] var19 = new int[] { basePos[0], shape.nodes[node + 3], basePos[2] };
+                    
+                    if (checkBlockLine(var19, var17) == -1)
+                    {
+                        var2[var4][0] = var17[0];
+                        var2[var4][1] = var17[1];
+                        var2[var4][2] = var17[2];
+                        var2[var4][3] = var19[1];
+                        ++var4;
+                    }
+                }
             }
+            
+            leafNodes = new int[var4][4];
+            System.arraycopy(var2, 0, leafNodes, 0, var4);
         }
         
-        if (var4[var6] != 0)
+        private void generateLeaves(Block leaf, int leafMeta)
         {
-            final byte var7 = otherCoordPairs[var6];
-            final byte var8 = otherCoordPairs[var6 + 3];
-            byte var9;
+            int node = 0;
             
-            if (var4[var6] > 0)
+            for (final int length = leafNodes.length; node < length; ++node)
             {
-                var9 = 1;
+                generateLeafNode(leafNodes[node][0], leafNodes[node][1], leafNodes[node][2], leaf, leafMeta);
             }
-            else
-            {
-                var9 = -1;
-            }
-            
-            final double var10 = (double) var4[var7] / (double) var4[var6];
-            final double var12 = (double) var4[var8] / (double) var4[var6];
-            final int[] var14 = new int[] { 0, 0, 0 };
-            int var15 = 0;
+        }
+        
+        private void generateTrunk(Block wood, int woodMeta)
+        {
+            final int var1 = basePos[0];
+            final int var2 = basePos[1];
+            final int var3 = basePos[1] + height;
+            final int var4 = basePos[2];
+            final int[] var5 = new int[] { var1, var2, var4 };
+            final int[] var6 = new int[] { var1, var3, var4 };
+            placeBlockLine(var5, var6, wood, woodMeta);
+        }
+        
+        private void genTreeLayer(int x, int y, int z, float size, byte par5, Block leafBlock, int leafBlockMeta)
+        {
+            final int var7 = (int) (size + 0.618D);
+            final byte var8 = otherCoordPairs[par5];
+            final byte var9 = otherCoordPairs[par5 + 3];
+            final int[] var10 = new int[] { x, y, z };
+            final int[] var11 = new int[] { 0, 0, 0 };
+            int var12 = -var7;
+            int var13 = -var7;
             
-            for (final int var16 = var4[var6] + var9; var15 != var16; var15 += var9)
+            for (var11[par5] = var10[par5]; var12 <= var7; ++var12)
             {
-                var14[var6] = MathHelper.floor_double(par1ArrayOfInteger[var6] + var15 + 0.5D);
-                var14[var7] = MathHelper.floor_double(par1ArrayOfInteger[var7] + var15 * var10 + 0.5D);
-                var14[var8] = MathHelper.floor_double(par1ArrayOfInteger[var8] + var15 * var12 + 0.5D);
-                byte woodMetaWithDirection = (byte) woodMeta;
-                final int var18 = Math.abs(var14[0] - par1ArrayOfInteger[0]);
-                final int var19 = Math.abs(var14[2] - par1ArrayOfInteger[2]);
-                final int var20 = Math.max(var18, var19);
+                var11[var8] = var10[var8] + var12;
+                var13 = -var7;
+            
+                while (var13 <= var7)
+                {
+                    final double var15 = Math.pow(Math.abs(var12) + 0.5D, 2.0D) + Math.pow(Math.abs(var13) + 0.5D, 2.0D);
                 
-                if (var20 > 0)
-                    if (var18 == var20)
+                    if (var15 > size * size)
                     {
-                        woodMetaWithDirection |= 4;
+                        ++var13;
                     }
-                    else if (var19 == var20)
+                    else
                     {
-                        woodMetaWithDirection |= 8;
+                        var11[var9] = var10[var9] + var13;
+                        final Block block = world.getBlock(var11[0], var11[1], var11[2]);
+                    
+                        if (block != null && block.isLeaves(world, var11[0], var11[1], var11[2]))
+                        {
+                            ++var13;
+                        }
+                        else
+                        {
+                            if (block == null || block.canBeReplacedByLeaves(world, var11[0], var11[1], var11[2]))
+                            {
+                                setBlockAndNotifyAdequately(world, var11[0], var11[1], var11[2], leafBlock, leafBlockMeta);
+                            }
+                        
+                            ++var13;
+                        }
                     }
-                
-                setBlockAndNotifyAdequately(world, var14[0], var14[1], var14[2], wood,
-                        woodMetaWithDirection);
+                }
             }
         }
-    }
-    
-    @Override
-    public void setScale(double par1, double par3, double par5)
-    {
-        heightLimitLimit = (int) (par1 * 12.0D);
         
-        if (par1 > 0.5D)
-            leafDistanceLimit = 5;
+        private boolean leafNodeNeedsBase(int par1)
+        {
+            return par1 >= heightLimit * 0.2D;
+        }
         
-        scaleWidth = par3;
-        leafDensity = par5;
-    }
-    
-    private boolean validTreeLocation()
-    {
-        final int[] var1 = new int[] { basePos[0], basePos[1], basePos[2] };
-        final int[] var2 = new int[] { basePos[0], basePos[1] + heightLimit - 1, basePos[2] };
-        final Block var3 = world.getBlock(basePos[0], basePos[1] - 1, basePos[2]);
+        float leafSize(int par1)
+        {
+            return par1 >= 0 && par1 < leafDistanceLimit ? par1 != 0 && par1 != leafDistanceLimit - 1 ? 3.0F : 2.0F : -1.0F;
+        }
         
-        if (!var3.equals(Blocks.grass) && !var3.equals(Blocks.dirt))
-            return false;
-        else
+        private void placeBlockLine(int[] par1ArrayOfInteger, int[] par2ArrayOfInteger, Block wood, int woodMeta)
+        {
+            final int[] var4 = new int[] { 0, 0, 0 };
+            byte var5 = 0;
+            byte var6;
+            
+            for (var6 = 0; var5 < 3; ++var5)
+            {
+                var4[var5] = par2ArrayOfInteger[var5] - par1ArrayOfInteger[var5];
+            
+                if (Math.abs(var4[var5]) > Math.abs(var4[var6]))
+                {
+                    var6 = var5;
+                }
+            }
+            
+            if (var4[var6] != 0)
+            {
+                final byte var7 = otherCoordPairs[var6];
+                final byte var8 = otherCoordPairs[var6 + 3];
+                byte var9;
+            
+                if (var4[var6] > 0)
+                {
+                    var9 = 1;
+                }
+                else
+                {
+                    var9 = -1;
+                }
+            
+                final double var10 = (double) var4[var7] / (double) var4[var6];
+                final double var12 = (double) var4[var8] / (double) var4[var6];
+                final int[] var14 = new int[] { 0, 0, 0 };
+                int var15 = 0;
+            
+                for (final int var16 = var4[var6] + var9; var15 != var16; var15 += var9)
+                {
+                    var14[var6] = MathHelper.floor_double(par1ArrayOfInteger[var6] + var15 + 0.5D);
+                    var14[var7] = MathHelper.floor_double(par1ArrayOfInteger[var7] + var15 * var10 + 0.5D);
+                    var14[var8] = MathHelper.floor_double(par1ArrayOfInteger[var8] + var15 * var12 + 0.5D);
+                    byte woodMetaWithDirection = (byte) woodMeta;
+                    final int var18 = Math.abs(var14[0] - par1ArrayOfInteger[0]);
+                    final int var19 = Math.abs(var14[2] - par1ArrayOfInteger[2]);
+                    final int var20 = Math.max(var18, var19);
+                
+                    if (var20 > 0)
+                        if (var18 == var20)
+                        {
+                            woodMetaWithDirection |= 4;
+                        }
+                        else if (var19 == var20)
+                        {
+                            woodMetaWithDirection |= 8;
+                        }
+                
+                    setBlockAndNotifyAdequately(world, var14[0], var14[1], var14[2], wood,
+                            woodMetaWithDirection);
+                }
+            }
+        }
+        
+        private boolean validTreeLocation()
         {
-            final int var4 = checkBlockLine(var1, var2);
+            final int[] var1 = new int[] { basePos[0], basePos[1], basePos[2] };
+            final int[] var2 = new int[] { basePos[0], basePos[1] + heightLimit - 1, basePos[2] };
+            final Block var3 = world.getBlock(basePos[0], basePos[1] - 1, basePos[2]);
             
-            if (var4 == -1)
-                return true;
-            else if (var4 < 6)
+            if (!var3.equals(Blocks.grass) && !var3.equals(Blocks.dirt))
                 return false;
             else
             {
-                heightLimit = var4;
-                return true;
+                final int var4 = checkBlockLine(var1, var2);
+            
+                if (var4 == -1)
+                    return true;
+                else if (var4 < 6)
+                    return false;
+                else
+                {
+                    heightLimit = var4;
+                    return true;
+                }
             }
         }
     }
-    
-    public static long getLastSeed()
-    {
-        return lastSeed;
-    }
 }
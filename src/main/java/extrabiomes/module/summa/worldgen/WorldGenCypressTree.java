@@ -57,11 +57,7 @@ public class WorldGenCypressTree extends WorldGenNewTreeBase
         // Store the seed
         lastSeed = rand.nextLong();
         
-        // Make sure we can generate the tree
-        if (!checkTree(world, new Random(lastSeed), x, y, z))
-            return false;
-        
-        return generateTree(world, new Random(lastSeed), x, y, z);
+        return growTree(world, new Random(lastSeed), x, y, z);
     }
     
     public boolean generate(World world, long seed, int x, int y, int z)
@@ -69,11 +65,7 @@ public class WorldGenCypressTree extends WorldGenNewTreeBase
         // Store the seed
         lastSeed = seed;
         
-        // Make sure we can generate the tree
-        if (!checkTree(world, new Random(lastSeed), x, y, z))
-            return false;
-        
-        return generateTree(world, new Random(seed), x, y, z);
+        return growTree(world, new Random(seed), x, y, z);
     }
     
     //Variables to control the generation
@@ -84,7 +76,8 @@ public class WorldGenCypressTree extends WorldGenNewTreeBase
     private static final double CANOPY_RADIUS          = 1.5D;
     private static final double CANOPY_RADIUS_VARIANCE = 1.0D;
     
-    private boolean checkTree(World world, Random rand, int x, int y, int z)
+    @Override
+    protected boolean planTree(World world, Random rand, int x, int y, int z)
     {
         final Block below = world.getBlock(x, y - 1, z);
         final int height = rand.nextInt(BASE_HEIGHT_VARIANCE) + BASE_HEIGHT;
@@ -108,8 +101,9 @@ public class WorldGenCypressTree extends WorldGenNewTreeBase
         // See if we can generate the tree
         if (!check1x1Trunk(x, y, z, height, TreeBlock.TRUNK.get(), world))
             return false;
+        place1x1Trunk(x, y, z, height, TreeBlock.TRUNK.get(), world);
         
-        // Check the leaves the leaves
+        // Generate the leaves
         for (int layer = 0; layer < 4 + height - start; layer++)
         {
             double offset = factor * layer;
@@ -118,51 +112,12 @@ public class WorldGenCypressTree extends WorldGenNewTreeBase
             double r1 = radius * ((0.00142 * offset3) - (0.0517 * offset2) + (0.5085 * offset) - 0.4611);
             if (!checkLeavesCircle(x, layer + start + y, z, r1, world))
                 return false;
+            placeLeavesCircle(x, layer + start + y, z, r1, TreeBlock.LEAVES.get(), world);
         }
         
         return true;
     }
     
-    private boolean generateTree(World world, Random rand, int x, int y, int z)
-    {
-        final Block below = world.getBlock(x, y - 1, z);
-        final int height = rand.nextInt(BASE_HEIGHT_VARIANCE) + BASE_HEIGHT;
-        int start = CANOPY_START_HEIGHT + (int) ((rand.nextDouble() * CANOPY_START_VARIANCE) - (CANOPY_START_VARIANCE / 2));
-        double radius = (CANOPY_RADIUS + ((rand.nextDouble() * CANOPY_RADIUS_VARIANCE) + (CANOPY_RADIUS_VARIANCE / 2)));
-        double factor = 16.0D / (2 + height - start);
-        final int chunkCheck = (int) Math.ceil(radius) + 1;
-        
-        // Make sure that a tree can grow on the soil
-        if (!TreeSoilRegistry.isValidSoil(below) || y >= 256 - height - 4)
-            return false;
-        
-        // Make sure that the tree can fit in the world
-        if (y < 1 || y + height + 4 > 256)
-            return false;
-        
-        // Make sure the chunks are loaded
-        if (!world.checkChunksExist(x - chunkCheck, y - chunkCheck, z - chunkCheck, x + chunkCheck, y + chunkCheck, z + chunkCheck))
-            return false;
-        
-        // See if we can generate the tree
-        if (place1x1Trunk(x, y, z, height, TreeBlock.TRUNK.get(), world))
-        {
-            // Generate the leaves
-            for (int layer = 0; layer < 4 + height - start; layer++)
-            {
-                double offset = factor * layer;
-                double offset2 = offset * offset;
-                double offset3 = offset2 * offset;
-                double r1 = radius * ((0.00142 * offset3) - (0.0517 * offset2) + (0.5085 * offset) - 0.4611);
-                placeLeavesCircle(x, layer + start + y, z, r1, TreeBlock.LEAVES.get(), world);
-            }
-            
-            return true;
-        }
-        
-        return false;
-    }
-    
     public static long getLastSeed()
     {
         return lastSeed;
@@ -17,7 +17,7 @@ import net.minecraft.world.gen.feature.WorldGenerator;
 import extrabiomes.lib.Element;
 import extrabiomes.module.summa.TreeSoilRegistry;
 
-public class WorldGenFirTreeHuge extends WorldGenAbstractTree
+public class WorldGenFirTreeHuge extends WorldGenAbstractTree implements IShapedTree<WorldGenFirTreeHuge.Shape>
 {
     
     private enum TreeBlock
@@ -78,9 +78,26 @@ public class WorldGenFirTreeHuge extends WorldGenAbstractTree
         }
     }
     
+    /**
+     * The sizes of a huge fir: its height, the bare part of the trunk, and
+     * the radius of each layer of the canopy from the top down.
+     */
+    static final class Shape
+    {
+        int   height;
+        int   bareHeight;
+        int   maxRadius;
+        int[] layerRadii;
+        int   trunkHeight;
+    }
+    
+    // Trees grown during world generation have their shape worked out off thread
+    private final boolean deferShapes;
+    
     public WorldGenFirTreeHuge(boolean doNotify)
     {
         super(doNotify);
+        deferShapes = !doNotify;
     }
     
     // Store the last seed that was used to generate a tree
@@ -92,7 +109,7 @@ public class WorldGenFirTreeHuge extends WorldGenAbstractTree
         // Store the seed
         lastSeed = rand.nextLong();
         
-        return generateTree(world, new Random(lastSeed), x, y, z);
+        return generateTree(world, lastSeed, x, y, z);
     }
     
     public boolean generate(World world, long seed, int x, int y, int z)
@@ -100,15 +117,65 @@ public class WorldGenFirTreeHuge extends WorldGenAbstractTree
         // Store the seed
         lastSeed = seed;
         
-        return generateTree(world, new Random(seed), x, y, z);
+        return generateTree(world, seed, x, y, z);
     }
     
-    private boolean generateTree(World world, Random rand, int x, int y, int z)
+    private boolean generateTree(World world, long seed, int x, int y, int z)
     {
-        final int height = rand.nextInt(16) + 32;
-        final int j = 1 + rand.nextInt(12);
+        if (deferShapes)
+            return TreeShapeScheduler.INSTANCE.schedule(world, this, seed, x, y, z);
+        
+        return placeShape(world, computeShape(seed, x, y, z), x, y, z);
+    }
+    
+    @Override
+    public Shape computeShape(long seed, int x, int y, int z)
+    {
+        final Random rand = new Random(seed);
+        final Shape shape = new Shape();
+        shape.height = rand.nextInt(16) + 32;
+        shape.bareHeight = 1 + rand.nextInt(12);
+        shape.maxRadius = 2 + rand.nextInt(9);
+        
+        final int k = shape.height - shape.bareHeight;
+        final int l = shape.maxRadius;
+        shape.layerRadii = new int[k + 1];
+        
+        int l1 = rand.nextInt(2);
+        int j2 = 1;
+        boolean flag1 = false;
+        
+        for (int i3 = 0; i3 <= k; i3++)
+        {
+            shape.layerRadii[i3] = l1;
+            
+            if (l1 >= j2)
+            {
+                l1 = flag1 ? 1 : 0;
+                flag1 = true;
+                
+                if (++j2 > l)
+                {
+                    j2 = l;
+                }
+            }
+            else
+            {
+                l1++;
+            }
+        }
+        
+        shape.trunkHeight = shape.height - rand.nextInt(3);
+        return shape;
+    }
+    
+    @Override
+    public boolean placeShape(World world, Shape shape, int x, int y, int z)
+    {
+        final int height = shape.height;
+        final int j = shape.bareHeight;
         final int k = height - j;
-        final int l = 2 + rand.nextInt(9);
+        final int l = shape.maxRadius;
         
         if (y < 1 || y + height + 1 > 256)
             return false;
@@ -153,13 +220,11 @@ public class WorldGenFirTreeHuge extends WorldGenAbstractTree
         world.setBlock(x - 1, y - 1, z, Blocks.dirt);
         world.setBlock(x, y - 1, z - 1, Blocks.dirt);
         world.setBlock(x - 1, y - 1, z - 1, Blocks.dirt);
-        int l1 = rand.nextInt(2);
-        int j2 = 1;
-        boolean flag1 = false;
         
         for (int i3 = 0; i3 <= k; i3++)
         {
             final int k3 = y + height - i3;
+            final int l1 = shape.layerRadii[i3];
             
             for (int i4 = x - l1; i4 <= x + l1; i4++)
             {
@@ -196,26 +261,9 @@ public class WorldGenFirTreeHuge extends WorldGenAbstractTree
                     }
                 }
             }
-            
-            if (l1 >= j2)
-            {
-                l1 = flag1 ? 1 : 0;
-                flag1 = true;
-                
-                if (++j2 > l)
-                {
-                    j2 = l;
-                }
-            }
-            else
-            {
-                l1++;
-            }
         }
         
-        final int j3 = rand.nextInt(3);
-        
-        for (int l3 = 0; l3 < height - j3; l3++)
+        for (int l3 = 0; l3 < shape.trunkHeight; l3++)
         {
             final Block block = world.getBlock(x, y + l3, z);
             
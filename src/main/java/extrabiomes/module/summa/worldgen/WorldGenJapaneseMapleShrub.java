@@ -63,7 +63,7 @@ public class WorldGenJapaneseMapleShrub extends WorldGenNewTreeBase
         // Make sure the tree can generate
         //if(!checkTree(world, new Random(lastSeed), x, y, z)) return false;
         
-        return generateTree(world, new Random(lastSeed), x, y, z);
+        return growTree(world, new Random(lastSeed), x, y, z);
     }
     
     public boolean generate(World world, long seed, int x, int y, int z)
@@ -74,7 +74,7 @@ public class WorldGenJapaneseMapleShrub extends WorldGenNewTreeBase
         // Make sure the tree can generate
         //if(!checkTree(world, new Random(lastSeed), x, y, z)) return false;
         
-        return generateTree(world, new Random(seed), x, y, z);
+        return growTree(world, new Random(seed), x, y, z);
     }
     
     //Variables to control the generation
@@ -88,7 +88,8 @@ public class WorldGenJapaneseMapleShrub extends WorldGenNewTreeBase
                                                                
     static int                  last                  = 0;
     
-    private boolean generateTree(World world, Random rand, int x, int y, int z)
+    @Override
+    protected boolean planTree(World world, Random rand, int x, int y, int z)
     {
         final int height = rand.nextInt(BASE_HEIGHT_VARIANCE) + BASE_HEIGHT;
         final double radius = (CANOPY_WIDTH + rand.nextInt(CANOPY_WIDTH_VARIANCE)) / 2.0D;
@@ -300,7 +301,7 @@ public class WorldGenJapaneseMapleShrub extends WorldGenNewTreeBase
         {
             for (int x1 = (int) -radius; x1 < (radius + 1); x1++)
             {
-                final Block block = world.getBlock((int) (x1 + x), (int) y, (int) (z1 + z));
+                final Block block = getBlock(world, (int) (x1 + x), (int) y, (int) (z1 + z));
                 
                 if ((((x1 * x1) + (z1 * z1)) <= maxDist) && (((x1 * x1) + (z1 * z1)) >= minDist))
                 {
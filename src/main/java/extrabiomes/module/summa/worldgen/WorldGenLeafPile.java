@@ -31,15 +31,22 @@ class WorldGenLeafPile extends WorldGenerator
             b = world.getBlock(x, y, z);
         }
         
+        final ChunkSurface surface = ChunkSurface.get(world);
         for (int j = 0; j < 128; j++)
         {
             final int x1 = x + rand.nextInt(8) - rand.nextInt(8);
             final int y1 = y + rand.nextInt(4) - rand.nextInt(4);
             final int z1 = z + rand.nextInt(8) - rand.nextInt(8);
             
+            if (surface != null && !surface.isOpenGround(x1, y1, z1))
+                continue;
+            
             if (world.isAirBlock(x1, y1, z1)
                     && block.canBlockStay(world, x1, y1, z1))
+            {
                 world.setBlock(x1, y1, z1, block);
+                ChunkSurface.countPlacement();
+            }
         }
         
         return true;
@@ -6,6 +6,7 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Arrays;
 import java.util.Random;
 
 import net.minecraft.block.Block;
@@ -16,7 +17,7 @@ import net.minecraft.world.gen.feature.WorldGenerator;
 import extrabiomes.lib.Element;
 import extrabiomes.module.summa.TreeSoilRegistry;
 
-public class WorldGenLegendOak extends WorldGenerator
+public class WorldGenLegendOak extends WorldGenerator implements IShapedTree<WorldGenLegendOak.Shape>
 {
     
     enum Acuteness
@@ -66,26 +67,103 @@ public class WorldGenLegendOak extends WorldGenerator
         
     }
     
+    /**
+     * The branches of a legend oak in the order they grow. Each entry is
+     * either a branch block or a leaf node grown around a branch block.
+     */
+    static final class Shape
+    {
+        static final int BRANCH    = 0;
+        static final int LEAF_NODE = 1;
+        
+        final int        height;
+        int[]            parts     = new int[256];
+        int              length    = 0;
+        
+        Shape(int height)
+        {
+            this.height = height;
+        }
+        
+        void add(int type, int x, int y, int z)
+        {
+            if (length + 4 > parts.length)
+            {
+                parts = Arrays.copyOf(parts, parts.length * 2);
+            }
+            parts[length++] = type;
+            parts[length++] = x;
+            parts[length++] = y;
+            parts[length++] = z;
+        }
+    }
+    
+    // Trees grown during world generation have their shape worked out off thread
+    private final boolean deferShapes;
+    
     public WorldGenLegendOak(boolean doNotify)
     {
         super(doNotify);
+        deferShapes = !doNotify;
     }
     
+    // Store the last seed that was used to generate a tree
+    private static long lastSeed = 0;
+    
     @Override
     public boolean generate(World world, Random random, int x, int y, int z)
     {
+        // Store the seed
+        lastSeed = random.nextLong();
         
-        if (!TreeSoilRegistry.isValidSoil(world.getBlock(x, y - 1, z)))
-            return false;
+        return generateTree(world, lastSeed, x, y, z);
+    }
+    
+    public boolean generate(World world, long seed, int x, int y, int z)
+    {
+        // Store the seed
+        lastSeed = seed;
         
+        return generateTree(world, seed, x, y, z);
+    }
+    
+    private boolean generateTree(World world, long seed, int x, int y, int z)
+    {
+        if (deferShapes)
+            return TreeShapeScheduler.INSTANCE.schedule(world, this, seed, x, y, z);
+        
+        return placeShape(world, computeShape(seed, x, y, z), x, y, z);
+    }
+    
+    @Override
+    public Shape computeShape(long seed, int x, int y, int z)
+    {
+        final Random random = new Random(seed);
         final int height = random.nextInt(4) + 3;
         final int size = 15 + random.nextInt(25);
+        final Shape shape = new Shape(height);
+        
+        growLeaves(shape, random, x, y, z, height, 0, size);
+        
+        return shape;
+    }
+    
+    @Override
+    public boolean placeShape(World world, Shape shape, int x, int y, int z)
+    {
+        if (!TreeSoilRegistry.isValidSoil(world.getBlock(x, y - 1, z)))
+            return false;
         
-        growTree(world, random, x, y, z, height, 0, size);
+        growTree(world, shape, x, y, z);
         
         return true;
     }
     
+    public static long getLastSeed()
+    {
+        return lastSeed;
+    }
+    
     private void growLeafNode(World world, int x, int y, int z)
     {
         for (int xOffset = -3; xOffset <= 3; xOffset++)
@@ -111,7 +189,7 @@ public class WorldGenLegendOak extends WorldGenerator
             }
     }
     
-    protected void growLeaves(World world, Random random, int x, int y, int z, int height,
+    protected void growLeaves(Shape shape, Random random, int x, int y, int z, int height,
             int leaflessHeight, int leafWidth)
     {
         for (final BendDirection xDirection : BendDirection.values())
@@ -119,26 +197,36 @@ public class WorldGenLegendOak extends WorldGenerator
             {
                 if (xDirection == BendDirection.STRAIGHT && zDirection == BendDirection.STRAIGHT)
                     continue;
-                primary(world, random, leafWidth, xDirection, zDirection, x, y + height, z);
-                inside(world, random, leafWidth, xDirection, zDirection, x, y + height, z);
-                insideSmall(world, random, leafWidth, xDirection, zDirection, x, y + height, z);
+                primary(shape, random, leafWidth, xDirection, zDirection, x, y + height, z);
+                inside(shape, random, leafWidth, xDirection, zDirection, x, y + height, z);
+                insideSmall(shape, random, leafWidth, xDirection, zDirection, x, y + height, z);
             }
     }
     
-    protected void growTree(World world, Random random, int x, int y, int z, int height, int leaflessHeight, int leafWidth)
+    protected void growTree(World world, Shape shape, int x, int y, int z)
     {
         world.setBlock(x, y - 1, z, Blocks.dirt);
         world.setBlock(x - 1, y - 1, z, Blocks.dirt);
         world.setBlock(x, y - 1, z - 1, Blocks.dirt);
         world.setBlock(x - 1, y - 1, z - 1, Blocks.dirt);
         
-        growTrunk(world, random, x, y, z, height);
+        growTrunk(world, x, y, z, shape.height);
         
-        growLeaves(world, random, x, y, z, height, leaflessHeight, leafWidth);
+        for (int part = 0; part < shape.length; part += 4)
+        {
+            final int x1 = shape.parts[part + 1];
+            final int y1 = shape.parts[part + 2];
+            final int z1 = shape.parts[part + 3];
+            
+            if (shape.parts[part] == Shape.BRANCH)
+                setBlockAndNotifyAdequately(world, x1, y1, z1, TreeBlock.BRANCH.getBlock(), TreeBlock.BRANCH.getMetadata());
+            else
+                growLeafNode(world, x1, y1, z1);
+        }
         
     }
     
-    protected void growTrunk(World world, Random random, int x, int y, int z, int height)
+    protected void growTrunk(World world, int x, int y, int z, int height)
     {
         
         for (int yOffset = 0; yOffset < height + 1; yOffset++)
@@ -152,14 +240,14 @@ public class WorldGenLegendOak extends WorldGenerator
         
     }
     
-    private void inside(World world, Random random, int size, BendDirection xDirection, BendDirection zDirection, int x, int y, int z)
+    private void inside(Shape shape, Random random, int size, BendDirection xDirection, BendDirection zDirection, int x, int y, int z)
     {
         int length = 0;
         while (length < 2 * size / 3)
         {
-            setBlockAndNotifyAdequately(world, x, y, z, TreeBlock.BRANCH.getBlock(), TreeBlock.BRANCH.getMetadata());
+            shape.add(Shape.BRANCH, x, y, z);
             if (random.nextInt(3) == 0 || length == 2 * size / 3 - 1)
-                growLeafNode(world, x, y, z);
+                shape.add(Shape.LEAF_NODE, x, y, z);
             switch (xDirection)
             {
                 case STRAIGHT:
@@ -183,21 +271,20 @@ public class WorldGenLegendOak extends WorldGenerator
                     z -= random.nextInt(2);
             }
             if (random.nextInt(6) == 0 && length > size / 3)
-                secondary(world, random, size / 3 - length / 3, xDirection, zDirection, x, y, z);
+                secondary(shape, random, size / 3 - length / 3, xDirection, zDirection, x, y, z);
             y++;
             length++;
         }
     }
     
-    private void insideSmall(World world, Random random, int size, BendDirection xDirection, BendDirection zDirection, int x, int y, int z)
+    private void insideSmall(Shape shape, Random random, int size, BendDirection xDirection, BendDirection zDirection, int x, int y, int z)
     {
         int length = 0;
         while (length < size / 3)
         {
-            setBlockAndNotifyAdequately(world, x, y, z, TreeBlock.BRANCH.getBlock(),
-                    TreeBlock.BRANCH.getMetadata());
+            shape.add(Shape.BRANCH, x, y, z);
             if (random.nextInt(3) == 0 || length == size / 3 - 1)
-                growLeafNode(world, x, y, z);
+                shape.add(Shape.LEAF_NODE, x, y, z);
             switch (xDirection)
             {
                 case STRAIGHT:
@@ -221,13 +308,13 @@ public class WorldGenLegendOak extends WorldGenerator
                     z -= random.nextInt(2);
             }
             if (random.nextInt(6) == 0 && length > size / 6)
-                secondary(world, random, size / 6 - length / 6, xDirection, zDirection, x, y, z);
+                secondary(shape, random, size / 6 - length / 6, xDirection, zDirection, x, y, z);
             y++;
             length++;
         }
     }
     
-    private void primary(World world, Random random, int size, BendDirection xDirection, BendDirection zDirection, int x, int y, int z)
+    private void primary(Shape shape, Random random, int size, BendDirection xDirection, BendDirection zDirection, int x, int y, int z)
     {
         Acuteness acuteness = Acuteness.LOOSE;
         int length = 0;
@@ -254,10 +341,9 @@ public class WorldGenLegendOak extends WorldGenerator
                 case TIGHT:
                     y++;
             }
-            setBlockAndNotifyAdequately(world, x, y, z, TreeBlock.BRANCH.getBlock(),
-                    TreeBlock.BRANCH.getMetadata());
+            shape.add(Shape.BRANCH, x, y, z);
             if (random.nextInt(3) == 0 || length == size - 1)
-                growLeafNode(world, x, y, z);
+                shape.add(Shape.LEAF_NODE, x, y, z);
             switch (xDirection)
             {
                 case STRAIGHT:
@@ -285,12 +371,12 @@ public class WorldGenLegendOak extends WorldGenerator
             if (length == 2 * size / 3)
                 acuteness = Acuteness.TIGHT;
             if (random.nextInt(4) == 0)
-                secondary(world, random, size / 2 - length / 2, xDirection, zDirection, x, y, z);
+                secondary(shape, random, size / 2 - length / 2, xDirection, zDirection, x, y, z);
             length++;
         }
     }
     
-    private void secondary(World world, Random random, int size, BendDirection xDirection, BendDirection zDirection, int x, int y, int z)
+    private void secondary(Shape shape, Random random, int size, BendDirection xDirection, BendDirection zDirection, int x, int y, int z)
     {
         int length = 0;
         for (int branch = 0; branch < 2; branch++)
@@ -302,10 +388,9 @@ public class WorldGenLegendOak extends WorldGenerator
             {
                 if (random.nextInt(2) == 0)
                     y1++;
-                setBlockAndNotifyAdequately(world, x1, y1, z1, TreeBlock.BRANCH.getBlock(),
-                        TreeBlock.BRANCH.getMetadata());
+                shape.add(Shape.BRANCH, x1, y1, z1);
                 if (random.nextInt(4) == 0 || length == size - 1)
-                    growLeafNode(world, x1, y1, z1);
+                    shape.add(Shape.LEAF_NODE, x1, y1, z1);
                 if (zDirection == BendDirection.STRAIGHT)
                 {
                     if (xDirection == BendDirection.RIGHT)
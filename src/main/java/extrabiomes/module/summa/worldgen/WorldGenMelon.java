@@ -19,16 +19,23 @@ class WorldGenMelon extends WorldGenerator
     public boolean generate(World world, Random rand, int x, int y,
             int z)
     {
+        final ChunkSurface surface = ChunkSurface.get(world);
         for (int i = 0; i < 64; ++i)
         {
             final int x1 = x + rand.nextInt(8) - rand.nextInt(8);
             final int y1 = y + rand.nextInt(4) - rand.nextInt(4);
             final int z1 = z + rand.nextInt(8) - rand.nextInt(8);
             
+            if (surface != null && !surface.isOpenGround(x1, y1, z1))
+                continue;
+            
             if (world.isAirBlock(x1, y1, z1)
                     && world.getBlock(x1, y1 - 1, z1) == Blocks.grass
                     && Blocks.pumpkin.canPlaceBlockAt(world, x1, y1, z1))
+            {
                 world.setBlock(x1, y1, z1, Blocks.melon_block);
+                ChunkSurface.countPlacement();
+            }
         }
         
         return true;
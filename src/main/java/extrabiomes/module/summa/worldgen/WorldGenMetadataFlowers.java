@@ -28,18 +28,23 @@ class WorldGenMetadataFlowers extends WorldGenerator
     @Override
     public boolean generate(World world, Random rand, int x, int y, int z)
     {
+        final ChunkSurface surface = ChunkSurface.get(world);
         for (int var6 = 0; var6 < 64; ++var6)
         {
             final int x1 = x + rand.nextInt(8) - rand.nextInt(8);
             final int y1 = y + rand.nextInt(4) - rand.nextInt(4);
             final int z1 = z + rand.nextInt(8) - rand.nextInt(8);
             
+            if (surface != null && !surface.isOnGround(x1, y1, z1))
+                continue;
+            
             final boolean isAir = world.isAirBlock(x1, y1, z1);
             final boolean isSnow = (world.getBlock(x1, y1, z) == Blocks.snow);
             
             try {
 	            if ((isAir || isSnow) && block.canBlockStay(world, x1, y1, z1)) {
 	                world.setBlock(x1, y1, z1, block, metadata, 2);
+	                ChunkSurface.countPlacement();
 	            }
             } catch (Exception e) {
             	LogHelper.severe("We stopped a crash in the flower generator.");
@@ -1,5 +1,6 @@
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Arrays;
 import java.util.Random;
 
 import net.minecraft.block.Block;
@@ -11,7 +12,7 @@ import net.minecraft.world.gen.feature.WorldGenerator;
 import extrabiomes.lib.Element;
 import extrabiomes.module.summa.TreeSoilRegistry;
 
-public class WorldGenNewRedwood extends WorldGenAbstractTree
+public class WorldGenNewRedwood extends WorldGenAbstractTree implements IShapedTree<WorldGenNewRedwood.Shape>
 {
 
     private enum TreeBlock
@@ -62,9 +63,41 @@ public class WorldGenNewRedwood extends WorldGenAbstractTree
 
     }
 
+    /**
+     * The branches of a redwood. Each step of a branch is kept as its
+     * position and whether a leaf cluster grows there.
+     */
+    static final class Shape
+    {
+        final int height;
+        int[]     steps = new int[64];
+        int       size  = 0;
+
+        Shape(int height)
+        {
+            this.height = height;
+        }
+
+        void addStep(int x, int y, int z, boolean leaves)
+        {
+            if (size + 4 > steps.length)
+            {
+                steps = Arrays.copyOf(steps, steps.length * 2);
+            }
+            steps[size++] = x;
+            steps[size++] = y;
+            steps[size++] = z;
+            steps[size++] = leaves ? 1 : 0;
+        }
+    }
+
+    // Trees grown during world generation have their shape worked out off thread
+    private final boolean deferShapes;
+
     public WorldGenNewRedwood(boolean doNotify)
     {
         super(doNotify);
+        deferShapes = !doNotify;
     }
 
     // Store the last seed that was used to generate a tree
@@ -77,7 +110,7 @@ public class WorldGenNewRedwood extends WorldGenAbstractTree
         // Store the seed
         lastSeed = rand.nextLong();
 
-        return generateTree(world, new Random(lastSeed), x, y, z);
+        return generateTree(world, lastSeed, x, y, z);
     }
 
     public boolean generate(World world, long seed, int x, int y, int z)
@@ -85,12 +118,74 @@ public class WorldGenNewRedwood extends WorldGenAbstractTree
         // Store the seed
         lastSeed = seed;
 
-        return generateTree(world, new Random(seed), x, y, z);
+        return generateTree(world, seed, x, y, z);
+    }
+
+    private boolean generateTree(World world, long seed, int x, int y, int z)
+    {
+        if (deferShapes)
+            return TreeShapeScheduler.INSTANCE.schedule(world, this, seed, x, y, z);
+
+        return placeShape(world, computeShape(seed, x, y, z), x, y, z);
+    }
+
+    @Override
+    public Shape computeShape(long seed, int x, int y, int z)
+    {
+        final Random rand = new Random(seed);
+        final Shape shape = new Shape(rand.nextInt(23) + 26);
+        final int height = shape.height;
+
+        for (int j3 = height / 2; j3 <= height - 6; j3++)
+        {
+            if (rand.nextInt(4) == 0)
+            {
+                generateBranch(shape, rand, x, y + j3, z+1, -1, 0);
+            }
+
+            if (rand.nextInt(4) == 0)
+            {
+                generateBranch(shape, rand, x+1, y + j3, z+1, 1, 0);
+            }
+
+            if (rand.nextInt(4) == 0)
+            {
+                generateBranch(shape, rand, x+1, y + j3, z, 0, -1);
+            }
+
+            if (rand.nextInt(4) == 0)
+            {
+                generateBranch(shape, rand, x+1, y + j3, z+1, 0, 1);
+            }
+
+            if (rand.nextInt(4) == 0)
+            {
+                generateBranch(shape, rand, x, y + j3, z, -1, 1);
+            }
+
+            if (rand.nextInt(4) == 0)
+            {
+                generateBranch(shape, rand, x, y + j3, z, -1, -1);
+            }
+
+            if (rand.nextInt(4) == 0)
+            {
+                generateBranch(shape, rand, x, y + j3, z+1, 1, 1);
+            }
+
+            if (rand.nextInt(4) == 0)
+            {
+                generateBranch(shape, rand, x, y + j3, z, 1, -1);
+            }
+        }
+
+        return shape;
     }
 
-    private boolean generateTree(World world, Random rand, int x, int y, int z)
+    @Override
+    public boolean placeShape(World world, Shape shape, int x, int y, int z)
     {
-        final int height = rand.nextInt(23) + 26;
+        final int height = shape.height;
         byte b0 = 1;
         int flag1 = 1;
         int chunkCheck =  13;
@@ -287,53 +382,28 @@ public class WorldGenNewRedwood extends WorldGenAbstractTree
         	}
         }
 
-        for (int j3 = height / 2; j3 <= height - 6; j3++)
+        for (int step = 0; step < shape.size; step += 4)
         {
-            if (rand.nextInt(4) == 0)
-            {
-                generateBranch(world, rand, x, y + j3, z+1, -1, 0);
-            }
-
-            if (rand.nextInt(4) == 0)
-            {
-                generateBranch(world, rand, x+1, y + j3, z+1, 1, 0);
-            }
-
-            if (rand.nextInt(4) == 0)
-            {
-                generateBranch(world, rand, x+1, y + j3, z, 0, -1);
-            }
-
-            if (rand.nextInt(4) == 0)
-            {
-                generateBranch(world, rand, x+1, y + j3, z+1, 0, 1);
-            }
-
-            if (rand.nextInt(4) == 0)
-            {
-                generateBranch(world, rand, x, y + j3, z, -1, 1);
-            }
+            final int x1 = shape.steps[step];
+            final int y1 = shape.steps[step + 1];
+            final int z1 = shape.steps[step + 2];
 
-            if (rand.nextInt(4) == 0)
-            {
-                generateBranch(world, rand, x, y + j3, z, -1, -1);
-            }
-
-            if (rand.nextInt(4) == 0)
+            final Block block = world.getBlock(x1, y1, z1);
+            if (block == null || block.isAir(world, x1, y1, z1) || block.isLeaves(world, x1, y1, z1))
             {
-                generateBranch(world, rand, x, y + j3, z+1, 1, 1);
+                setBlockAndNotifyAdequately(world, x1, y1, z1, TreeBlock.BRANCH.getBlock(), TreeBlock.BRANCH.getMetadata());
             }
 
-            if (rand.nextInt(4) == 0)
+            if (shape.steps[step + 3] != 0)
             {
-                generateBranch(world, rand, x, y + j3, z, 1, -1);
+                generateLeaves(world, x1, y1, z1);
             }
         }
 
         return true;
     }
 
-    public void generateBranch(World world, Random random, int x, int y, int z, int xD, int zD)
+    private static void generateBranch(Shape shape, Random random, int x, int y, int z, int xD, int zD)
     {
         for (int br = 0; br < 9; br++)
         {
@@ -357,16 +427,7 @@ public class WorldGenNewRedwood extends WorldGenAbstractTree
                 z++;
             }
 
-            final Block block = world.getBlock(x, y, z);
-            if (block == null || block.isAir(world, x, y, z) || block.isLeaves(world, x, y, z))
-            {
-                setBlockAndNotifyAdequately(world, x, y, z, TreeBlock.BRANCH.getBlock(), TreeBlock.BRANCH.getMetadata());
-            }
-
-            if ((br == 8) || (random.nextInt(6) == 0))
-            {
-                generateLeaves(world, x, y, z);
-            }
+            shape.addStep(x, y, z, (br == 8) || (random.nextInt(6) == 0));
 
             y++;
         }
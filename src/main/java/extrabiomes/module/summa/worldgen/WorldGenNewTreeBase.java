@@ -6,6 +6,8 @@
 
 package extrabiomes.module.summa.worldgen;
 
+import java.util.Random;
+
 import net.minecraft.block.Block;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
@@ -18,9 +20,104 @@ public abstract class WorldGenNewTreeBase extends WorldGenAbstractTree
     
     int leafCount = 0;
     
+    private final boolean        doBlockNotify;
+    
+    // The buffer placements are staged in while a tree is being planned, or null to write straight to the world
+    private BlockPlacementBuffer staging = null;
+    private BlockPlacementBuffer spare   = null;
+    
+    private BlockLine            line    = new BlockLine();
+    
     public WorldGenNewTreeBase(boolean par1)
     {
         super(par1);
+        
+        doBlockNotify = par1;
+    }
+    
+    /**
+     * Lays the whole tree out, checking the world as it goes. Blocks placed
+     * while planning are only staged, so every check sees the world as it was
+     * before the tree. Returns false if the tree cannot grow here.
+     * <p>
+     * Trees that still check and grow in separate passes do not override this
+     * and can not be planned.
+     */
+    protected boolean planTree(World world, Random rand, int x, int y, int z)
+    {
+        return false;
+    }
+    
+    /**
+     * Plans the tree and writes it to the world if it fits.
+     */
+    protected boolean growTree(World world, Random rand, int x, int y, int z)
+    {
+        final BlockPlacementBuffer previous = staging;
+        final BlockPlacementBuffer buffer = spare != null ? spare : new BlockPlacementBuffer();
+        spare = null;
+        
+        boolean planned = false;
+        staging = buffer;
+        try
+        {
+            planned = planTree(world, rand, x, y, z);
+        }
+        finally
+        {
+            staging = previous;
+        }
+        
+        if (planned)
+            buffer.commit(world, doBlockNotify);
+        else
+            buffer.clear();
+        
+        spare = buffer;
+        return planned;
+    }
+    
+    /**
+     * Plans the tree the given seed produces without changing the world.
+     * Returns null if the tree does not fit here.
+     */
+    public TreePlan plan(World world, long seed, int x, int y, int z)
+    {
+        final BlockPlacementBuffer previous = staging;
+        final BlockPlacementBuffer buffer = new BlockPlacementBuffer();
+        
+        staging = buffer;
+        try
+        {
+            if (!planTree(world, new Random(seed), x, y, z))
+                return null;
+        }
+        finally
+        {
+            staging = previous;
+        }
+        
+        return new TreePlan(buffer, doBlockNotify, seed, x, y, z);
+    }
+    
+    @Override
+    protected void setBlockAndNotifyAdequately(World world, int x, int y, int z, Block block, int metadata)
+    {
+        if (staging == null || !staging.set(x, y, z, block, metadata))
+        {
+            super.setBlockAndNotifyAdequately(world, x, y, z, block, metadata);
+            WorldGenProfiler.countWrites(1);
+        }
+    }
+    
+    protected Block getBlock(World world, int x, int y, int z)
+    {
+        return staging == null ? world.getBlock(x, y, z) : staging.getBlock(world, x, y, z);
+    }
+    
+    protected boolean isAirBlock(World world, int x, int y, int z)
+    {
+        return staging == null ? world.isAirBlock(x, y, z) : staging.isAirBlock(world, x, y, z);
     }
     
     public boolean check1x1Trunk(int x, int y, int z, int height, ItemStack logs, World world)
@@ -127,7 +224,7 @@ public abstract class WorldGenNewTreeBase extends WorldGenAbstractTree
         
         for (int y1 = y - 1; y1 > 1; y1--)
         {
-            Block block = world.getBlock(x, y1, z);
+            Block block = getBlock(world, x, y1, z);
             if (block != null && !block.canBeReplacedByLeaves(world, x, y1, z))
                 break;
             
@@ -151,92 +248,21 @@ public abstract class WorldGenNewTreeBase extends WorldGenAbstractTree
         if (start.length != 3 || end.length != 3)
             return false;
         
-        // Get the direction vector
-        int[] direction = {
-                start[0] - end[0],
-                start[1] - end[1],
-                start[2] - end[2]
-        };
-        if (Math.abs(direction[2]) > Math.abs(direction[1]) && Math.abs(direction[2]) > Math.abs(direction[0]))
-        {
-            // We are going to use the y axis as our major axis
-            if (direction[2] >= 0)
-            {
-                for (int z = start[2]; z >= end[2]; z--)
-                {
-                    double m = (z - start[2]) / (double) direction[2];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (!world.isAirBlock(x, y, z))
-                        return false;
-                }
-            }
-            else
-            {
-                for (int z = start[2]; z <= end[2]; z++)
-                {
-                    double m = (z - start[2]) / (double) direction[2];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (!world.isAirBlock(x, y, z))
-                        return false;
-                }
-            }
-        }
-        else if (Math.abs(direction[0]) > Math.abs(direction[1]))
-        {
-            // Treverse along the x axis
-            if (direction[0] >= 0)
-            {
-                for (int x = start[0]; x >= end[0]; x--)
-                {
-                    double m = (x - start[0]) / (double) direction[0];
-                    int z = (int) (start[2] + (direction[2] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (!world.isAirBlock(x, y, z))
-                        return false;
-                }
-            }
-            else
-            {
-                for (int x = start[0]; x <= end[0]; x++)
-                {
-                    double m = (x - start[0]) / (double) direction[0];
-                    int z = (int) (start[2] + (direction[2] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (!world.isAirBlock(x, y, z))
-                        return false;
-                }
-            }
-        }
-        else
+        final BlockLine line = takeLine();
+        line.begin(start, end);
+        
+        boolean isClear = true;
+        while (line.next())
         {
-            // We will use the y axis as our major axis
-            if (direction[1] >= 0)
+            if (!world.isAirBlock(line.getX(), line.getY(), line.getZ()))
             {
-                for (int y = start[1]; y >= end[1]; y--)
-                {
-                    double m = (y - start[1]) / (double) direction[1];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int z = (int) (start[2] + (direction[2] * m));
-                    if (!world.isAirBlock(x, y, z))
-                        return false;
-                }
-            }
-            else
-            {
-                for (int y = start[1]; y <= end[1]; y++)
-                {
-                    double m = (y - start[1]) / (double) direction[1];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int z = (int) (start[2] + (direction[2] * m));
-                    if (!world.isAirBlock(x, y, z))
-                        return false;
-                }
+                isClear = false;
+                break;
             }
         }
         
-        return true;
+        this.line = line;
+        return isClear;
     }
     
     public boolean placeBlockLine(int[] start, int[] end, ItemStack logs, World world)
@@ -246,91 +272,17 @@ public abstract class WorldGenNewTreeBase extends WorldGenAbstractTree
         if (start.length != 3 || end.length != 3)
             return false;
         
-        // Get the direction vector
-        int[] direction = {
-                start[0] - end[0],
-                start[1] - end[1],
-                start[2] - end[2]
-        };
-        if (Math.abs(direction[2]) > Math.abs(direction[1]) && Math.abs(direction[2]) > Math.abs(direction[0]))
-        {
-            // We are going to use the y axis as our major axis
-            if (direction[2] >= 0)
-            {
-                for (int z = start[2]; z >= end[2]; z--)
-                {
-                    double m = (z - start[2]) / (double) direction[2];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage() | 8);
-                }
-            }
-            else
-            {
-                for (int z = start[2]; z <= end[2]; z++)
-                {
-                    double m = (z - start[2]) / (double) direction[2];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage() | 8);
-                }
-            }
-        }
-        else if (Math.abs(direction[0]) > Math.abs(direction[1]))
-        {
-            // Treverse along the x axis
-            if (direction[0] >= 0)
-            {
-                for (int x = start[0]; x >= end[0]; x--)
-                {
-                    double m = (x - start[0]) / (double) direction[0];
-                    int z = (int) (start[2] + (direction[2] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage() | 4);
-                }
-            }
-            else
-            {
-                for (int x = start[0]; x <= end[0]; x++)
-                {
-                    double m = (x - start[0]) / (double) direction[0];
-                    int z = (int) (start[2] + (direction[2] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage() | 4);
-                }
-            }
-        }
-        else
+        final BlockLine line = takeLine();
+        line.begin(start, end);
+        final int metadata = getLineMetadata(logs.getItemDamage(), line.getAxis());
+        
+        while (line.next())
         {
-            // We will use the y axis as our major axis
-            if (direction[1] >= 0)
-            {
-                for (int y = start[1]; y >= end[1]; y--)
-                {
-                    double m = (y - start[1]) / (double) direction[1];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int z = (int) (start[2] + (direction[2] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage());
-                }
-            }
-            else
-            {
-                for (int y = start[1]; y <= end[1]; y++)
-                {
-                    double m = (y - start[1]) / (double) direction[1];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int z = (int) (start[2] + (direction[2] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage());
-                }
-            }
+            if (isAirBlock(world, line.getX(), line.getY(), line.getZ()))
+                setBlockAndNotifyAdequately(world, line.getX(), line.getY(), line.getZ(), logBlock, metadata);
         }
         
+        this.line = line;
         return true;
     }
     
@@ -340,242 +292,108 @@ public abstract class WorldGenNewTreeBase extends WorldGenAbstractTree
         if (start.length != 3 || end.length != 3)
             return false;
         
-        int[] last = { start[0], start[1], start[2] };
+        final BlockLine line = takeLine();
+        line.begin(start, end);
+        final int axis = line.getAxis();
+        final int metadata = getLineMetadata(logs.getItemDamage(), axis);
         
-        // Get the direction vector
-        int[] direction = {
-                start[0] - end[0],
-                start[1] - end[1],
-                start[2] - end[2]
-        };
-        if (Math.abs(direction[2]) > Math.abs(direction[1]) && Math.abs(direction[2]) > Math.abs(direction[0]))
-        {
-            // We are going to use the y axis as our major axis
-            if (direction[2] >= 0)
-            {
-                for (int z = start[2]; z >= end[2]; z--)
-                {
-                    double m = (z - start[2]) / (double) direction[2];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage() | 8);
-                    
-                    // Detect the distance
-                    int dist = Math.abs(last[0] - x) + Math.abs(last[1] - y) + Math.abs(last[2] - z);
-                    //LogHelper.info("Dist: %d", dist);
-                    if (dist == 2)
-                    {
-                        setBlockAndNotifyAdequately(world, last[0], last[1], z, logBlock, logs.getItemDamage() | 8);
-                    }
-                    else if (dist == 3)
-                    {
-                        if (direction[0] > 0)
-                        {
-                            setBlockAndNotifyAdequately(world, x, last[1], last[2], logBlock, logs.getItemDamage() | 8);
-                            setBlockAndNotifyAdequately(world, x, y, last[2], logBlock, logs.getItemDamage() | 8);
-                        }
-                        else
-                        {
-                            setBlockAndNotifyAdequately(world, last[0], y, last[2], logBlock, logs.getItemDamage() | 8);
-                            setBlockAndNotifyAdequately(world, x, y, last[2], logBlock, logs.getItemDamage() | 8);
-                        }
-                    }
-                    
-                    last[0] = x;
-                    last[1] = y;
-                    last[2] = z;
-                }
-            }
-            else
-            {
-                for (int z = start[2]; z <= end[2]; z++)
-                {
-                    double m = (z - start[2]) / (double) direction[2];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage() | 8);
-                    
-                    // Detect the distance
-                    int dist = Math.abs(last[0] - x) + Math.abs(last[1] - y) + Math.abs(last[2] - z);
-                    //LogHelper.info("Dist: %d", dist);
-                    if (dist == 2)
-                    {
-                        setBlockAndNotifyAdequately(world, last[0], last[1], z, logBlock, logs.getItemDamage() | 8);
-                    }
-                    else if (dist == 3)
-                    {
-                        if (direction[0] > 0)
-                        {
-                            setBlockAndNotifyAdequately(world, x, last[1], last[2], logBlock, logs.getItemDamage() | 8);
-                            setBlockAndNotifyAdequately(world, x, y, last[2], logBlock, logs.getItemDamage() | 8);
-                        }
-                        else
-                        {
-                            setBlockAndNotifyAdequately(world, last[0], y, last[2], logBlock, logs.getItemDamage() | 8);
-                            setBlockAndNotifyAdequately(world, x, y, last[2], logBlock, logs.getItemDamage() | 8);
-                        }
-                    }
-                    
-                    last[0] = x;
-                    last[1] = y;
-                    last[2] = z;
-                }
-            }
-        }
-        else if (Math.abs(direction[0]) > Math.abs(direction[1]))
+        int lastX = start[0];
+        int lastY = start[1];
+        int lastZ = start[2];
+        
+        while (line.next())
         {
-            // Treverse along the x axis
-            if (direction[0] >= 0)
+            final int x = line.getX();
+            final int y = line.getY();
+            final int z = line.getZ();
+            
+            if (isAirBlock(world, x, y, z))
+                setBlockAndNotifyAdequately(world, x, y, z, logBlock, metadata);
+            
+            // Fill in diagonal steps so the branch stays connected through its faces
+            final int dist = Math.abs(lastX - x) + Math.abs(lastY - y) + Math.abs(lastZ - z);
+            if (dist == 2)
             {
-                for (int x = start[0]; x >= end[0]; x--)
-                {
-                    double m = (x - start[0]) / (double) direction[0];
-                    int z = (int) (start[2] + (direction[2] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage() | 4);
-                    
-                    // Detect the distance
-                    int dist = Math.abs(last[0] - x) + Math.abs(last[1] - y) + Math.abs(last[2] - z);
-                    if (dist == 2)
-                    {
-                        setBlockAndNotifyAdequately(world, x, last[1], last[2], logBlock, logs.getItemDamage() | 4);
-                    }
-                    else if (dist == 3)
-                    {
-                        if (direction[2] > 0)
-                        {
-                            setBlockAndNotifyAdequately(world, last[0], last[1], z, logBlock, logs.getItemDamage() | 4);
-                            setBlockAndNotifyAdequately(world, last[0], y, z, logBlock, logs.getItemDamage() | 4);
-                        }
-                        else
-                        {
-                            setBlockAndNotifyAdequately(world, last[0], y, last[2], logBlock, logs.getItemDamage() | 4);
-                            setBlockAndNotifyAdequately(world, last[0], y, z, logBlock, logs.getItemDamage() | 4);
-                        }
-                    }
-                    
-                    last[0] = x;
-                    last[1] = y;
-                    last[2] = z;
-                }
+                if (axis == BlockLine.AXIS_Z)
+                    setBlockAndNotifyAdequately(world, lastX, lastY, z, logBlock, metadata);
+                else if (axis == BlockLine.AXIS_X)
+                    setBlockAndNotifyAdequately(world, x, lastY, lastZ, logBlock, metadata);
+                else
+                    setBlockAndNotifyAdequately(world, lastX, y, lastZ, logBlock, metadata);
             }
-            else
+            else if (dist == 3)
             {
-                for (int x = start[0]; x <= end[0]; x++)
+                if (axis == BlockLine.AXIS_Z)
                 {
-                    double m = (x - start[0]) / (double) direction[0];
-                    int z = (int) (start[2] + (direction[2] * m));
-                    int y = (int) (start[1] + (direction[1] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage() | 4);
-                    
-                    // Detect the distance
-                    int dist = Math.abs(last[0] - x) + Math.abs(last[1] - y) + Math.abs(last[2] - z);
-                    if (dist == 2)
+                    if (start[0] > end[0])
                     {
-                        setBlockAndNotifyAdequately(world, x, last[1], last[2], logBlock, logs.getItemDamage() | 4);
+                        setBlockAndNotifyAdequately(world, x, lastY, lastZ, logBlock, metadata);
+                        setBlockAndNotifyAdequately(world, x, y, lastZ, logBlock, metadata);
                     }
-                    else if (dist == 3)
+                    else
                     {
-                        if (direction[2] > 0)
-                        {
-                            setBlockAndNotifyAdequately(world, last[0], last[1], z, logBlock, logs.getItemDamage() | 4);
-                            setBlockAndNotifyAdequately(world, last[0], y, z, logBlock, logs.getItemDamage() | 4);
-                        }
-                        else
-                        {
-                            setBlockAndNotifyAdequately(world, last[0], y, last[2], logBlock, logs.getItemDamage() | 4);
-                            setBlockAndNotifyAdequately(world, last[0], y, z, logBlock, logs.getItemDamage() | 4);
-                        }
+                        setBlockAndNotifyAdequately(world, lastX, y, lastZ, logBlock, metadata);
+                        setBlockAndNotifyAdequately(world, x, y, lastZ, logBlock, metadata);
                     }
-                    
-                    last[0] = x;
-                    last[1] = y;
-                    last[2] = z;
                 }
-            }
-        }
-        else
-        {
-            // We will use the y axis as our major axis
-            if (direction[1] >= 0)
-            {
-                for (int y = start[1]; y >= end[1]; y--)
+                else if (axis == BlockLine.AXIS_X)
                 {
-                    double m = (y - start[1]) / (double) direction[1];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int z = (int) (start[2] + (direction[2] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage());
-                    
-                    // Detect the distance
-                    int dist = Math.abs(last[0] - x) + Math.abs(last[1] - y) + Math.abs(last[2] - z);
-                    if (dist == 2)
+                    if (start[2] > end[2])
                     {
-                        setBlockAndNotifyAdequately(world, last[0], y, last[2], logBlock, logs.getItemDamage());
+                        setBlockAndNotifyAdequately(world, lastX, lastY, z, logBlock, metadata);
+                        setBlockAndNotifyAdequately(world, lastX, y, z, logBlock, metadata);
                     }
-                    else if (dist == 3)
+                    else
                     {
-                        if (direction[2] > 0)
-                        {
-                            setBlockAndNotifyAdequately(world, last[0], last[1], z, logBlock, logs.getItemDamage());
-                            setBlockAndNotifyAdequately(world, x, last[1], z, logBlock, logs.getItemDamage());
-                        }
-                        else
-                        {
-                            setBlockAndNotifyAdequately(world, x, last[1], last[2], logBlock, logs.getItemDamage());
-                            setBlockAndNotifyAdequately(world, x, last[1], z, logBlock, logs.getItemDamage());
-                        }
+                        setBlockAndNotifyAdequately(world, lastX, y, lastZ, logBlock, metadata);
+                        setBlockAndNotifyAdequately(world, lastX, y, z, logBlock, metadata);
                     }
-                    
-                    last[0] = x;
-                    last[1] = y;
-                    last[2] = z;
                 }
-            }
-            else
-            {
-                for (int y = start[1]; y <= end[1]; y++)
+                else
                 {
-                    double m = (y - start[1]) / (double) direction[1];
-                    int x = (int) (start[0] + (direction[0] * m));
-                    int z = (int) (start[2] + (direction[2] * m));
-                    if (world.isAirBlock(x, y, z))
-                        setBlockAndNotifyAdequately(world, x, y, z, logBlock, logs.getItemDamage());
-                    
-                    // Detect the distance
-                    int dist = Math.abs(last[0] - x) + Math.abs(last[1] - y) + Math.abs(last[2] - z);
-                    if (dist == 2)
+                    if (start[2] > end[2])
                     {
-                        setBlockAndNotifyAdequately(world, last[0], y, last[2], logBlock, logs.getItemDamage());
+                        setBlockAndNotifyAdequately(world, lastX, lastY, z, logBlock, metadata);
+                        setBlockAndNotifyAdequately(world, x, lastY, z, logBlock, metadata);
                     }
-                    else if (dist == 3)
+                    else
                     {
-                        if (direction[2] > 0)
-                        {
-                            setBlockAndNotifyAdequately(world, last[0], last[1], z, logBlock, logs.getItemDamage());
-                            setBlockAndNotifyAdequately(world, x, last[1], z, logBlock, logs.getItemDamage());
-                        }
-                        else
-                        {
-                            setBlockAndNotifyAdequately(world, x, last[1], last[2], logBlock, logs.getItemDamage());
-                            setBlockAndNotifyAdequately(world, x, last[1], z, logBlock, logs.getItemDamage());
-                        }
+                        setBlockAndNotifyAdequately(world, x, lastY, lastZ, logBlock, metadata);
+                        setBlockAndNotifyAdequately(world, x, lastY, z, logBlock, metadata);
                     }
-                    
-                    last[0] = x;
-                    last[1] = y;
-                    last[2] = z;
                 }
             }
+            
+            lastX = x;
+            lastY = y;
+            lastZ = z;
         }
         
+        this.line = line;
         return true;
     }
     
+    /**
+     * Returns the spare line walker, or a new one if it is already in use
+     * further up the stack. Hand it back by assigning it to {@link #line}.
+     */
+    private BlockLine takeLine()
+    {
+        final BlockLine taken = line != null ? line : new BlockLine();
+        line = null;
+        return taken;
+    }
+    
+    private static int getLineMetadata(int metadata, int axis)
+    {
+        // Logs lying along z or x carry the matching orientation bit
+        if (axis == BlockLine.AXIS_Z)
+            return metadata | 8;
+        if (axis == BlockLine.AXIS_X)
+            return metadata | 4;
+        return metadata;
+    }
+    
     public boolean checkLeavesCircle(double x, int y, double z, double r, World world)
     {
         double dist = r * r;
@@ -611,7 +429,7 @@ public abstract class WorldGenNewTreeBase extends WorldGenAbstractTree
                 int x2 = (int) (x1 + x);
                 int z2 = (int) (z1 + z);
                 
-                final Block block = world.getBlock(x2, y, z2);
+                final Block block = getBlock(world, x2, y, z2);
                 
                 if ((((x1 * x1) + (z1 * z1)) <= dist) && (block == null || block.canBeReplacedByLeaves(world, x2, y, z2)))
                 {
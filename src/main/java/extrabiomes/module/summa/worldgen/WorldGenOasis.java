@@ -12,6 +12,7 @@ import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.init.Blocks;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.feature.WorldGenerator;
 import extrabiomes.lib.BiomeSettings;
 
@@ -20,6 +21,8 @@ class WorldGenOasis extends WorldGenerator
     
     private static final int AVERAGE_OASIS = 7;
     
+    private final BlockPlacementBuffer buffer = new BlockPlacementBuffer();
+    
     @Override
     public boolean generate(World world, Random rand, int x, int y, int z)
     {
@@ -27,8 +30,21 @@ class WorldGenOasis extends WorldGenerator
         if (world.getBlock(x, y, z).getMaterial() != Material.water)
             return false;
         
+        paint(world, rand, x, y, z, buffer);
+        buffer.commit(world, false);
+        
+        return true;
+    }
+    
+    /**
+     * Stages the grass around a pond floor already known to be water. The
+     * blocks are read from the chunks directly, one chunk lookup per column.
+     */
+    void paint(World world, Random rand, int x, int y, int z, BlockPlacementBuffer buffer)
+    {
         final int xzRadius = rand.nextInt(AVERAGE_OASIS - 2) + 2;
         final int yRadius = 2;
+        final Block topBlock = BiomeSettings.MOUNTAINRIDGE.getBiome().isPresent() ? BiomeSettings.MOUNTAINRIDGE.getBiome().get().topBlock : null;
         
         for (int x1 = x - xzRadius; x1 <= x + xzRadius; x1++)
             for (int z1 = z - xzRadius; z1 <= z + xzRadius; z1++)
@@ -39,18 +55,17 @@ class WorldGenOasis extends WorldGenerator
                 if (a * a + b * b > xzRadius * xzRadius)
                     continue;
                 
-                for (int y1 = y - yRadius; y1 <= y + yRadius; y1++)
+                final Chunk chunk = world.getChunkFromChunkCoords(x1 >> 4, z1 >> 4);
+                for (int y1 = Math.max(y - yRadius, 0); y1 <= y + yRadius && y1 < 256; y1++)
                 {
-                    final Block blocktoReplace = world.getBlock(x1, y1, z1);
+                    final Block blocktoReplace = chunk.getBlock(x1 & 15, y1, z1 & 15);
                     
-                    if (blocktoReplace.equals(Blocks.stone)
-                            || blocktoReplace.equals(Blocks.sand)
-                            || blocktoReplace.equals(Blocks.sandstone)
-                            || (BiomeSettings.MOUNTAINRIDGE.getBiome().isPresent() && blocktoReplace == BiomeSettings.MOUNTAINRIDGE.getBiome().get().topBlock))
-                        world.setBlock(x1, y1, z1, Blocks.grass);
+                    if (blocktoReplace == Blocks.stone
+                            || blocktoReplace == Blocks.sand
+                            || blocktoReplace == Blocks.sandstone
+                            || blocktoReplace == topBlock)
+                        buffer.set(x1, y1, z1, Blocks.grass, 0);
                 }
             }
-        
-        return true;
     }
 }
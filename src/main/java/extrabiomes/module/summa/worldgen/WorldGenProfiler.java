@@ -0,0 +1,407 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.module.summa.worldgen;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import net.minecraft.world.World;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.gen.feature.WorldGenAbstractTree;
+import net.minecraft.world.gen.feature.WorldGenerator;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import cpw.mods.fml.common.IWorldGenerator;
+
+/**
+ * Counts and times the world generators ExtrabiomesXL runs, by generator and
+ * biome.
+ * <p>
+ * Off unless turned on in the configuration. While off nothing is wrapped,
+ * so the only cost left is one flag test per weighted choice and per biome
+ * decoration. While on, each run records whether it succeeded, how long it
+ * took in a power of two histogram of nanoseconds, and how many blocks
+ * were written through {@link BlockPlacementBuffer} and
+ * {@link WorldGenNewTreeBase} meanwhile. Times and writes include any
+ * generator run from inside another, so the dispatcher's line covers the
+ * decorations it ran. A tree handed to the {@link TreeShapeScheduler} is
+ * counted when it is scheduled, not when it is placed.
+ * <p>
+ * Only the server thread generates, so nothing here is synchronized.
+ */
+public final class WorldGenProfiler
+{
+    /** Runs under 2^10 ns go in the first bucket, 2^30 ns and over in the last */
+    public static final int                     BUCKETS     = 22;
+    private static final int                    FIRST_SHIFT = 10;
+
+    private static boolean                      enabled     = false;
+    private static long                         writes      = 0;
+
+    private static final Map<String, Stats[]>   stats       = Maps.newTreeMap();
+    private static final Map<Object, String>    names       = Maps.newIdentityHashMap();
+    private static final Map<Object, WorldGenerator[]> wrappers = Maps.newIdentityHashMap();
+
+    private WorldGenProfiler()
+    {}
+
+    /**
+     * The totals of one generator in one biome.
+     */
+    public static final class Stats
+    {
+        public final String kind;
+        public final String name;
+        public final String biome;
+        public long         calls     = 0;
+        public long         successes = 0;
+        public long         failures  = 0;
+        public long         nanos     = 0;
+        public long         maxNanos  = 0;
+        public long         writes    = 0;
+        public final long[] histogram = new long[BUCKETS];
+
+        Stats(String kind, String name, String biome)
+        {
+            this.kind = kind;
+            this.name = name;
+            this.biome = biome;
+        }
+
+        void record(boolean success, long elapsed, long written)
+        {
+            ++calls;
+            if (success)
+                ++successes;
+            else
+                ++failures;
+            nanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+            writes += written;
+            histogram[bucket(elapsed)]++;
+        }
+
+        /**
+         * Returns the upper bound in nanoseconds of the bucket the given
+         * fraction of runs fall under.
+         */
+        public long percentile(double fraction)
+        {
+            final long target = (long) Math.ceil(calls * fraction);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; ++i)
+            {
+                seen += histogram[i];
+                if (seen >= target && seen > 0)
+                    return i == BUCKETS - 1 ? maxNanos : 1L << i + FIRST_SHIFT;
+            }
+            return 0;
+        }
+    }
+
+    private static class ProfiledGenerator extends WorldGenerator
+    {
+        final WorldGenerator generator;
+        final Stats          stats;
+
+        ProfiledGenerator(WorldGenerator generator, Stats stats)
+        {
+            this.generator = generator;
+            this.stats = stats;
+        }
+
+        @Override
+        public boolean generate(World world, Random rand, int x, int y, int z)
+        {
+            return time(generator, stats, world, rand, x, y, z);
+        }
+
+        @Override
+        public void setScale(double scaleX, double scaleY, double scaleZ)
+        {
+            generator.setScale(scaleX, scaleY, scaleZ);
+        }
+    }
+
+    // A tree has to stay a tree for the biome decorator
+    private static class ProfiledTree extends WorldGenAbstractTree
+    {
+        final WorldGenAbstractTree tree;
+        final Stats                stats;
+
+        ProfiledTree(WorldGenAbstractTree tree, Stats stats)
+        {
+            super(false);
+            this.tree = tree;
+            this.stats = stats;
+        }
+
+        @Override
+        public boolean generate(World world, Random rand, int x, int y, int z)
+        {
+            return time(tree, stats, world, rand, x, y, z);
+        }
+
+        @Override
+        public void setScale(double scaleX, double scaleY, double scaleZ)
+        {
+            tree.setScale(scaleX, scaleY, scaleZ);
+        }
+
+        @Override
+        public void func_150524_b(World world, Random rand, int x, int y, int z)
+        {
+            tree.func_150524_b(world, rand, x, y, z);
+        }
+    }
+
+    private static class ProfiledWorldGenerator implements IWorldGenerator
+    {
+        final IWorldGenerator generator;
+
+        ProfiledWorldGenerator(IWorldGenerator generator)
+        {
+            this.generator = generator;
+        }
+
+        @Override
+        public void generate(Random random, int chunkX, int chunkZ, World world, IChunkProvider chunkGenerator, IChunkProvider chunkProvider)
+        {
+            final Stats stats = getStats("world", generator, world.getBiomeGenForCoords(chunkX << 4, chunkZ << 4));
+            final long written = writes;
+            final long start = System.nanoTime();
+            boolean success = false;
+            try
+            {
+                generator.generate(random, chunkX, chunkZ, world, chunkGenerator, chunkProvider);
+                success = true;
+            }
+            finally
+            {
+                stats.record(success, System.nanoTime() - start, writes - written);
+            }
+        }
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Turns profiling on or off. Generators registered with FML are only
+     * wrapped if it is on by then.
+     */
+    public static void setEnabled(boolean enabled)
+    {
+        WorldGenProfiler.enabled = enabled;
+    }
+
+    /**
+     * Tells the profiler blocks were written to the world.
+     */
+    public static void countWrites(int count)
+    {
+        writes += count;
+    }
+
+    /**
+     * Returns the generator to register with FML in place of the given one.
+     */
+    public static IWorldGenerator wrap(IWorldGenerator generator)
+    {
+        return enabled ? new ProfiledWorldGenerator(generator) : generator;
+    }
+
+    /**
+     * Returns the generator to hand out in place of one chosen for a biome.
+     *
+     * @param kind
+     *            what the generator was chosen as, such as tree or grass
+     */
+    public static WorldGenerator wrap(String kind, WorldGenerator generator, BiomeGenBase biome)
+    {
+        if (!enabled || generator instanceof ProfiledGenerator || generator instanceof ProfiledTree)
+            return generator;
+
+        WorldGenerator[] byBiome = wrappers.get(generator);
+        if (byBiome == null)
+        {
+            byBiome = new WorldGenerator[BiomeGenBase.getBiomeGenArray().length];
+            wrappers.put(generator, byBiome);
+        }
+
+        WorldGenerator wrapper = byBiome[biome.biomeID];
+        if (wrapper == null)
+        {
+            final Stats biomeStats = getStats(kind, generator, biome);
+            wrapper = generator instanceof WorldGenAbstractTree ? new ProfiledTree((WorldGenAbstractTree) generator, biomeStats)
+                    : new ProfiledGenerator(generator, biomeStats);
+            byBiome[biome.biomeID] = wrapper;
+        }
+        return wrapper;
+    }
+
+    /**
+     * Runs a biome decoration, timing it if profiling is on.
+     */
+    public static void generate(IBiomeWorldGenerator generator, Random rand, BiomeGenBase biome, int x, int z, World world)
+    {
+        if (!enabled)
+        {
+            generator.generate(rand, biome, x, z, world);
+            return;
+        }
+
+        final Stats biomeStats = getStats("decoration", generator, biome);
+        final long written = writes;
+        final long start = System.nanoTime();
+        boolean success = false;
+        try
+        {
+            generator.generate(rand, biome, x, z, world);
+            success = true;
+        }
+        finally
+        {
+            biomeStats.record(success, System.nanoTime() - start, writes - written);
+        }
+    }
+
+    /**
+     * Returns the totals recorded so far, sorted by generator.
+     */
+    public static List<Stats> getStats()
+    {
+        final List<Stats> list = Lists.newArrayList();
+        for (final Stats[] byBiome : stats.values())
+        {
+            for (final Stats entry : byBiome)
+            {
+                if (entry != null)
+                    list.add(entry);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Forgets every total recorded so far.
+     */
+    public static void reset()
+    {
+        stats.clear();
+        wrappers.clear();
+    }
+
+    /**
+     * Writes every total recorded so far to a CSV file, one line per
+     * generator and biome.
+     */
+    public static void dump(File file) throws IOException
+    {
+        final PrintWriter out = new PrintWriter(new FileWriter(file));
+        try
+        {
+            out.print("kind,generator,biome,calls,successes,failures,total_ns,mean_ns,p50_ns,p90_ns,p99_ns,max_ns,block_writes");
+            for (int i = 0; i < BUCKETS; ++i)
+            {
+                out.print(i == BUCKETS - 1 ? ",ge_" + (1L << i - 1 + FIRST_SHIFT) + "ns" : ",lt_" + (1L << i + FIRST_SHIFT) + "ns");
+            }
+            out.println();
+
+            for (final Stats entry : getStats())
+            {
+                out.print(entry.kind + ',' + entry.name + ',' + entry.biome.replace(',', ' ') + ',' + entry.calls + ',' + entry.successes + ','
+                        + entry.failures + ',' + entry.nanos + ',' + entry.nanos / Math.max(entry.calls, 1) + ',' + entry.percentile(0.5) + ','
+                        + entry.percentile(0.9) + ',' + entry.percentile(0.99) + ',' + entry.maxNanos + ',' + entry.writes);
+                for (final long count : entry.histogram)
+                {
+                    out.print(',');
+                    out.print(count);
+                }
+                out.println();
+            }
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+
+    private static int bucket(long nanos)
+    {
+        final int bits = 64 - Long.numberOfLeadingZeros(nanos);
+        return Math.max(0, Math.min(bits - FIRST_SHIFT, BUCKETS - 1));
+    }
+
+    private static boolean time(WorldGenerator generator, Stats stats, World world, Random rand, int x, int y, int z)
+    {
+        final long written = writes;
+        final long start = System.nanoTime();
+        boolean success = false;
+        try
+        {
+            success = generator.generate(world, rand, x, y, z);
+            return success;
+        }
+        finally
+        {
+            stats.record(success, System.nanoTime() - start, writes - written);
+        }
+    }
+
+    private static Stats getStats(String kind, Object generator, BiomeGenBase biome)
+    {
+        final String name = nameOf(generator);
+        final String key = kind + ':' + name;
+        Stats[] byBiome = stats.get(key);
+        if (byBiome == null)
+        {
+            byBiome = new Stats[BiomeGenBase.getBiomeGenArray().length];
+            stats.put(key, byBiome);
+        }
+
+        Stats entry = byBiome[biome.biomeID];
+        if (entry == null)
+        {
+            entry = new Stats(kind, name, biome.biomeName);
+            byBiome[biome.biomeID] = entry;
+        }
+        return entry;
+    }
+
+    private static String nameOf(Object generator)
+    {
+        String name = names.get(generator);
+        if (name != null)
+            return name;
+
+        name = generator.getClass().getSimpleName();
+        if (name.length() == 0)
+            name = generator.getClass().getName();
+        if (generator instanceof WorldGenAutumnTree)
+            name += '.' + ((WorldGenAutumnTree) generator).type.name().toLowerCase();
+
+        // Tell apart instances of one class, such as the tall grass and fern generators
+        final String base = name;
+        for (int i = 2; names.containsValue(name); ++i)
+        {
+            name = base + '#' + i;
+        }
+        names.put(generator, name);
+        return name;
+    }
+}
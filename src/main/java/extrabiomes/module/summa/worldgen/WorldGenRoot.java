@@ -28,13 +28,14 @@ class WorldGenRoot extends WorldGenerator
     public boolean generate(World world, Random rand, int x, int y,
             int z)
     {
+        final ChunkSurface surface = ChunkSurface.get(world);
         for (int i = 0; i < 10; i++)
         {
             final int x1 = x + rand.nextInt(8) - rand.nextInt(8);
             final int y1 = y + rand.nextInt(4) - rand.nextInt(4);
             final int z1 = z + rand.nextInt(8) - rand.nextInt(8);
             
-            if (!world.isAirBlock(x1, y1, z1))
+            if (surface != null && !surface.isOpenGround(x1, y1, z1) || !world.isAirBlock(x1, y1, z1))
                 continue;
             
             final int i1 = 1 + rand.nextInt(rand.nextInt(3) + 1);
@@ -42,8 +43,11 @@ class WorldGenRoot extends WorldGenerator
             for (int y2 = 0; y2 < i1; y2++)
                 if (block.canBlockStay(world, x1,
                         y1 + y2, z1))
+                {
                     world.setBlock(x1, y1 + y2, z1, block,
                             metadata, 2);
+                    ChunkSurface.countPlacement();
+                }
         }
         
         return true;
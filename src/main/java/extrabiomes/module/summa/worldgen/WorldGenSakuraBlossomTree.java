@@ -61,11 +61,7 @@ public class WorldGenSakuraBlossomTree extends WorldGenNewTreeBase
         // Store the seed
         lastSeed = rand.nextLong();
         
-        // Make sure the tree can generate
-        if (!checkTree(world, new Random(lastSeed), x, y, z))
-            return false;
-        
-        return generateTree(world, new Random(lastSeed), x, y, z);
+        return growTree(world, new Random(lastSeed), x, y, z);
     }
     
     public boolean generate(World world, long seed, int x, int y, int z)
@@ -73,11 +69,7 @@ public class WorldGenSakuraBlossomTree extends WorldGenNewTreeBase
         // Store the seed
         lastSeed = seed;
         
-        // Make sure the tree can generate
-        if (!checkTree(world, new Random(lastSeed), x, y, z))
-            return false;
-        
-        return generateTree(world, new Random(seed), x, y, z);
+        return growTree(world, new Random(seed), x, y, z);
     }
     
     //Variables to control the generation
@@ -91,7 +83,8 @@ public class WorldGenSakuraBlossomTree extends WorldGenNewTreeBase
                                                                
     static int                  last                  = 0;
     
-    private boolean checkTree(World world, Random rand, int x, int y, int z)
+    @Override
+    protected boolean planTree(World world, Random rand, int x, int y, int z)
     {
         final int height = rand.nextInt(BASE_HEIGHT_VARIANCE) + BASE_HEIGHT;
         final double radius = (CANOPY_WIDTH + rand.nextInt(CANOPY_WIDTH_VARIANCE)) / 2.0D;
@@ -116,48 +109,13 @@ public class WorldGenSakuraBlossomTree extends WorldGenNewTreeBase
         // Draw the main trunk
         if (!check1x1Trunk(x, y, z, (int) (height * TRUNK_HEIGHT_PERCENT), TreeBlock.TRUNK.get(), world))
             return false;
-        // Generate the branches
-        if (!checkBranches(world, rand, x, y + (int) (height * TRUNK_HEIGHT_PERCENT), z, height - (int) (height * TRUNK_HEIGHT_PERCENT) - 2, radius))
-            return false;
-        
-        return true;
-    }
-    
-    private boolean generateTree(World world, Random rand, int x, int y, int z)
-    {
-        final int height = rand.nextInt(BASE_HEIGHT_VARIANCE) + BASE_HEIGHT;
-        final double radius = (CANOPY_WIDTH + rand.nextInt(CANOPY_WIDTH_VARIANCE)) / 2.0D;
-        final int chunkCheck = (int) Math.ceil(radius) + 1;
-        
-        // Make sure that a tree can grow on the soil
-        if (!TreeSoilRegistry.isValidSoil(world.getBlock(x, y - 1, z)))
-            return false;
-        
-        // make sure that we have room to grow the tree
-        if (y >= 256 - height - 4)
-            return false;
-        
-        // Make sure that the tree can fit in the world
-        if (y < 1 || y + height + 4 > 256)
-            return false;
-        
-        // Make sure that all the needed chunks are loaded
-        if (!world.checkChunksExist(x - chunkCheck, y - chunkCheck, z - chunkCheck, x + chunkCheck, y + chunkCheck, z + chunkCheck))
-            return false;
+        place1x1Trunk(x, y, z, (int) (height * TRUNK_HEIGHT_PERCENT), TreeBlock.TRUNK.get(), world);
         
-        // Draw the main trunk
-        if (place1x1Trunk(x, y, z, (int) (height * TRUNK_HEIGHT_PERCENT), TreeBlock.TRUNK.get(), world))
-        {
-            // Generate the branches
-            generateBranches(world, rand, x, y + (int) (height * TRUNK_HEIGHT_PERCENT), z, height - (int) (height * TRUNK_HEIGHT_PERCENT) - 2, radius);
-            
-            return true;
-        }
-        
-        return false;
+        // Generate the branches
+        return generateBranches(world, rand, x, y + (int) (height * TRUNK_HEIGHT_PERCENT), z, height - (int) (height * TRUNK_HEIGHT_PERCENT) - 2, radius);
     }
     
-    public boolean checkBranches(World world, Random rand, int x, int y, int z, int height, double radius)
+    public boolean generateBranches(World world, Random rand, int x, int y, int z, int height, double radius)
     {
         int branchCount = BRANCHES_BASE_NUMBER + rand.nextInt(BRANCHES_EXTRA);
         double curAngle = 0.0D;
@@ -194,6 +152,7 @@ public class WorldGenSakuraBlossomTree extends WorldGenNewTreeBase
             // Generate the branch
             if (!checkBlockLine(start, node, TreeBlock.TRUNK.get(), world))
                 return false;
+            placeThinBlockLine(start, node, TreeBlock.TRUNK.get(), world);
         }
         
         // Place the branch tips
@@ -203,6 +162,7 @@ public class WorldGenSakuraBlossomTree extends WorldGenNewTreeBase
             int[] cluster = itt.next();
             if (!checkLeafCluster(world, cluster[0], cluster[1], cluster[2], 2, 2))
                 return false;
+            generateLeafCluster(world, cluster[0], cluster[1], cluster[2], 2, 2, TreeBlock.LEAVES.get());
         }
         
         // Calculate the center position
@@ -213,68 +173,12 @@ public class WorldGenSakuraBlossomTree extends WorldGenNewTreeBase
         // Generate the canopy
         if (!checkCanopy(world, average[0] + x, y, average[2] + z, radius, height))
             return false;
-        
-        return true;
-        
-    }
-    
-    public void generateBranches(World world, Random rand, int x, int y, int z, int height, double radius)
-    {
-        int branchCount = BRANCHES_BASE_NUMBER + rand.nextInt(BRANCHES_EXTRA);
-        double curAngle = 0.0D;
-        
-        double[] average = { 0, 0, 0 };
-        int[] start = { x, y, z };
-        Queue<int[]> branches = new LinkedList<int[]>();
-        
-        // Generate the branches
-        for (int i = 0; i < branchCount; i++)
-        {
-            // Get the branch radius and height
-            double angle = (rand.nextInt(50) + 35) / 90.0D;
-            double thisHeight = (height + 1) * Math.sin(angle) / 1.3;
-            double thisRadius = radius * Math.cos(angle);
-            
-            // Get the branch rotation
-            curAngle += (rand.nextInt(360 / branchCount) + (360 / branchCount)) / 90.0D;//  + (360.0D/branchCount) / 180.0D ;
-            
-            int x1 = (int) ((thisRadius) * Math.cos(curAngle));
-            int z1 = (int) ((thisRadius) * Math.sin(curAngle));
-            
-            // Add the the average count
-            average[0] += x1;
-            average[1] += thisHeight;
-            average[2] += z1;
-            
-            // Add to the branch list
-            int[] node = new int[] { x1 + x, (int) thisHeight + y, z1 + z };
-            
-            // Add the branch end for leaf generation
-            branches.add(node);
-            
-            // Generate the branch
-            placeThinBlockLine(start, node, TreeBlock.TRUNK.get(), world);
-        }
-        
-        // Place the branch tips
-        Iterator<int[]> itt = branches.iterator();
-        while (itt.hasNext())
-        {
-            int[] cluster = itt.next();
-            generateLeafCluster(world, cluster[0], cluster[1], cluster[2], 2, 2, TreeBlock.LEAVES.get());
-        }
-        
-        // Calculate the center position
-        average[0] /= branchCount;
-        average[1] = (branchCount / average[1]) + 2.3D;
-        average[2] /= branchCount;
-        
-        // Generate the canopy
         generateCanopy(world, rand, average[0] + x, y, average[2] + z, radius, height, TreeBlock.LEAVES.get());
         
         // Generate the center cone
         generateVerticalCone(world, x, y, z, height - 1, .75, 2, TreeBlock.LEAVES.get());
         
+        return true;
     }
     
     public boolean checkCanopy(World world, double x, double y, double z, double radius, int height)
@@ -355,7 +259,7 @@ public class WorldGenSakuraBlossomTree extends WorldGenNewTreeBase
         {
             for (int x1 = (int) -radius; x1 < (radius + 1); x1++)
             {
-                final Block block = world.getBlock((int) (x1 + x), (int) y, (int) (z1 + z));
+                final Block block = getBlock(world, (int) (x1 + x), (int) y, (int) (z1 + z));
                 
                 if ((((x1 * x1) + (z1 * z1)) <= maxDist) && (((x1 * x1) + (z1 * z1)) >= minDist))
                 {
@@ -29,13 +29,14 @@ class WorldGenTinyCactus extends WorldGenerator
     @Override
     public boolean generate(World world, Random rand, int x, int y, int z)
     {
+        final ChunkSurface surface = ChunkSurface.get(world);
         for (int i = 0; i < 10; i++)
         {
             final int x1 = x + rand.nextInt(8) - rand.nextInt(8);
             final int y1 = y + rand.nextInt(4) - rand.nextInt(4);
             final int z1 = z + rand.nextInt(8) - rand.nextInt(8);
             
-            if (!world.isAirBlock(x1, y1, z1))
+            if (surface != null && !surface.isOpenGround(x1, y1, z1) || !world.isAirBlock(x1, y1, z1))
                 continue;
             
             final int i1 = 1 + rand.nextInt(rand.nextInt(3) + 1);
@@ -44,7 +45,10 @@ class WorldGenTinyCactus extends WorldGenerator
             {
                 final Block block = world.getBlock(x1, y1 + y2 - 1, z1);
                 if (block.equals(Blocks.sand) || (BiomeSettings.MOUNTAINRIDGE.getBiome().isPresent() && block.equals(BiomeSettings.MOUNTAINRIDGE.getBiome().get().topBlock)))
+                {
                     world.setBlock(x1, y1 + y2, z1, this.block, this.metadata, 2);
+                    ChunkSurface.countPlacement();
+                }
             }
         }
         
@@ -7,13 +7,19 @@
 
 package extrabiomes.proxy;
 
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.IReloadableResourceManager;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraft.client.resources.IResourceManagerReloadListener;
 import cpw.mods.fml.client.registry.ISimpleBlockRenderingHandler;
 import cpw.mods.fml.client.registry.RenderingRegistry;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
+import extrabiomes.helpers.ToolTipStringFormatter;
 import extrabiomes.module.fabrica.scarecrow.EntityScarecrow;
 import extrabiomes.module.fabrica.scarecrow.ModelScarecrow;
 import extrabiomes.module.fabrica.scarecrow.RenderScarecrow;
+import extrabiomes.renderers.FoliageColorCache;
 
 @SideOnly(Side.CLIENT)
 public class ClientProxy extends CommonProxy
@@ -26,6 +32,22 @@ public class ClientProxy extends CommonProxy
         return renderId;
     }
     
+    @Override
+    public void registerRenderInformation()
+    {
+        registerEventHandler(FoliageColorCache.INSTANCE);
+        
+        // Tooltip descriptions change with the language
+        ((IReloadableResourceManager) Minecraft.getMinecraft().getResourceManager()).registerReloadListener(new IResourceManagerReloadListener()
+        {
+            @Override
+            public void onResourceManagerReload(IResourceManager resourceManager)
+            {
+                ToolTipStringFormatter.clearCache();
+            }
+        });
+    }
+    
     @Override
     public void registerScarecrowRendering()
     {
@@ -31,6 +31,7 @@ import net.minecraftforge.oredict.OreDictionary;
 import com.google.common.base.Optional;
 
 import cpw.mods.fml.client.registry.ISimpleBlockRenderingHandler;
+import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.FMLLog;
 import cpw.mods.fml.common.IFuelHandler;
 import cpw.mods.fml.common.IWorldGenerator;
@@ -41,6 +42,7 @@ import cpw.mods.fml.common.eventhandler.Event;
 import extrabiomes.api.Stuff;
 import extrabiomes.helpers.LogHelper;
 import extrabiomes.lib.Reference;
+import extrabiomes.module.summa.worldgen.WorldGenProfiler;
 
 public class CommonProxy
 {
@@ -140,6 +142,16 @@ public class CommonProxy
         MinecraftForge.EVENT_BUS.register(target);
     }
 
+    public void registerTerrainEventHandler(Object target)
+    {
+        MinecraftForge.TERRAIN_GEN_BUS.register(target);
+    }
+
+    public void registerTickHandler(Object target)
+    {
+        FMLCommonHandler.instance().bus().register(target);
+    }
+
     public void registerFuelHandler(IFuelHandler fuelHandler)
     {
         GameRegistry.registerFuelHandler(checkNotNull(fuelHandler));
@@ -197,7 +209,7 @@ public class CommonProxy
     public void registerWorldGenerator(IWorldGenerator worldGenerator)
     {
     	// TODO: check correct weight
-        GameRegistry.registerWorldGenerator(worldGenerator, 50);
+        GameRegistry.registerWorldGenerator(WorldGenProfiler.wrap(worldGenerator), 50);
     }
     
     public void removeBiome(BiomeGenBase biome)
@@ -0,0 +1,146 @@
+/**
+ * This work is licensed under the Creative Commons
+ * Attribution-ShareAlike 3.0 Unported License. To view a copy of this
+ * license, visit http://creativecommons.org/licenses/by-sa/3.0/.
+ */
+
+package extrabiomes.renderers;
+
+import net.minecraft.util.LongHashMap;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.relauncher.Side;
+import cpw.mods.fml.relauncher.SideOnly;
+
+/**
+ * The biome foliage colour of each column of the client's loaded chunks,
+ * averaged over the column and its eight neighbours, for leaves that take
+ * their colour from the biome.
+ * <p>
+ * The colour only depends on x and z, so a chunk's 16x16 table is worked
+ * out the first time any leaf in it is coloured and then shared by every
+ * leaf above it. A table is dropped when its chunk unloads, and when a
+ * neighbouring chunk loads, since its border may have been read before the
+ * neighbour's biomes were known.
+ */
+@SideOnly(Side.CLIENT)
+public enum FoliageColorCache
+{
+    INSTANCE;
+
+    /** The height the smoothed colour is sampled at, as vanilla leaves do */
+    private static final int FOLIAGE_Y = 96;
+
+    private LongHashMap      tables    = new LongHashMap();
+
+    // Chunks render one at a time, so the table asked for last is usually asked for again
+    private long             lastKey;
+    private int[]            lastTable;
+
+    /**
+     * The smoothed foliage colour of the column at the position.
+     */
+    public int getSmoothedColor(IBlockAccess iBlockAccess, int x, int z)
+    {
+        final long key = ChunkCoordIntPair.chunkXZ2Int(x >> 4, z >> 4);
+        int[] table = lastTable;
+        if (table == null || key != lastKey)
+        {
+            table = (int[]) tables.getValueByKey(key);
+            if (table == null)
+            {
+                table = createTable(iBlockAccess, x & ~15, z & ~15);
+                tables.add(key, table);
+            }
+            lastKey = key;
+            lastTable = table;
+        }
+        return table[(z & 15) << 4 | x & 15];
+    }
+
+    private static int[] createTable(IBlockAccess iBlockAccess, int chunkX, int chunkZ)
+    {
+        // The chunk's foliage colours with a border of one column all round
+        final int[] colors = new int[18 * 18];
+        for (int z1 = 0; z1 < 18; ++z1)
+        {
+            for (int x1 = 0; x1 < 18; ++x1)
+            {
+                final int x = chunkX + x1 - 1;
+                final int z = chunkZ + z1 - 1;
+                colors[z1 * 18 + x1] = iBlockAccess.getBiomeGenForCoords(x, z).getBiomeFoliageColor(x, FOLIAGE_Y, z);
+            }
+        }
+
+        final int[] table = new int[16 * 16];
+        for (int z1 = 0; z1 < 16; ++z1)
+        {
+            for (int x1 = 0; x1 < 16; ++x1)
+            {
+                int red = 0;
+                int green = 0;
+                int blue = 0;
+
+                for (int dz = 0; dz <= 2; ++dz)
+                {
+                    for (int dx = 0; dx <= 2; ++dx)
+                    {
+                        final int foliageColor = colors[(z1 + dz) * 18 + x1 + dx];
+                        red += (foliageColor & 16711680) >> 16;
+                        green += (foliageColor & 65280) >> 8;
+                        blue += foliageColor & 255;
+                    }
+                }
+
+                table[z1 << 4 | x1] = (red / 9 & 255) << 16 | (green / 9 & 255) << 8 | blue / 9 & 255;
+            }
+        }
+        return table;
+    }
+
+    private void forget(int chunkX, int chunkZ)
+    {
+        final long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+        tables.remove(key);
+        if (key == lastKey)
+            lastTable = null;
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event)
+    {
+        final Chunk chunk = event.getChunk();
+        if (!chunk.worldObj.isRemote)
+            return;
+
+        for (int dx = -1; dx <= 1; ++dx)
+        {
+            for (int dz = -1; dz <= 1; ++dz)
+            {
+                forget(chunk.xPosition + dx, chunk.zPosition + dz);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event)
+    {
+        final Chunk chunk = event.getChunk();
+        if (chunk.worldObj.isRemote)
+            forget(chunk.xPosition, chunk.zPosition);
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        if (!event.world.isRemote)
+            return;
+
+        tables = new LongHashMap();
+        lastTable = null;
+    }
+}
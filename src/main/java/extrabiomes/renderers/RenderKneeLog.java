@@ -44,29 +44,19 @@ public class RenderKneeLog implements ISimpleBlockRenderingHandler
         var4.startDrawingQuads();
         var4.setNormal(0.0F, -1.0F, 0.0F);
         renderer.renderFaceYNeg(block, 0.0D, 0.0D, 0.0D, block.getIcon(0, 0));
-        var4.draw();
         
-        var4.startDrawingQuads();
         var4.setNormal(0.0F, 1.0F, 0.0F);
         renderer.renderFaceYPos(block, 0.0D, 0.0D, 0.0D, block.getIcon(1, 0));
-        var4.draw();
         
-        var4.startDrawingQuads();
         var4.setNormal(0.0F, 0.0F, -1.0F);
         renderer.renderFaceZNeg(block, 0.0D, 0.0D, 0.0D, block.getIcon(2, 0));
-        var4.draw();
         
-        var4.startDrawingQuads();
         var4.setNormal(0.0F, 0.0F, 1.0F);
         renderer.renderFaceZPos(block, 0.0D, 0.0D, 0.0D, block.getIcon(3, 0));
-        var4.draw();
         
-        var4.startDrawingQuads();
         var4.setNormal(-1.0F, 0.0F, 0.0F);
         renderer.renderFaceXNeg(block, 0.0D, 0.0D, 0.0D, block.getIcon(4, 0));
-        var4.draw();
         
-        var4.startDrawingQuads();
         var4.setNormal(1.0F, 0.0F, 0.0F);
         renderer.renderFaceXPos(block, 0.0D, 0.0D, 0.0D, block.getIcon(5, 0));
         var4.draw();
@@ -10,10 +10,23 @@ import org.lwjgl.opengl.GL11;
 
 import cpw.mods.fml.client.registry.ISimpleBlockRenderingHandler;
 import extrabiomes.blocks.BlockMiniLog;
-import extrabiomes.lib.Blocks;
 
 public class RenderMiniLog implements ISimpleBlockRenderingHandler
 {
+    private static final int[]      SIDE_X           = { 0, 0, 0, 0, -1, 1 };
+    private static final int[]      SIDE_Y           = { -1, 1, 0, 0, 0, 0 };
+    private static final int[]      SIDE_Z           = { 0, 0, -1, 1, 0, 0 };
+    
+    // The sides a log can branch out of, by orientation: up and down, east and west, north and south, then up and down again
+    private static final int[][]    CONNECTING_SIDES = { { 2, 3, 4, 5 }, { 0, 1, 2, 3 }, { 0, 1, 4, 5 }, { 2, 3, 4, 5 } };
+    
+    // The nub toward each side: east, west, top, bottom, south and north uv rotations, then its bounds
+    private static final int[][]    NUB_UV_ROTATE    = { { 0, 0, 0, 0, 0, 0 }, { 0, 0, 0, 0, 0, 0 }, { 0, 0, 0, 0, 1, 1 }, { 0, 0, 0, 0, 1, 2 },
+            { 1, 1, 1, 1, 0, 0 }, { 1, 1, 1, 1, 0, 0 } };
+    private static final double[][] NUB_BOUNDS       = { { 0.1875D, 0.0D, 0.1875D, 0.8125D, 0.1875D, 0.8125D },
+            { 0.1875D, 0.8125D, 0.1875D, 0.8125D, 1.0D, 0.8125D }, { 0.1875D, 0.1875D, 0.0D, 0.8125D, 0.8125D, 0.1875D },
+            { 0.1875D, 0.1875D, 0.8125D, 0.8125D, 0.8125D, 1.0D }, { 0.0D, 0.1875D, 0.1875D, 0.1875D, 0.8125D, 0.8125D },
+            { 0.8125D, 0.1875D, 0.1875D, 1.0D, 0.8125D, 0.8125D } };
     
     @Override
     public void renderInventoryBlock(Block block, int metadata, int modelID, RenderBlocks renderer)
@@ -40,24 +53,16 @@ public class RenderMiniLog implements ISimpleBlockRenderingHandler
         var4.startDrawingQuads();
         var4.setNormal(0.0F, 1.0F, 0.0F);
         renderer.renderFaceYPos(block, 0.0D, 0.0D, 0.0D, block.getIcon(1, 0));
-        var4.draw();
         
-        var4.startDrawingQuads();
         var4.setNormal(0.0F, 0.0F, -1.0F);
         renderer.renderFaceZNeg(block, 0.0D, 0.0D, 0.1875D, block.getIcon(2, 0));
-        var4.draw();
         
-        var4.startDrawingQuads();
         var4.setNormal(0.0F, 0.0F, 1.0F);
         renderer.renderFaceZPos(block, 0.0D, 0.0D, -0.1875D, block.getIcon(3, 0));
-        var4.draw();
         
-        var4.startDrawingQuads();
         var4.setNormal(-1.0F, 0.0F, 0.0F);
         renderer.renderFaceXNeg(block, 0.1875D, 0.0D, 0.0D, block.getIcon(4, 0));
-        var4.draw();
         
-        var4.startDrawingQuads();
         var4.setNormal(1.0F, 0.0F, 0.0F);
         renderer.renderFaceXPos(block, -0.1875D, 0.0D, 0.0D, block.getIcon(5, 0));
         var4.draw();
@@ -91,48 +96,22 @@ public class RenderMiniLog implements ISimpleBlockRenderingHandler
         {
             case 4:
                 renderEastWestCenter(x, y, z, block, renderer);
-                
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x, y, z + 1))
-                    renderNorthNub(x, y, z, block, renderer);
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x, y, z - 1))
-                    renderSouthNub(x, y, z, block, renderer);
-                
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x, y + 1, z))
-                    renderUpNub(x, y, z, block, renderer);
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x, y - 1, z))
-                    renderDownNub(x, y, z, block, renderer);
-                
                 break;
             case 8:
                 renderNorthSouthCenter(x, y, z, block, renderer);
-                
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x - 1, y, z))
-                    renderEastNub(x, y, z, block, renderer);
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x + 1, y, z))
-                    renderWestNub(x, y, z, block, renderer);
-                
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x, y + 1, z))
-                    renderUpNub(x, y, z, block, renderer);
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x, y - 1, z))
-                    renderDownNub(x, y, z, block, renderer);
-                
                 break;
             default:
                 renderUpDownCenter(x, y, z, block, renderer);
-                
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x, y, z + 1))
-                    renderNorthNub(x, y, z, block, renderer);
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x, y, z - 1))
-                    renderSouthNub(x, y, z, block, renderer);
-                
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x - 1, y, z))
-                    renderEastNub(x, y, z, block, renderer);
-                if (((BlockMiniLog) Blocks.BLOCK_LOG_SAKURA_GROVE.get()).canConnect(world, x + 1, y, z))
-                    renderWestNub(x, y, z, block, renderer);
-                
                 break;
         }
         
+        final int connections = getConnections(world, x, y, z, (BlockMiniLog) block, orientation);
+        for (int side = 0; side < 6; ++side)
+        {
+            if ((connections & 1 << side) != 0)
+                renderNub(x, y, z, side, block, renderer);
+        }
+        
         renderer.uvRotateEast = 0;
         renderer.uvRotateWest = 0;
         renderer.uvRotateTop = 0;
@@ -143,155 +122,72 @@ public class RenderMiniLog implements ISimpleBlockRenderingHandler
         return true;
     }
     
-    private void renderNorthNub(int x, int y, int z, Block block, RenderBlocks renderer)
-    {
-        renderer.uvRotateEast = 0;
-        renderer.uvRotateWest = 0;
-        renderer.uvRotateTop = 0; //Posy
-        renderer.uvRotateBottom = 0; //NegY
-        renderer.uvRotateSouth = 1; //PosX
-        renderer.uvRotateNorth = 2; //NegX
-        
-        IIcon icnEnd = block.getIcon(1, 0);
-        IIcon icnSide = block.getIcon(2, 0);
-        
-        // Set the render area
-        renderer.setRenderBounds(0.1875D, 0.1875D, 0.8125D, 0.8125D, 0.8125D, 1.0D);
-        
-        // Ends
-        renderer.renderFaceZPos(block, x, y, z, icnEnd);
-        
-        // Sides
-        renderer.renderFaceXNeg(block, x, y, z, icnSide);
-        renderer.renderFaceXPos(block, x, y, z, icnSide);
-        renderer.renderFaceYPos(block, x, y, z, icnSide);
-        renderer.renderFaceYNeg(block, x, y, z, icnSide);
-    }
-    
-    private void renderSouthNub(int x, int y, int z, Block block, RenderBlocks renderer)
-    {
-        renderer.uvRotateEast = 0;
-        renderer.uvRotateWest = 0;
-        renderer.uvRotateTop = 0; //Posy
-        renderer.uvRotateBottom = 0; //NegY
-        renderer.uvRotateSouth = 1; //PosX
-        renderer.uvRotateNorth = 1; //NegX
-        
-        IIcon icnEnd = block.getIcon(1, 0);
-        IIcon icnSide = block.getIcon(2, 0);
-        
-        // Set the render area
-        renderer.setRenderBounds(0.1875D, 0.1875D, 0.0D, 0.8125D, 0.8125D, 0.1875D);
-        
-        // Ends
-        renderer.renderFaceZNeg(block, x, y, z, icnEnd);
-        
-        // Sides
-        renderer.renderFaceXPos(block, x, y, z, icnSide);
-        renderer.renderFaceXNeg(block, x, y, z, icnSide);
-        renderer.renderFaceYPos(block, x, y, z, icnSide);
-        renderer.renderFaceYNeg(block, x, y, z, icnSide);
-    }
-    
-    private void renderEastNub(int x, int y, int z, Block block, RenderBlocks renderer)
+    /**
+     * One bit per side, in the order of the side numbers, for each neighbour
+     * across the log's axis that it reaches out to.
+     */
+    private static int getConnections(IBlockAccess world, int x, int y, int z, BlockMiniLog log, int orientation)
     {
-        renderer.uvRotateEast = 1;
-        renderer.uvRotateWest = 1;
-        renderer.uvRotateTop = 1; //Posy
-        renderer.uvRotateBottom = 1; //NegY
-        renderer.uvRotateSouth = 0; //PosX
-        renderer.uvRotateNorth = 0; //NegX
-        
-        IIcon icnEnd = block.getIcon(1, 0);
-        IIcon icnSide = block.getIcon(2, 0);
-        
-        // Set the render area
-        renderer.setRenderBounds(0.0D, 0.1875D, 0.1875D, 0.1875D, 0.8125D, 0.8125D);
-        
-        // Ends
-        renderer.renderFaceXNeg(block, x, y, z, icnEnd);
-        
-        // Sides
-        renderer.renderFaceZPos(block, x, y, z, icnSide);
-        renderer.renderFaceZNeg(block, x, y, z, icnSide);
-        renderer.renderFaceYPos(block, x, y, z, icnSide);
-        renderer.renderFaceYNeg(block, x, y, z, icnSide);
-    }
-    
-    private void renderWestNub(int x, int y, int z, Block block, RenderBlocks renderer)
-    {
-        renderer.uvRotateEast = 1;
-        renderer.uvRotateWest = 1;
-        renderer.uvRotateTop = 1; //Posy
-        renderer.uvRotateBottom = 1; //NegY
-        renderer.uvRotateSouth = 0; //PosX
-        renderer.uvRotateNorth = 0; //NegX
-        
-        IIcon icnEnd = block.getIcon(1, 0);
-        IIcon icnSide = block.getIcon(2, 0);
-        
-        // Set the render area
-        renderer.setRenderBounds(0.8125D, 0.1875D, 0.1875D, 1.0D, 0.8125D, 0.8125D);
-        
-        // Ends
-        renderer.renderFaceXPos(block, x, y, z, icnEnd);
-        
-        // Sides
-        renderer.renderFaceZNeg(block, x, y, z, icnSide);
-        renderer.renderFaceZPos(block, x, y, z, icnSide);
-        renderer.renderFaceYPos(block, x, y, z, icnSide);
-        renderer.renderFaceYNeg(block, x, y, z, icnSide);
+        final int[] sides = CONNECTING_SIDES[orientation >> 2];
+        int connections = 0;
+        for (final int side : sides)
+        {
+            if (log.canConnect(world, x + SIDE_X[side], y + SIDE_Y[side], z + SIDE_Z[side]))
+                connections |= 1 << side;
+        }
+        return connections;
     }
     
-    private void renderUpNub(int x, int y, int z, Block block, RenderBlocks renderer)
+    private void renderNub(int x, int y, int z, int side, Block block, RenderBlocks renderer)
     {
-        renderer.uvRotateEast = 0;
-        renderer.uvRotateWest = 0;
-        renderer.uvRotateTop = 0; //Posy
-        renderer.uvRotateBottom = 0; //NegY
-        renderer.uvRotateSouth = 0; //PosX
-        renderer.uvRotateNorth = 0; //NegX
+        final int[] uvRotate = NUB_UV_ROTATE[side];
+        renderer.uvRotateEast = uvRotate[0];
+        renderer.uvRotateWest = uvRotate[1];
+        renderer.uvRotateTop = uvRotate[2]; //Posy
+        renderer.uvRotateBottom = uvRotate[3]; //NegY
+        renderer.uvRotateSouth = uvRotate[4]; //PosX
+        renderer.uvRotateNorth = uvRotate[5]; //NegX
         
         IIcon icnEnd = block.getIcon(1, 0);
         IIcon icnSide = block.getIcon(2, 0);
         
         // Set the render area
-        renderer.setRenderBounds(0.1875D, 0.8125D, 0.1875D, 0.8125D, 1.0D, 0.8125D);
-        
-        // Ends
-        renderer.renderFaceYPos(block, x, y, z, icnEnd);
-        
-        // Sides
-        renderer.renderFaceZNeg(block, x, y, z, icnSide);
-        renderer.renderFaceZPos(block, x, y, z, icnSide);
-        renderer.renderFaceXPos(block, x, y, z, icnSide);
-        renderer.renderFaceXNeg(block, x, y, z, icnSide);
+        final double[] bounds = NUB_BOUNDS[side];
+        renderer.setRenderBounds(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
         
+        // The end faces the neighbour, the sides are every face not on the nub's axis
+        for (int face = 0; face < 6; ++face)
+        {
+            if (face == side)
+                renderFace(face, x, y, z, block, renderer, icnEnd);
+            else if (face >> 1 != side >> 1)
+                renderFace(face, x, y, z, block, renderer, icnSide);
+        }
     }
     
-    private void renderDownNub(int x, int y, int z, Block block, RenderBlocks renderer)
+    private static void renderFace(int face, int x, int y, int z, Block block, RenderBlocks renderer, IIcon icon)
     {
-        renderer.uvRotateEast = 0;
-        renderer.uvRotateWest = 0;
-        renderer.uvRotateTop = 0; //Posy
-        renderer.uvRotateBottom = 0; //NegY
-        renderer.uvRotateSouth = 0; //PosX
-        renderer.uvRotateNorth = 0; //NegX
-        
-        IIcon icnEnd = block.getIcon(1, 0);
-        IIcon icnSide = block.getIcon(2, 0);
-        
-        // Set the render area
-        renderer.setRenderBounds(0.1875D, 0.0D, 0.1875D, 0.8125D, 0.1875D, 0.8125D);
-        
-        // Ends
-        renderer.renderFaceYNeg(block, x, y, z, icnEnd);
-        
-        // Sides
-        renderer.renderFaceZNeg(block, x, y, z, icnSide);
-        renderer.renderFaceZPos(block, x, y, z, icnSide);
-        renderer.renderFaceXPos(block, x, y, z, icnSide);
-        renderer.renderFaceXNeg(block, x, y, z, icnSide);
+        switch (face)
+        {
+            case 0:
+                renderer.renderFaceYNeg(block, x, y, z, icon);
+                break;
+            case 1:
+                renderer.renderFaceYPos(block, x, y, z, icon);
+                break;
+            case 2:
+                renderer.renderFaceZNeg(block, x, y, z, icon);
+                break;
+            case 3:
+                renderer.renderFaceZPos(block, x, y, z, icon);
+                break;
+            case 4:
+                renderer.renderFaceXNeg(block, x, y, z, icon);
+                break;
+            default:
+                renderer.renderFaceXPos(block, x, y, z, icon);
+                break;
+        }
     }
     
     private void renderUpDownCenter(int x, int y, int z, Block block, RenderBlocks renderer)